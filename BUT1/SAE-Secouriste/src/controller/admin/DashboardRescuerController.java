@@ -17,6 +17,7 @@ import model.data.service.SecouristeManagement;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 import static controller.layoutmanager.FenetreGestionController.showOverlay;
 
@@ -122,6 +123,8 @@ public class DashboardRescuerController implements FenetreGestionInjectable {
      */
     private void tileInitialize(List<Secouriste> listSecouristes) {
         if (listSecouristes != null) {
+            // Toutes les affectations des secouristes affichés en une seule requête
+            Map<Long, List<Affectation>> affectationsParSecouriste = this.affectationManagement.getAffectationsByRescuers(listSecouristes);
             for (Secouriste secouriste : listSecouristes) {
 
                 Possession possession = this.possessionManagement.getPossessionBySecouriste(secouriste);
@@ -133,7 +136,7 @@ public class DashboardRescuerController implements FenetreGestionInjectable {
                     }
                 }
 
-                List<Affectation> affectations = this.affectationManagement.getAffectationsByRescuer(secouriste);
+                List<Affectation> affectations = affectationsParSecouriste.get(secouriste.getIdSecouriste());
                 for (Affectation affectation : affectations) {
                     if (!this.groupes.contains(affectation.getDPSAffect().getName())) {
                         this.groupes.add(affectation.getDPSAffect().getName());
@@ -188,7 +191,7 @@ public class DashboardRescuerController implements FenetreGestionInjectable {
 
                 row = 0;
                 col = 0;
-                for (Affectation affectation : this.affectationManagement.getAffectationsByRescuer(secouriste)) {
+                for (Affectation affectation : affectations) {
                     Label affectLabel = new Label(affectation.getDPSAffect().getName() + " (" + affectation.getCompetenceAffect().getIntitule() + ") : " + affectation.getDPSAffect().getJournee());
                     affectLabel.setMinWidth(295);
                     affectLabel.setAlignment(Pos.CENTER);
@@ -342,6 +345,7 @@ public class DashboardRescuerController implements FenetreGestionInjectable {
     public void filtreUpdate() {
         this.evenementTile.getChildren().clear();
         ArrayList<Secouriste> listSecouriste = new ArrayList<>();
+        Map<Long, List<Affectation>> affectationsParSecouriste = this.affectationManagement.getAffectationsByRescuers(this.secouristeList);
         for (Secouriste secouriste : this.secouristeList) {
             boolean verifCert = false;
             if (this.certComboBox.getSelectionModel().getSelectedItem() != null && this.certComboBox.getSelectionModel().getSelectedItem().equals("Certification")) {
@@ -359,7 +363,7 @@ public class DashboardRescuerController implements FenetreGestionInjectable {
             if (this.grpComboBox.getSelectionModel().getSelectedItem() != null && this.grpComboBox.getSelectionModel().getSelectedItem().equals("Groupe d'affectation")) {
                 verifGrp = true;
             } else {
-                for (Affectation affectation : this.affectationManagement.getAffectationsByRescuer(secouriste)) {
+                for (Affectation affectation : affectationsParSecouriste.get(secouriste.getIdSecouriste())) {
                     if (affectation.getDPSAffect().getName().equals(this.grpComboBox.getSelectionModel().getSelectedItem())) {
                         System.out.println(this.grpComboBox.getSelectionModel().getSelectedItem());
                         verifGrp = true;
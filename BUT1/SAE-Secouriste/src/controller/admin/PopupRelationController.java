@@ -8,8 +8,6 @@ import javafx.scene.layout.GridPane;
 import javafx.scene.layout.VBox;
 import model.data.persistence.*;
 import model.data.service.*;
-import model.graph.utils.GraphUtils;
-import model.graph.utils.MatrixUtils;
 
 import static controller.layoutmanager.FenetreGestionController.removeOverlay;
 
@@ -140,16 +138,10 @@ public class PopupRelationController {
         Necessite newNecessite = new Necessite(new Competence(comboBoxComp1.getSelectionModel().getSelectedItem()), new Competence(comboBoxComp2.getSelectionModel().getSelectedItem()));
         if (this.necessiteManagement.isCreate(newNecessite)) {
             this.infosLabel.setText("Relation déjà existante");
+        } else if (!this.necessiteManagement.addNecessite(newNecessite)) {
+            this.infosLabel.setText("Vous essayez de créer un cycle");
         } else {
-            this.necessiteManagement.addNecessite(newNecessite);
-            GraphUtils graphUtils = new GraphUtils();
-            MatrixUtils matrixUtils = new MatrixUtils();
-            if (!graphUtils.isDAG(matrixUtils.createAdjacencyMatrix( matrixUtils.createSkillDependencyMap(this.competenceManagement.getCompetences(), this.necessiteManagement.getNecessites())))) {
-                this.necessiteManagement.removeNecessite(newNecessite);
-                this.infosLabel.setText("Vous essayez de créer un cycle");
-            } else {
-                this.infosLabel.setText("Relation ajoutée avec succès");
-            }
+            this.infosLabel.setText("Relation ajoutée avec succès");
         }
         initializeVBox();
     }
@@ -79,7 +79,8 @@ public class PopupRescuerSetAdminController {
      */
     @FXML
     public void setAdmin() {
-        Administrateur newAdmin = new Administrateur(this.secouriste.getIdSecouriste(), this.secouriste.getNom(), this.secouriste.getPrenom(), this.secouriste.getDateNaissance(), this.secouriste.getTel(), this.secouriste.getAdresse(), this.secouriste.getPhoto());
+        Administrateur newAdmin = new Administrateur(this.secouriste.getIdSecouriste(), this.secouriste.getNom(), this.secouriste.getPrenom(), this.secouriste.getDateNaissance(), this.secouriste.getTel(), this.secouriste.getAdresse(), null);
+        newAdmin.setPhotoHandle(this.secouriste.getPhotoHandle());
         this.administrateurManagement.addAdministrateur(newAdmin);
 
         for (Affectation affectation : this.affectationManagement.getAffectationsByRescuer(this.secouriste)) {
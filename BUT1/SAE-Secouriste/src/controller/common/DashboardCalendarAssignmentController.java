@@ -10,6 +10,7 @@ import javafx.scene.control.ScrollPane;
 import javafx.scene.layout.*;
 import javafx.scene.shape.Line;
 import javafx.scene.control.Label;
+import model.dao.IdentityMap;
 import model.data.persistence.Affectation;
 import model.data.persistence.DPS;
 import model.data.service.*;
@@ -102,6 +103,15 @@ public class DashboardCalendarAssignmentController implements FenetreGestionInje
      */
     @FXML
     public void initialize() {
+        try (IdentityMap portee = IdentityMap.open()) {
+            load();
+        }
+    }
+
+    /**
+     * Loads the DPS list and draws the calendar, in the identity map scope opened by {@link #initialize()}.
+     */
+    private void load() {
         this.dpsList = new ArrayList<>();
         if (getInstanceAuthentificationManagement().isAdmin()) {
             gestionButton.setVisible(true);
@@ -204,6 +214,16 @@ public class DashboardCalendarAssignmentController implements FenetreGestionInje
      * Displays event details and highlights the rescuer's assigned competence if applicable.
      */
     private void drawDPS() {
+        // Une seule lecture de chaque DPS et secouriste pour tout le dessin
+        try (IdentityMap portee = IdentityMap.open()) {
+            drawEvents();
+        }
+    }
+
+    /**
+     * Draws the DPS events, in the identity map scope opened by {@link #drawDPS()}.
+     */
+    private void drawEvents() {
         double width = 1431;
         double height = 1600;
         double leftMargin = width * 0.11;
@@ -216,8 +216,8 @@ public class DashboardSettingsController implements FenetreGestionInjectable, Me
                 colorPane.setStyle("-fx-background-color: linear-gradient(from 0% 0% to 100% 0%,  #BFB0FE, #3636E1); -fx-background-radius:  30 30 0 0;");
 
                 prenomNomParam.setText(admin.getPrenom() + " " + admin.getNom());
-                if (admin.getPhoto() != null) {
-                    Image image = new Image(new ByteArrayInputStream(admin.getPhoto()));
+                Image image = admin.getPhotoAsImage();
+                if (image != null) {
                     pdpParamCircle.setFill(new ImagePattern(image));
                 }
                 checkPSE1.setVisible(false);
@@ -242,8 +242,8 @@ public class DashboardSettingsController implements FenetreGestionInjectable, Me
                 }
             } else {
                 prenomNomParam.setText(sec.getPrenom() + " " + sec.getNom());
-                if (sec.getPhoto() != null) {
-                    Image image = new Image(new ByteArrayInputStream(sec.getPhoto()));
+                Image image = sec.getPhotoAsImage();
+                if (image != null) {
                     pdpParamCircle.setFill(new ImagePattern(image));
                 }
                 PossessionManagement possessionManagement = new PossessionManagement();
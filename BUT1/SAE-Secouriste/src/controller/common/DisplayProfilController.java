@@ -16,7 +16,6 @@ import model.data.service.AdministrateurManagement;
 import model.data.service.AuthentificationManagement;
 import model.data.service.SecouristeManagement;
 
-import java.io.ByteArrayInputStream;
 
 import static model.data.service.AuthentificationManagement.getInstanceAuthentificationManagement;
 
@@ -98,16 +97,16 @@ public class DisplayProfilController implements MenuParalleleInjectable {
         Image image = null;
         if (getInstanceAuthentificationManagement().isAdmin()) {
             administrateur = administrateurManagement.getAdministrateurById(getInstanceAuthentificationManagement().getCurrentUser().getIdUser());
-            if (administrateur.getPhoto() != null) {
-                image = new Image(new ByteArrayInputStream(administrateur.getPhoto()));
+            image = administrateur.getPhotoAsImage();
+            if (image != null) {
                 if (!image.isError()) {
                     myCircle.setFill(new ImagePattern(image));
                 }
             }
         } else {
             secouriste = secouristeManagement.getSecouristeById(getInstanceAuthentificationManagement().getCurrentUser().getIdUser());
-            if (secouriste.getPhoto() != null) {
-                image = new Image(new ByteArrayInputStream(secouriste.getPhoto()));
+            image = secouriste.getPhotoAsImage();
+            if (image != null) {
                 if (!image.isError()) {
                     myCircle.setFill(new ImagePattern(image));
                 }
@@ -2,9 +2,10 @@ package model.dao;
 
 import javafx.scene.image.Image;
 import model.data.persistence.Administrateur;
-import model.data.persistence.Administrateur;
+import model.data.persistence.Photo;
 import model.data.persistence.Secouriste;
 
+import java.io.IOException;
 import java.io.InputStream;
 import java.sql.*;
 import java.util.ArrayList;
@@ -19,6 +20,11 @@ import static model.dao.ConnectionBDD.getConnection;
  */
 public class AdministrateurDAO {
 
+    /**
+     * Scalar columns of an Administrateur: the photo is read only when it is displayed.
+     */
+    private static final String COLONNES = "idAdministrateur, nom, prenom, date_naissance, tel, adresse";
+
     /**
      * Inserts a new Administrateur into the database.
      *
@@ -51,18 +57,19 @@ public class AdministrateurDAO {
 
         try (Connection con = ConnectionBDD.getConnection();
              Statement stmt = con.createStatement();
-             ResultSet rs = stmt.executeQuery("SELECT * FROM Administrateur")) {
+             ResultSet rs = stmt.executeQuery("SELECT " + COLONNES + " FROM Administrateur")) {
 
             while (rs.next()) {
                 Administrateur s = new Administrateur(
-                        rs.getLong("id"),
+                        rs.getLong("idAdministrateur"),
                         rs.getString("nom"),
                         rs.getString("prenom"),
-                        rs.getString("dateNaissance"),
+                        rs.getString("date_naissance"),
                         rs.getString("tel"),
                         rs.getString("adresse"),
-                        rs.getBytes("photo")
+                        null
                 );
+                s.setPhotoHandle(photo(s.getIdAdministrateur()));
                 administrateurs.add(s);
             }
         } catch (SQLException e) {
@@ -77,7 +84,7 @@ public class AdministrateurDAO {
      * @return return the administrator
      */
     public Administrateur findById(long idAdministrateur) {
-        String query = "SELECT * FROM Administrateur WHERE Administrateur.idAdministrateur = ?";
+        String query = "SELECT " + COLONNES + " FROM Administrateur WHERE Administrateur.idAdministrateur = ?";
         try (Connection con = ConnectionBDD.getConnection();
              PreparedStatement stmt = con.prepareStatement(query)) {
 
@@ -91,8 +98,9 @@ public class AdministrateurDAO {
                         rs.getString("date_naissance"),
                         rs.getString("tel"),
                         rs.getString("adresse"),
-                        rs.getBytes("photo")
+                        null
                 );
+                administrateur.setPhotoHandle(photo(administrateur.getIdAdministrateur()));
                 return administrateur;
             }
         } catch (SQLException e) {
@@ -129,25 +137,47 @@ public class AdministrateurDAO {
      * @return la photo de profil
      */
     public Image recupererPhoto(long id) {
-        String sql = "SELECT photo FROM Administrateur WHERE idAdministrateur = ?";
+        Image[] ret = new Image[1];
+        try {
+            lirePhoto(id, is -> ret[0] = new Image(is));
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+        return ret[0];
+    }
+
+    /**
+     * Creates the handle of the photo of an Administrateur, read from the database only when it is displayed.
+     *
+     * @param idAdministrateur - id du Administrateur
+     * @return the photo
+     */
+    private static Photo photo(long idAdministrateur) {
+        return Photo.lazy(lecture -> lirePhoto(idAdministrateur, lecture));
+    }
+
+    /**
+     * Streams the photo of an Administrateur, without loading it in memory.
+     *
+     * @param idAdministrateur - id du Administrateur
+     * @param lecture - the reading of the stream, not called if the Administrateur has no photo
+     * @throws SQLException if the photo cannot be read
+     * @throws IOException if the reading fails
+     */
+    private static void lirePhoto(long idAdministrateur, Photo.Lecture lecture) throws SQLException, IOException {
         try (Connection conn = getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+             PreparedStatement pstmt = conn.prepareStatement("SELECT photo FROM Administrateur WHERE idAdministrateur = ?")) {
 
-            pstmt.setLong(1, id);
+            pstmt.setLong(1, idAdministrateur);
             ResultSet rs = pstmt.executeQuery();
-
             if (rs.next()) {
-                InputStream is = rs.getBinaryStream("photo");
-                if (is != null) {
-                    return new Image(is);
+                try (InputStream is = rs.getBinaryStream("photo")) {
+                    if (is != null) {
+                        lecture.lire(is);
+                    }
                 }
             }
-
-        } catch (Exception e) {
-            e.printStackTrace();
         }
-
-        return null;
     }
 
     /**
@@ -2,18 +2,25 @@ package model.dao;
 
 import model.data.persistence.Affectation;
 import model.data.persistence.Competence;
+import model.data.persistence.DPS;
+import model.data.persistence.Journee;
 import model.data.persistence.Secouriste;
-import model.data.service.DPSManagement;
-import model.data.service.SecouristeManagement;
+import model.data.persistence.Site;
+import model.data.persistence.Sport;
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Set;
 
 /**
  * Class AffectationDAO that manages the database operations for the Affectation entity.
@@ -22,6 +29,11 @@ import java.util.HashMap;
  */
 public class AffectationDAO {
 
+    /**
+     * Maximum number of IDs in the IN clause of one query.
+     */
+    private static final int TAILLE_LOT = 500;
+
     /**
      * Inserts a new Affectation into the database.
      *
@@ -42,6 +54,112 @@ public class AffectationDAO {
         }
     }
 
+    /**
+     * Inserts several Affectations and removes the matching needs (one Besoin row per Affectation)
+     * in a single transaction: either every Affectation is saved, or none.
+     *
+     * @param affectations the Affectations to insert
+     * @return true if the transaction was committed, false if it was rolled back
+     */
+    public boolean insertAllAndDeleteBesoins(List<Affectation> affectations) {
+        boolean ret = false;
+        String insertQuery = "INSERT INTO Affectation VALUES (?, ?, ?)";
+        String deleteBesoinQuery = "DELETE FROM Besoin WHERE DPS = ? AND COMPETENCE = ? LIMIT 1";
+
+        try (Connection con = ConnectionBDD.getConnection()) {
+            // Commencer transaction
+            con.setAutoCommit(false);
+            try (PreparedStatement insertStmt = con.prepareStatement(insertQuery);
+                 PreparedStatement deleteStmt = con.prepareStatement(deleteBesoinQuery)) {
+
+                for (Affectation affectation : affectations) {
+                    insertStmt.setLong(1, affectation.getSecouristeAffect().getIdSecouriste());
+                    insertStmt.setLong(2, affectation.getDPSAffect().getId());
+                    insertStmt.setString(3, affectation.getCompetenceAffect().getIntitule());
+                    insertStmt.addBatch();
+
+                    deleteStmt.setLong(1, affectation.getDPSAffect().getId());
+                    deleteStmt.setString(2, affectation.getCompetenceAffect().getIntitule());
+                    deleteStmt.addBatch();
+                }
+                insertStmt.executeBatch();
+                deleteStmt.executeBatch();
+
+                // Commit transaction
+                con.commit();
+                ret = true;
+            } catch (SQLException e) {
+                con.rollback();
+                throw e;
+            } finally {
+                con.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return ret;
+    }
+
+    /**
+     * Applies the repair of the assignments of a day in a single transaction: the Affectations
+     * that are no longer valid or that moved are deleted, their new version is inserted, and a Besoin row
+     * is inserted again for every slot that could not be covered anymore.
+     *
+     * @param supprimees the Affectations to delete
+     * @param ajoutees the Affectations to insert
+     * @param besoinsRouverts the slots (DPS and skill) to put back in the needs
+     * @return true if the transaction was committed, false if it was rolled back
+     */
+    public boolean applyRepair(List<Affectation> supprimees, List<Affectation> ajoutees, List<Affectation> besoinsRouverts) {
+        boolean ret = false;
+        String deleteQuery = "DELETE FROM Affectation WHERE SecouristeAffect = ? AND DpsAffect = ? AND CompetenceAffect = ?";
+        String insertQuery = "INSERT INTO Affectation VALUES (?, ?, ?)";
+        String insertBesoinQuery = "INSERT INTO Besoin (DPS, COMPETENCE) VALUES (?, ?)";
+
+        try (Connection con = ConnectionBDD.getConnection()) {
+            // Commencer transaction
+            con.setAutoCommit(false);
+            try (PreparedStatement deleteStmt = con.prepareStatement(deleteQuery);
+                 PreparedStatement insertStmt = con.prepareStatement(insertQuery);
+                 PreparedStatement besoinStmt = con.prepareStatement(insertBesoinQuery)) {
+
+                for (Affectation affectation : supprimees) {
+                    deleteStmt.setLong(1, affectation.getSecouristeAffect().getIdSecouriste());
+                    deleteStmt.setLong(2, affectation.getDPSAffect().getId());
+                    deleteStmt.setString(3, affectation.getCompetenceAffect().getIntitule());
+                    deleteStmt.addBatch();
+                }
+                for (Affectation affectation : ajoutees) {
+                    insertStmt.setLong(1, affectation.getSecouristeAffect().getIdSecouriste());
+                    insertStmt.setLong(2, affectation.getDPSAffect().getId());
+                    insertStmt.setString(3, affectation.getCompetenceAffect().getIntitule());
+                    insertStmt.addBatch();
+                }
+                for (Affectation affectation : besoinsRouverts) {
+                    besoinStmt.setLong(1, affectation.getDPSAffect().getId());
+                    besoinStmt.setString(2, affectation.getCompetenceAffect().getIntitule());
+                    besoinStmt.addBatch();
+                }
+                // Suppressions d'abord : un secouriste déplacé garde la même clé sur un autre poste
+                deleteStmt.executeBatch();
+                insertStmt.executeBatch();
+                besoinStmt.executeBatch();
+
+                // Commit transaction
+                con.commit();
+                ret = true;
+            } catch (SQLException e) {
+                con.rollback();
+                throw e;
+            } finally {
+                con.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return ret;
+    }
+
     /**
      * Checks if a rescuer is assigned to a specific day.
      *
@@ -71,6 +189,135 @@ public class AffectationDAO {
         return ret;
     }
 
+    /**
+     * Finds in a single query all the rescuers already assigned on a specific day.
+     *
+     * @param idJournee the ID of the day
+     * @return the IDs of the rescuers assigned to a DPS of this day
+     */
+    public Set<Long> findIdRescuersByDay(long idJournee) {
+        Set<Long> ret = new HashSet<>();
+        String query = "SELECT DISTINCT a.secouristeAffect FROM Affectation a JOIN DPS d ON a.DPSAffect = d.id WHERE d.journee = ?";
+
+        try (Connection con = ConnectionBDD.getConnection();
+             PreparedStatement stmt = con.prepareStatement(query)) {
+
+            stmt.setLong(1, idJournee);
+            ResultSet rs = stmt.executeQuery();
+            while (rs.next()) {
+                ret.add(rs.getLong("secouristeAffect"));
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return ret;
+    }
+
+    /**
+     * Finds in a single query the hours of the DPS of a specific day where each rescuer is assigned.
+     *
+     * @param idJournee the ID of the day
+     * @return for each assigned rescuer ID, the start and end hours of each of their DPS of the day
+     */
+    public Map<Long, List<int[]>> findHorairesByDay(long idJournee) {
+        Map<Long, List<int[]>> ret = new HashMap<>();
+        String query = "SELECT DISTINCT a.secouristeAffect, d.id, d.horaire_depart, d.horaire_fin FROM Affectation a JOIN DPS d ON a.DPSAffect = d.id WHERE d.journee = ?";
+
+        try (Connection con = ConnectionBDD.getConnection();
+             PreparedStatement stmt = con.prepareStatement(query)) {
+
+            stmt.setLong(1, idJournee);
+            ResultSet rs = stmt.executeQuery();
+            while (rs.next()) {
+                ret.computeIfAbsent(rs.getLong("secouristeAffect"), k -> new ArrayList<>())
+                        .add(new int[]{rs.getInt("horaire_depart"), rs.getInt("horaire_fin")});
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return ret;
+    }
+
+    /**
+     * Finds the hours of the DPS of a specific day where a rescuer is assigned.
+     *
+     * @param idJournee the ID of the day
+     * @param idSecouriste the ID of the rescuer
+     * @return the start and end hours of each DPS of the rescuer on that day, or null if the query failed
+     */
+    public List<int[]> findHorairesByRescuerAndDay(long idJournee, long idSecouriste) {
+        List<int[]> ret = new ArrayList<>();
+        String query = "SELECT DISTINCT d.id, d.horaire_depart, d.horaire_fin FROM Affectation a JOIN DPS d ON a.DPSAffect = d.id WHERE d.journee = ? AND a.secouristeAffect = ?";
+
+        try (Connection con = ConnectionBDD.getConnection();
+             PreparedStatement stmt = con.prepareStatement(query)) {
+
+            stmt.setLong(1, idJournee);
+            stmt.setLong(2, idSecouriste);
+            ResultSet rs = stmt.executeQuery();
+            while (rs.next()) {
+                ret.add(new int[]{rs.getInt("horaire_depart"), rs.getInt("horaire_fin")});
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+            ret = null;
+        }
+        return ret;
+    }
+
+    /**
+     * Finds all the Affectations of a specific day.
+     * The DPS and the available rescuers of the day are loaded with one query each;
+     * only the assigned rescuers that are no longer available are loaded one by one.
+     *
+     * @param idJournee the ID of the day
+     * @return a list of Affectations of the day
+     */
+    public List<Affectation> findByDay(long idJournee) {
+        List<Affectation> affectations = new ArrayList<>();
+        String query = "SELECT a.secouristeAffect, a.DPSAffect, a.competenceAffect FROM Affectation a JOIN DPS d ON a.DPSAffect = d.id WHERE d.journee = ?";
+
+        ArrayList<Object[]> save = new ArrayList<>();
+        try (Connection con = ConnectionBDD.getConnection();
+             PreparedStatement stmt = con.prepareStatement(query)) {
+
+            stmt.setLong(1, idJournee);
+            ResultSet rs = stmt.executeQuery();
+            while (rs.next()) {
+                long idSecouristeAffect = rs.getLong("secouristeAffect");
+                long idDPS = rs.getLong("DPSAffect");
+                String idCompetenceAffect = rs.getString("competenceAffect");
+                save.add(new Object[]{idSecouristeAffect, idDPS, idCompetenceAffect});
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        if (save.isEmpty()) {
+            return affectations;
+        }
+
+        // Les DPS et les secouristes sont chargés une fois la requête fermée : une seule connexion du pool
+        // est empruntée à la fois, ce qui évite d'attendre une seconde connexion quand le pool est saturé
+        Map<Long, DPS> dpsParId = new HashMap<>();
+        for (DPS dps : new DPSDAO().findByDay(idJournee)) {
+            dpsParId.put(dps.getId(), dps);
+        }
+        Map<Long, Secouriste> secouristesParId = new HashMap<>();
+        SecouristeDAO secouristeDAO = new SecouristeDAO();
+        for (Secouriste secouriste : secouristeDAO.findByDay(idJournee)) {
+            secouristesParId.put(secouriste.getIdSecouriste(), secouriste);
+        }
+        for (Object[] row : save) {
+            long idSecouristeAffect = (long) row[0];
+            long idDPS = (long) row[1];
+            String idCompetenceAffect = (String) row[2];
+
+            Secouriste secouriste = secouristesParId.computeIfAbsent(idSecouristeAffect, secouristeDAO::findById);
+            affectations.add(new Affectation(secouriste, dpsParId.get(idDPS), new Competence(idCompetenceAffect)));
+        }
+        return affectations;
+    }
+
     /**
      * Checks if an Affectation already exists in the database.
      *
@@ -123,87 +370,124 @@ public class AffectationDAO {
     }
 
     /**
-     * Finds all Affectations for a specific rescuer.
+     * Finds all Affectations for a specific rescuer, in a single query.
      *
      * @param idRescuer the ID of the rescuer
      * @return a list of Affectations for the rescuer
      */
     public List<Affectation> findByRescuer(long idRescuer) {
-        List<Affectation> affectations = new ArrayList<>();
-        String query = "SELECT * FROM Affectation WHERE SecouristeAffect = ?";
-
-        try (Connection con = ConnectionBDD.getConnection();
-             PreparedStatement stmt = con.prepareStatement(query)) {
-
-            stmt.setLong(1, idRescuer);
-            ResultSet rs = stmt.executeQuery();
-
-            ArrayList<Object[]> save = new ArrayList<>();
-            while (rs.next()) {
-                long idSecouristeAffect = rs.getLong("secouristeAffect");
-                long idDPS = rs.getLong("DPSAffect");
-                String idCompetenceAffect = rs.getString("competenceAffect");
-                save.add(new Object[]{idSecouristeAffect, idDPS, idCompetenceAffect});
-            }
-            for (Object[] row : save) {
-                long idSecouristeAffect = (long) row[0];
-                long idDPS = (long) row[1];
-                String idCompetenceAffect = (String) row[2];
-
-                Affectation affectation = new Affectation(
-                        new SecouristeManagement().getSecouristeById(idSecouristeAffect),
-                        new DPSManagement().getDpsById(idDPS),
-                        new Competence(idCompetenceAffect)
-                );
-                affectations.add(affectation);
-            }
-
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
-        return affectations;
+        return findByRescuers(Collections.singletonList(idRescuer)).get(idRescuer);
     }
 
-/**
-     * Finds all Affectations for a specific DPS.
+    /**
+     * Finds all Affectations for a specific DPS, in a single query.
      *
      * @param idDps the ID of the DPS
      * @return a list of Affectations for the DPS
      */
     public List<Affectation> findByDPS(long idDps) {
-        List<Affectation> affectations = new ArrayList<>();
-        String query = "SELECT * FROM Affectation WHERE DpsAffect = ?";
+        return findByDPSs(Collections.singletonList(idDps)).get(idDps);
+    }
 
-        try (Connection con = ConnectionBDD.getConnection();
-             PreparedStatement stmt = con.prepareStatement(query)) {
+    /**
+     * Finds all Affectations of several rescuers at once, with one query per {@value #TAILLE_LOT} rescuers.
+     *
+     * @param idRescuers the IDs of the rescuers
+     * @return for each rescuer ID, the list of their Affectations (empty if they have none)
+     */
+    public Map<Long, List<Affectation>> findByRescuers(Collection<Long> idRescuers) {
+        return findHydrated("a.secouristeAffect", idRescuers);
+    }
 
-            stmt.setLong(1, idDps);
-            ResultSet rs = stmt.executeQuery();
+    /**
+     * Finds all Affectations of several DPS at once, with one query per {@value #TAILLE_LOT} DPS.
+     *
+     * @param idDps the IDs of the DPS
+     * @return for each DPS ID, the list of its Affectations (empty if it has none)
+     */
+    public Map<Long, List<Affectation>> findByDPSs(Collection<Long> idDps) {
+        return findHydrated("a.DPSAffect", idDps);
+    }
 
-            ArrayList<Object[]> save = new ArrayList<>();
-            while (rs.next()) {
-                long idSecouristeAffect = rs.getLong("secouristeAffect");
-                long idDPS = rs.getLong("DPSAffect");
-                String idCompetenceAffect = rs.getString("competenceAffect");
-                save.add(new Object[]{idSecouristeAffect, idDPS, idCompetenceAffect});
-            }
-            for (Object[] row : save) {
-                long idSecouristeAffect = (long) row[0];
-                long idDPS = (long) row[1];
-                String idCompetenceAffect = (String) row[2];
-
-                Affectation affectation = new Affectation(
-                        new SecouristeManagement().getSecouristeById(idSecouristeAffect),
-                        new DPSManagement().getDpsById(idDPS),
-                        new Competence(idCompetenceAffect)
-                );
-                affectations.add(affectation);
-            }
+    /**
+     * Loads the Affectations whose column is one of the IDs, joined with their rescuer (whose photo is read only when displayed),
+     * their DPS, its Site, its Sport and its Journee. A rescuer or a DPS that appears in several
+     * Affectations is the same object in all of them.
+     *
+     * @param colonne the column compared to the IDs
+     * @param ids the IDs
+     * @return for each ID, the list of its Affectations
+     */
+    private Map<Long, List<Affectation>> findHydrated(String colonne, Collection<Long> ids) {
+        Map<Long, List<Affectation>> ret = new LinkedHashMap<>();
+        for (Long id : ids) {
+            ret.put(id, new ArrayList<>());
+        }
+        List<Long> restants = new ArrayList<>(ret.keySet());
+        if (restants.isEmpty()) {
+            return ret;
+        }
 
+        Map<Long, Secouriste> secouristesParId = new HashMap<>();
+        Map<Long, DPS> dpsParId = new HashMap<>();
+        try (Connection con = ConnectionBDD.getConnection()) {
+            for (int debut = 0; debut < restants.size(); debut += TAILLE_LOT) {
+                List<Long> lot = restants.subList(debut, Math.min(debut + TAILLE_LOT, restants.size()));
+                String query = "SELECT a.secouristeAffect, a.DPSAffect, a.competenceAffect, "
+                        + "s.nom, s.prenom, s.date_naissance, s.tel, s.adresse, "
+                        + "d.NAME, d.HORAIRE_DEPART, d.HORAIRE_FIN, j.JOUR, j.MOIS, j.ANNEE, "
+                        + "si.CODE AS SITE_CODE, si.NOM AS SITE_NOM, si.LONGITUDE AS SITE_LON, si.LATITUDE AS SITE_LAT, "
+                        + "sp.CODE AS SPORT_CODE, sp.NOM AS SPORT_NOM "
+                        + "FROM Affectation a JOIN Secouriste s ON s.idSecouriste = a.secouristeAffect "
+                        + "JOIN DPS d ON d.ID = a.DPSAffect JOIN Site si ON d.SITE = si.CODE "
+                        + "JOIN Sport sp ON d.SPORT = sp.CODE JOIN Journee j ON j.ID = d.JOURNEE "
+                        + "WHERE " + colonne + " IN (" + String.join(", ", Collections.nCopies(lot.size(), "?")) + ")";
+
+                try (PreparedStatement stmt = con.prepareStatement(query)) {
+                    for (int k = 0; k < lot.size(); k++) {
+                        stmt.setLong(k + 1, lot.get(k));
+                    }
+                    ResultSet rs = stmt.executeQuery();
+                    while (rs.next()) {
+                        long idSecouriste = rs.getLong("secouristeAffect");
+                        Secouriste secouriste = secouristesParId.get(idSecouriste);
+                        if (secouriste == null) {
+                            secouriste = IdentityMap.find(Secouriste.class, idSecouriste);
+                        }
+                        if (secouriste == null) {
+                            secouriste = new Secouriste(idSecouriste, rs.getString("nom"), rs.getString("prenom"),
+                                    rs.getString("date_naissance"), rs.getString("tel"), rs.getString("adresse"), null);
+                            secouriste.setPhotoHandle(SecouristeDAO.photo(idSecouriste));
+                            secouriste = IdentityMap.register(Secouriste.class, idSecouriste, secouriste);
+                        }
+                        secouristesParId.put(idSecouriste, secouriste);
+
+                        long idDPS = rs.getLong("DPSAffect");
+                        DPS dps = dpsParId.get(idDPS);
+                        if (dps == null) {
+                            dps = IdentityMap.find(DPS.class, idDPS);
+                        }
+                        if (dps == null) {
+                            long siteCode = rs.getLong("SITE_CODE");
+                            long sportCode = rs.getLong("SPORT_CODE");
+                            Site site = IdentityMap.register(Site.class, siteCode,
+                                    new Site(siteCode, rs.getString("SITE_NOM"), rs.getFloat("SITE_LON"), rs.getFloat("SITE_LAT")));
+                            Sport sport = IdentityMap.register(Sport.class, sportCode, new Sport(sportCode, rs.getString("SPORT_NOM")));
+                            Journee journee = new Journee(rs.getInt("JOUR"), rs.getInt("MOIS"), rs.getInt("ANNEE"));
+                            dps = IdentityMap.register(DPS.class, idDPS,
+                                    new DPS(idDPS, rs.getString("NAME"), rs.getInt("HORAIRE_DEPART"), rs.getInt("HORAIRE_FIN"), site, sport, journee));
+                        }
+                        dpsParId.put(idDPS, dps);
+
+                        Affectation affectation = new Affectation(secouriste, dps, new Competence(rs.getString("competenceAffect")));
+                        ret.get(colonne.equals("a.secouristeAffect") ? idSecouriste : idDPS).add(affectation);
+                    }
+                }
+            }
         } catch (SQLException e) {
             e.printStackTrace();
         }
-        return affectations;
+        return ret;
     }
 
     /**
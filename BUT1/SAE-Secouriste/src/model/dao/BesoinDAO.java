@@ -4,6 +4,8 @@ import model.data.persistence.*;
 
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
 
 /**
  * Class BesoinDAO that manages the database operations for the Besoin entity.
@@ -59,6 +61,30 @@ public class BesoinDAO {
         return ret;
     }
 
+    /**
+     * Finds in a single query the remaining needs of all the DPS of a day.
+     *
+     * @param idJournee the ID of the day
+     * @return the required competences by DPS ID, only for the DPS that still have needs
+     */
+    public Map<Long, ArrayList<Competence>> findByDay(long idJournee) {
+        Map<Long, ArrayList<Competence>> ret = new HashMap<>();
+        String query = "SELECT b.DPS, b.COMPETENCE FROM Besoin b JOIN DPS d ON b.DPS = d.ID WHERE d.JOURNEE = ? ORDER BY b.DPS, b.ID";
+
+        try (Connection con = ConnectionBDD.getConnection();
+             PreparedStatement stmt = con.prepareStatement(query)) {
+
+            stmt.setLong(1, idJournee);
+            ResultSet rs = stmt.executeQuery();
+            while (rs.next()) {
+                ret.computeIfAbsent(rs.getLong("DPS"), k -> new ArrayList<>()).add(new Competence(rs.getString("COMPETENCE")));
+            }
+        } catch (SQLException ex) {
+            ex.printStackTrace();
+        }
+        return ret;
+    }
+
     /**
      * Finds a Besoin by its associated DPS and Competence.
      *
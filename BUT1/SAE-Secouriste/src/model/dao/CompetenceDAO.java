@@ -5,8 +5,10 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.List;
 
 import model.data.persistence.Competence;
+import model.utils.Settings;
 
 import static model.dao.ConnectionBDD.getConnection;
 
@@ -18,21 +20,19 @@ import static model.dao.ConnectionBDD.getConnection;
 public class CompetenceDAO {
 
     /**
-     * Finds all competence intitules in the database.
+     * Cache of the intitules of the Competence table, shared by the whole application.
+     */
+    private static final ReferenceCache<String> cache = new ReferenceCache<>("Competence", CompetenceDAO::chargerIntitules, Settings::referenceCacheTtl);
+
+    /**
+     * Finds all competence intitules, from the cache of the Competence table.
      *
      * @return a list of competence intitules
      */
     public ArrayList<String> findAllIntitule() {
         ArrayList<String> competences = new ArrayList<>();
-
-        try (Connection con = getConnection();
-             Statement stmt = con.createStatement();
-             ResultSet rs = stmt.executeQuery("SELECT * FROM Competence")) {
-
-            while (rs.next()) {
-                String intitule = rs.getString("intitule");
-                competences.add(intitule);
-            }
+        try {
+            competences.addAll(cache.get());
         } catch (SQLException e) {
             e.printStackTrace();
         }
@@ -40,24 +40,44 @@ public class CompetenceDAO {
     }
 
     /**
-     * Finds all Competence objects in the database.
+     * Finds all Competence objects, from the cache of the Competence table.
      *
      * @return a list of Competence objects
      */
     public ArrayList<Competence> findAll() {
         ArrayList<Competence> competences = new ArrayList<>();
+        for (String intitule : findAllIntitule()) {
+            competences.add(new Competence(intitule));
+        }
+        return competences;
+    }
+
+    /**
+     * Reads the intitules of the whole Competence table.
+     *
+     * @return a list of competence intitules
+     * @throws SQLException if the table cannot be read
+     */
+    private static List<String> chargerIntitules() throws SQLException {
+        List<String> competences = new ArrayList<>();
 
         try (Connection con = getConnection();
              Statement stmt = con.createStatement();
              ResultSet rs = stmt.executeQuery("SELECT * FROM Competence")) {
 
             while (rs.next()) {
-                Competence competence = new Competence(rs.getString("intitule"));
-                competences.add(competence);
+                String intitule = rs.getString("intitule");
+                competences.add(intitule);
             }
-        } catch (SQLException e) {
-            e.printStackTrace();
         }
         return competences;
     }
+
+    /**
+     * Get the cache of the Competence table, for its counters
+     * @return the cache
+     */
+    public static ReferenceCache<String> getCache() {
+        return cache;
+    }
 }
@@ -1,14 +1,14 @@
 package model.dao;
 
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.SQLException;
 
 import static model.utils.FetchDatabaseCredentials.*;
 
 /**
- * Class ConnectionBDD that manages the connection to the database.
- * It uses credentials fetched from a utility class to establish the connection.
+ * Class ConnectionBDD that manages the connections to the database.
+ * It uses credentials fetched from a utility class to open them, and lends them from a bounded pool:
+ * closing a connection gives it back to the pool instead of closing the physical connection.
  * @author L. Carré, G. Potay, C. Brocart, T.Brami-Coatual
  * @version 1.0
  */
@@ -30,21 +30,48 @@ public class ConnectionBDD {
     private static final String url = getUrl();
 
     /**
-     * Static variable for the database connection.
+     * Pool of the database connections, created on first use.
      */
-    private static Connection connexion;
+    private static ConnectionPool pool;
 
     /**
-     * Private constructor to prevent instantiation of this utility class.
+     * Number of calls to {@link #getConnection()} made by each thread.
+     * Every DAO method gets the connection once, so it counts the round trips to the database
+     * (a batch sent in one DAO call counts as one).
+     */
+    private static final ThreadLocal<long[]> nbAppels = ThreadLocal.withInitial(() -> new long[1]);
+
+    /**
+     * Borrows a connection from the pool. It must be closed, usually with a try-with-resources block,
+     * to be given back to the pool.
+     *
+     * @return a valid connection
+     * @throws SQLException if no connection can be obtained
      */
     public static Connection getConnection() throws SQLException {
-        // System.out.println("Connexion en cours");
-        if (connexion == null || connexion.isClosed()) {
+        nbAppels.get()[0]++;
+        return getPool().emprunter();
+    }
 
-            connexion = DriverManager.getConnection( url, username, password);
-            // System.out.println(url + " " + username);
-            // System.out.println("Connexion réussie");
+    /**
+     * Get the pool of the database connections, for its metrics
+     * @return the pool, created with the sizing of database.properties
+     */
+    public static synchronized ConnectionPool getPool() {
+        if (pool == null) {
+            pool = new ConnectionPool(url, username, password, getPoolMaxSize(), getPoolMinIdle(), getPoolConnectionTimeout(),
+                    getPoolIdleTimeout(), getPoolMaxLifetime(), getPoolValidationInterval(), getPoolValidationTimeout());
         }
-        return connexion;
+        return pool;
+    }
+
+    /**
+     * Get the number of round trips to the database made by the current thread since it started.
+     * The difference between two calls gives the round trips of the code run in between.
+     *
+     * @return the number of calls to getConnection from this thread
+     */
+    public static long getNbAllersRetours() {
+        return nbAppels.get()[0];
     }
-}
\ No newline at end of file
+}
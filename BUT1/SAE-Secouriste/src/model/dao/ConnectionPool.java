@@ -0,0 +1,449 @@
+package model.dao;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Class ConnectionPool that keeps a bounded number of open connections to the database.
+ * A borrowed connection is a proxy: closing it gives the physical connection back to the pool,
+ * so the DAOs borrow and return it with their usual try-with-resources block.
+ * <ul>
+ *     <li>an idle connection is validated on borrow, unless it was used within the validation interval;</li>
+ *     <li>a connection idle for longer than the idle timeout is closed, down to the minimum of idle connections;</li>
+ *     <li>a connection older than the maximum lifetime is closed when it is returned or found idle;</li>
+ *     <li>a thread that finds the pool full waits for a connection, up to the connection timeout.</li>
+ * </ul>
+ * @author L. Carré, G. Potay, C. Brocart, T.Brami-Coatual
+ * @version 1.0
+ */
+public class ConnectionPool {
+
+    /**
+     * Physical connection with the times used by the eviction.
+     */
+    private static final class Entree {
+        private final Connection connexion;
+        private final long creation;
+        private long derniereUtilisation;
+
+        Entree(Connection connexion) {
+            this.connexion = connexion;
+            this.creation = System.nanoTime();
+            this.derniereUtilisation = this.creation;
+        }
+    }
+
+    /**
+     * URL, username and password of the database.
+     */
+    private final String url;
+    private final String username;
+    private final String password;
+
+    /**
+     * Sizing of the pool, the times are in nanoseconds.
+     */
+    private final int tailleMax;
+    private final int minIdle;
+    private final long attenteMax;
+    private final long idleTimeout;
+    private final long dureeVieMax;
+    private final long intervalleValidation;
+    private final int timeoutValidation;
+
+    /**
+     * Idle connections, the most recently returned first.
+     */
+    private final Deque<Entree> libres = new ArrayDeque<>();
+
+    /**
+     * Number of connections open or being opened, idle or borrowed.
+     */
+    private int total;
+
+    /**
+     * Whether the pool is closed.
+     */
+    private boolean ferme;
+
+    /**
+     * Metrics of the pool.
+     */
+    private long nbEmprunts;
+    private long nbAttentes;
+    private long nbEchecs;
+    private long nbCreations;
+    private long nbFermetures;
+    private long tempsAttente;
+    private long attenteMaxObservee;
+
+    /**
+     * Background thread that evicts the idle and expired connections.
+     */
+    private final ScheduledExecutorService entretien;
+
+    /**
+     * Constructor of ConnectionPool.
+     *
+     * @param url - the URL of the database
+     * @param username - the username
+     * @param password - the password
+     * @param tailleMax - the maximum number of connections
+     * @param minIdle - the number of idle connections kept by the eviction
+     * @param attenteMaxMillis - the maximum wait for a connection when the pool is full
+     * @param idleTimeoutMillis - the idle time after which a connection is closed
+     * @param dureeVieMaxMillis - the age after which a connection is closed
+     * @param intervalleValidationMillis - the time since the last use under which a connection is not validated on borrow
+     * @param timeoutValidationSeconds - the timeout of the validation of a connection
+     */
+    public ConnectionPool(String url, String username, String password, int tailleMax, int minIdle, long attenteMaxMillis,
+                          long idleTimeoutMillis, long dureeVieMaxMillis, long intervalleValidationMillis, int timeoutValidationSeconds) {
+        if (tailleMax < 1 || minIdle < 0 || minIdle > tailleMax || attenteMaxMillis < 0 || idleTimeoutMillis <= 0
+                || dureeVieMaxMillis <= 0 || intervalleValidationMillis < 0 || timeoutValidationSeconds < 0) {
+            throw new IllegalArgumentException("Dimensionnement du pool invalide");
+        }
+        this.url = url;
+        this.username = username;
+        this.password = password;
+        this.tailleMax = tailleMax;
+        this.minIdle = minIdle;
+        this.attenteMax = TimeUnit.MILLISECONDS.toNanos(attenteMaxMillis);
+        this.idleTimeout = TimeUnit.MILLISECONDS.toNanos(idleTimeoutMillis);
+        this.dureeVieMax = TimeUnit.MILLISECONDS.toNanos(dureeVieMaxMillis);
+        this.intervalleValidation = TimeUnit.MILLISECONDS.toNanos(intervalleValidationMillis);
+        this.timeoutValidation = timeoutValidationSeconds;
+
+        this.entretien = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "ConnectionPool-entretien");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long periode = Math.max(Math.min(idleTimeoutMillis, dureeVieMaxMillis) / 2, 1000);
+        this.entretien.scheduleWithFixedDelay(this::evincer, periode, periode, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Borrows a connection. Closing the returned connection gives it back to the pool.
+     *
+     * @return a valid connection
+     * @throws SQLException if no connection can be opened, or none was returned before the connection timeout
+     */
+    public Connection emprunter() throws SQLException {
+        long debut = System.nanoTime();
+        boolean attente = false;
+        while (true) {
+            Entree entree = null;
+            boolean creer = false;
+            synchronized (this) {
+                while (true) {
+                    if (this.ferme) {
+                        throw new SQLException("Le pool de connexions est fermé");
+                    }
+                    entree = this.libres.pollFirst();
+                    if (entree != null) {
+                        break;
+                    }
+                    if (this.total < this.tailleMax) {
+                        // Réserve la place : la connexion est ouverte hors du verrou
+                        this.total++;
+                        creer = true;
+                        break;
+                    }
+                    long reste = this.attenteMax - (System.nanoTime() - debut);
+                    if (reste <= 0) {
+                        this.nbEchecs++;
+                        throw new SQLTransientConnectionException("Aucune connexion libre après "
+                                + TimeUnit.NANOSECONDS.toMillis(this.attenteMax) + " ms (" + this.tailleMax + " connexions empruntées)");
+                    }
+                    attente = true;
+                    try {
+                        TimeUnit.NANOSECONDS.timedWait(this, reste);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new SQLException("Attente d'une connexion interrompue", e);
+                    }
+                }
+            }
+
+            if (creer) {
+                entree = ouvrir();
+            } else if (!valide(entree)) {
+                fermer(entree);
+                continue;
+            }
+
+            long duree = System.nanoTime() - debut;
+            synchronized (this) {
+                this.nbEmprunts++;
+                if (attente) {
+                    this.nbAttentes++;
+                }
+                this.tempsAttente += duree;
+                this.attenteMaxObservee = Math.max(this.attenteMaxObservee, duree);
+            }
+            return envelopper(entree);
+        }
+    }
+
+    /**
+     * Opens a physical connection in a place already reserved.
+     */
+    private Entree ouvrir() throws SQLException {
+        try {
+            Entree ret = new Entree(DriverManager.getConnection(this.url, this.username, this.password));
+            synchronized (this) {
+                this.nbCreations++;
+            }
+            return ret;
+        } catch (SQLException | RuntimeException e) {
+            synchronized (this) {
+                this.total--;
+                this.notifyAll();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Checks an idle connection before lending it: age, then a ping if it has not been used recently.
+     */
+    private boolean valide(Entree entree) {
+        long maintenant = System.nanoTime();
+        if (maintenant - entree.creation >= this.dureeVieMax) {
+            return false;
+        }
+        if (maintenant - entree.derniereUtilisation < this.intervalleValidation) {
+            return true;
+        }
+        try {
+            return entree.connexion.isValid(this.timeoutValidation);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Gives a physical connection back to the pool, in its default state, or closes it.
+     */
+    private void rendre(Entree entree) {
+        boolean garder;
+        try {
+            if (!entree.connexion.getAutoCommit()) {
+                // Transaction laissée ouverte par l'emprunteur
+                entree.connexion.rollback();
+                entree.connexion.setAutoCommit(true);
+            }
+            garder = !entree.connexion.isClosed();
+        } catch (SQLException e) {
+            garder = false;
+        }
+
+        entree.derniereUtilisation = System.nanoTime();
+        synchronized (this) {
+            if (garder && !this.ferme && entree.derniereUtilisation - entree.creation < this.dureeVieMax) {
+                this.libres.addFirst(entree);
+                this.notifyAll();
+                return;
+            }
+        }
+        fermer(entree);
+    }
+
+    /**
+     * Closes a physical connection and frees its place.
+     */
+    private void fermer(Entree entree) {
+        try {
+            entree.connexion.close();
+        } catch (SQLException e) {
+            // La connexion est abandonnée de toute façon
+        }
+        synchronized (this) {
+            this.total--;
+            this.nbFermetures++;
+            this.notifyAll();
+        }
+    }
+
+    /**
+     * Closes the idle connections that expired, and those idle for too long above the minimum of idle connections.
+     */
+    void evincer() {
+        Deque<Entree> evincees = new ArrayDeque<>();
+        synchronized (this) {
+            long maintenant = System.nanoTime();
+            // Les plus anciennes sont à la fin
+            Deque<Entree> gardees = new ArrayDeque<>();
+            while (!this.libres.isEmpty()) {
+                Entree entree = this.libres.pollLast();
+                boolean expiree = maintenant - entree.creation >= this.dureeVieMax;
+                boolean inactive = maintenant - entree.derniereUtilisation >= this.idleTimeout
+                        && this.libres.size() + gardees.size() >= this.minIdle;
+                if (expiree || inactive) {
+                    evincees.add(entree);
+                } else {
+                    gardees.addFirst(entree);
+                }
+            }
+            this.libres.addAll(gardees);
+        }
+        for (Entree entree : evincees) {
+            fermer(entree);
+        }
+    }
+
+    /**
+     * Closes the pool: the idle connections are closed now, the borrowed ones when they are returned.
+     */
+    public void fermer() {
+        Deque<Entree> evincees;
+        synchronized (this) {
+            this.ferme = true;
+            evincees = new ArrayDeque<>(this.libres);
+            this.libres.clear();
+            this.notifyAll();
+        }
+        this.entretien.shutdownNow();
+        for (Entree entree : evincees) {
+            fermer(entree);
+        }
+    }
+
+    /**
+     * Wraps a physical connection in a proxy whose close method returns it to the pool.
+     */
+    private Connection envelopper(Entree entree) {
+        InvocationHandler handler = new InvocationHandler() {
+            private boolean rendue;
+
+            @Override
+            public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                switch (method.getName()) {
+                    case "close":
+                        if (!this.rendue) {
+                            this.rendue = true;
+                            rendre(entree);
+                        }
+                        return null;
+                    case "isClosed":
+                        return this.rendue || entree.connexion.isClosed();
+                    case "equals":
+                        return proxy == args[0];
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    case "toString":
+                        return "ConnectionPool[" + entree.connexion + (this.rendue ? ", rendue]" : "]");
+                    default:
+                        if (this.rendue) {
+                            throw new SQLException("Connexion déjà rendue au pool");
+                        }
+                        try {
+                            return method.invoke(entree.connexion, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getCause();
+                        }
+                }
+            }
+        };
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class}, handler);
+    }
+
+    /**
+     * Get the number of borrowed connections
+     * @return the number of active connections
+     */
+    public synchronized int getActives() {
+        return this.total - this.libres.size();
+    }
+
+    /**
+     * Get the number of idle connections
+     * @return the number of idle connections
+     */
+    public synchronized int getIdle() {
+        return this.libres.size();
+    }
+
+    /**
+     * Get the maximum number of connections
+     * @return the size of the pool
+     */
+    public int getTailleMax() {
+        return this.tailleMax;
+    }
+
+    /**
+     * Get the number of successful borrows
+     * @return the number of borrows
+     */
+    public synchronized long getNbEmprunts() {
+        return this.nbEmprunts;
+    }
+
+    /**
+     * Get the number of borrows that had to wait for a connection to be returned
+     * @return the number of waits
+     */
+    public synchronized long getNbAttentes() {
+        return this.nbAttentes;
+    }
+
+    /**
+     * Get the number of borrows that failed because the pool stayed full
+     * @return the number of timeouts
+     */
+    public synchronized long getNbEchecs() {
+        return this.nbEchecs;
+    }
+
+    /**
+     * Get the number of physical connections opened
+     * @return the number of connections opened
+     */
+    public synchronized long getNbCreations() {
+        return this.nbCreations;
+    }
+
+    /**
+     * Get the number of physical connections closed (invalid, expired, idle or pool closed)
+     * @return the number of connections closed
+     */
+    public synchronized long getNbFermetures() {
+        return this.nbFermetures;
+    }
+
+    /**
+     * Get the total time spent borrowing, waits, validations and handshakes included
+     * @return the time in nanoseconds
+     */
+    public synchronized long getTempsAttente() {
+        return this.tempsAttente;
+    }
+
+    /**
+     * Get the longest time spent in one borrow
+     * @return the time in nanoseconds
+     */
+    public synchronized long getAttenteMax() {
+        return this.attenteMaxObservee;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "ConnectionPool{actives=" + getActives() + ", idle=" + getIdle() + ", max=" + this.tailleMax
+                + ", emprunts=" + this.nbEmprunts + ", attentes=" + this.nbAttentes + ", echecs=" + this.nbEchecs
+                + ", creations=" + this.nbCreations + ", attenteMoyenne="
+                + (this.nbEmprunts == 0 ? 0 : this.tempsAttente / this.nbEmprunts / 1000) + "µs}";
+    }
+}
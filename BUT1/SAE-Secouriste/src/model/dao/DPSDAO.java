@@ -104,12 +104,12 @@ public class DPSDAO {
                  String siteNom = rs.getString("SITE_NOM");
                  Float siteLongitude = rs.getFloat("SITE_LON");
                  Float siteLatitude = rs.getFloat("SITE_LAT");
-                 Site site = new Site(siteCode, siteNom, siteLongitude, siteLatitude); // adapte ce constructeur
+                 Site site = IdentityMap.register(Site.class, siteCode, new Site(siteCode, siteNom, siteLongitude, siteLatitude));
 
                  // Sport
                  Long sportCode = rs.getLong("SPORT_CODE");
                  String sportNom = rs.getString("SPORT_NOM");
-                 Sport sport = new Sport(sportCode, sportNom); // idem, adapte selon ton modèle
+                 Sport sport = IdentityMap.register(Sport.class, sportCode, new Sport(sportCode, sportNom));
 
                  // Journee
                  int jour = rs.getInt("JOUR");
@@ -119,7 +119,7 @@ public class DPSDAO {
 
                  // DPS complet
                  DPS dps = new DPS(id, name, horaireDepart, horaireFin, site, sport, journee);
-                 dpsList.add(dps);
+                 dpsList.add(IdentityMap.register(DPS.class, (long) id, dps));
              }
         } catch (SQLException ex) {
             ex.printStackTrace ();
@@ -134,7 +134,10 @@ public class DPSDAO {
      * @return the DPS with the specified ID, or null if not found
      */
     public DPS findById(long idDps) {
-        DPS ret = null;
+        DPS ret = IdentityMap.find(DPS.class, idDps);
+        if (ret != null) {
+            return ret;
+        }
         String query = "SELECT d.ID, d.NAME, d.HORAIRE_DEPART, d.HORAIRE_FIN, j.JOUR, j.MOIS, j.ANNEE, s.CODE AS SITE_CODE, s.NOM AS SITE_NOM, s.LONGITUDE AS SITE_LON, s.LATITUDE AS SITE_LAT, sp.CODE AS SPORT_CODE, sp.NOM AS SPORT_NOM FROM DPS d JOIN Site s ON d.SITE = s.CODE JOIN Sport sp ON d.SPORT = sp.CODE JOIN Journee j ON j.ID = d.JOURNEE WHERE d.ID = ?";
         try (Connection con = ConnectionBDD.getConnection();
             PreparedStatement stmt = con.prepareStatement(query)) {
@@ -152,12 +155,12 @@ public class DPSDAO {
                 String siteNom = rs.getString("SITE_NOM");
                 Float siteLongitude = rs.getFloat("SITE_LON");
                 Float siteLatitude = rs.getFloat("SITE_LAT");
-                Site site = new Site(siteCode, siteNom, siteLongitude, siteLatitude); // adapte ce constructeur
+                Site site = IdentityMap.register(Site.class, siteCode, new Site(siteCode, siteNom, siteLongitude, siteLatitude));
 
                 // Sport
                 Long sportCode = rs.getLong("SPORT_CODE");
                 String sportNom = rs.getString("SPORT_NOM");
-                Sport sport = new Sport(sportCode, sportNom); // idem, adapte selon ton modèle
+                Sport sport = IdentityMap.register(Sport.class, sportCode, new Sport(sportCode, sportNom));
 
                 // Journee
                 int jour = rs.getInt("JOUR");
@@ -165,7 +168,7 @@ public class DPSDAO {
                 int annee = rs.getInt("ANNEE");
                 Journee journee = new Journee(jour, mois, annee);
 
-                ret = new DPS(idDps, name, horaireDepart, horaireFin, site, sport, journee);;
+                ret = IdentityMap.register(DPS.class, idDps, new DPS(idDps, name, horaireDepart, horaireFin, site, sport, journee));
             }
         } catch (SQLException ex) {
             ex.printStackTrace();
@@ -216,18 +219,18 @@ public class DPSDAO {
                 String siteNom = rs.getString("SITE_NOM");
                 float siteLongitude = rs.getFloat("SITE_LON");
                 float siteLatitude = rs.getFloat("SITE_LAT");
-                Site site = new Site(siteCode, siteNom, siteLongitude, siteLatitude);
+                Site site = IdentityMap.register(Site.class, siteCode, new Site(siteCode, siteNom, siteLongitude, siteLatitude));
 
                 long sportCode = rs.getLong("SPORT_CODE");
                 String sportNom = rs.getString("SPORT_NOM");
-                Sport sport = new Sport(sportCode, sportNom);
+                Sport sport = IdentityMap.register(Sport.class, sportCode, new Sport(sportCode, sportNom));
 
                 int jour = rs.getInt("JOUR");
                 int mois = rs.getInt("MOIS");
                 int annee = rs.getInt("ANNEE");
                 Journee journee = new Journee(jour, mois, annee);
 
-                ret = new DPS(id, name, horaireDepart, horaireFin, site, sport, journee);
+                ret = IdentityMap.register(DPS.class, id, new DPS(id, name, horaireDepart, horaireFin, site, sport, journee));
             }
         } catch (SQLException ex) {
             ex.printStackTrace();
@@ -241,6 +244,7 @@ public class DPSDAO {
      * @param idDps the ID of the DPS to delete
      */
     public void deleteByIdDPS(long idDps) {
+        IdentityMap.evict(DPS.class, idDps);
         String query = "DELETE FROM DPS WHERE ID = ?";
         try (Connection con = ConnectionBDD.getConnection();
             PreparedStatement stmt = con.prepareStatement(query)) {
@@ -278,12 +282,12 @@ public class DPSDAO {
                 String siteNom = rs.getString("SITE_NOM");
                 Float siteLongitude = rs.getFloat("SITE_LON");
                 Float siteLatitude = rs.getFloat("SITE_LAT");
-                Site site = new Site(siteCode, siteNom, siteLongitude, siteLatitude); // adapte ce constructeur
+                Site site = IdentityMap.register(Site.class, siteCode, new Site(siteCode, siteNom, siteLongitude, siteLatitude));
 
                 // Sport
                 Long sportCode = rs.getLong("SPORT_CODE");
                 String sportNom = rs.getString("SPORT_NOM");
-                Sport sport = new Sport(sportCode, sportNom); // idem, adapte selon ton modèle
+                Sport sport = IdentityMap.register(Sport.class, sportCode, new Sport(sportCode, sportNom));
 
                 // Journee
                 int jour = rs.getInt("JOUR");
@@ -293,7 +297,7 @@ public class DPSDAO {
 
                 // DPS complet
                 DPS dps = new DPS(id, name, horaireDepart, horaireFin, site, sport, journee);
-                dpsList.add(dps);
+                dpsList.add(IdentityMap.register(DPS.class, (long) id, dps));
             }
         } catch(SQLException ex){
             ex.printStackTrace();
@@ -308,6 +312,7 @@ public class DPSDAO {
      * @param dps the DPS to update
      */
     public void updateDps(DPS dps) {
+        IdentityMap.evict(DPS.class, dps.getId());
         String updateQuery = "UPDATE DPS SET NAME = ?, HORAIRE_DEPART = ?, HORAIRE_FIN = ?, SITE = ?, SPORT = ?, JOURNEE = ? WHERE ID = ?";
         String checkJourneeQuery = "SELECT id FROM Journee WHERE jour = ? AND mois = ? AND annee = ?";
         String insertJourneeQuery = "INSERT INTO Journee (jour, mois, annee) VALUES (?, ?, ?)";
@@ -0,0 +1,166 @@
+package model.dao;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Class IdentityMap that keeps the entities loaded by the DAOs during a scope: a UI action or a batch job.
+ * Inside a scope, an entity is read from the database once, and every DAO call that finds it again
+ * returns the same object, so equal entities are identical.
+ * A scope belongs to the thread that opens it and is closed with a try-with-resources block:
+ * <pre>
+ * try (IdentityMap portee = IdentityMap.open()) {
+ *     ...
+ * }
+ * </pre>
+ * A scope opened inside another one shares its entities. Outside of any scope, the DAOs always query the database.
+ * @author L. Carré, G. Potay, C. Brocart, T.Brami-Coatual
+ * @version 1.0
+ */
+public final class IdentityMap implements AutoCloseable {
+
+    /**
+     * Innermost scope open in each thread.
+     */
+    private static final ThreadLocal<IdentityMap> courante = new ThreadLocal<>();
+
+    /**
+     * Enclosing scope, restored when this one is closed.
+     */
+    private final IdentityMap parente;
+
+    /**
+     * Entities of the scope, by class then by ID. Shared with the enclosing scope.
+     */
+    private final Map<Class<?>, Map<Object, Object>> entites;
+
+    /**
+     * Number of lookups answered without querying the database, shared with the enclosing scope.
+     */
+    private final long[] nbTrouves;
+
+    /**
+     * Whether the scope is closed.
+     */
+    private boolean fermee;
+
+    private IdentityMap(IdentityMap parente) {
+        this.parente = parente;
+        this.entites = parente == null ? new HashMap<>() : parente.entites;
+        this.nbTrouves = parente == null ? new long[1] : parente.nbTrouves;
+    }
+
+    /**
+     * Opens a scope in the current thread.
+     *
+     * @return the scope, to close when the action is done
+     */
+    public static IdentityMap open() {
+        IdentityMap ret = new IdentityMap(courante.get());
+        courante.set(ret);
+        return ret;
+    }
+
+    /**
+     * Closes the scope and restores the enclosing one.
+     *
+     * @throws IllegalStateException if a scope opened inside this one is still open
+     */
+    @Override
+    public void close() {
+        if (this.fermee) {
+            return;
+        }
+        if (courante.get() != this) {
+            throw new IllegalStateException("Une portée ouverte dans celle-ci n'est pas fermée");
+        }
+        this.fermee = true;
+        if (this.parente == null) {
+            courante.remove();
+        } else {
+            courante.set(this.parente);
+        }
+    }
+
+    /**
+     * Checks whether a scope is open in the current thread
+     * @return true if a scope is open
+     */
+    public static boolean isOpen() {
+        return courante.get() != null;
+    }
+
+    /**
+     * Finds an entity already loaded in the current scope.
+     *
+     * @param type - the class of the entity
+     * @param id - the ID of the entity
+     * @return the entity, or null if no scope is open or the entity is not loaded yet
+     */
+    public static <T> T find(Class<T> type, Object id) {
+        IdentityMap portee = courante.get();
+        if (portee == null) {
+            return null;
+        }
+        Map<Object, Object> parId = portee.entites.get(type);
+        Object ret = parId == null ? null : parId.get(id);
+        if (ret != null) {
+            portee.nbTrouves[0]++;
+        }
+        return type.cast(ret);
+    }
+
+    /**
+     * Registers an entity read from the database in the current scope.
+     * If the scope already holds this entity, the entity of the scope is kept and returned.
+     *
+     * @param type - the class of the entity
+     * @param id - the ID of the entity
+     * @param entite - the entity just read, may be null
+     * @return the entity of the scope, or the given entity if no scope is open
+     */
+    public static <T> T register(Class<T> type, Object id, T entite) {
+        IdentityMap portee = courante.get();
+        if (portee == null || entite == null) {
+            return entite;
+        }
+        Object ret = portee.entites.computeIfAbsent(type, k -> new HashMap<>()).putIfAbsent(id, entite);
+        return ret == null ? entite : type.cast(ret);
+    }
+
+    /**
+     * Removes an entity from the current scope, after it was updated or deleted.
+     *
+     * @param type - the class of the entity
+     * @param id - the ID of the entity
+     */
+    public static void evict(Class<?> type, Object id) {
+        IdentityMap portee = courante.get();
+        if (portee != null) {
+            Map<Object, Object> parId = portee.entites.get(type);
+            if (parId != null) {
+                parId.remove(id);
+            }
+        }
+    }
+
+    /**
+     * Get the number of entities held by the scope
+     * @return the number of entities
+     */
+    public int size() {
+        int ret = 0;
+        for (Map<Object, Object> parId : this.entites.values()) {
+            ret += parId.size();
+        }
+        return ret;
+    }
+
+    /**
+     * Get the number of lookups of the scope answered without querying the database
+     * @return the number of lookups found in the scope
+     */
+    public long getNbTrouves() {
+        return this.nbTrouves[0];
+    }
+}
@@ -6,6 +6,8 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 /**
  * Class JourneeDAO that manages the database operations for the Journee entity.
@@ -63,4 +65,31 @@ public class JourneeDAO {
         }
         return ret;
     }
+
+    /**
+     * Finds in a single query the days of a period that have at least one DPS with remaining needs.
+     *
+     * @param debut the first day of the period
+     * @param fin the last day of the period
+     * @return the days by ID, in chronological order
+     */
+    public Map<Long, Journee> findWithBesoinBetween(Journee debut, Journee fin) {
+        String query = "SELECT DISTINCT j.ID, j.JOUR, j.MOIS, j.ANNEE FROM Journee j JOIN DPS d ON d.JOURNEE = j.ID JOIN Besoin b ON b.DPS = d.ID "
+                + "WHERE j.ANNEE * 10000 + j.MOIS * 100 + j.JOUR BETWEEN ? AND ? ORDER BY j.ANNEE, j.MOIS, j.JOUR";
+        Map<Long, Journee> ret = new LinkedHashMap<>();
+        try (Connection con = ConnectionBDD.getConnection();
+             PreparedStatement stmt = con.prepareStatement(query)) {
+
+            stmt.setInt(1, debut.getAnnee() * 10000 + debut.getMois() * 100 + debut.getJour());
+            stmt.setInt(2, fin.getAnnee() * 10000 + fin.getMois() * 100 + fin.getJour());
+
+            ResultSet rs = stmt.executeQuery();
+            while (rs.next()) {
+                ret.put(rs.getLong("ID"), new Journee(rs.getInt("JOUR"), rs.getInt("MOIS"), rs.getInt("ANNEE")));
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return ret;
+    }
 }
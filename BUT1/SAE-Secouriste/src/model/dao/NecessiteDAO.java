@@ -4,6 +4,7 @@ import java.sql.*;
 import java.util.*;
 import model.data.persistence.Competence;
 import model.data.persistence.Necessite;
+import model.utils.Settings;
 
 import static model.dao.ConnectionBDD.getConnection;
 
@@ -16,27 +17,53 @@ import static model.dao.ConnectionBDD.getConnection;
 public class NecessiteDAO {
 
     /**
-     * This method retrieves all Necessite objects from the database.
+     * Cache of the Necessite table, shared by the whole application.
+     * Each row is kept as the intitules of its two competences.
+     */
+    private static final ReferenceCache<String[]> cache = new ReferenceCache<>("Necessite", NecessiteDAO::chargerTout, Settings::referenceCacheTtl);
+
+    /**
+     * This method retrieves all Necessite objects, from the cache of the Necessite table.
      *
      * @return List<Necessite> a list of all Necessite objects
      */
     public List<Necessite> findAll() {
         List<Necessite> listSkillNeeded = new ArrayList<>();
+        try {
+            for (String[] row : cache.get()) {
+                listSkillNeeded.add(new Necessite(new Competence(row[0]), new Competence(row[1])));
+            }
+        } catch(SQLException e) {
+            e.printStackTrace();
+        }
+        return listSkillNeeded;
+    }
+
+    /**
+     * Reads the whole Necessite table.
+     *
+     * @return the intitules of the two competences of each Necessite
+     * @throws SQLException if the table cannot be read
+     */
+    private static List<String[]> chargerTout() throws SQLException {
+        List<String[]> rows = new ArrayList<>();
         try (Connection con = getConnection();
              Statement stmt = con.createStatement();
              ResultSet rs = stmt.executeQuery("SELECT * FROM Necessite")) {
 
             while(rs.next()) {
-                Competence comp1 = new Competence(rs.getString("comp1"));
-                Competence comp2 = new Competence(rs.getString("comp2"));
-
-                Necessite skillNeeded = new Necessite(comp1, comp2);
-                listSkillNeeded.add(skillNeeded);
+                rows.add(new String[]{rs.getString("comp1"), rs.getString("comp2")});
             }
-        } catch(SQLException e) {
-            e.printStackTrace();
         }
-        return listSkillNeeded;
+        return rows;
+    }
+
+    /**
+     * Get the cache of the Necessite table, for its counters
+     * @return the cache
+     */
+    public static ReferenceCache<String[]> getCache() {
+        return cache;
     }
 
     /**
@@ -54,6 +81,8 @@ public class NecessiteDAO {
             stmt.executeUpdate();
         } catch (SQLException e) {
             throw new RuntimeException(e);
+        } finally {
+            cache.invalidate();
         }
     }
 
@@ -96,6 +125,8 @@ public class NecessiteDAO {
             stmt.executeUpdate();
         } catch (SQLException e) {
             throw new RuntimeException(e);
+        } finally {
+            cache.invalidate();
         }
     }
 }
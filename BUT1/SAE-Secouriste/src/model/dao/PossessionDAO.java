@@ -4,6 +4,8 @@ import model.data.persistence.*;
 
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
 
 /**
  * Class PossessionDAO that manages the database operations for the Possession entity.
@@ -55,6 +57,29 @@ public class PossessionDAO {
         return ret;
     }
 
+    /**
+     * Finds in a single query the competences of every rescuer available on a day.
+     *
+     * @param idJournee the ID of the day
+     * @return a map associating each available rescuer ID with their competences
+     */
+    public Map<Long, ArrayList<Competence>> findByDay(long idJournee) {
+        Map<Long, ArrayList<Competence>> ret = new HashMap<>();
+        String query = "SELECT p.secouriste, p.competence FROM Possession p JOIN Disponibilite d ON p.secouriste = d.secouristeDisp WHERE d.journeeDisp = ?";
+        try (Connection con = ConnectionBDD.getConnection();
+             PreparedStatement stmt = con.prepareStatement(query)) {
+
+            stmt.setLong(1, idJournee);
+            ResultSet rs = stmt.executeQuery();
+            while (rs.next()) {
+                ret.computeIfAbsent(rs.getLong("secouriste"), k -> new ArrayList<>()).add(new Competence(rs.getString("competence")));
+            }
+        } catch (SQLException ex) {
+            ex.printStackTrace();
+        }
+        return ret;
+    }
+
     /**
      * Finds all competences possessed by a Secouriste.
      *
@@ -0,0 +1,174 @@
+package model.dao;
+
+import java.sql.SQLException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Class ReferenceCache that keeps in memory, for the whole process, a table that almost never changes
+ * (sites, sports, skills, dependencies between skills).
+ * The table is read from the database on the first call, then served from memory until the DAO that writes it
+ * invalidates the cache, or until the time to live expires (for changes made outside of the application).
+ * A failed read is not cached.
+ * @author L. Carré, G. Potay, C. Brocart, T.Brami-Coatual
+ * @version 1.0
+ */
+public final class ReferenceCache<T> {
+
+    /**
+     * Reading of the table from the database.
+     */
+    @FunctionalInterface
+    public interface Chargement<T> {
+        List<T> charger() throws SQLException;
+    }
+
+    /**
+     * Content of the cache and its expiry date.
+     */
+    private static final class Entree<T> {
+        private final List<T> valeurs;
+        private final long expiration;
+
+        Entree(List<T> valeurs, long expiration) {
+            this.valeurs = valeurs;
+            this.expiration = expiration;
+        }
+    }
+
+    /**
+     * All the caches, by name.
+     */
+    private static final Map<String, ReferenceCache<?>> caches = new ConcurrentHashMap<>();
+
+    private final String nom;
+    private final Chargement<T> chargement;
+    private final LongSupplier ttlMillis;
+
+    /**
+     * Current content, null if not loaded or invalidated.
+     */
+    private volatile Entree<T> entree;
+
+    /**
+     * Incremented by each invalidation: a read started before an invalidation is not cached.
+     */
+    private final AtomicLong generation = new AtomicLong();
+
+    private final LongAdder nbSucces = new LongAdder();
+    private final LongAdder nbEchecs = new LongAdder();
+    private final LongAdder nbInvalidations = new LongAdder();
+
+    /**
+     * Constructor of ReferenceCache. The cache is registered under its name.
+     *
+     * @param nom - the name of the cache, usually the table
+     * @param chargement - the reading of the table
+     * @param ttlMillis - the time to live of the content, in milliseconds, read at each loading
+     */
+    public ReferenceCache(String nom, Chargement<T> chargement, LongSupplier ttlMillis) {
+        if (nom == null || chargement == null || ttlMillis == null) {
+            throw new IllegalArgumentException("Un des arguments est null");
+        }
+        this.nom = nom;
+        this.chargement = chargement;
+        this.ttlMillis = ttlMillis;
+        caches.put(nom, this);
+    }
+
+    /**
+     * Gets the content of the table, from memory if it is still valid.
+     *
+     * @return an unmodifiable list of the rows
+     * @throws SQLException if the table had to be read and the reading failed
+     */
+    public List<T> get() throws SQLException {
+        Entree<T> courante = this.entree;
+        if (courante != null && System.nanoTime() - courante.expiration < 0) {
+            this.nbSucces.increment();
+            return courante.valeurs;
+        }
+        synchronized (this) {
+            // Un autre thread a pu recharger la table pendant l'attente
+            courante = this.entree;
+            if (courante != null && System.nanoTime() - courante.expiration < 0) {
+                this.nbSucces.increment();
+                return courante.valeurs;
+            }
+            this.nbEchecs.increment();
+            long generationLecture = this.generation.get();
+            List<T> valeurs = Collections.unmodifiableList(new ArrayList<>(this.chargement.charger()));
+            if (this.generation.get() == generationLecture) {
+                this.entree = new Entree<>(valeurs, System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(this.ttlMillis.getAsLong()));
+            }
+            return valeurs;
+        }
+    }
+
+    /**
+     * Drops the content: the next call reads the table again.
+     */
+    public void invalidate() {
+        this.generation.incrementAndGet();
+        this.entree = null;
+        this.nbInvalidations.increment();
+    }
+
+    /**
+     * Drops the content of every cache.
+     */
+    public static void invalidateAll() {
+        for (ReferenceCache<?> cache : caches.values()) {
+            cache.invalidate();
+        }
+    }
+
+    /**
+     * Get all the caches
+     * @return the caches, by name
+     */
+    public static Map<String, ReferenceCache<?>> getCaches() {
+        return Collections.unmodifiableMap(new TreeMap<>(caches));
+    }
+
+    /**
+     * Get the name of the cache
+     * @return the name
+     */
+    public String getNom() {
+        return this.nom;
+    }
+
+    /**
+     * Get the number of calls served from memory
+     * @return the number of hits
+     */
+    public long getNbSucces() {
+        return this.nbSucces.sum();
+    }
+
+    /**
+     * Get the number of calls that read the table
+     * @return the number of misses
+     */
+    public long getNbEchecs() {
+        return this.nbEchecs.sum();
+    }
+
+    /**
+     * Get the number of invalidations
+     * @return the number of invalidations
+     */
+    public long getNbInvalidations() {
+        return this.nbInvalidations.sum();
+    }
+
+    @Override
+    public String toString() {
+        return this.nom + "{succes=" + getNbSucces() + ", echecs=" + getNbEchecs() + ", invalidations=" + getNbInvalidations() + "}";
+    }
+}
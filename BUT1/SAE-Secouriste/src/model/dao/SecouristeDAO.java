@@ -8,6 +8,7 @@ import java.sql.*;
 import java.util.*;
 
 import javafx.scene.image.Image;
+import model.data.persistence.Photo;
 import model.data.persistence.Secouriste;
 import model.data.persistence.User;
 
@@ -20,6 +21,11 @@ import static model.dao.ConnectionBDD.getConnection;
  */
 public class SecouristeDAO {
 
+    /**
+     * Scalar columns of a Secouriste: the photo is read only when it is displayed.
+     */
+    private static final String COLONNES = "s.idSecouriste, s.nom, s.prenom, s.date_naissance, s.tel, s.adresse";
+
     /**
      * findAll retourne tous les secouristes
      *
@@ -30,7 +36,7 @@ public class SecouristeDAO {
 
         try (Connection con = getConnection();
              Statement stmt = con.createStatement();
-             ResultSet rs = stmt.executeQuery("SELECT * FROM Secouriste")) {
+             ResultSet rs = stmt.executeQuery("SELECT " + COLONNES + " FROM Secouriste s")) {
 
             while (rs.next()) {
                 Secouriste s = new Secouriste(
@@ -40,9 +46,10 @@ public class SecouristeDAO {
                         rs.getString("date_naissance"),
                         rs.getString("tel"),
                         rs.getString("adresse"),
-                        rs.getBytes("photo")
+                        null
                 );
-                secouristes.add(s);
+                s.setPhotoHandle(photo(s.getIdSecouriste()));
+                secouristes.add(IdentityMap.register(Secouriste.class, s.getIdSecouriste(), s));
             }
         } catch (SQLException e) {
             e.printStackTrace();
@@ -55,7 +62,7 @@ public class SecouristeDAO {
      */
     public List<Secouriste> findByDay(long idJourFind) {
         List<Secouriste> secouristes = new ArrayList<>();
-        String query = "SELECT * FROM Secouriste s JOIN Disponibilite d ON s.idSecouriste = d.secouristeDisp WHERE journeeDisp = ? ";
+        String query = "SELECT " + COLONNES + " FROM Secouriste s JOIN Disponibilite d ON s.idSecouriste = d.secouristeDisp WHERE journeeDisp = ? ";
 
         try (Connection con = getConnection();
              PreparedStatement stmt = con.prepareStatement(query)) {
@@ -71,9 +78,10 @@ public class SecouristeDAO {
                         rs.getString("date_naissance"),
                         rs.getString("tel"),
                         rs.getString("adresse"),
-                        rs.getBytes("photo")
+                        null
                 );
-                secouristes.add(s);
+                s.setPhotoHandle(photo(s.getIdSecouriste()));
+                secouristes.add(IdentityMap.register(Secouriste.class, s.getIdSecouriste(), s));
             }
         } catch (SQLException e) {
             e.printStackTrace();
@@ -88,7 +96,11 @@ public class SecouristeDAO {
      * @return return the secouriste
      */
     public Secouriste findById(long idSecouriste) {
-        String query = "SELECT * FROM Secouriste WHERE Secouriste.idSecouriste = ?";
+        Secouriste dejaCharge = IdentityMap.find(Secouriste.class, idSecouriste);
+        if (dejaCharge != null) {
+            return dejaCharge;
+        }
+        String query = "SELECT " + COLONNES + " FROM Secouriste s WHERE s.idSecouriste = ?";
         try (Connection con = getConnection();
              PreparedStatement stmt = con.prepareStatement(query)) {
 
@@ -102,9 +114,10 @@ public class SecouristeDAO {
                         rs.getString("date_naissance"),
                         rs.getString("tel"),
                         rs.getString("adresse"),
-                        rs.getBytes("photo")
+                        null
                 );
-                return secouriste;
+                secouriste.setPhotoHandle(photo(secouriste.getIdSecouriste()));
+                return IdentityMap.register(Secouriste.class, idSecouriste, secouriste);
             }
         } catch (SQLException e) {
             e.printStackTrace();
@@ -119,6 +132,7 @@ public class SecouristeDAO {
      * @return a boolean that verify the right fonctionnement.
      */
     public boolean updateSecouriste(Secouriste secouriste) {
+        IdentityMap.evict(Secouriste.class, secouriste.getIdSecouriste());
         String query = "UPDATE Secouriste SET nom = ?, prenom = ?, date_naissance = ?, tel = ?, adresse = ? WHERE idSecouriste = ?";
         try (Connection con = getConnection();
              PreparedStatement stmt = con.prepareStatement(query)) {
@@ -166,6 +180,7 @@ public class SecouristeDAO {
     }
 
     public boolean insererPhoto(long idSecouriste, byte[] photoBytes) {
+        IdentityMap.evict(Secouriste.class, idSecouriste);
         try (Connection conn = getConnection();
              PreparedStatement stmt = conn.prepareStatement("UPDATE secouriste SET photo = ? WHERE idSecouriste = ?")) {
 
@@ -187,25 +202,47 @@ public class SecouristeDAO {
      * @return la photo de profil
      */
     public Image recupererPhoto(long id) {
-        String sql = "SELECT photo FROM Secouriste WHERE idSecouriste = ?";
+        Image[] ret = new Image[1];
+        try {
+            lirePhoto(id, is -> ret[0] = new Image(is));
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+        return ret[0];
+    }
+
+    /**
+     * Creates the handle of the photo of a secouriste, read from the database only when it is displayed.
+     *
+     * @param idSecouriste - id du secouriste
+     * @return the photo
+     */
+    static Photo photo(long idSecouriste) {
+        return Photo.lazy(lecture -> lirePhoto(idSecouriste, lecture));
+    }
+
+    /**
+     * Streams the photo of a secouriste, without loading it in memory.
+     *
+     * @param idSecouriste - id du secouriste
+     * @param lecture - the reading of the stream, not called if the secouriste has no photo
+     * @throws SQLException if the photo cannot be read
+     * @throws IOException if the reading fails
+     */
+    private static void lirePhoto(long idSecouriste, Photo.Lecture lecture) throws SQLException, IOException {
         try (Connection conn = getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+             PreparedStatement pstmt = conn.prepareStatement("SELECT photo FROM Secouriste WHERE idSecouriste = ?")) {
 
-            pstmt.setLong(1, id);
+            pstmt.setLong(1, idSecouriste);
             ResultSet rs = pstmt.executeQuery();
-
             if (rs.next()) {
-                InputStream is = rs.getBinaryStream("photo");
-                if (is != null) {
-                    return new Image(is);
+                try (InputStream is = rs.getBinaryStream("photo")) {
+                    if (is != null) {
+                        lecture.lire(is);
+                    }
                 }
             }
-
-        } catch (Exception e) {
-            e.printStackTrace();
         }
-
-        return null;
     }
 
     /**
@@ -215,6 +252,7 @@ public class SecouristeDAO {
      */
     public void delete(Secouriste secouriste) {
         System.out.println("ID à supprimer : " + secouriste.getIdSecouriste());
+        IdentityMap.evict(Secouriste.class, secouriste.getIdSecouriste());
         String query = "DELETE FROM Secouriste WHERE idSecouriste = ?";
         try (Connection con = ConnectionBDD.getConnection();
             PreparedStatement pstmt = con.prepareStatement(query)) {
@@ -228,12 +266,13 @@ public class SecouristeDAO {
 
     /**
      * Finds the User associated with a Secouriste.
+     * Only the columns of the User are read, so the photo of the Secouriste is not transferred.
      *
      * @param secouriste the Secouriste to search for
      * @return the User associated with the Secouriste, or null if not found
      */
     public User findUserBySecouriste(Secouriste secouriste) {
-        String query = "SELECT * FROM Secouriste JOIN User ON idUser = idSecouriste WHERE idSecouriste = ?";
+        String query = "SELECT u.idUser, u.login, u.password, u.role FROM Secouriste s JOIN User u ON u.idUser = s.idSecouriste WHERE s.idSecouriste = ?";
         try (Connection con = getConnection();
              PreparedStatement stmt = con.prepareStatement(query)) {
 
@@ -2,6 +2,7 @@ package model.dao;
 
 import model.data.persistence.Site;
 import model.data.persistence.Sport;
+import model.utils.Settings;
 
 import java.sql.*;
 import java.util.ArrayList;
@@ -15,12 +16,36 @@ import java.util.List;
 public class SiteDAO {
 
     /**
-     * Inserts a new Site into the database.
+     * Cache of the Site table, shared by the whole application.
+     */
+    private static final ReferenceCache<Site> cache = new ReferenceCache<>("Site", SiteDAO::chargerTout, Settings::referenceCacheTtl);
+
+    /**
+     * Finds all sites, from the cache of the Site table.
+     * Each cached Site is copied, so a caller changing a Site does not change the cache shared by the application.
      *
-     * @return the ID of the inserted Site
+     * @return a list of all Site objects
      */
     public List<Site> findAll() {
         List<Site> sites = new ArrayList<>();
+        try {
+            for (Site s : cache.get()) {
+                sites.add(IdentityMap.register(Site.class, s.getCode(), new Site(s.getCode(), s.getNom(), s.getLongitude(), s.getLatitude())));
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return sites;
+    }
+
+    /**
+     * Reads the whole Site table.
+     *
+     * @return a list of all Site objects
+     * @throws SQLException if the table cannot be read
+     */
+    private static List<Site> chargerTout() throws SQLException {
+        List<Site> sites = new ArrayList<>();
 
         try (Connection con = ConnectionBDD.getConnection();
              Statement stmt = con.createStatement();
@@ -35,12 +60,18 @@ public class SiteDAO {
                 );
                 sites.add(s);
             }
-        } catch (SQLException e) {
-            e.printStackTrace();
         }
         return sites;
     }
 
+    /**
+     * Get the cache of the Site table, for its counters
+     * @return the cache
+     */
+    public static ReferenceCache<Site> getCache() {
+        return cache;
+    }
+
     /**
      * Finds a Site by its name.
      * @param siteName the name of the site to search for
@@ -57,7 +88,7 @@ public class SiteDAO {
             ResultSet rs = stmt.executeQuery();
 
             if (rs.next()) {
-                ret = new Site(rs.getLong("CODE"), siteName, rs.getLong("LONGITUDE"), rs.getLong("LATITUDE"));
+                ret = IdentityMap.register(Site.class, rs.getLong("CODE"), new Site(rs.getLong("CODE"), siteName, rs.getLong("LONGITUDE"), rs.getLong("LATITUDE")));
             }
         } catch (SQLException ex) {
             ex.printStackTrace();
@@ -71,7 +102,10 @@ public class SiteDAO {
      * @return a Site object if found, otherwise null
      */
     public Site findById(long id) {
-        Site ret = null;
+        Site ret = IdentityMap.find(Site.class, id);
+        if (ret != null) {
+            return ret;
+        }
         String query = "SELECT * FROM Site WHERE ID = ? ";
 
         try (Connection con = ConnectionBDD.getConnection();
@@ -81,7 +115,7 @@ public class SiteDAO {
             ResultSet rs = stmt.executeQuery();
 
             if (rs.next()) {
-                ret = new Site(id, rs.getString("NOM"), rs.getLong("LONGITUDE"), rs.getLong("LATITUDE"));
+                ret = IdentityMap.register(Site.class, id, new Site(id, rs.getString("NOM"), rs.getLong("LONGITUDE"), rs.getLong("LATITUDE")));
             }
         } catch (SQLException ex) {
             ex.printStackTrace();
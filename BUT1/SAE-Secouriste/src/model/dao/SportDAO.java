@@ -4,6 +4,7 @@ import model.data.persistence.Besoin;
 import model.data.persistence.Competence;
 import model.data.persistence.DPS;
 import model.data.persistence.Sport;
+import model.utils.Settings;
 
 import java.sql.*;
 import java.util.ArrayList;
@@ -17,12 +18,36 @@ import java.util.List;
 public class SportDAO {
 
     /**
-     * Finds all sports in the database.
+     * Cache of the Sport table, shared by the whole application.
+     */
+    private static final ReferenceCache<Sport> cache = new ReferenceCache<>("Sport", SportDAO::chargerTout, Settings::referenceCacheTtl);
+
+    /**
+     * Finds all sports, from the cache of the Sport table.
+     * Each cached Sport is copied, so a caller changing a Sport does not change the cache shared by the application.
      *
      * @return a list of all Sport objects
      */
     public List<Sport> findAll() {
         List<Sport> sports = new ArrayList<>();
+        try {
+            for (Sport s : cache.get()) {
+                sports.add(IdentityMap.register(Sport.class, s.getCode(), new Sport(s.getCode(), s.getNom())));
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return sports;
+    }
+
+    /**
+     * Reads the whole Sport table.
+     *
+     * @return a list of all Sport objects
+     * @throws SQLException if the table cannot be read
+     */
+    private static List<Sport> chargerTout() throws SQLException {
+        List<Sport> sports = new ArrayList<>();
 
         try (Connection con = ConnectionBDD.getConnection();
              Statement stmt = con.createStatement();
@@ -35,12 +60,18 @@ public class SportDAO {
                 );
                 sports.add(s);
             }
-        } catch (SQLException e) {
-            e.printStackTrace();
         }
         return sports;
     }
 
+    /**
+     * Get the cache of the Sport table, for its counters
+     * @return the cache
+     */
+    public static ReferenceCache<Sport> getCache() {
+        return cache;
+    }
+
     /**
      * Finds a Sport by its name.
      * @param sportName the name of the sport to search for
@@ -57,7 +88,7 @@ public class SportDAO {
             ResultSet rs = stmt.executeQuery();
 
             if (rs.next()) {
-                ret = new Sport(rs.getLong("CODE"), sportName);
+                ret = IdentityMap.register(Sport.class, rs.getLong("CODE"), new Sport(rs.getLong("CODE"), sportName));
             }
         } catch (SQLException ex) {
             ex.printStackTrace();
@@ -72,7 +103,10 @@ public class SportDAO {
      * @return a Sport object if found, otherwise null
      */
     public Sport findById(long id) {
-        Sport ret = null;
+        Sport ret = IdentityMap.find(Sport.class, id);
+        if (ret != null) {
+            return ret;
+        }
         String query = "SELECT * FROM Sport WHERE ID = ? ";
 
         try (Connection con = ConnectionBDD.getConnection();
@@ -82,7 +116,7 @@ public class SportDAO {
             ResultSet rs = stmt.executeQuery();
 
             if (rs.next()) {
-                ret = new Sport(id, rs.getString("NOM"));
+                ret = IdentityMap.register(Sport.class, id, new Sport(id, rs.getString("NOM")));
             }
         } catch (SQLException ex) {
             ex.printStackTrace();
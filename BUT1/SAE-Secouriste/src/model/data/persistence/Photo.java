@@ -0,0 +1,162 @@
+package model.data.persistence;
+
+import javafx.scene.image.Image;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.ref.SoftReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Photo class, the profile picture of a rescuer or an administrator.
+ * A photo read from the database is only a handle: its bytes are streamed from the database when the photo
+ * is displayed, and are not kept. The decoded image is kept as long as the memory allows it.
+ * A person without photo shows the default picture.
+ * @author L. Carré, G. Potay, C. Brocart, T.Brami-Coatual
+ * @version 1.0
+ */
+public final class Photo {
+
+    /**
+     * Reading of the stored photo.
+     */
+    @FunctionalInterface
+    public interface Source {
+        /**
+         * Opens the stored photo and gives it to the reading.
+         * The reading is not called if there is no stored photo.
+         *
+         * @param lecture - the reading of the stream
+         * @throws Exception if the photo cannot be opened
+         */
+        void lire(Lecture lecture) throws Exception;
+    }
+
+    /**
+     * Reading of the stream of a photo, while it is open.
+     */
+    @FunctionalInterface
+    public interface Lecture {
+        void lire(InputStream is) throws IOException;
+    }
+
+    /**
+     * Default picture, read from the resources.
+     */
+    private static final Source PAR_DEFAUT = lecture -> {
+        try (InputStream is = Photo.class.getClassLoader().getResourceAsStream("images/anonyme.png")) {
+            if (is == null) {
+                System.out.println("Image par défaut introuvable !");
+            } else {
+                lecture.lire(is);
+            }
+        }
+    };
+
+    private final Source source;
+
+    /**
+     * Decoded image, kept until the memory is needed.
+     */
+    private volatile SoftReference<Image> image = new SoftReference<>(null);
+
+    private final LongAdder nbLectures = new LongAdder();
+
+    private Photo(Source source) {
+        this.source = source;
+    }
+
+    /**
+     * Creates a photo read from the database only when it is displayed.
+     *
+     * @param source - the reading of the stored photo
+     * @return the photo
+     */
+    public static Photo lazy(Source source) {
+        if (source == null) {
+            throw new IllegalArgumentException("Un des arguments est null");
+        }
+        return new Photo(source);
+    }
+
+    /**
+     * Creates a photo from bytes already in memory.
+     *
+     * @param octets - the bytes of the photo, null for the default picture
+     * @return the photo
+     */
+    public static Photo of(byte[] octets) {
+        if (octets == null) {
+            return parDefaut();
+        }
+        return new Photo(lecture -> lecture.lire(new ByteArrayInputStream(octets)));
+    }
+
+    /**
+     * Creates the default picture.
+     *
+     * @return the photo
+     */
+    public static Photo parDefaut() {
+        return new Photo(PAR_DEFAUT);
+    }
+
+    /**
+     * Reads the photo, or the default picture if there is no stored photo.
+     *
+     * @param lecture - the reading of the stream
+     * @return true if a picture was read
+     */
+    private boolean lire(Lecture lecture) {
+        boolean[] lu = {false};
+        Lecture marquee = is -> {
+            lu[0] = true;
+            lecture.lire(is);
+        };
+        try {
+            this.nbLectures.increment();
+            this.source.lire(marquee);
+            if (!lu[0] && this.source != PAR_DEFAUT) {
+                PAR_DEFAUT.lire(marquee);
+            }
+        } catch (Exception e) {
+            e.printStackTrace();
+            return false;
+        }
+        return lu[0];
+    }
+
+    /**
+     * Get the bytes of the photo. They are read again at each call.
+     * @return the bytes, or null if the photo cannot be read
+     */
+    public byte[] getOctets() {
+        byte[][] ret = new byte[1][];
+        return lire(is -> ret[0] = is.readAllBytes()) ? ret[0] : null;
+    }
+
+    /**
+     * Get the photo as an Image. The stream is decoded directly, the first time only.
+     * @return the image, or null if the photo cannot be read
+     */
+    public Image getImage() {
+        Image ret = this.image.get();
+        if (ret == null) {
+            Image[] lue = new Image[1];
+            if (lire(is -> lue[0] = new Image(is))) {
+                ret = lue[0];
+                this.image = new SoftReference<>(ret);
+            }
+        }
+        return ret;
+    }
+
+    /**
+     * Get the number of times the photo was read
+     * @return the number of readings
+     */
+    public long getNbLectures() {
+        return this.nbLectures.sum();
+    }
+}
@@ -2,9 +2,6 @@ package model.data.persistence;
 
 import javafx.scene.image.Image;
 
-import java.io.ByteArrayInputStream;
-import java.io.IOException;
-import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -24,7 +21,7 @@ public class Secouriste {
     private String dateNaissance; // Date de naissance (corrigé)
     private String tel;     // Numéro de téléphone
     private String adresse; // Adresse postale
-    private byte[] photo;
+    private Photo photo;    // Photo de profil, lue à l'affichage
 
     /**
      * Constructor of Secouriste
@@ -35,6 +32,7 @@ public class Secouriste {
      * @param dateNaissance the birth date of the secouriste
      * @param tel the phone number of the secouriste
      * @param adresse the address of the secouriste
+     * @param photo the bytes of the photo, null for the default picture
      */
     public Secouriste(long id, String nom, String prenom, String dateNaissance, String tel, String adresse, byte[] photo) {
         this.id = id;
@@ -43,21 +41,7 @@ public class Secouriste {
         this.dateNaissance = dateNaissance;
         this.tel = tel;
         this.adresse = adresse;
-        if (photo == null) {
-            try (InputStream is = getClass().getClassLoader().getResourceAsStream("images/anonyme.png")) {
-                if (is == null) {
-                    System.out.println("Image par défaut introuvable !");
-                    this.photo = null;
-                } else {
-                    this.photo = is.readAllBytes();
-                }
-            } catch (IOException e) {
-                e.printStackTrace();
-                this.photo = null;
-            }
-        } else {
-            this.photo = photo;
-        }
+        this.photo = Photo.of(photo);
     }
 
     /**
@@ -144,11 +128,11 @@ public class Secouriste {
     }
 
     /**
-     * Get the photo of the secouriste
+     * Get the photo of the secouriste, read again at each call
      * @return the photo as a byte array
      */
     public byte[] getPhoto() {
-        return photo;
+        return photo.getOctets();
     }
 
     /**
@@ -156,7 +140,23 @@ public class Secouriste {
      * @param photo the photo as a byte array
      */
     public void setPhoto(byte[] photo) {
-        this.photo = photo;
+        this.photo = Photo.of(photo);
+    }
+
+    /**
+     * Get the handle of the photo, without reading it
+     * @return the photo
+     */
+    public Photo getPhotoHandle() {
+        return photo;
+    }
+
+    /**
+     * Set the handle of the photo, read only when it is displayed
+     * @param photo the photo, null for the default picture
+     */
+    public void setPhotoHandle(Photo photo) {
+        this.photo = photo == null ? Photo.parDefaut() : photo;
     }
 
     /**
@@ -164,6 +164,6 @@ public class Secouriste {
      * @return the photo as an Image
      */
     public Image getPhotoAsImage() {
-        return new Image(new ByteArrayInputStream(photo));
+        return photo.getImage();
     }
 }
@@ -1,17 +1,29 @@
 package model.data.service;
 import model.dao.AffectationDAO;
-import model.dao.CompetenceDAO;
+import model.dao.ConnectionBDD;
 import model.data.persistence.*;
-import model.graph.assignment.AssignmentExhaustive;
+import model.graph.assignment.AssignmentDay;
 import model.graph.assignment.AssignmentGreedy;
+import model.graph.assignment.AssignmentMetrics;
+import model.graph.assignment.AssignmentProgressListener;
+import model.graph.assignment.AssignmentProposal;
+import model.graph.assignment.AssignmentResult;
+import model.graph.assignment.AssignmentSeason;
+import model.graph.assignment.AssignmentSnapshot;
+import model.graph.assignment.AssignmentStats;
+import model.graph.assignment.AssignmentStrategies;
+import model.graph.utils.IntervalIndex;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 import static model.data.service.AuthentificationManagement.getInstanceAuthentificationManagement;
 import static model.data.service.SecouristeManagement.getInstanceSecouristeManagement;
+import static model.utils.Settings.restGap;
 import static model.utils.Settings.useGreedy;
+import static model.utils.Settings.useMinCost;
 
 /**
  * Class allow to collect all affectation
@@ -49,6 +61,27 @@ public class AffectationManagement {
         return !this.affectationDAO.rescuerThisDay(idDay, idRescuer);
     }
 
+    /**
+     * Checks if a rescuer is free during the hours of a DPS: none of their DPS of the same day
+     * overlaps it, and the minimum rest of the settings is respected.
+     *
+     * @param idDay The ID of the day of the DPS.
+     * @param dps The DPS to check.
+     * @param idRescuer The ID of the rescuer to check.
+     * @return true if the rescuer can be assigned to the DPS, false otherwise.
+     */
+    public boolean rescuerAvailable(long idDay, DPS dps, long idRescuer) {
+        List<int[]> horaires = this.affectationDAO.findHorairesByRescuerAndDay(idDay, idRescuer);
+        if (horaires == null) {
+            return false;
+        }
+        IntervalIndex planning = new IntervalIndex(restGap());
+        for (int[] horaire : horaires) {
+            planning.ajouter(horaire[0], horaire[1]);
+        }
+        return planning.estLibre(dps.getHoraireDepart(), dps.getHoraireFin());
+    }
+
     /**
      * To check if an affectation already exists in the database.
      *
@@ -76,6 +109,20 @@ public class AffectationManagement {
         return this.affectationDAO.findByRescuer(secouriste.getIdSecouriste());
     }
 
+    /**
+     * Retrieves all affectations of several rescuers at once.
+     *
+     * @param secouristes The rescuers for whom to retrieve affectations.
+     * @return For each rescuer ID, the list of their affectations (empty if they have none).
+     */
+    public Map<Long, List<Affectation>> getAffectationsByRescuers(List<Secouriste> secouristes) {
+        List<Long> ids = new ArrayList<>();
+        for (Secouriste secouriste : secouristes) {
+            ids.add(secouriste.getIdSecouriste());
+        }
+        return this.affectationDAO.findByRescuers(ids);
+    }
+
     /**
      * Retrieves all affectations for a given DPS.
      *
@@ -87,72 +134,114 @@ public class AffectationManagement {
     }
 
     /**
-     * Launches a greedy or exhaustive assignment of rescuers to a DPS.
+     * Launches the assignment of rescuers to a DPS: computes a proposal, then saves it.
      *
      * @param dps The DPS for which the assignment is to be made.
+     * @return The result of the assignment, with the strategy that computed it, or null if it failed.
+     * @see #propose(DPS)
+     * @see #commit(AssignmentProposal)
      */
-    public void launchAffectation(DPS dps) {
-        BesoinManagement besoinManagement = new BesoinManagement();
-        Besoin besoin = besoinManagement.getBesoinByDPS(dps);
-        List<Competence> competencesOriginal = besoin != null ? new ArrayList<>(besoin.getCompetences()) : new ArrayList<>();
-
+    public AssignmentResult launchAffectation(DPS dps) {
+        AssignmentResult ret = null;
         try {
-            if (useGreedy()) {
-                new AssignmentGreedy().assignmentRescuersGreedy(dps);
-            } else {
-                new AssignmentExhaustive(dps);
+            AssignmentProposal proposal = propose(dps);
+            if (commit(proposal)) {
+                ret = proposal.getResultat();
             }
+        } catch (Exception e) {
+            System.err.println("Erreur lors de l'affectation : " + e.getMessage());
+        }
+        return ret;
+    }
 
-            // Met à jour le besoin en retirant les compétences qui ont été affectées avec succès
-            if (besoin != null) {
-                List<Affectation> affectations = this.affectationDAO.findByDPS(dps.getId());
-                List<Competence> competencesAffectees = new ArrayList<>();
-
-                for (Affectation affectation : affectations) {
-                    competencesAffectees.add(affectation.getCompetenceAffect());
-                }
+    /**
+     * Computes the assignment of rescuers to a DPS without saving it, so it can be previewed.
+     * The strategy is the greedy one if it is enabled in the settings, otherwise it is chosen
+     * from the number of required skills and available rescuers (see {@link AssignmentStrategies}).
+     * A rescuer already assigned on the day is available if their DPS do not overlap this one.
+     * The database is only read. When the metrics are enabled, the loading time and round trips
+     * are recorded in the statistics of the result.
+     *
+     * @param dps The DPS for which the assignment is to be made.
+     * @return The proposal: the Affectations, the uncovered skills and the statistics of the strategy.
+     */
+    public AssignmentProposal propose(DPS dps) {
+        if (dps == null) {
+            throw new IllegalArgumentException("Le DPS est null");
+        }
+        long debut = System.nanoTime();
+        long allersRetours = ConnectionBDD.getNbAllersRetours();
+        Besoin besoin = new BesoinManagement().getBesoinByDPS(dps);
+        List<Competence> competences = besoin != null ? new ArrayList<>(besoin.getCompetences()) : new ArrayList<>();
 
-                // Compter les occurrences de chaque compétence dans la liste originale
-                // et dans la liste des compétences affectées
-                java.util.Map<String, Integer> compteurOriginal = new java.util.HashMap<>();
-                java.util.Map<String, Integer> compteurAffectees = new java.util.HashMap<>();
+        // Les secouristes et leurs compétences sont chargés une seule fois pour la journée
+        AssignmentSnapshot snapshot = AssignmentSnapshot.load(dps.getJournee());
+        String strategie = useGreedy()
+                ? AssignmentGreedy.NOM
+                : AssignmentStrategies.choose(competences.size(), snapshot.getSecouristes(dps).size(), useMinCost());
 
-                // Compter les compétences originales
-                for (Competence comp : competencesOriginal) {
-                    String intitule = comp.getIntitule();
-                    compteurOriginal.put(intitule, compteurOriginal.getOrDefault(intitule, 0) + 1);
-                }
+        AssignmentStats stats = null;
+        if (AssignmentMetrics.isEnabled()) {
+            stats = new AssignmentStats(strategie);
+            stats.setDureeChargement(System.nanoTime() - debut);
+            stats.ajouterAllersRetours(ConnectionBDD.getNbAllersRetours() - allersRetours);
+        }
+        return AssignmentStrategies.propose(AssignmentStrategies.create(strategie), dps, competences, snapshot, stats);
+    }
 
-                // Compter les compétences affectées
-                for (Competence comp : competencesAffectees) {
-                    String intitule = comp.getIntitule();
-                    compteurAffectees.put(intitule, compteurAffectees.getOrDefault(intitule, 0) + 1);
-                }
+    /**
+     * Saves a proposal: the Affectations are inserted and each covered skill is removed from the need
+     * of the DPS, with batched statements in a single transaction.
+     *
+     * A proposal never repeats an existing Affectation (rescuer, DPS, skill): a rescuer already on the DPS
+     * is busy during its hours in the snapshot, and a strategy uses each rescuer once. If the database
+     * changed since the snapshot, the primary key rejects the duplicate and the whole transaction is rolled back.
+     *
+     * The saving time and round trips are added to the statistics of the proposal, which are then
+     * recorded in {@link AssignmentMetrics}.
+     *
+     * @param proposal The proposal to save.
+     * @return true if the proposal has been saved (or had nothing to save), false if the transaction was rolled back.
+     */
+    public boolean commit(AssignmentProposal proposal) {
+        if (proposal == null) {
+            throw new IllegalArgumentException("La proposition est null");
+        }
+        AssignmentStats stats = proposal.getResultat().getStats();
+        long debut = System.nanoTime();
+        long allersRetours = ConnectionBDD.getNbAllersRetours();
+        boolean ret = proposal.isEmpty() || this.affectationDAO.insertAllAndDeleteBesoins(proposal.getAffectations());
+        if (stats != null) {
+            stats.setDureeEnregistrement(System.nanoTime() - debut);
+            stats.ajouterAllersRetours(ConnectionBDD.getNbAllersRetours() - allersRetours);
+            AssignmentMetrics.enregistrer(stats);
+        }
+        return ret;
+    }
 
-                // Conserver uniquement les compétences qui n'ont pas toutes été affectées
-                ArrayList<Competence> competencesRestantes = new ArrayList<>();
-                for (Competence comp : competencesOriginal) {
-                    String intitule = comp.getIntitule();
-                    int nbOriginal = compteurOriginal.getOrDefault(intitule, 0);
-                    int nbAffectees = compteurAffectees.getOrDefault(intitule, 0);
-
-                    // Si le nombre d'affectations est inférieur au nombre demandé,
-                    // ajouter autant de compétences que nécessaire
-                    if (nbAffectees < nbOriginal) {
-                        competencesRestantes.add(comp);
-                        // Incrémenter le compteur d'affectations pour ne pas ajouter
-                        // cette compétence plusieurs fois
-                        compteurAffectees.put(intitule, compteurAffectees.getOrDefault(intitule, 0) + 1);
-                    }
-                }
+    /**
+     * Launches the assignment of every DPS of a day with remaining needs at once,
+     * so that the result does not depend on the order in which the DPS were created.
+     * The assignments and the update of the needs are saved in a single transaction.
+     *
+     * @param journee The day to assign.
+     * @return The number of covered skills.
+     */
+    public int launchAffectationDay(Journee journee) {
+        return new AssignmentDay().assignmentRescuersDay(journee);
+    }
 
-                // Mettre à jour le besoin avec uniquement les compétences non affectées ou partiellement affectées
-                besoin.setCompetences(competencesRestantes);
-                besoinManagement.updateBesoin(besoin);
-            }
-        } catch (Exception e) {
-            System.err.println("Erreur lors de l'affectation : " + e.getMessage());
-        }
+    /**
+     * Launches the assignment of every open need between two days, both included.
+     * The days are solved concurrently, then each day is saved in a single batched transaction.
+     *
+     * @param debut The first day of the period.
+     * @param fin The last day of the period.
+     * @param listener Notified after each saved day (from the calling thread), may be null.
+     * @return The number of covered skills over the period.
+     */
+    public int launchAffectationSeason(Journee debut, Journee fin, AssignmentProgressListener listener) {
+        return new AssignmentSeason().assignmentRescuersSeason(debut, fin, listener);
     }
 
     /**
@@ -179,8 +268,9 @@ public class AffectationManagement {
             try (FileWriter writer = new FileWriter(fileName)) {
                 writer.write("IdSecouriste;Nom;Prenom;IdDPS;NomDPS;Competence\n");
                 int total = 0;
+                Map<Long, List<Affectation>> affectationsParSecouriste = getAffectationsByRescuers(secouristes);
                 for (Secouriste secouriste : secouristes) {
-                    List<Affectation> affectations = this.affectationDAO.findByRescuer(secouriste.getIdSecouriste());
+                    List<Affectation> affectations = affectationsParSecouriste.get(secouriste.getIdSecouriste());
                     for (Affectation aff : affectations) {
                         Secouriste s = aff.getSecouristeAffect();
                         String nom = s != null ? s.getNom() : "";
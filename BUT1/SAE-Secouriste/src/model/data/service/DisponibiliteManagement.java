@@ -3,6 +3,7 @@ import model.dao.DisponibiliteDAO;
 import model.data.persistence.Disponibilite;
 import model.data.persistence.Journee;
 import model.data.persistence.Secouriste;
+import model.graph.assignment.AssignmentRepair;
 
 import java.util.ArrayList;
 
@@ -33,12 +34,14 @@ public class DisponibiliteManagement {
 
     /**
      * Method to remove a Disponibilite for a given Secouriste and Journee.
+     * If the Secouriste was assigned on that day, their slots are freed and covered again when possible.
      *
      * @param secouriste the Secouriste whose Disponibilite is to be removed.
      * @param journee the Journee for which the Disponibilite is to be removed.
      */
     public void removeDisponibilite(Secouriste secouriste, Journee journee) {
         this.disponibiliteDAO.deleteDisponibilite(secouriste.getIdSecouriste(), new JourneeManagement().getJourneeByJour(journee.getJour(), journee.getMois(), journee.getAnnee()));
+        new AssignmentRepair().repairDisponibilite(secouriste, journee);
     }
 
     /**
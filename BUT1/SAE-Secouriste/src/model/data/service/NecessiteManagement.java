@@ -2,6 +2,8 @@ package model.data.service;
 
 import model.dao.NecessiteDAO;
 import model.data.persistence.Necessite;
+import model.graph.utils.IncrementalSkillOrder;
+import model.graph.utils.SkillClosure;
 
 import java.util.List;
 
@@ -17,6 +19,22 @@ public class NecessiteManagement {
      */
     private final NecessiteDAO necessiteDAO =  new NecessiteDAO();
 
+    /**
+     * Topological order of the dependencies, shared by all the instances and built on the first change.
+     */
+    private static IncrementalSkillOrder ordre;
+
+    /**
+     * Get the topological order of the dependencies, loading it from the database the first time.
+     * @return the shared order
+     */
+    private IncrementalSkillOrder getOrdre() {
+        if (ordre == null) {
+            ordre = new IncrementalSkillOrder(new CompetenceManagement().getCompetences(), getNecessites());
+        }
+        return ordre;
+    }
+
     /**
      * Retrieves all Necessites from the database.
      * @return a List of Necessite objects representing all necessites
@@ -26,11 +44,17 @@ public class NecessiteManagement {
     }
 
     /**
-     * Method to remove a Necessite.
+     * Method to remove a Necessite. The cached skill closure is dropped.
      * @param necessite the Necessite to be removed
      */
     public void removeNecessite(Necessite necessite) {
-        this.necessiteDAO.deleteNecessite(necessite);
+        synchronized (NecessiteManagement.class) {
+            this.necessiteDAO.deleteNecessite(necessite);
+            if (ordre != null) {
+                ordre.removeNecessite(necessite);
+            }
+            SkillClosure.invalidate();
+        }
     }
 
     /**
@@ -43,10 +67,30 @@ public class NecessiteManagement {
     }
 
     /**
-     * Adds a new Necessite to the database.
+     * Adds a new Necessite to the database, unless it would create a cycle between competences.
+     * The topological order and the cached skill closure are updated without being recomputed.
+     * If the insertion fails, the dependency is taken out of the order again and the closure is left unchanged.
      * @param newNecessite the Necessite to be added
+     * @return true if the Necessite has been added, false if it would create a cycle
+     * @throws RuntimeException if the Necessite cannot be inserted in the database
      */
-    public void addNecessite(Necessite newNecessite) {
-        this.necessiteDAO.insertNecessite(newNecessite);
+    public boolean addNecessite(Necessite newNecessite) {
+        synchronized (NecessiteManagement.class) {
+            boolean existante = getOrdre().containsNecessite(newNecessite);
+            if (!getOrdre().addNecessite(newNecessite)) {
+                return false;
+            }
+            try {
+                this.necessiteDAO.insertNecessite(newNecessite);
+            } catch (RuntimeException e) {
+                // L'ordre ne doit pas garder une dépendance absente de la base
+                if (!existante) {
+                    ordre.removeNecessite(newNecessite);
+                }
+                throw e;
+            }
+            SkillClosure.patch(newNecessite);
+            return true;
+        }
     }
 }
@@ -4,6 +4,7 @@ import model.dao.PossessionDAO;
 import model.data.persistence.Competence;
 import model.data.persistence.Possession;
 import model.data.persistence.Secouriste;
+import model.graph.assignment.AssignmentRepair;
 
 /**
  * This class manages possessions.
@@ -39,11 +40,13 @@ public class PossessionManagement {
 
     /**
      * Removes a Possession for a specific Secouriste and Competence.
+     * The assignments of the Secouriste that they no longer cover are freed and covered again when possible.
      *
      * @param secouriste the Secouriste from whom the possession is to be removed
      * @param competence the Competence associated with the possession to be removed
      */
     public void removePossession(Secouriste secouriste, Competence competence) {
         this.possessionDAO.deletePossession(secouriste.getIdSecouriste(), competence.getIntitule());
+        new AssignmentRepair().repairPossession(secouriste);
     }
 }
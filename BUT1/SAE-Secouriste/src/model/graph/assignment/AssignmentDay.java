@@ -0,0 +1,161 @@
+package model.graph.assignment;
+
+import model.dao.AffectationDAO;
+import model.dao.BesoinDAO;
+import model.dao.DPSDAO;
+import model.data.persistence.*;
+
+import java.util.*;
+
+/**
+ * Class responsible for assigning rescuers to all the DPS of a day at once.
+ * The remaining needs of every DPS of the day are put in a single minimum cost maximum flow network,
+ * so the result no longer depends on the order in which the DPS were created,
+ * and it is saved in a single transaction.
+ * The needs left uncovered are then offered, DPS by DPS in the order of their start hours,
+ * to the rescuers whose DPS of the day do not overlap them.
+ *
+ * @author L. Carré, G. Potay, C. Brocart, T.Brami-Coatual
+ * @version 1.0
+ */
+public class AssignmentDay {
+
+    /**
+     * Solver used for the network of the whole day.
+     */
+    private final AssignmentMinCost assignmentMinCost = new AssignmentMinCost();
+
+    /**
+     * Total cost of the last computed day.
+     */
+    private long coutTotal = 0;
+
+    /**
+     * Assigns rescuers to every DPS of a day that still has needs, and saves the result
+     * and the removal of the covered needs in a single transaction.
+     *
+     * @param journee - the day
+     * @return the number of covered skills, 0 if nothing could be assigned or saved
+     */
+    public int assignmentRescuersDay(Journee journee) {
+        if (journee == null) {
+            throw new IllegalArgumentException("L'argument est null");
+        }
+
+        AssignmentSnapshot snapshot = AssignmentSnapshot.load(journee);
+        if (snapshot.getIdJournee() == -1) {
+            return 0;
+        }
+
+        List<DPS> dpsJour = new DPSDAO().findByDay(snapshot.getIdJournee());
+        Map<Long, ArrayList<Competence>> besoins = new BesoinDAO().findByDay(snapshot.getIdJournee());
+
+        List<Affectation> affectations = solve(dpsJour, besoins, snapshot);
+        if (affectations.isEmpty() || !new AffectationDAO().insertAllAndDeleteBesoins(affectations)) {
+            return 0;
+        }
+        return affectations.size();
+    }
+
+    /**
+     * Computes the assignment of the whole day, without accessing the database.
+     * Every remaining need of every DPS is a slot of the network, and each rescuer not assigned yet
+     * holds at most one slot in it. The slots left uncovered are then solved one DPS at a time
+     * with the rescuers free during its hours, including those assigned by the network to another DPS.
+     *
+     * @param dpsJour - the DPS of the day
+     * @param besoins - the remaining needs of each DPS, by DPS ID
+     * @param snapshot - the snapshot of the day
+     * @return the assignments to create: those of the network in the order of the DPS and of their needs, then the others
+     */
+    public List<Affectation> solve(List<DPS> dpsJour, Map<Long, ? extends List<Competence>> besoins, AssignmentSnapshot snapshot) {
+        if (dpsJour == null || besoins == null || snapshot == null) {
+            throw new IllegalArgumentException("Un des arguments est null");
+        }
+
+        // Un poste par compétence restante de chaque DPS, tous dans le même réseau
+        List<DPS> dpsPostes = new ArrayList<>();
+        List<Competence> postes = new ArrayList<>();
+        for (DPS dps : dpsJour) {
+            List<Competence> besoin = besoins.get(dps.getId());
+            if (besoin != null) {
+                for (Competence competence : besoin) {
+                    dpsPostes.add(dps);
+                    postes.add(competence);
+                }
+            }
+        }
+
+        this.coutTotal = 0;
+        List<Affectation> ret = new ArrayList<>();
+        int[] affectation = solve(postes, snapshot.getSecouristes(), snapshot);
+        List<Secouriste> secouristes = snapshot.getSecouristes();
+        for (int i = 0; i < postes.size(); i++) {
+            if (affectation[i] >= 0) {
+                ret.add(new Affectation(secouristes.get(affectation[i]), dpsPostes.get(i), postes.get(i)));
+            }
+        }
+        if (ret.size() == postes.size()) {
+            return ret;
+        }
+
+        // Les postes restants de chaque DPS, du plus tôt au plus tard
+        Map<DPS, List<Competence>> restants = new LinkedHashMap<>();
+        for (int i = 0; i < postes.size(); i++) {
+            if (affectation[i] < 0) {
+                restants.computeIfAbsent(dpsPostes.get(i), k -> new ArrayList<>()).add(postes.get(i));
+            }
+        }
+        List<DPS> ordre = new ArrayList<>(restants.keySet());
+        ordre.sort(Comparator.comparingInt(DPS::getHoraireDepart));
+
+        AssignmentSnapshot courant = snapshot.avecAffectations(ret);
+        for (DPS dps : ordre) {
+            List<Competence> besoin = restants.get(dps);
+            List<Secouriste> libres = courant.getSecouristes(dps);
+            int[] complement = solve(besoin, libres, courant);
+            List<Affectation> ajoutees = new ArrayList<>();
+            for (int i = 0; i < besoin.size(); i++) {
+                if (complement[i] >= 0) {
+                    ajoutees.add(new Affectation(libres.get(complement[i]), dps, besoin.get(i)));
+                }
+            }
+            if (!ajoutees.isEmpty()) {
+                ret.addAll(ajoutees);
+                courant = courant.avecAffectations(ajoutees);
+            }
+        }
+        return ret;
+    }
+
+    /**
+     * Solves some slots with some rescuers of the snapshot, and adds the cost to the total.
+     */
+    private int[] solve(List<Competence> postes, List<Secouriste> secouristes, AssignmentSnapshot snapshot) {
+        if (postes.isEmpty() || secouristes.isEmpty()) {
+            int[] ret = new int[postes.size()];
+            Arrays.fill(ret, -1);
+            return ret;
+        }
+        List<Set<String>> competencesSecouristes = new ArrayList<>();
+        for (Secouriste secouriste : secouristes) {
+            competencesSecouristes.add(snapshot.getCompetences(secouriste));
+        }
+        List<Competence> catalogue = new ArrayList<>();
+        for (String intitule : snapshot.getCatalogue()) {
+            catalogue.add(new Competence(intitule));
+        }
+
+        int[] ret = this.assignmentMinCost.solve(postes, competencesSecouristes, catalogue, snapshot.getNecessites());
+        this.coutTotal += this.assignmentMinCost.getCoutTotal();
+        return ret;
+    }
+
+    /**
+     * Get the total cost of the last computed day, see {@link AssignmentMinCost#getCoutTotal()}
+     * @return the sum of the costs of the assigned rescuers
+     */
+    public long getCoutTotal() {
+        return this.coutTotal;
+    }
+}
@@ -1,222 +1,787 @@
 package model.graph.assignment;
 
-import model.dao.*;
 import model.data.persistence.*;
-import model.data.service.BesoinManagement;
-import model.graph.utils.MatrixUtils;
+import model.graph.utils.SkillClosure;
+import model.utils.Settings;
 
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Classe AssignmentExhaustive - Cette classe réalise une affectation exhaustive des secouristes
  * aux compétences demandées dans un DPS donné, en tenant compte des compétences supérieures.
+ * La recherche n'accède pas à la base : elle est lancée par {@link AssignmentStrategies#propose}
+ * et son résultat est enregistré par {@link model.data.service.AffectationManagement#commit}.
  * @author L. Carré, G. Potay, C. Brocart, T.Brami-Coatual
  * @version 1.0
  */
 public class AssignmentExhaustive {
 
-    MatrixUtils matrixUtils = new MatrixUtils();
-    BesoinManagement besoinManagement = new BesoinManagement();
+    /**
+     * Nombre maximal d'états morts mémorisés, pour borner la mémoire utilisée.
+     */
+    private static final int TAILLE_MAX_MEMO = 1 << 20;
 
     /**
-     * Map qui associe chaque compétence à un secouriste affecté.
+     * Nombre de tâches fork/join visé par thread du pool, pour équilibrer la charge.
      */
-    private final HashMap<Competence, Secouriste> affectation;
+    private static final int TACHES_PAR_THREAD = 8;
 
     /**
-     * Map qui stocke la meilleure affectation partielle trouvée
+     * Nombre de rangs disponibles pour numéroter les tâches fork/join.
      */
-    private HashMap<Competence, Secouriste> meilleureAffectation;
-    private int maxCompetencesAffectees = 0;
+    private static final long RANG_MAX = 1L << 31;
 
     /**
-     * Dépendances entre compétences, indiquant quelles compétences sont supérieures à d'autres.
+     * Nombre de postes à partir duquel la recherche est lancée en parallèle.
      */
-    private Map<Competence, List<Competence>> dependencies = new HashMap<>();
+    private static final int SEUIL_PARALLELE = 12;
 
+    /**
+     * Nombre de nœuds explorés entre deux lectures de l'horloge en recherche à budget limité (puissance de 2).
+     */
+    private static final int NOEUDS_ENTRE_VERIFICATIONS = 1024;
 
+    private AssignmentExhaustive() {
+    }
 
     /**
-     * Initialise les dépendances entre compétences (compétences "supérieures" pour chaque compétence).
+     * Recherche exacte par séparation et évaluation (branch and bound) de l'affectation qui couvre
+     * le plus de compétences. Un secouriste couvre une compétence s'il la possède ou s'il possède
+     * une compétence supérieure.
+     * @param competences - Liste des compétences à affecter, un poste par élément
+     * @param competencesSecouristes - Intitulés des compétences de chaque secouriste
+     * @param necessites - Dépendances entre compétences
+     * @return pour chaque poste, l'indice du secouriste affecté, ou -1
      */
-    private void initDependencies(ArrayList<Competence> competencesBesoins) {
+    public static int[] solve(List<Competence> competences, List<Set<String>> competencesSecouristes, List<Necessite> necessites) {
+        return solve(competences, competencesSecouristes, necessites, null);
+    }
 
-        NecessiteDAO necessiteDAO = new NecessiteDAO();
-        List<Necessite> necessites = necessiteDAO.findAll();
-        dependencies = matrixUtils.buildAllSuperiorDependencies(competencesBesoins, necessites);
+    /**
+     * Variante de {@link #solve(List, List, List)} qui compte les nœuds, les élagages et les améliorations.
+     * @param competences - Liste des compétences à affecter, un poste par élément
+     * @param competencesSecouristes - Intitulés des compétences de chaque secouriste
+     * @param necessites - Dépendances entre compétences
+     * @param stats - Statistiques à mettre à jour, ou null
+     * @return pour chaque poste, l'indice du secouriste affecté, ou -1
+     */
+    public static int[] solve(List<Competence> competences, List<Set<String>> competencesSecouristes, List<Necessite> necessites,
+                              AssignmentStats stats) {
+        Probleme probleme = new Probleme(competences, competencesSecouristes, necessites);
+        Recherche recherche = new Recherche(probleme, 0, new int[probleme.nbPostes()], new long[probleme.nbMots], null, 0, stats);
+        recherche.backtrack(0, 0);
+        recherche.rendreCompte();
+        return probleme.ordreInitial(recherche.meilleureAffectation);
     }
 
+    /**
+     * Variante de {@link #solve(List, List, List)} à temps borné : la recherche part d'une affectation gloutonne
+     * (postes les plus rares d'abord, secouristes les moins polyvalents d'abord) et l'améliore par séparation
+     * et évaluation jusqu'à l'échéance. La meilleure affectation trouvée est alors renvoyée, avec l'indication
+     * de son optimalité : prouvée si la recherche est allée au bout ou si la borne supérieure est atteinte.
+     * À couverture égale, l'affectation peut différer de celle de {@link #solve(List, List, List)}.
+     * @param competences - Liste des compétences à affecter, un poste par élément
+     * @param competencesSecouristes - Intitulés des compétences de chaque secouriste
+     * @param necessites - Dépendances entre compétences
+     * @param budgetMillis - Budget de temps en millisecondes (strictement positif)
+     * @return la meilleure affectation trouvée et son optimalité
+     */
+    public static Solution solveAnytime(List<Competence> competences, List<Set<String>> competencesSecouristes, List<Necessite> necessites, long budgetMillis) {
+        return solveAnytime(competences, competencesSecouristes, necessites, budgetMillis, null);
+    }
 
     /**
-     * Constructeur AssignmentExhaustive qui effectue l'affectation des secouristes aux compétences du DPS.
-     * @param dps - Le DPS à traiter (doit être non null)
-     * @param - Liste des compétences à affecter (doit être non null)
-     * @throws IllegalArgumentException si les arguments sont null ou si aucun secouriste disponible
+     * Variante de {@link #solveAnytime(List, List, List, long)} qui compte les nœuds, les élagages et les améliorations,
+     * la solution gloutonne de départ étant la première amélioration.
+     * @param competences - Liste des compétences à affecter, un poste par élément
+     * @param competencesSecouristes - Intitulés des compétences de chaque secouriste
+     * @param necessites - Dépendances entre compétences
+     * @param budgetMillis - Budget de temps en millisecondes (strictement positif)
+     * @param stats - Statistiques à mettre à jour, ou null
+     * @return la meilleure affectation trouvée et son optimalité
      */
-    public AssignmentExhaustive(DPS dps) {
-        ArrayList<Competence> competences = this.besoinManagement.getBesoinByDPS(dps).getCompetences();
+    public static Solution solveAnytime(List<Competence> competences, List<Set<String>> competencesSecouristes, List<Necessite> necessites,
+                                        long budgetMillis, AssignmentStats stats) {
+        if (budgetMillis <= 0) {
+            throw new IllegalArgumentException("Le budget doit être positif");
+        }
+        long echeance = System.nanoTime() + budgetMillis * 1_000_000;
+        Probleme probleme = new Probleme(competences, competencesSecouristes, necessites);
+        Recherche recherche = new Recherche(probleme, 0, new int[probleme.nbPostes()], new long[probleme.nbMots], null, 0, stats);
+        recherche.amorcer(probleme.glouton());
+
+        // La solution gloutonne atteint déjà la borne : inutile de lancer la recherche
+        if (recherche.maxCompetencesAffectees < probleme.maxAtteignable) {
+            recherche.echeance = echeance;
+            recherche.backtrack(0, 0);
+        }
+        recherche.rendreCompte();
+        boolean optimale = !recherche.interrompue || recherche.maxCompetencesAffectees == probleme.maxAtteignable;
+        return new Solution(probleme.ordreInitial(recherche.meilleureAffectation), optimale);
+    }
 
-        this.affectation = new HashMap<>();
-        this.meilleureAffectation = new HashMap<>();
-        initDependencies(competences);
+    /**
+     * Variante parallèle de {@link #solve(List, List, List)} : les premiers niveaux de l'arbre de recherche
+     * sont découpés en tâches fork/join, qui partagent la meilleure couverture trouvée pour s'élaguer entre elles.
+     * Chaque tâche a un rang, son ordre dans l'exploration séquentielle : une tâche abandonne une branche
+     * qui ne peut pas dépasser la meilleure couverture, ni l'égaler en venant après la tâche qui l'a trouvée.
+     * Le résultat est exactement celui de la version séquentielle : parmi les affectations optimales,
+     * celle qui vient en premier dans l'ordre d'exploration (secouristes dans l'ordre d'essai, poste vide en dernier).
+     * @param competences - Liste des compétences à affecter, un poste par élément
+     * @param competencesSecouristes - Intitulés des compétences de chaque secouriste
+     * @param necessites - Dépendances entre compétences
+     * @param pool - Le pool de threads qui exécute les tâches
+     * @return pour chaque poste, l'indice du secouriste affecté, ou -1
+     */
+    public static int[] solveParallel(List<Competence> competences, List<Set<String>> competencesSecouristes, List<Necessite> necessites, ForkJoinPool pool) {
+        return solveParallel(competences, competencesSecouristes, necessites, pool, null);
+    }
 
-        if (dps == null || competences == null) {
+    /**
+     * Variante de {@link #solveParallel(List, List, List, ForkJoinPool)} qui compte les nœuds et les élagages
+     * de toutes les tâches, et les améliorations de la meilleure couverture partagée.
+     * @param competences - Liste des compétences à affecter, un poste par élément
+     * @param competencesSecouristes - Intitulés des compétences de chaque secouriste
+     * @param necessites - Dépendances entre compétences
+     * @param pool - Le pool de threads qui exécute les tâches
+     * @param stats - Statistiques à mettre à jour, ou null
+     * @return pour chaque poste, l'indice du secouriste affecté, ou -1
+     */
+    public static int[] solveParallel(List<Competence> competences, List<Set<String>> competencesSecouristes, List<Necessite> necessites,
+                                      ForkJoinPool pool, AssignmentStats stats) {
+        if (pool == null) {
             throw new IllegalArgumentException("Arguments null");
         }
+        Probleme probleme = new Probleme(competences, competencesSecouristes, necessites);
+        int[] prefixe = new int[probleme.nbPostes()];
+        Arrays.fill(prefixe, -1);
+        TacheRecherche racine = new TacheRecherche(probleme, new AtomicLong(Long.MIN_VALUE), 0, 0, prefixe,
+                new long[probleme.nbMots], 0, RANG_MAX, 1, pool.getParallelism() * TACHES_PAR_THREAD, stats);
+        return probleme.ordreInitial(pool.invoke(racine).affectation);
+    }
+
+    /**
+     * Variante parallèle de {@link #solve(List, List, List)} sur le pool commun.
+     * @param competences - Liste des compétences à affecter, un poste par élément
+     * @param competencesSecouristes - Intitulés des compétences de chaque secouriste
+     * @param necessites - Dépendances entre compétences
+     * @return pour chaque poste, l'indice du secouriste affecté, ou -1
+     */
+    public static int[] solveParallel(List<Competence> competences, List<Set<String>> competencesSecouristes, List<Necessite> necessites) {
+        return solveParallel(competences, competencesSecouristes, necessites, ForkJoinPool.commonPool());
+    }
 
-        Journee journee = dps.getJournee();
-        List<Secouriste> secouristes = secouristesDisponible(journee);
-        if (secouristes.isEmpty()) {
-            throw new IllegalArgumentException("Aucun secouriste disponible");
+    /**
+     * Données de la recherche, indépendantes de la branche explorée : postes triés par rareté,
+     * secouristes éligibles et ordre dans lequel ils sont essayés.
+     */
+    private static final class Probleme {
+
+        /**
+         * Indice d'origine de chaque poste trié.
+         */
+        private final Integer[] ordre;
+
+        /**
+         * Secouristes éligibles pour chaque poste trié.
+         */
+        private final long[][] eligibles;
+
+        /**
+         * Union des secouristes éligibles pour les postes k, k+1... de chaque indice k.
+         */
+        private final long[][] eligiblesSuffixe;
+
+        /**
+         * Secouristes éligibles pour chaque poste trié, dans l'ordre où ils sont essayés.
+         */
+        private final int[][] candidats;
+
+        /**
+         * Nombre de mots de 64 bits d'un bitset de secouristes.
+         */
+        private final int nbMots;
+
+        /**
+         * Nombre de postes qui ont au moins un secouriste éligible : aucune solution ne peut faire mieux.
+         */
+        private final int maxAtteignable;
+
+        Probleme(List<Competence> competences, List<Set<String>> competencesSecouristes, List<Necessite> necessites) {
+            if (competences == null || competencesSecouristes == null || necessites == null) {
+                throw new IllegalArgumentException("Arguments null");
+            }
+            // Les postes d'une même compétence partagent leur bitset et leur liste de candidats
+            Map<String, Competence> distinctes = new LinkedHashMap<>();
+            for (Competence competence : competences) {
+                distinctes.putIfAbsent(competence.getIntitule(), competence);
+            }
+            List<Competence> representants = new ArrayList<>(distinctes.values());
+            SkillClosure fermeture = SkillClosure.of(null, necessites);
+
+            int nbSecouristes = competencesSecouristes.size();
+            this.nbMots = (nbSecouristes + Long.SIZE - 1) / Long.SIZE;
+            long[][] possessions = new long[nbSecouristes][];
+            for (int j = 0; j < nbSecouristes; j++) {
+                possessions[j] = fermeture.masque(competencesSecouristes.get(j));
+            }
+
+            // Secouristes éligibles pour chaque compétence demandée, sous forme de bitset
+            Map<String, long[]> masquesParIntitule = new HashMap<>();
+            for (Competence representant : representants) {
+                long[] masque = new long[nbMots];
+                for (int j = 0; j < nbSecouristes; j++) {
+                    if (fermeture.couvre(competencesSecouristes.get(j), possessions[j], representant.getIntitule())) {
+                        masque[j / Long.SIZE] |= 1L << (j % Long.SIZE);
+                    }
+                }
+                masquesParIntitule.put(representant.getIntitule(), masque);
+            }
+            long[][] masques = new long[competences.size()][];
+            int[] nbPostesSecouriste = new int[nbSecouristes];
+            for (int i = 0; i < competences.size(); i++) {
+                masques[i] = masquesParIntitule.get(competences.get(i).getIntitule());
+                for (int w = 0; w < nbMots; w++) {
+                    long mot = masques[i][w];
+                    while (mot != 0) {
+                        nbPostesSecouriste[w * Long.SIZE + Long.numberOfTrailingZeros(mot)]++;
+                        mot &= mot - 1;
+                    }
+                }
+            }
+
+            // Les compétences les plus rares sont traitées en premier, les postes identiques restent consécutifs
+            this.ordre = new Integer[competences.size()];
+            for (int i = 0; i < ordre.length; i++) {
+                ordre[i] = i;
+            }
+            Arrays.sort(ordre, Comparator.<Integer>comparingInt(i -> cardinalite(masques[i]))
+                    .thenComparing(i -> competences.get(i).getIntitule()));
+
+            // Pour chaque poste, les secouristes les moins polyvalents sont essayés en premier
+            this.candidats = new int[ordre.length][];
+            this.eligibles = new long[ordre.length][];
+            Map<String, int[]> candidatsParIntitule = new HashMap<>();
+            int atteignable = 0;
+            for (int k = 0; k < ordre.length; k++) {
+                long[] masque = masques[ordre[k]];
+                eligibles[k] = masque;
+                candidats[k] = candidatsParIntitule.computeIfAbsent(competences.get(ordre[k]).getIntitule(), intitule -> {
+                    Integer[] liste = new Integer[cardinalite(masque)];
+                    int n = 0;
+                    for (int j = 0; j < nbSecouristes; j++) {
+                        if ((masque[j / Long.SIZE] & (1L << (j % Long.SIZE))) != 0) {
+                            liste[n++] = j;
+                        }
+                    }
+                    Arrays.sort(liste, Comparator.comparingInt(j -> nbPostesSecouriste[j]));
+                    int[] ret = new int[n];
+                    for (int x = 0; x < n; x++) {
+                        ret[x] = liste[x];
+                    }
+                    return ret;
+                });
+                if (candidats[k].length > 0) {
+                    atteignable++;
+                }
+            }
+            this.maxAtteignable = atteignable;
+
+            this.eligiblesSuffixe = new long[ordre.length + 1][nbMots];
+            for (int k = ordre.length - 1; k >= 0; k--) {
+                for (int w = 0; w < nbMots; w++) {
+                    this.eligiblesSuffixe[k][w] = this.eligiblesSuffixe[k + 1][w] | eligibles[k][w];
+                }
+            }
         }
 
-        HashSet<Secouriste> dejaAffectes = new HashSet<>();
+        int nbPostes() {
+            return this.ordre.length;
+        }
 
-        // On lance le backtracking pour trouver la meilleure solution possible
-        backtrack(0, competences, secouristes, affectation, dejaAffectes);
+        /**
+         * Affectation gloutonne des postes triés : chaque poste, du plus rare au plus courant,
+         * prend le premier secouriste libre dans l'ordre d'essai.
+         * @return l'affectation des postes triés
+         */
+        int[] glouton() {
+            int[] ret = new int[ordre.length];
+            long[] dejaAffectes = new long[nbMots];
+            for (int k = 0; k < ordre.length; k++) {
+                ret[k] = -1;
+                for (int j : candidats[k]) {
+                    long bit = 1L << (j % Long.SIZE);
+                    if ((dejaAffectes[j / Long.SIZE] & bit) == 0) {
+                        ret[k] = j;
+                        dejaAffectes[j / Long.SIZE] |= bit;
+                        break;
+                    }
+                }
+            }
+            return ret;
+        }
+
+        /**
+         * Majore le nombre de postes restants qui peuvent encore être couverts.
+         * @param index - Index du premier poste restant
+         * @param dejaAffectes - Secouristes déjà affectés
+         * @return le nombre de postes encore couvrables, au plus le nombre de secouristes libres utiles
+         */
+        int borneRestante(int index, long[] dejaAffectes) {
+            int secouristesLibres = 0;
+            for (int w = 0; w < nbMots; w++) {
+                secouristesLibres += Long.bitCount(eligiblesSuffixe[index][w] & ~dejaAffectes[w]);
+            }
 
-        // Même si on n'a pas trouvé de solution complète, on utilise la meilleure solution partielle
-        System.out.println("Nombre de compétences affectées: " + maxCompetencesAffectees + "/" + competences.size());
+            int ret = 0;
+            for (int k = index; k < eligibles.length; k++) {
+                long[] masque = eligibles[k];
+                for (int w = 0; w < masque.length; w++) {
+                    if ((masque[w] & ~dejaAffectes[w]) != 0) {
+                        ret++;
+                        break;
+                    }
+                }
+            }
+            return Math.min(ret, secouristesLibres);
+        }
 
-        if (maxCompetencesAffectees > 0) {
-            AffectationDAO affectationDAO = new AffectationDAO();
-            for (Map.Entry<Competence, Secouriste> entry : meilleureAffectation.entrySet()) {
-                Affectation aff = new Affectation(entry.getValue(), dps, entry.getKey());
-                affectationDAO.insert(aff);
+        /**
+         * Remet une affectation des postes triés dans l'ordre des compétences d'origine.
+         * @param affectationTriee - l'affectation des postes triés
+         * @return l'affectation dans l'ordre d'origine
+         */
+        int[] ordreInitial(int[] affectationTriee) {
+            int[] ret = new int[ordre.length];
+            for (int k = 0; k < ordre.length; k++) {
+                ret[ordre[k]] = affectationTriee[k];
             }
-        } else {
-            throw new IllegalStateException("Aucune affectation possible");
+            return ret;
         }
     }
 
     /**
-     * Algorithme de backtracking pour affecter récursivement chaque compétence à un secouriste disponible.
-     * Garde trace de la meilleure solution partielle trouvée.
-     * @param index - Index courant dans la liste des compétences à affecter
-     * @param competences - Liste des compétences à affecter
-     * @param secouristes - Liste des secouristes disponibles
-     * @param affectationActuelle - Affectation en cours des compétences aux secouristes
-     * @param dejaAffectes - Ensemble des secouristes déjà affectés
-     * @return true si une affectation complète est trouvée, false sinon
+     * État de la recherche séquentielle dans un sous-arbre, à partir d'une affectation partielle des premiers postes.
      */
-    private boolean backtrack(int index, List<Competence> competences, List<Secouriste> secouristes, HashMap<Competence, Secouriste> affectationActuelle, HashSet<Secouriste> dejaAffectes) {
+    private static final class Recherche {
+
+        private final Probleme probleme;
+
+        /**
+         * Secouristes déjà affectés dans la branche courante.
+         */
+        private final long[] dejaAffectes;
+
+        /**
+         * Affectation en cours et meilleure affectation trouvée (indice de secouriste ou -1 par poste).
+         */
+        private final int[] affectationActuelle;
+        private final int[] meilleureAffectation;
+        private int maxCompetencesAffectees = -1;
+
+        /**
+         * Meilleure couverture trouvée par toutes les tâches et rang de la tâche qui l'a trouvée
+         * (voir {@link #cle(int, long)}), ou null en séquentiel.
+         */
+        private final AtomicLong meilleurGlobal;
+
+        /**
+         * Rang de la tâche dans l'ordre d'exploration séquentiel.
+         */
+        private final long rang;
+
+        /**
+         * États déjà explorés (indice du poste et secouristes utilisés) : les revisiter ne peut pas améliorer la solution.
+         */
+        private final Set<Etat> etatsMorts = new HashSet<>();
+
+        /**
+         * Échéance de la recherche (System.nanoTime), Long.MAX_VALUE si elle n'est pas bornée.
+         */
+        private long echeance = Long.MAX_VALUE;
+
+        /**
+         * Nombre de nœuds explorés et de branches élaguées, et vrai si la recherche a été arrêtée par l'échéance.
+         */
+        private long noeuds = 0;
+        private long elagages = 0;
+        private boolean interrompue = false;
+
+        /**
+         * Statistiques à mettre à jour, ou null.
+         */
+        private final AssignmentStats stats;
+
+        Recherche(Probleme probleme, int index, int[] prefixe, long[] dejaAffectes, AtomicLong meilleurGlobal, long rang,
+                  AssignmentStats stats) {
+            this.probleme = probleme;
+            this.dejaAffectes = dejaAffectes.clone();
+            this.affectationActuelle = new int[probleme.nbPostes()];
+            this.meilleureAffectation = new int[probleme.nbPostes()];
+            Arrays.fill(this.affectationActuelle, -1);
+            System.arraycopy(prefixe, 0, this.affectationActuelle, 0, index);
+            this.meilleurGlobal = meilleurGlobal;
+            this.rang = rang;
+            this.stats = stats;
+        }
 
-        // On met à jour la meilleure solution partielle si l'actuelle est meilleure
-        if (affectationActuelle.size() > maxCompetencesAffectees) {
-            maxCompetencesAffectees = affectationActuelle.size();
-            meilleureAffectation = new HashMap<>(affectationActuelle);
-            System.out.println("Nouvelle meilleure solution partielle: " + maxCompetencesAffectees + " compétences affectées");
+        /**
+         * Ajoute les nœuds et les élagages de la recherche aux statistiques.
+         */
+        private void rendreCompte() {
+            if (stats != null) {
+                stats.ajouterRecherche(noeuds, elagages);
+            }
         }
 
-        // Si on a tout affecté, on a trouvé une solution complète
-        if (index == competences.size()) {
-            System.out.println("Toutes les compétences ont été assignées avec succès !");
-            return true; // toutes les compétences ont été assignées
+        /**
+         * Part d'une affectation déjà connue : seules les affectations strictement meilleures seront retenues.
+         * @param affectationTriee - l'affectation des postes triés
+         */
+        private void amorcer(int[] affectationTriee) {
+            int nb = 0;
+            for (int j : affectationTriee) {
+                if (j >= 0) {
+                    nb++;
+                }
+            }
+            maxCompetencesAffectees = nb;
+            System.arraycopy(affectationTriee, 0, meilleureAffectation, 0, affectationTriee.length);
+            if (stats != null) {
+                stats.ajouterAmelioration(nb);
+            }
         }
 
-        Competence competence = competences.get(index);
-        System.out.println("Tentative d'affectation pour la compétence : " + competence.getIntitule() + " (index " + index + "/" + competences.size() + ")");
+        /**
+         * Algorithme de backtracking pour affecter récursivement chaque poste à un secouriste disponible.
+         * Garde trace de la meilleure solution partielle trouvée.
+         * @param index - Index courant dans la liste des postes triés
+         * @param nbAffectees - Nombre de postes affectés dans la branche courante
+         * @return true si la recherche peut s'arrêter (solution optimale atteinte), false sinon
+         */
+        private boolean backtrack(int index, int nbAffectees) {
+
+            // Budget écoulé : on garde la meilleure solution trouvée jusqu'ici
+            if ((++noeuds & (NOEUDS_ENTRE_VERIFICATIONS - 1)) == 0 && System.nanoTime() > echeance) {
+                interrompue = true;
+                return true;
+            }
+
+            // On met à jour la meilleure solution partielle si l'actuelle est meilleure
+            if (nbAffectees > maxCompetencesAffectees) {
+                maxCompetencesAffectees = nbAffectees;
+                System.arraycopy(affectationActuelle, 0, meilleureAffectation, 0, affectationActuelle.length);
+                long precedent = meilleurGlobal != null ? meilleurGlobal.getAndAccumulate(cle(nbAffectees, rang), Math::max) : Long.MIN_VALUE;
+                // En parallèle, seule une couverture meilleure que celle de toutes les tâches est une amélioration
+                if (stats != null && nbAffectees > (precedent >> 32)) {
+                    stats.ajouterAmelioration(nbAffectees);
+                }
+                if (maxCompetencesAffectees == probleme.maxAtteignable) {
+                    return true;
+                }
+            }
 
-        for (Secouriste s : secouristes) {
-            if (!dejaAffectes.contains(s)) {
-                System.out.println("  Essai secouriste id=" + s.getIdSecouriste());
-                List<Competence> competencesDuSecouriste = new PossessionDAO().find(s).getCompetencesSec();
-                System.out.println("  Nombre de compétences : " + competencesDuSecouriste.size());
+            if (index == probleme.nbPostes()) {
+                return false;
+            }
 
-                if (possede(competencesDuSecouriste, competence)) {
-                    System.out.println("  ✓ Secouriste " + s.getIdSecouriste() + " possède la compétence " + competence.getIntitule());
-                    affectationActuelle.put(competence, s);
-                    dejaAffectes.add(s);
+            // Borne optimiste : chaque poste restant qui a encore un secouriste libre éligible peut être couvert,
+            // dans la limite du nombre de secouristes libres éligibles pour au moins un poste restant.
+            // En parallèle, une branche qui ne fait qu'égaler une tâche de rang inférieur est aussi abandonnée.
+            int borne = nbAffectees + probleme.borneRestante(index, dejaAffectes);
+            if (borne <= maxCompetencesAffectees || (meilleurGlobal != null && cle(borne, rang) < meilleurGlobal.get())) {
+                elagages++;
+                return false;
+            }
 
-                    if (backtrack(index + 1, competences, secouristes, affectationActuelle, dejaAffectes)) {
-                        return true;
-                    }
+            // Le même poste avec les mêmes secouristes utilisés a déjà été exploré
+            if (etatsMorts.size() < TAILLE_MAX_MEMO && !etatsMorts.add(new Etat(index, dejaAffectes))) {
+                elagages++;
+                return false;
+            }
+
+            for (int j : probleme.candidats[index]) {
+                long bit = 1L << (j % Long.SIZE);
+                if ((dejaAffectes[j / Long.SIZE] & bit) == 0) {
+                    affectationActuelle[index] = j;
+                    dejaAffectes[j / Long.SIZE] |= bit;
+
+                    boolean fin = backtrack(index + 1, nbAffectees + 1);
 
                     // backtrack
-                    System.out.println("  ✗ Retour arrière pour compétence " + competence.getIntitule());
-                    affectationActuelle.remove(competence);
-                    dejaAffectes.remove(s);
-                } else {
-                    System.out.println("  ✗ Secouriste " + s.getIdSecouriste() + " ne possède pas la compétence " + competence.getIntitule());
+                    affectationActuelle[index] = -1;
+                    dejaAffectes[j / Long.SIZE] &= ~bit;
+                    if (fin) {
+                        return true;
+                    }
                 }
-            } else {
-                System.out.println("  ✗ Secouriste " + s.getIdSecouriste() + " déjà affecté");
             }
-        }
 
-        // On n'a pas pu affecter cette compétence, mais on continue avec les suivantes
-        // car on cherche une solution partielle maximale
-        return backtrack(index + 1, competences, secouristes, affectationActuelle, dejaAffectes);
+            // On n'a pas pu (ou pas voulu) affecter ce poste, mais on continue avec les suivants
+            // car on cherche une solution partielle maximale
+            return backtrack(index + 1, nbAffectees);
+        }
     }
 
     /**
-     * Vérifie si un secouriste possède une compétence donnée ou une compétence supérieure.
-     * @param competencesSec - Liste des compétences du secouriste
-     * @param cible - Compétence ciblée à vérifier
-     * @return true si la compétence ciblée ou une compétence supérieure est possédée, false sinon
+     * Recherche exhaustive vue comme une {@link AssignmentStrategy}, sans accès à la base.
+     * Sans budget, c'est la recherche exacte ({@link #solve(List, List, List)}, en parallèle sur les grands besoins) ;
+     * avec un budget, c'est la recherche à temps borné partant de la solution gloutonne ({@link #solveAnytime}).
      */
-    private boolean possede(List<Competence> competencesSec, Competence cible) {
-        // Si le secouriste possède exactement la compétence ciblée
-        if (competencesSec.contains(cible)) {
-            return true;
+    public static final class Strategie implements AssignmentStrategy {
+
+        /**
+         * Noms des deux variantes dans le registre.
+         */
+        public static final String NOM_EXACT = "exhaustive";
+        public static final String NOM_ANYTIME = "anytime";
+
+        private final long budgetMillis;
+        private boolean optimale = true;
+
+        /**
+         * Constructeur de la stratégie exhaustive.
+         * @param budgetMillis - Budget de temps en millisecondes, 0 pour une recherche exacte sans limite
+         */
+        public Strategie(long budgetMillis) {
+            if (budgetMillis < 0) {
+                throw new IllegalArgumentException("Le budget ne peut pas être négatif");
+            }
+            this.budgetMillis = budgetMillis;
         }
 
-        // Sinon, on regarde si le secouriste possède une compétence supérieure
-        List<Competence> compSup = dependencies.get(cible);
-        if (compSup != null) {
-            for (Competence sup : compSup) {
-                System.out.println("Vérification compétence supérieure : " + cible.getIntitule() + " -> " + sup.getIntitule());
-                // Recursion : si la compétence supérieure elle-même a des superclasses
-                if (possede(competencesSec, sup)) {
-                    return true;
-                }
+        @Override
+        public String getNom() {
+            return budgetMillis > 0 ? NOM_ANYTIME : NOM_EXACT;
+        }
+
+        @Override
+        public int[] solve(List<Competence> competences, List<Set<String>> competencesSecouristes, List<Competence> catalogue, List<Necessite> necessites) {
+            return solve(competences, competencesSecouristes, catalogue, necessites, null);
+        }
+
+        @Override
+        public int[] solve(List<Competence> competences, List<Set<String>> competencesSecouristes, List<Competence> catalogue,
+                           List<Necessite> necessites, AssignmentStats stats) {
+            if (budgetMillis > 0) {
+                Solution solution = solveAnytime(competences, competencesSecouristes, necessites, budgetMillis, stats);
+                optimale = solution.estOptimale();
+                return solution.getAffectation();
             }
+            optimale = true;
+            return competences.size() >= SEUIL_PARALLELE
+                    ? solveParallel(competences, competencesSecouristes, necessites, ForkJoinPool.commonPool(), stats)
+                    : AssignmentExhaustive.solve(competences, competencesSecouristes, necessites, stats);
         }
 
-        return false;
+        @Override
+        public boolean estOptimale() {
+            return optimale;
+        }
     }
 
     /**
-     * Retourne la map actuelle des affectations compétences -> secouristes.
-     * @return la map des affectations
+     * Résultat d'une recherche à temps borné : meilleure affectation trouvée et son optimalité.
      */
-    public HashMap<Competence, Secouriste> getAffectation() {
-        return affectation;
+    public static final class Solution {
+        private final int[] affectation;
+        private final boolean optimale;
+
+        Solution(int[] affectation, boolean optimale) {
+            this.affectation = affectation;
+            this.optimale = optimale;
+        }
+
+        /**
+         * Retourne l'affectation trouvée.
+         * @return pour chaque poste, l'indice du secouriste affecté, ou -1
+         */
+        public int[] getAffectation() {
+            return affectation;
+        }
+
+        /**
+         * Indique si l'affectation est prouvée optimale.
+         * @return true si aucune affectation ne couvre plus de postes, false si le budget a été atteint avant la preuve
+         */
+        public boolean estOptimale() {
+            return optimale;
+        }
     }
 
+    /**
+     * Résultat d'une tâche de recherche : couverture et affectation des postes triés.
+     */
+    private static final class Resultat {
+        private final int nbAffectees;
+        private final int[] affectation;
+
+        Resultat(int nbAffectees, int[] affectation) {
+            this.nbAffectees = nbAffectees;
+            this.affectation = affectation;
+        }
+    }
 
     /**
-     * Récupère la liste des secouristes disponibles pour une journée donnée, c’est-à-dire ceux
-     * qui ne sont pas déjà affectés ce jour-là.
-     * @param journee - la journée concernée
-     * @return la liste des secouristes disponibles
+     * Tâche fork/join qui explore le sous-arbre d'une affectation partielle des premiers postes.
+     * Tant que le nombre de tâches créées reste faible, elle se découpe en une sous-tâche par choix
+     * possible pour le poste courant ; sinon elle lance la recherche séquentielle.
      */
-    private List<Secouriste> secouristesDisponible(Journee journee) {
-        System.out.println("Recherche des secouristes disponibles pour le " + journee);
-        List<Secouriste> secouristesJour = new SecouristeDAO().findByDay(new JourneeDAO().findIdByJour(journee.getJour(), journee.getMois(), journee.getAnnee()));
-        System.out.println("Nombre de secouristes pour ce jour : " + secouristesJour.size());
+    private static final class TacheRecherche extends RecursiveTask<Resultat> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Probleme probleme;
+        private final AtomicLong meilleurGlobal;
+        private final int index;
+        private final int nbAffectees;
+        private final int[] prefixe;
+        private final long[] dejaAffectes;
+
+        /**
+         * Intervalle [rangMin, rangMax[ des rangs réservés aux tâches de ce sous-arbre.
+         */
+        private final long rangMin;
+        private final long rangMax;
+
+        /**
+         * Nombre de tâches au niveau de celle-ci, et nombre à partir duquel on arrête de découper.
+         */
+        private final long nbTaches;
+        private final long nbTachesMax;
+
+        /**
+         * Statistiques à mettre à jour, ou null.
+         */
+        private final AssignmentStats stats;
+
+        TacheRecherche(Probleme probleme, AtomicLong meilleurGlobal, int index, int nbAffectees, int[] prefixe,
+                       long[] dejaAffectes, long rangMin, long rangMax, long nbTaches, long nbTachesMax, AssignmentStats stats) {
+            this.probleme = probleme;
+            this.meilleurGlobal = meilleurGlobal;
+            this.index = index;
+            this.nbAffectees = nbAffectees;
+            this.prefixe = prefixe;
+            this.dejaAffectes = dejaAffectes;
+            this.rangMin = rangMin;
+            this.rangMax = rangMax;
+            this.nbTaches = nbTaches;
+            this.nbTachesMax = nbTachesMax;
+            this.stats = stats;
+        }
+
+        @Override
+        protected Resultat compute() {
+            // Recherche séquentielle quand il y a assez de tâches, ou plus assez de rangs pour les sous-tâches
+            if (index == probleme.nbPostes() || nbTaches >= nbTachesMax
+                    || rangMax - rangMin < probleme.candidats[index].length + 1) {
+                Recherche recherche = new Recherche(probleme, index, prefixe, dejaAffectes, meilleurGlobal, rangMin, stats);
+                recherche.backtrack(index, nbAffectees);
+                recherche.rendreCompte();
+                return new Resultat(recherche.maxCompetencesAffectees, recherche.meilleureAffectation);
+            }
+
+            if (cle(nbAffectees + probleme.borneRestante(index, dejaAffectes), rangMin) < meilleurGlobal.get()) {
+                if (stats != null) {
+                    stats.ajouterRecherche(1, 1);
+                }
+                return new Resultat(-1, prefixe);
+            }
 
-        List<Secouriste> ret = new ArrayList<>();
-        for (Secouriste secouriste : secouristesJour) {
-            long idJournee = new JourneeDAO().findIdByJour(journee.getJour(), journee.getMois(), journee.getAnnee());
-            long idSecouriste = secouriste.getIdSecouriste();
-            boolean estDejaAffecte = new AffectationDAO().rescuerThisDay(idJournee, idSecouriste);
-            System.out.println("Secouriste " + secouriste.getIdSecouriste() + " déjà affecté ? " + estDejaAffecte);
-            if (!estDejaAffecte) {
-                ret.add(secouriste);
+            if (stats != null) {
+                stats.ajouterRecherche(1, 0);
             }
+
+            // Une sous-tâche par secouriste libre, dans l'ordre d'essai, puis le poste laissé vide
+            List<TacheRecherche> sousTaches = new ArrayList<>();
+            List<int[]> choix = new ArrayList<>();
+            for (int j : probleme.candidats[index]) {
+                if ((dejaAffectes[j / Long.SIZE] & (1L << (j % Long.SIZE))) == 0) {
+                    choix.add(new int[]{j});
+                }
+            }
+            choix.add(new int[]{-1});
+            long largeur = (rangMax - rangMin) / choix.size();
+            long rangFils = rangMin;
+            for (int[] c : choix) {
+                int[] prefixeFils = prefixe.clone();
+                long[] dejaAffectesFils = dejaAffectes.clone();
+                prefixeFils[index] = c[0];
+                if (c[0] >= 0) {
+                    dejaAffectesFils[c[0] / Long.SIZE] |= 1L << (c[0] % Long.SIZE);
+                }
+                sousTaches.add(new TacheRecherche(probleme, meilleurGlobal, index + 1, nbAffectees + (c[0] >= 0 ? 1 : 0),
+                        prefixeFils, dejaAffectesFils, rangFils, rangFils + largeur, nbTaches * choix.size(), nbTachesMax, stats));
+                rangFils += largeur;
+            }
+            invokeAll(sousTaches);
+
+            // Départage déterministe : à couverture égale, la première sous-tâche dans l'ordre d'exploration l'emporte
+            Resultat ret = new Resultat(-1, prefixe);
+            for (TacheRecherche tache : sousTaches) {
+                Resultat resultat = tache.join();
+                if (resultat.nbAffectees > ret.nbAffectees) {
+                    ret = resultat;
+                }
+            }
+            return ret;
         }
-        System.out.println("Nombre final de secouristes disponibles : " + ret.size());
-        return ret;
     }
 
     /**
-     * Crée une instance de Competence à partir d’un nom.
-     * @param nom - Nom de la compétence
-     * @return L’objet Competence correspondant
+     * Clé d'un état de la recherche : indice du poste courant (les postes restants sont le suffixe)
+     * et bitset des secouristes déjà utilisés.
      */
-    private Competence getCompetence(String nom) {
-        return new Competence(nom);
+    private static final class Etat {
+        private final int index;
+        private final long[] utilises;
+        private final int hash;
+
+        Etat(int index, long[] utilises) {
+            this.index = index;
+            this.utilises = utilises.clone();
+            this.hash = 31 * index + Arrays.hashCode(this.utilises);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Etat)) {
+                return false;
+            }
+            Etat autre = (Etat) o;
+            return index == autre.index && Arrays.equals(utilises, autre.utilises);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
     }
 
+    /**
+     * Clé qui ordonne les solutions des tâches parallèles : la plus grande couverture d'abord,
+     * puis à couverture égale le plus petit rang.
+     * @param nbAffectees - Nombre de postes couverts
+     * @param rang - Rang de la tâche dans l'ordre d'exploration séquentiel
+     * @return une clé d'autant plus grande que la solution est meilleure
+     */
+    private static long cle(int nbAffectees, long rang) {
+        return ((long) nbAffectees << 32) | (RANG_MAX - 1 - rang);
+    }
+
+    /**
+     * Compte les bits à 1 d'un bitset.
+     * @param masque - le bitset
+     * @return le nombre de bits à 1
+     */
+    private static int cardinalite(long[] masque) {
+        int ret = 0;
+        for (long mot : masque) {
+            ret += Long.bitCount(mot);
+        }
+        return ret;
+    }
 }
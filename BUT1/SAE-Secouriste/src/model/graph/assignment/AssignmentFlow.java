@@ -0,0 +1,82 @@
+package model.graph.assignment;
+
+import model.data.persistence.*;
+import model.graph.utils.BipartiteMatching;
+import model.graph.utils.SkillClosure;
+
+import java.util.*;
+
+/**
+ * Class responsible for assigning rescuers to a DPS with a maximum bipartite matching
+ * between the required skills and the available rescuers (Hopcroft-Karp).
+ * It covers as many skills as the exhaustive search, in polynomial time,
+ * and a rescuer covers a skill if they own it or one of its superior skills.
+ * The strategy does not access the database: it is run by {@link AssignmentStrategies#propose}
+ * and its result is saved by {@link model.data.service.AffectationManagement#commit}.
+ *
+ * @author L. Carré, G. Potay, C. Brocart, T.Brami-Coatual
+ * @version 1.0
+ */
+public class AssignmentFlow implements AssignmentStrategy {
+
+    /**
+     * Name of the strategy in the registry.
+     */
+    public static final String NOM = "flow";
+
+    @Override
+    public String getNom() {
+        return NOM;
+    }
+
+    /**
+     * Computes a maximum matching between the required skills and the rescuers.
+     *
+     * @param competences - the required skills, one slot per element
+     * @param competencesSecouristes - the skills owned by each rescuer
+     * @param catalogue - all the skills that exist (not used, the dependencies are enough)
+     * @param necessites - the dependencies between skills
+     * @return for each slot, the index of the assigned rescuer, or -1
+     */
+    @Override
+    public int[] solve(List<Competence> competences, List<Set<String>> competencesSecouristes, List<Competence> catalogue, List<Necessite> necessites) {
+        BipartiteMatching matching = buildGraph(competences, competencesSecouristes, necessites);
+        matching.maximumMatching();
+
+        int[] ret = new int[competences.size()];
+        for (int i = 0; i < ret.length; i++) {
+            ret[i] = matching.getMatchGauche(i);
+        }
+        return ret;
+    }
+
+    /**
+     * Builds the bipartite graph between the required skills (left) and the rescuers (right).
+     * An edge exists when the rescuer owns the skill or one of its superior skills.
+     *
+     * @param competences - the required skills, one vertex per slot
+     * @param competencesSecouristes - the skills owned by each rescuer
+     * @param necessites - the dependencies between skills
+     * @return the bipartite graph, not yet matched
+     */
+    BipartiteMatching buildGraph(List<Competence> competences, List<Set<String>> competencesSecouristes, List<Necessite> necessites) {
+        SkillClosure fermeture = SkillClosure.of(null, necessites);
+        BipartiteMatching matching = new BipartiteMatching(competences.size(), competencesSecouristes.size());
+
+        long[][] possessions = new long[competencesSecouristes.size()][];
+        for (int j = 0; j < possessions.length; j++) {
+            possessions[j] = fermeture.masque(competencesSecouristes.get(j));
+        }
+
+        for (int i = 0; i < competences.size(); i++) {
+            // Le poste est tenu par un secouriste qui possède la compétence ou une compétence supérieure
+            String cible = competences.get(i).getIntitule();
+            for (int j = 0; j < competencesSecouristes.size(); j++) {
+                if (fermeture.couvre(competencesSecouristes.get(j), possessions[j], cible)) {
+                    matching.ajouterArete(i, j);
+                }
+            }
+        }
+        return matching;
+    }
+}
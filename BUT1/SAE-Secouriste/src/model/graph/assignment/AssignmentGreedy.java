@@ -1,346 +1,243 @@
 package model.graph.assignment;
 
-import model.dao.CompetenceDAO;
 import model.data.persistence.*;
-import model.data.service.AffectationManagement;
-import model.data.service.BesoinManagement;
-import model.data.service.JourneeManagement;
-import model.data.service.SecouristeManagement;
-import model.data.service.PossessionManagement;
 
-import java.util.ArrayList;
-import java.util.List;
+import model.graph.utils.IndexedHeap;
+
+import java.util.*;
 
 /**
  * Class responsible for assigning rescuers to DPS by allocating the least represented skill
  * to the DPS that requires this skill and has the fewest skills.
+ * The skills of each rescuer are stored as a bitmask indexed by the catalogue,
+ * and the required skills are kept in a heap updated when a rescuer is assigned.
  *
  * @author C.Brocart, T.Brami-Coatual, L.Carré, G.Potay
  * @version 1.0
  */
-public class AssignmentGreedy {
-
-    /**
-     * DAO for managing competencies.
-     */
-    private final CompetenceDAO competenceDAO;
-
-    /**
-     * List of competencies.
-     */
-    private final ArrayList<String> competences;
-
-    /**
-     * Management services for needs, assignments, rescuers, days, and possessions.
-     */
-    private final BesoinManagement besoinManagement;
-
-    /**
-     * Management service for assignments.
-     */
-    private final AffectationManagement affectationManagement;
-
-    /**
-     * Management service for rescuers.
-     */
-    private final SecouristeManagement secouristeManagement;
-
-    /**
-     * Management service for days.
-     */
-    private final JourneeManagement journeeManagement;
-
-    /**
-     * Management service for possessions.
-     */
-    private final PossessionManagement possessionManagement;
-
-
-    /**
-     * Regular constructor for the application
-     */
-    public AssignmentGreedy() {
-
-        this.competenceDAO = new CompetenceDAO();
-
-        this.competences = competenceDAO.findAllIntitule();
-        this.besoinManagement = new BesoinManagement();
-        this.affectationManagement = new AffectationManagement();
-        this.secouristeManagement = new SecouristeManagement();
-        this.journeeManagement = new JourneeManagement();
-        this.possessionManagement = new PossessionManagement();
-    }
+public class AssignmentGreedy implements AssignmentStrategy {
 
     /**
-     * Constructor for testing purposes.
-     *
-     * @param competenceDAO - a CompetenceDAO instance
+     * Name of the strategy in the registry.
      */
-    public AssignmentGreedy(CompetenceDAO competenceDAO, ArrayList<String> competences,
-                            BesoinManagement besoinManagement, AffectationManagement affectationManagement,
-                            SecouristeManagement secouristeManagement, JourneeManagement journeeManagement,
-                            PossessionManagement possessionManagement) {
-        if (competenceDAO == null || competences == null || besoinManagement == null ||
-            affectationManagement == null || secouristeManagement == null || journeeManagement == null ||
-            possessionManagement == null) {
-            throw new IllegalArgumentException("Un des arguments est null");
-        }
-
-        this.competenceDAO = competenceDAO;
-        this.competences = competences;
-        this.besoinManagement = besoinManagement;
-        this.affectationManagement = affectationManagement;
-        this.secouristeManagement = secouristeManagement;
-        this.journeeManagement = journeeManagement;
-        this.possessionManagement = possessionManagement;
-
+    public static final String NOM = "greedy";
 
+    @Override
+    public String getNom() {
+        return NOM;
     }
 
     /**
-     * Assigns rescuers to a DPS (First Aid Post) in the most optimal way.
+     * Computes the greedy assignment without accessing the database.
+     * Only the exact skills are taken into account: the dependencies are ignored.
      *
-     * @param dps - a DPS (First Aid Post)
-     */
-    public void assignmentRescuersGreedy(DPS dps){
-
-        // Vérifie que le DPS n'est pas null
-        if (dps == null) {
-            throw new IllegalArgumentException("L'argument est null");
-        }
-
-        // Récupère la liste des compétences nécessaires pour le DPS
-        ArrayList<Competence> competencesBesoins = this.besoinManagement.getBesoinByDPS(dps).getCompetences();
-        if (competencesBesoins.isEmpty()) {
-            throw new IllegalArgumentException("L'argument est null");
-        }
-
-        ArrayList<Secouriste> secouristesAssignement = new ArrayList<>();
-        Journee journee = dps.getJournee();
-        List<Secouriste> secouristes = secouristesDisponible(journee);
-
-        if (secouristes.isEmpty()) {
-            throw new IllegalArgumentException("Il n'y a pas de secouristes de disponible");
+     * @param competences - the required skills, one slot per element
+     * @param competencesSecouristes - the skills owned by each rescuer
+     * @param catalogue - all the skills that exist
+     * @param necessites - the dependencies between skills (not used)
+     * @return for each slot, the index of the assigned rescuer, or -1
+     */
+    @Override
+    public int[] solve(List<Competence> competences, List<Set<String>> competencesSecouristes, List<Competence> catalogue, List<Necessite> necessites) {
+        List<String> intitules = new ArrayList<>();
+        for (Competence competence : catalogue) {
+            intitules.add(competence.getIntitule());
         }
 
-        // Crée une table croisée secouristes-compétences (1 si le secouriste possède la compétence, 0 sinon)
-        ArrayList<ArrayList<Long>> tabSecouComp = tabSecouComp(secouristes);
-        try {
-            // Tant qu'il y a encore des compétences nécessaires à pourvoir et des secouristes disponibles
-            while (!competencesBesoins.isEmpty() && !tabSecouComp.isEmpty()) {
-
-                // Sélectionne l'indice de la compétence la moins représentée parmi les secouristes
-                int indiceComp = indiceCompetenceSelectionne(tabSecouComp, competencesBesoins);
-                String compIntitule = this.competences.get(indiceComp);
-                Competence competenceSelect = new Competence(compIntitule);
-
-                Secouriste secouristeSelect = SecouristeSelectionne(tabSecouComp, competencesBesoins);
-
-                if (secouristeSelect == null) {
-                    // Aucun secouriste ne possède cette compétence, on la retire de la liste des besoins
-                    for (int i = 0; i < competencesBesoins.size(); i++) {
-                        if (competencesBesoins.get(i).getIntitule().equals(compIntitule)) {
-                            competencesBesoins.remove(i);
-                            break;
-                        }
-                    }
-                } else {
-                    // On ajoute le secouriste sélectionné à la liste d'assignation
-                    secouristesAssignement.add(secouristeSelect);
-
-                    // Création d'une affectation avec le secouriste, le DPS et la compétence
-                    Affectation affectation = new Affectation(secouristeSelect, dps, competenceSelect);
-
-                    // Vérifie que l'affectation n'existe pas déjà, sinon l'ajoute et met à jour les besoins
-                    if (!this.affectationManagement.isExist(affectation)) {
-                        this.affectationManagement.addAffectation(affectation);
-                        this.besoinManagement.deleteBesoinByDPSAndCompetence(dps, competenceSelect);
-                    }
-                    // Met à jour la table des secouristes/compétences et les besoins restants
-                    retirerSecouristeComp(secouristeSelect, competencesBesoins, tabSecouComp, competenceSelect);
+        int[] ret = new int[competences.size()];
+        Arrays.fill(ret, -1);
+        for (int[] choix : selection(intitules, competences, competencesSecouristes)) {
+            // Le secouriste choisi prend le premier poste libre de la compétence sélectionnée
+            for (int i = 0; i < ret.length; i++) {
+                if (ret[i] == -1 && competences.get(i).getIntitule().equals(intitules.get(choix[0]))) {
+                    ret[i] = choix[1];
+                    break;
                 }
             }
-        } catch (IllegalArgumentException e) {
-            System.out.println(e.getMessage());
         }
+        return ret;
     }
 
     /**
-     * Retrieves all available rescuers.
+     * The greedy assignment is not proven optimal.
      *
-     * @param journee - a day
-     * @return a list of available rescuers
+     * @return false
      */
-    private List<Secouriste> secouristesDisponible(Journee journee) {
-        List<Secouriste> secouristesJour = this.secouristeManagement.findByIdJournee(this.journeeManagement.getJourneeByJour(journee.getJour(), journee.getMois(), journee.getAnnee()));
-        List<Secouriste> ret = new ArrayList<>();
-
-        for (Secouriste secouriste : secouristesJour) {
-            long idJournee = this.journeeManagement.getJourneeByJour(journee.getJour(), journee.getMois(), journee.getAnnee());
-            long idSecouriste = secouriste.getIdSecouriste();
-            if (this.affectationManagement.rescuerAvailable(idJournee, idSecouriste)) {
-                ret.add(secouriste);
-            }
-        }
-        return ret;
+    @Override
+    public boolean estOptimale() {
+        return false;
     }
 
     /**
-     * Creates a table where the first column contains the rescuer ID,
-     * and the following columns represent skills.
-     * A value of 1 indicates that the rescuer has the skill, and 0 otherwise.
+     * Selects the rescuers one by one: the required skill owned by the fewest remaining rescuers first,
+     * given to the remaining rescuer with the fewest skills.
+     * The required skills are kept in an indexed heap keyed by their number of remaining rescuers,
+     * updated in O(log S) for each skill of an assigned rescuer. The number of skills of a rescuer never changes,
+     * so the rescuers of each skill are sorted once and the assigned ones are skipped when they reach the front.
      *
-     * @param secouristes - list of rescuers
-     * @return a table of rescuers and their associated skills
-     */
-    private ArrayList<ArrayList<Long>> tabSecouComp(List<Secouriste> secouristes) throws IllegalArgumentException {
-        ArrayList<ArrayList<Long>> ret = new ArrayList<>();
-        if (secouristes == null || secouristes.isEmpty()) {
-            throw new IllegalArgumentException("Il n'y a pas/plus de secouristes de disponible");
+     * @param competences - the intitulés of the catalogue
+     * @param competencesBesoins - the required skills
+     * @param competencesSecouristes - the skills owned by each rescuer
+     * @return the choices in the order they were made, as {index of the skill in the catalogue, index of the rescuer}
+     */
+    private static List<int[]> selection(List<String> competences, List<Competence> competencesBesoins, List<Set<String>> competencesSecouristes) {
+        Map<String, Integer> indices = new HashMap<>();
+        for (int i = 0; i < competences.size(); i++) {
+            indices.putIfAbsent(competences.get(i), i);
         }
-        for (Secouriste secouriste : secouristes) {
-            ArrayList<Long> list = new ArrayList<>();
-            list.add(secouriste.getIdSecouriste());
 
-            ArrayList<String> compSecouriste = new ArrayList<>();
-            for (Competence competence : this.possessionManagement.getPossessionBySecouriste(secouriste).getCompetencesSec()) {
-                compSecouriste.add(competence.getIntitule());
-            }
-
-            for (String competence : competences) {
-                if (compSecouriste.contains(competence)) {
-                    list.add(1L);
-                } else {
-                    list.add(0L);
+        // Une ligne de bits par secouriste : le bit i est à 1 si le secouriste possède la compétence i du catalogue
+        int nbMots = Math.max(1, (competences.size() + Long.SIZE - 1) / Long.SIZE);
+        long[][] masques = masquesSecouristes(indices, competencesSecouristes, nbMots);
+        int[] nbSecouristesCompetence = new int[competences.size()];
+        for (long[] masque : masques) {
+            for (int w = 0; w < nbMots; w++) {
+                for (long mot = masque[w]; mot != 0; mot &= mot - 1) {
+                    nbSecouristesCompetence[w * Long.SIZE + Long.numberOfTrailingZeros(mot)]++;
                 }
             }
-            ret.add(list);
         }
-        return ret;
-    }
-
-    /**
-     * Retrieves the index of the skill with the fewest rescuers assigned
-     * in the 'competencesUtiles' attribute.
-     *
-     * @param tabSecouComp - cross-referenced table of rescuers and skills
-     * @param competencesUtiles - required skills
-     * @return the index of the skill with the fewest rescuers assigned
-     */
-    private int indiceCompetenceSelectionne(ArrayList<ArrayList<Long>> tabSecouComp, ArrayList<Competence> competencesUtiles) {
-        long[] compNombre = nombreCompetences(tabSecouComp);
-        int ret = 0;
-        long valMin = Long.MAX_VALUE;
-
-        ArrayList<String> competencesUtilesString = new ArrayList<>();
-        for (Competence competence : competencesUtiles) {
-            competencesUtilesString.add(competence.getIntitule());
+        boolean[] retires = new boolean[masques.length];
+        int nbRestants = masques.length;
+
+        // Nombre de postes à pourvoir pour chaque compétence du catalogue
+        int[] besoins = new int[competences.size()];
+        for (Competence competence : competencesBesoins) {
+            Integer indice = indices.get(competence.getIntitule());
+            if (indice != null) {
+                besoins[indice]++;
+            }
         }
 
-        for (int i = 0; i < compNombre.length; i++) {
-            if (competencesUtilesString.contains(this.competences.get(i))) {
-                if (compNombre[i] < valMin) {
-                    valMin = compNombre[i];
-                    ret = i;
+        // Compétences demandées, la plus rare en tête (à égalité, la première du catalogue)
+        IndexedHeap tasCompetences = new IndexedHeap(competences.size());
+        long[] demandees = new long[nbMots];
+        for (int i = 0; i < besoins.length; i++) {
+            if (besoins[i] > 0) {
+                tasCompetences.insert(i, nbSecouristesCompetence[i]);
+                demandees[i / Long.SIZE] |= 1L << (i % Long.SIZE);
+            }
+        }
+        int[][] files = filesSecouristes(masques, demandees, competences.size());
+        int[] curseurs = new int[competences.size()];
+
+        // Tant qu'il y a encore des compétences nécessaires à pourvoir et des secouristes disponibles
+        List<int[]> ret = new ArrayList<>();
+        while (!tasCompetences.isEmpty() && nbRestants > 0) {
+            int indiceComp = tasCompetences.peek();
+
+            // Premier secouriste de la file qui n'a pas encore été affecté
+            int[] file = files[indiceComp];
+            while (curseurs[indiceComp] < file.length && retires[file[curseurs[indiceComp]]]) {
+                curseurs[indiceComp]++;
+            }
+            if (curseurs[indiceComp] < file.length) {
+                int indiceSecouriste = file[curseurs[indiceComp]++];
+                ret.add(new int[]{indiceComp, indiceSecouriste});
+
+                // Retire le secouriste : seules les clés de ses compétences changent
+                retires[indiceSecouriste] = true;
+                nbRestants--;
+                for (int w = 0; w < nbMots; w++) {
+                    for (long mot = masques[indiceSecouriste][w]; mot != 0; mot &= mot - 1) {
+                        int i = w * Long.SIZE + Long.numberOfTrailingZeros(mot);
+                        nbSecouristesCompetence[i]--;
+                        if (tasCompetences.contains(i)) {
+                            tasCompetences.update(i, nbSecouristesCompetence[i]);
+                        }
+                    }
                 }
             }
+            // Sinon aucun secouriste ne possède cette compétence, on la retire des besoins
+            if (--besoins[indiceComp] == 0) {
+                tasCompetences.remove(indiceComp);
+            }
         }
         return ret;
     }
 
     /**
-     * Creates an array where each index corresponds to a skill and contains
-     * the number of times it appears among the rescuers.
+     * Creates one bitmask per rescuer, in the order of the list:
+     * bit i is set if the rescuer has the skill i of the catalogue.
+     * A bitmask takes as many words as needed, so the catalogue is not limited in size.
      *
-     * @param tabSecouComp - cross-referenced table of rescuers and skills
-     * @return a list where each skill is associated with its occurrence count
-     */
-    private long[] nombreCompetences(ArrayList<ArrayList<Long>> tabSecouComp) {
-        long[] ret = new long[competences.size()];
-
-        for (ArrayList<Long> list : tabSecouComp) {
-            for (int i = 1; i < list.size(); i++) {
-                ret[i - 1] += list.get(i);
+     * @param indices - the index of each skill of the catalogue, by intitulé
+     * @param competencesSecouristes - the skills owned by each rescuer
+     * @param nbMots - the number of words of a bitmask
+     * @return the bitmask of each rescuer
+     */
+    private static long[][] masquesSecouristes(Map<String, Integer> indices, List<Set<String>> competencesSecouristes, int nbMots) {
+        long[][] ret = new long[competencesSecouristes.size()][nbMots];
+        for (int j = 0; j < ret.length; j++) {
+            for (String intitule : competencesSecouristes.get(j)) {
+                Integer indice = indices.get(intitule);
+                if (indice != null) {
+                    ret[j][indice / Long.SIZE] |= 1L << (indice % Long.SIZE);
+                }
             }
         }
-
         return ret;
     }
 
     /**
-     * Selects the rescuers who have the least common skill.
+     * Counts the skills of a bitmask.
      *
-     * @param tabSecouComp - cross-referenced table of rescuers and skills
-     * @param competencesUtiles - required skills
-     * @return a list of rescuers
+     * @param masque - the bitmask
+     * @return the number of bits set
      */
-    private ArrayList<ArrayList<Long>> secouristesSelectionnes(ArrayList<ArrayList<Long>> tabSecouComp, ArrayList<Competence> competencesUtiles) {
-        ArrayList<ArrayList<Long>> ret = new ArrayList<>();
-        int indCompMoinsRepresente = indiceCompetenceSelectionne(tabSecouComp, competencesUtiles);
-
-        for (ArrayList<Long> list : tabSecouComp) {
-            if (list.get(indCompMoinsRepresente + 1) == 1) {
-                ret.add(list);
-            }
+    private static int nbCompetences(long[] masque) {
+        int ret = 0;
+        for (long mot : masque) {
+            ret += Long.bitCount(mot);
         }
-
         return ret;
     }
 
     /**
-     * Retrieves the rescuer with the fewest skills among the selected rescuers.
+     * Sorts the rescuers of each required skill by number of skills, then by index.
      *
-     * @param tabSecouComp - cross-referenced table of rescuers and skills
-     * @param competencesUtiles - required skills
-     * @return the rescuer with the fewest skills and one of the required skills
-     */
-    private Secouriste SecouristeSelectionne(ArrayList<ArrayList<Long>> tabSecouComp, ArrayList<Competence> competencesUtiles) {
-        ArrayList<ArrayList<Long>> secouristes = secouristesSelectionnes(tabSecouComp, competencesUtiles);
-
-        Secouriste ret;
-        if (secouristes.isEmpty() || secouristes.get(0).isEmpty()) {
-            ret = null;
-        } else {
-            long idMin = secouristes.get(0).get(0);
-            long valMin = Long.MAX_VALUE;
+     * @param masques - the skills of each rescuer
+     * @param demandees - the required skills, as a bitmask
+     * @param nbCompetences - the size of the catalogue
+     * @return for each skill, its rescuers in the order they are chosen (empty if the skill is not required)
+     */
+    private static int[][] filesSecouristes(long[][] masques, long[] demandees, int nbCompetences) {
+        // Tri par dénombrement sur le nombre de compétences : stable, donc les indices restent croissants
+        int[] nombres = new int[masques.length];
+        int[] debuts = new int[nbCompetences + 2];
+        for (int j = 0; j < masques.length; j++) {
+            nombres[j] = nbCompetences(masques[j]);
+            debuts[nombres[j] + 1]++;
+        }
+        for (int k = 1; k < debuts.length; k++) {
+            debuts[k] += debuts[k - 1];
+        }
+        int[] ordre = new int[masques.length];
+        for (int j = 0; j < masques.length; j++) {
+            ordre[debuts[nombres[j]]++] = j;
+        }
 
-            for (ArrayList<Long> list : secouristes) {
-                long id = list.get(0);
-                int somme = 0;
-                for (int x = 1; x < list.size(); x++) {
-                    somme += list.get(x);
-                }
-                if (somme < valMin) {
-                    valMin = somme;
-                    idMin = id;
+        int[] tailles = new int[nbCompetences];
+        for (long[] masque : masques) {
+            for (int w = 0; w < demandees.length; w++) {
+                for (long mot = masque[w] & demandees[w]; mot != 0; mot &= mot - 1) {
+                    tailles[w * Long.SIZE + Long.numberOfTrailingZeros(mot)]++;
                 }
             }
-            ret = this.secouristeManagement.getSecouristeById(idMin);
         }
-        return ret;
-    }
-
-    /**
-     * Allows, after finding the rescuer, to remove them from the list and
-     * remove the useful skill that was assigned.
-     *
-     * @param secouriste - the assigned rescuer
-     * @param competencesUtiles - the required skills
-     * @param tabSecouComp - cross-referenced table of rescuers and skills
-     */
-    private void retirerSecouristeComp (Secouriste secouriste, ArrayList<Competence> competencesUtiles, ArrayList<ArrayList<Long>> tabSecouComp, Competence competenceASuppr) {
-        for (int i = 0; i < competencesUtiles.size(); i++) {
-            if (competencesUtiles.get(i).getIntitule().equals(competenceASuppr.getIntitule())) {
-                competencesUtiles.remove(i);
-                break;
-            }
+        int[][] ret = new int[nbCompetences][];
+        for (int i = 0; i < nbCompetences; i++) {
+            ret[i] = new int[tailles[i]];
+            tailles[i] = 0;
         }
-
-        for (int i = 0; i < tabSecouComp.size(); i++) {
-            if (tabSecouComp.get(i).get(0) == secouriste.getIdSecouriste()) {
-                tabSecouComp.remove(i);
-                break;
+        for (int j : ordre) {
+            for (int w = 0; w < demandees.length; w++) {
+                for (long mot = masques[j][w] & demandees[w]; mot != 0; mot &= mot - 1) {
+                    int i = w * Long.SIZE + Long.numberOfTrailingZeros(mot);
+                    ret[i][tailles[i]++] = j;
+                }
             }
         }
+        return ret;
     }
 }
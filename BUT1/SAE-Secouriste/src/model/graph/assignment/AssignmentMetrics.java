@@ -0,0 +1,102 @@
+package model.graph.assignment;
+
+import model.utils.Settings;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Registry of the metrics of the assignments, aggregated by strategy since the start of the application.
+ * Each recorded {@link AssignmentStats} adds to counters named "strategie.metrique", for example
+ * "exhaustive.noeuds" or "flow.resolution.nanos".
+ * Nothing is counted while the metrics are disabled (see {@link Settings#metricsEnabled()}).
+ *
+ * @author L. Carré, G. Potay, C. Brocart, T.Brami-Coatual
+ * @version 1.0
+ */
+public final class AssignmentMetrics {
+
+    /**
+     * True if the statistics of each assignment are collected, read once from the settings.
+     */
+    private static volatile boolean active = Settings.metricsEnabled();
+
+    /**
+     * Counters, by name.
+     */
+    private static final Map<String, LongAdder> compteurs = new ConcurrentHashMap<>();
+
+    private AssignmentMetrics() {
+    }
+
+    /**
+     * Checks if the statistics of each assignment are collected
+     * @return true if the metrics are enabled
+     */
+    public static boolean isEnabled() {
+        return active;
+    }
+
+    /**
+     * Enables or disables the metrics, and saves the choice in the settings.
+     * @param enabled - true to collect the statistics of each assignment
+     */
+    public static void setEnabled(boolean enabled) {
+        active = enabled;
+        Settings.setMetricsEnabled(enabled);
+    }
+
+    /**
+     * Adds the statistics of an assignment to the counters of its strategy.
+     * @param stats - the statistics, ignored if null or if the metrics are disabled
+     */
+    public static void enregistrer(AssignmentStats stats) {
+        if (stats == null || !active) {
+            return;
+        }
+        String prefixe = stats.getStrategie() + ".";
+        ajouter(prefixe + "affectations", 1);
+        ajouter(prefixe + "noeuds", stats.getNoeuds());
+        ajouter(prefixe + "elagages", stats.getElagages());
+        ajouter(prefixe + "ameliorations", stats.getAmeliorations().size());
+        ajouter(prefixe + "chargement.nanos", stats.getDureeChargement());
+        ajouter(prefixe + "resolution.nanos", stats.getDureeResolution());
+        ajouter(prefixe + "enregistrement.nanos", stats.getDureeEnregistrement());
+        ajouter(prefixe + "allersRetours", stats.getAllersRetours());
+    }
+
+    private static void ajouter(String nom, long valeur) {
+        compteurs.computeIfAbsent(nom, k -> new LongAdder()).add(valeur);
+    }
+
+    /**
+     * Get the value of a counter
+     * @param nom - the name of the counter
+     * @return its value, 0 if nothing was recorded
+     */
+    public static long get(String nom) {
+        LongAdder compteur = compteurs.get(nom);
+        return compteur == null ? 0 : compteur.sum();
+    }
+
+    /**
+     * Get the value of every counter
+     * @return a copy of the counters, sorted by name
+     */
+    public static Map<String, Long> getCompteurs() {
+        Map<String, Long> ret = new TreeMap<>();
+        for (Map.Entry<String, LongAdder> entry : compteurs.entrySet()) {
+            ret.put(entry.getKey(), entry.getValue().sum());
+        }
+        return ret;
+    }
+
+    /**
+     * Resets every counter.
+     */
+    public static void reset() {
+        compteurs.clear();
+    }
+}
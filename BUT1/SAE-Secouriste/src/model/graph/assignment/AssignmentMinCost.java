@@ -0,0 +1,104 @@
+package model.graph.assignment;
+
+import model.data.persistence.*;
+import model.graph.utils.MinCostFlow;
+import model.graph.utils.SkillClosure;
+
+import java.util.*;
+
+/**
+ * Class responsible for assigning rescuers to a DPS with a minimum cost maximum flow.
+ * It covers as many skills as the maximum matching, and among those solutions it keeps
+ * the one that uses the least qualified rescuers, so that senior skills stay free
+ * for the other DPS of the same day.
+ *
+ * The cost of a rescuer is the number of skills they are able to cover, computed from the
+ * closure of the skill dependencies (their own skills and all their inferior skills).
+ * The strategy does not access the database: it is run by {@link AssignmentStrategies#propose}
+ * and its result is saved by {@link model.data.service.AffectationManagement#commit}.
+ *
+ * @author L. Carré, G. Potay, C. Brocart, T.Brami-Coatual
+ * @version 1.0
+ */
+public class AssignmentMinCost implements AssignmentStrategy {
+
+    /**
+     * Name of the strategy in the registry.
+     */
+    public static final String NOM = "min-cost";
+
+    /**
+     * Total cost of the last assignment.
+     */
+    private long coutTotal = 0;
+
+    @Override
+    public String getNom() {
+        return NOM;
+    }
+
+    /**
+     * Computes the minimum cost maximum assignment of the required skills.
+     * The network is source -> skill slot -> rescuer -> sink, every edge having a capacity of 1.
+     *
+     * @param competences - the required skills, one slot per element
+     * @param competencesSecouristes - the skills owned by each rescuer
+     * @param catalogue - all the skills that exist
+     * @param necessites - the dependencies between skills
+     * @return for each slot, the index of the assigned rescuer, or -1
+     */
+    @Override
+    public int[] solve(List<Competence> competences, List<Set<String>> competencesSecouristes, List<Competence> catalogue, List<Necessite> necessites) {
+        SkillClosure fermeture = SkillClosure.of(catalogue, necessites);
+
+        int nbCompetences = competences.size();
+        int nbSecouristes = competencesSecouristes.size();
+        int source = nbCompetences + nbSecouristes;
+        int puits = source + 1;
+        MinCostFlow flow = new MinCostFlow(puits + 1);
+
+        // Coût d'un secouriste : nombre de compétences qu'il est capable de couvrir
+        int[] couts = new int[nbSecouristes];
+        long[][] possessions = new long[nbSecouristes][];
+        for (int j = 0; j < nbSecouristes; j++) {
+            couts[j] = fermeture.couverture(competencesSecouristes.get(j));
+            possessions[j] = fermeture.masque(competencesSecouristes.get(j));
+            flow.ajouterArete(nbCompetences + j, puits, 1, 0);
+        }
+
+        int[][] aretes = new int[nbCompetences][nbSecouristes];
+        for (int i = 0; i < nbCompetences; i++) {
+            Arrays.fill(aretes[i], -1);
+            String cible = competences.get(i).getIntitule();
+
+            flow.ajouterArete(source, i, 1, 0);
+            for (int j = 0; j < nbSecouristes; j++) {
+                if (fermeture.couvre(competencesSecouristes.get(j), possessions[j], cible)) {
+                    aretes[i][j] = flow.ajouterArete(i, nbCompetences + j, 1, couts[j]);
+                }
+            }
+        }
+
+        flow.minCostMaxFlow(source, puits);
+        this.coutTotal = flow.getCoutTotal();
+
+        int[] ret = new int[nbCompetences];
+        Arrays.fill(ret, -1);
+        for (int i = 0; i < nbCompetences; i++) {
+            for (int j = 0; j < nbSecouristes; j++) {
+                if (aretes[i][j] >= 0 && flow.getFlot(aretes[i][j]) > 0) {
+                    ret[i] = j;
+                }
+            }
+        }
+        return ret;
+    }
+
+    /**
+     * Get the total cost of the last assignment
+     * @return the sum of the costs of the assigned rescuers
+     */
+    public long getCoutTotal() {
+        return this.coutTotal;
+    }
+}
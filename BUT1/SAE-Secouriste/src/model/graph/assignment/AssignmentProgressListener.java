@@ -0,0 +1,25 @@
+package model.graph.assignment;
+
+import model.data.persistence.Journee;
+
+/**
+ * Listener notified of the progress of a batch assignment, after each day is saved.
+ * It is called from the thread that runs the batch: a JavaFX controller has to
+ * forward the update with Platform.runLater.
+ *
+ * @author L. Carré, G. Potay, C. Brocart, T.Brami-Coatual
+ * @version 1.0
+ */
+@FunctionalInterface
+public interface AssignmentProgressListener {
+
+    /**
+     * Called when a day has been assigned and saved.
+     *
+     * @param journee - the day that has just been saved
+     * @param nbAffectees - the number of skills covered on this day
+     * @param joursTraites - the number of days already processed, this one included
+     * @param nbJours - the total number of days of the batch
+     */
+    void progression(Journee journee, int nbAffectees, int joursTraites, int nbJours);
+}
@@ -0,0 +1,107 @@
+package model.graph.assignment;
+
+import model.data.persistence.Affectation;
+import model.data.persistence.Competence;
+import model.data.persistence.DPS;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Assignment of a DPS computed in memory and not saved yet: the Affectations to insert,
+ * the required skills that stay uncovered and the statistics of the strategy.
+ * A proposal can be previewed, then saved in a single transaction by AffectationManagement.commit.
+ *
+ * @author L. Carré, G. Potay, C. Brocart, T.Brami-Coatual
+ * @version 1.0
+ */
+public final class AssignmentProposal {
+
+    /**
+     * DPS of the proposal.
+     */
+    private final DPS dps;
+
+    /**
+     * Affectations to insert, one per covered slot.
+     */
+    private final List<Affectation> affectations;
+
+    /**
+     * Required skills without rescuer, one per uncovered slot.
+     */
+    private final List<Competence> nonCouvertes;
+
+    /**
+     * Result of the strategy that computed the proposal.
+     */
+    private final AssignmentResult resultat;
+
+    /**
+     * Constructor of AssignmentProposal.
+     *
+     * @param dps - the DPS
+     * @param affectations - the Affectations to insert
+     * @param nonCouvertes - the required skills without rescuer
+     * @param resultat - the result of the strategy
+     */
+    public AssignmentProposal(DPS dps, List<Affectation> affectations, List<Competence> nonCouvertes, AssignmentResult resultat) {
+        if (dps == null || affectations == null || nonCouvertes == null || resultat == null) {
+            throw new IllegalArgumentException("Un des arguments est null");
+        }
+        this.dps = dps;
+        this.affectations = Collections.unmodifiableList(new ArrayList<>(affectations));
+        this.nonCouvertes = Collections.unmodifiableList(new ArrayList<>(nonCouvertes));
+        this.resultat = resultat;
+    }
+
+    /**
+     * Get the DPS of the proposal
+     * @return the DPS
+     */
+    public DPS getDps() {
+        return this.dps;
+    }
+
+    /**
+     * Get the Affectations to insert
+     * @return an unmodifiable list of Affectations
+     */
+    public List<Affectation> getAffectations() {
+        return this.affectations;
+    }
+
+    /**
+     * Get the required skills that stay uncovered
+     * @return an unmodifiable list of skills, one per uncovered slot
+     */
+    public List<Competence> getNonCouvertes() {
+        return this.nonCouvertes;
+    }
+
+    /**
+     * Get the result of the strategy
+     * @return the strategy, its optimality and its computation time
+     */
+    public AssignmentResult getResultat() {
+        return this.resultat;
+    }
+
+    /**
+     * Checks if the proposal covers no skill
+     * @return true if there is nothing to save
+     */
+    public boolean isEmpty() {
+        return this.affectations.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        List<String> intitules = new ArrayList<>();
+        for (Competence competence : this.nonCouvertes) {
+            intitules.add(competence.getIntitule());
+        }
+        return "DPS " + this.dps.getId() + " - " + this.resultat + ", non couvertes : " + intitules;
+    }
+}
@@ -0,0 +1,394 @@
+package model.graph.assignment;
+
+import model.dao.BesoinDAO;
+import model.dao.DPSDAO;
+import model.data.persistence.*;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * Anonymised recording of a day, to replay the assignment strategies offline (see {@link AssignmentReplay}).
+ * It keeps what the solvers read and nothing that identifies a person:
+ * <ul>
+ *     <li>the skill catalogue and the dependencies between skills (Necessite);</li>
+ *     <li>the skills of each rescuer available on the day (Disponibilite and Possession), by index only;</li>
+ *     <li>for each DPS with remaining needs: its hours, its needs (Besoin) and the rescuers free during its hours.</li>
+ * </ul>
+ * The file is a text file, one record per line, with tab-separated fields and URL-encoded intitulés.
+ *
+ * @author L. Carré, G. Potay, C. Brocart, T.Brami-Coatual
+ * @version 1.0
+ */
+public final class AssignmentRecording {
+
+    /**
+     * First line of a recording file.
+     */
+    static final String ENTETE = "# secouriste-snapshot v1";
+
+    /**
+     * The day of the recording.
+     */
+    private final Journee journee;
+
+    /**
+     * Minimum rest between two DPS of a rescuer, in hours.
+     */
+    private final int repos;
+
+    /**
+     * Intitulés of all the skills.
+     */
+    private final List<String> catalogue;
+
+    /**
+     * Dependencies between skills.
+     */
+    private final List<Necessite> necessites;
+
+    /**
+     * Skills of each rescuer, by index.
+     */
+    private final List<Set<String>> competencesSecouristes;
+
+    /**
+     * DPS of the day with remaining needs, in the order of the DPS of the day.
+     */
+    private final List<Evenement> evenements;
+
+    /**
+     * DPS of a recording, without name, site nor sport.
+     */
+    public static final class Evenement {
+
+        private final int debut;
+        private final int fin;
+        private final List<Competence> besoins;
+        private final int[] candidats;
+
+        /**
+         * Constructor of Evenement.
+         *
+         * @param debut - the start hour
+         * @param fin - the end hour
+         * @param besoins - the remaining needs, one slot per element
+         * @param candidats - the indices of the rescuers free during the hours of the DPS
+         */
+        public Evenement(int debut, int fin, List<Competence> besoins, int[] candidats) {
+            if (besoins == null || candidats == null) {
+                throw new IllegalArgumentException("Un des arguments est null");
+            }
+            this.debut = debut;
+            this.fin = fin;
+            this.besoins = Collections.unmodifiableList(new ArrayList<>(besoins));
+            this.candidats = candidats.clone();
+        }
+
+        /**
+         * Get the start hour
+         * @return the start hour
+         */
+        public int getDebut() {
+            return this.debut;
+        }
+
+        /**
+         * Get the end hour
+         * @return the end hour
+         */
+        public int getFin() {
+            return this.fin;
+        }
+
+        /**
+         * Get the remaining needs
+         * @return an unmodifiable list of skills, one slot per element
+         */
+        public List<Competence> getBesoins() {
+            return this.besoins;
+        }
+
+        /**
+         * Get the rescuers free during the hours of the DPS when it was recorded
+         * @return the indices of the rescuers (a copy)
+         */
+        public int[] getCandidats() {
+            return this.candidats.clone();
+        }
+    }
+
+    /**
+     * Constructor of AssignmentRecording.
+     *
+     * @param journee - the day
+     * @param repos - the minimum rest between two DPS of a rescuer, in hours
+     * @param catalogue - the intitulés of all the skills
+     * @param necessites - the dependencies between skills
+     * @param competencesSecouristes - the skills of each rescuer, by index
+     * @param evenements - the DPS with remaining needs
+     */
+    public AssignmentRecording(Journee journee, int repos, List<String> catalogue, List<Necessite> necessites,
+                               List<Set<String>> competencesSecouristes, List<Evenement> evenements) {
+        if (journee == null || catalogue == null || necessites == null || competencesSecouristes == null || evenements == null) {
+            throw new IllegalArgumentException("Un des arguments est null");
+        }
+        for (Evenement evenement : evenements) {
+            for (int j : evenement.candidats) {
+                if (j < 0 || j >= competencesSecouristes.size()) {
+                    throw new IllegalArgumentException("Secouriste inconnu : " + j);
+                }
+            }
+        }
+        this.journee = journee;
+        this.repos = repos;
+        this.catalogue = Collections.unmodifiableList(new ArrayList<>(catalogue));
+        this.necessites = Collections.unmodifiableList(new ArrayList<>(necessites));
+        List<Set<String>> competences = new ArrayList<>();
+        for (Set<String> possedees : competencesSecouristes) {
+            competences.add(Collections.unmodifiableSet(new HashSet<>(possedees)));
+        }
+        this.competencesSecouristes = Collections.unmodifiableList(competences);
+        this.evenements = Collections.unmodifiableList(new ArrayList<>(evenements));
+    }
+
+    /**
+     * Records a day from the database: its snapshot, its DPS and their remaining needs.
+     *
+     * @param journee - the day
+     * @return the anonymised recording of the day
+     */
+    public static AssignmentRecording capture(Journee journee) {
+        AssignmentSnapshot snapshot = AssignmentSnapshot.load(journee);
+        if (snapshot.getIdJournee() == -1) {
+            return of(snapshot, new ArrayList<>(), new HashMap<Long, List<Competence>>());
+        }
+        return of(snapshot, new DPSDAO().findByDay(snapshot.getIdJournee()), new BesoinDAO().findByDay(snapshot.getIdJournee()));
+    }
+
+    /**
+     * Records a day already loaded, without accessing the database.
+     * The rescuers are numbered in the order of their first appearance, so no ID is kept.
+     *
+     * @param snapshot - the snapshot of the day
+     * @param dpsJour - the DPS of the day
+     * @param besoins - the remaining needs of each DPS, by DPS ID
+     * @return the anonymised recording of the day
+     */
+    public static AssignmentRecording of(AssignmentSnapshot snapshot, List<DPS> dpsJour, Map<Long, ? extends List<Competence>> besoins) {
+        if (snapshot == null || dpsJour == null || besoins == null) {
+            throw new IllegalArgumentException("Un des arguments est null");
+        }
+        Map<Long, Integer> indices = new HashMap<>();
+        List<Set<String>> competencesSecouristes = new ArrayList<>();
+        List<Evenement> evenements = new ArrayList<>();
+        for (DPS dps : dpsJour) {
+            List<Competence> besoin = besoins.get(dps.getId());
+            if (besoin == null || besoin.isEmpty()) {
+                continue;
+            }
+            List<Secouriste> libres = snapshot.getSecouristes(dps);
+            int[] candidats = new int[libres.size()];
+            for (int k = 0; k < candidats.length; k++) {
+                Secouriste secouriste = libres.get(k);
+                Integer indice = indices.get(secouriste.getIdSecouriste());
+                if (indice == null) {
+                    indice = competencesSecouristes.size();
+                    indices.put(secouriste.getIdSecouriste(), indice);
+                    competencesSecouristes.add(snapshot.getCompetences(secouriste));
+                }
+                candidats[k] = indice;
+            }
+            evenements.add(new Evenement(dps.getHoraireDepart(), dps.getHoraireFin(), besoin, candidats));
+        }
+        return new AssignmentRecording(snapshot.getJournee(), snapshot.getRepos(), snapshot.getCatalogue(), snapshot.getNecessites(),
+                competencesSecouristes, evenements);
+    }
+
+    /**
+     * Writes the recording to a file.
+     *
+     * @param fichier - the file, replaced if it exists
+     * @throws IOException if the file cannot be written
+     */
+    public void write(Path fichier) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(fichier, StandardCharsets.UTF_8)) {
+            writer.write(ENTETE);
+            writer.newLine();
+            writer.write("journee\t" + this.journee.getJour() + "\t" + this.journee.getMois() + "\t" + this.journee.getAnnee()
+                    + "\t" + this.repos);
+            writer.newLine();
+            writer.write("competences\t" + joindre(this.catalogue));
+            writer.newLine();
+            for (Necessite necessite : this.necessites) {
+                writer.write("necessite\t" + encoder(necessite.getComp1().getIntitule()) + "\t" + encoder(necessite.getComp2().getIntitule()));
+                writer.newLine();
+            }
+            for (Set<String> possedees : this.competencesSecouristes) {
+                List<String> triees = new ArrayList<>(possedees);
+                Collections.sort(triees);
+                writer.write("secouriste\t" + joindre(triees));
+                writer.newLine();
+            }
+            for (Evenement evenement : this.evenements) {
+                List<String> besoins = new ArrayList<>();
+                for (Competence competence : evenement.besoins) {
+                    besoins.add(competence.getIntitule());
+                }
+                StringJoiner candidats = new StringJoiner(",");
+                for (int j : evenement.candidats) {
+                    candidats.add(String.valueOf(j));
+                }
+                writer.write("dps\t" + evenement.debut + "\t" + evenement.fin + "\t" + joindre(besoins) + "\t" + candidats);
+                writer.newLine();
+            }
+        }
+    }
+
+    /**
+     * Reads a recording from a file.
+     *
+     * @param fichier - the file
+     * @return the recording
+     * @throws IOException if the file cannot be read
+     * @throws IllegalArgumentException if the file is not a valid recording
+     */
+    public static AssignmentRecording read(Path fichier) throws IOException {
+        Journee journee = null;
+        int repos = 0;
+        List<String> catalogue = new ArrayList<>();
+        List<Necessite> necessites = new ArrayList<>();
+        List<Set<String>> competencesSecouristes = new ArrayList<>();
+        List<Evenement> evenements = new ArrayList<>();
+
+        try (BufferedReader reader = Files.newBufferedReader(fichier, StandardCharsets.UTF_8)) {
+            String ligne = reader.readLine();
+            if (!ENTETE.equals(ligne)) {
+                throw new IllegalArgumentException("Fichier d'enregistrement invalide : " + fichier);
+            }
+            int numero = 1;
+            while ((ligne = reader.readLine()) != null) {
+                numero++;
+                if (ligne.isEmpty()) {
+                    continue;
+                }
+                String[] champs = ligne.split("\t", -1);
+                try {
+                    switch (champs[0]) {
+                        case "journee":
+                            journee = new Journee(Integer.parseInt(champs[1]), Integer.parseInt(champs[2]), Integer.parseInt(champs[3]));
+                            repos = Integer.parseInt(champs[4]);
+                            break;
+                        case "competences":
+                            catalogue.addAll(separer(champs[1]));
+                            break;
+                        case "necessite":
+                            necessites.add(new Necessite(new Competence(decoder(champs[1])), new Competence(decoder(champs[2]))));
+                            break;
+                        case "secouriste":
+                            competencesSecouristes.add(new HashSet<>(separer(champs[1])));
+                            break;
+                        case "dps":
+                            List<Competence> besoins = new ArrayList<>();
+                            for (String intitule : separer(champs[3])) {
+                                besoins.add(new Competence(intitule));
+                            }
+                            int[] candidats = champs[4].isEmpty() ? new int[0]
+                                    : Arrays.stream(champs[4].split(",")).mapToInt(Integer::parseInt).toArray();
+                            evenements.add(new Evenement(Integer.parseInt(champs[1]), Integer.parseInt(champs[2]), besoins, candidats));
+                            break;
+                        default:
+                            throw new IllegalArgumentException("Enregistrement inconnu : " + champs[0]);
+                    }
+                } catch (ArrayIndexOutOfBoundsException | NumberFormatException e) {
+                    throw new IllegalArgumentException("Ligne " + numero + " invalide : " + ligne, e);
+                }
+            }
+        }
+        if (journee == null) {
+            throw new IllegalArgumentException("Journée absente : " + fichier);
+        }
+        return new AssignmentRecording(journee, repos, catalogue, necessites, competencesSecouristes, evenements);
+    }
+
+    private static String encoder(String intitule) {
+        return URLEncoder.encode(intitule, StandardCharsets.UTF_8);
+    }
+
+    private static String decoder(String intitule) {
+        return URLDecoder.decode(intitule, StandardCharsets.UTF_8);
+    }
+
+    private static String joindre(Collection<String> intitules) {
+        StringJoiner ret = new StringJoiner(",");
+        for (String intitule : intitules) {
+            ret.add(encoder(intitule));
+        }
+        return ret.toString();
+    }
+
+    private static List<String> separer(String champ) {
+        List<String> ret = new ArrayList<>();
+        if (!champ.isEmpty()) {
+            for (String intitule : champ.split(",")) {
+                ret.add(decoder(intitule));
+            }
+        }
+        return ret;
+    }
+
+    /**
+     * Get the day of the recording
+     * @return the day
+     */
+    public Journee getJournee() {
+        return this.journee;
+    }
+
+    /**
+     * Get the minimum rest between two DPS of a rescuer
+     * @return the rest in hours
+     */
+    public int getRepos() {
+        return this.repos;
+    }
+
+    /**
+     * Get the intitulés of all the skills
+     * @return an unmodifiable list of intitulés
+     */
+    public List<String> getCatalogue() {
+        return this.catalogue;
+    }
+
+    /**
+     * Get the dependencies between skills
+     * @return an unmodifiable list of necessites
+     */
+    public List<Necessite> getNecessites() {
+        return this.necessites;
+    }
+
+    /**
+     * Get the skills of each rescuer
+     * @return an unmodifiable list of sets of intitulés, by rescuer index
+     */
+    public List<Set<String>> getCompetencesSecouristes() {
+        return this.competencesSecouristes;
+    }
+
+    /**
+     * Get the DPS with remaining needs
+     * @return an unmodifiable list of DPS
+     */
+    public List<Evenement> getEvenements() {
+        return this.evenements;
+    }
+}
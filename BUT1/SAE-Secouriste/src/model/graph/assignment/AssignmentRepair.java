@@ -0,0 +1,405 @@
+package model.graph.assignment;
+
+import model.dao.*;
+import model.data.persistence.*;
+import model.graph.utils.IntervalIndex;
+import model.graph.utils.SkillClosure;
+import model.utils.Settings;
+
+import java.util.*;
+
+/**
+ * Class responsible for repairing the assignments of a day after a rescuer lost an availability or a skill.
+ * Instead of deleting and recomputing the whole day, only the slots whose rescuer is no longer valid are freed,
+ * and each of them is covered again by the shortest augmenting path in the existing matching:
+ * either a rescuer free during its hours takes the slot directly, or some assigned rescuers move along the path
+ * to make room for it. A rescuer can hold several slots of the day as long as their hours do not overlap.
+ * The slots that are still valid are never uncovered.
+ *
+ * @author L. Carré, G. Potay, C. Brocart, T.Brami-Coatual
+ * @version 1.0
+ */
+public class AssignmentRepair {
+
+    /**
+     * Number of slots freed by the last repair.
+     */
+    private int nbLiberes = 0;
+
+    /**
+     * Number of rescuers moved to another slot by the last repair.
+     */
+    private int nbDeplaces = 0;
+
+    /**
+     * Hours of the slots when they are not known: they all overlap.
+     */
+    private static final int[] JOURNEE = {0, 24};
+
+    /**
+     * Several slots of a rescuer are in the way of another one.
+     */
+    private static final int PLUSIEURS = -2;
+
+    /**
+     * Repairs the assignments of a day after a rescuer removed their availability on that day.
+     * Nothing is loaded if the rescuer had no assignment on that day.
+     * Must be called after the availability has been deleted.
+     *
+     * @param secouriste - the rescuer
+     * @param journee - the day of the removed availability
+     * @return the number of freed slots that could be covered again
+     */
+    public int repairDisponibilite(Secouriste secouriste, Journee journee) {
+        if (secouriste == null || journee == null) {
+            throw new IllegalArgumentException("Un des arguments est null");
+        }
+        this.nbLiberes = 0;
+        this.nbDeplaces = 0;
+
+        long idJournee = new JourneeDAO().findIdByJour(journee.getJour(), journee.getMois(), journee.getAnnee());
+        if (idJournee == -1 || !new AffectationDAO().rescuerThisDay(idJournee, secouriste.getIdSecouriste())) {
+            return 0;
+        }
+        return repairDay(journee, idJournee);
+    }
+
+    /**
+     * Repairs the assignments of every day where a rescuer is assigned, after they lost a skill.
+     * Must be called after the possession has been deleted.
+     *
+     * @param secouriste - the rescuer
+     * @return the number of freed slots that could be covered again
+     */
+    public int repairPossession(Secouriste secouriste) {
+        if (secouriste == null) {
+            throw new IllegalArgumentException("L'argument est null");
+        }
+
+        // Une seule réparation par journée où le secouriste est affecté
+        Map<String, Journee> journees = new LinkedHashMap<>();
+        for (Affectation affectation : new AffectationDAO().findByRescuer(secouriste.getIdSecouriste())) {
+            Journee journee = affectation.getDPSAffect().getJournee();
+            journees.putIfAbsent(journee.getJour() + "/" + journee.getMois() + "/" + journee.getAnnee(), journee);
+        }
+
+        int ret = 0;
+        int liberes = 0;
+        int deplaces = 0;
+        for (Journee journee : journees.values()) {
+            ret += repairDay(journee);
+            liberes += this.nbLiberes;
+            deplaces += this.nbDeplaces;
+        }
+        this.nbLiberes = liberes;
+        this.nbDeplaces = deplaces;
+        return ret;
+    }
+
+    /**
+     * Repairs the assignments of a day: the slots whose rescuer is no longer available or no longer
+     * has the required skill are freed and covered again when possible. The moved assignments
+     * and the needs of the slots that stay uncovered are saved in a single transaction.
+     *
+     * @param journee - the day
+     * @return the number of freed slots that could be covered again
+     */
+    public int repairDay(Journee journee) {
+        if (journee == null) {
+            throw new IllegalArgumentException("L'argument est null");
+        }
+        return repairDay(journee, new JourneeDAO().findIdByJour(journee.getJour(), journee.getMois(), journee.getAnnee()));
+    }
+
+    /**
+     * Repairs the assignments of a day whose ID is already known.
+     *
+     * @param journee - the day
+     * @param idJournee - the ID of the day in the database
+     * @return the number of freed slots that could be covered again
+     */
+    private int repairDay(Journee journee, long idJournee) {
+        this.nbLiberes = 0;
+        this.nbDeplaces = 0;
+        if (idJournee == -1) {
+            return 0;
+        }
+
+        AffectationDAO affectationDAO = new AffectationDAO();
+        List<Affectation> affectations = affectationDAO.findByDay(idJournee);
+        if (affectations.isEmpty()) {
+            return 0;
+        }
+
+        // Les secouristes encore disponibles, y compris ceux déjà affectés : ils peuvent être déplacés
+        List<Secouriste> secouristes = new SecouristeDAO().findByDay(idJournee);
+        Map<Long, ArrayList<Competence>> possessions = new PossessionDAO().findByDay(idJournee);
+        Map<Long, Integer> indices = new HashMap<>();
+        List<Set<String>> competencesSecouristes = new ArrayList<>();
+        for (Secouriste secouriste : secouristes) {
+            indices.put(secouriste.getIdSecouriste(), competencesSecouristes.size());
+            Set<String> intitules = new HashSet<>();
+            for (Competence competence : possessions.getOrDefault(secouriste.getIdSecouriste(), new ArrayList<>())) {
+                intitules.add(competence.getIntitule());
+            }
+            competencesSecouristes.add(intitules);
+        }
+
+        List<Competence> postes = new ArrayList<>();
+        List<int[]> horaires = new ArrayList<>();
+        int[] affectationInitiale = new int[affectations.size()];
+        for (int i = 0; i < affectations.size(); i++) {
+            Affectation affectation = affectations.get(i);
+            postes.add(affectation.getCompetenceAffect());
+            horaires.add(new int[]{affectation.getDPSAffect().getHoraireDepart(), affectation.getDPSAffect().getHoraireFin()});
+            affectationInitiale[i] = indices.getOrDefault(affectation.getSecouristeAffect().getIdSecouriste(), -1);
+        }
+
+        int[] affectation = repair(postes, horaires, Settings.restGap(), affectationInitiale, competencesSecouristes,
+                new CompetenceDAO().findAll(), new NecessiteDAO().findAll());
+
+        List<Affectation> supprimees = new ArrayList<>();
+        List<Affectation> ajoutees = new ArrayList<>();
+        List<Affectation> besoinsRouverts = new ArrayList<>();
+        for (int i = 0; i < affectation.length; i++) {
+            // Un poste sans secouriste était forcément affecté avant la réparation
+            if (affectation[i] != affectationInitiale[i] || affectation[i] < 0) {
+                Affectation ancienne = affectations.get(i);
+                supprimees.add(ancienne);
+                if (affectation[i] >= 0) {
+                    ajoutees.add(new Affectation(secouristes.get(affectation[i]), ancienne.getDPSAffect(), ancienne.getCompetenceAffect()));
+                } else {
+                    besoinsRouverts.add(ancienne);
+                }
+            }
+        }
+
+        if (supprimees.isEmpty()) {
+            return 0;
+        }
+        if (!affectationDAO.applyRepair(supprimees, ajoutees, besoinsRouverts)) {
+            this.nbLiberes = 0;
+            this.nbDeplaces = 0;
+            return 0;
+        }
+        return this.nbLiberes - besoinsRouverts.size();
+    }
+
+    /**
+     * Repairs an existing assignment without accessing the database, all the slots being at the same hours:
+     * a rescuer can hold only one of them.
+     *
+     * @param postes - the skill of each slot
+     * @param affectation - the current rescuer of each slot, or -1 if they are no longer available
+     * @param competencesSecouristes - the skills owned by each rescuer, after the change
+     * @param catalogue - all the skills that exist
+     * @param necessites - the dependencies between skills
+     * @return for each slot, the index of the assigned rescuer, or -1
+     */
+    public int[] repair(List<Competence> postes, int[] affectation, List<Set<String>> competencesSecouristes,
+                        List<Competence> catalogue, List<Necessite> necessites) {
+        if (postes == null) {
+            throw new IllegalArgumentException("Un des arguments est null");
+        }
+        return repair(postes, Collections.nCopies(postes.size(), JOURNEE), 0, affectation, competencesSecouristes, catalogue, necessites);
+    }
+
+    /**
+     * Repairs an existing assignment without accessing the database.
+     * A slot is freed if it has no rescuer, if its rescuer no longer covers the skill,
+     * or if its hours are too close to another slot kept for the same rescuer. Each freed slot is then covered again
+     * by the shortest augmenting path found with a breadth-first search over the current matching,
+     * trying the least qualified rescuers first, so that as few assignments as possible change.
+     * A rescuer can take a slot if it is free during its hours, or if exactly one of their slots is in the way:
+     * this slot is then covered again further along the path.
+     *
+     * @param postes - the skill of each slot
+     * @param horaires - the start and end hours of each slot
+     * @param repos - the minimum rest between two slots of a rescuer, in hours
+     * @param affectation - the current rescuer of each slot, or -1 if they are no longer available
+     * @param competencesSecouristes - the skills owned by each rescuer, after the change
+     * @param catalogue - all the skills that exist
+     * @param necessites - the dependencies between skills
+     * @return for each slot, the index of the assigned rescuer, or -1
+     */
+    public int[] repair(List<Competence> postes, List<int[]> horaires, int repos, int[] affectation,
+                        List<Set<String>> competencesSecouristes, List<Competence> catalogue, List<Necessite> necessites) {
+        if (postes == null || horaires == null || affectation == null || competencesSecouristes == null
+                || catalogue == null || necessites == null) {
+            throw new IllegalArgumentException("Un des arguments est null");
+        }
+        if (postes.size() != affectation.length || postes.size() != horaires.size()) {
+            throw new IllegalArgumentException("Un poste doit avoir exactement une affectation et un horaire");
+        }
+        this.nbLiberes = 0;
+        this.nbDeplaces = 0;
+
+        int nbSecouristes = competencesSecouristes.size();
+        Reseau reseau = new Reseau(postes, competencesSecouristes, SkillClosure.of(catalogue, necessites));
+
+        int[] ret = affectation.clone();
+        IntervalIndex[] plannings = new IntervalIndex[nbSecouristes];
+        List<List<Integer>> postesDuSecouriste = new ArrayList<>();
+        for (int j = 0; j < nbSecouristes; j++) {
+            postesDuSecouriste.add(new ArrayList<>());
+        }
+        List<Integer> liberes = new ArrayList<>();
+        for (int i = 0; i < ret.length; i++) {
+            int j = ret[i];
+            int[] horaire = horaires.get(i);
+            if (j >= 0 && j < nbSecouristes && plannings[j] == null) {
+                plannings[j] = new IntervalIndex(repos);
+            }
+            if (j < 0 || j >= nbSecouristes || !reseau.couvre(i, j) || !plannings[j].estLibre(horaire[0], horaire[1])) {
+                ret[i] = -1;
+                liberes.add(i);
+            } else {
+                plannings[j].ajouter(horaire[0], horaire[1]);
+                postesDuSecouriste.get(j).add(i);
+            }
+        }
+        this.nbLiberes = liberes.size();
+
+        // Recherche en largeur d'un chemin augmentant depuis chaque poste libéré
+        int[] vu = new int[nbSecouristes];
+        int[] posteParent = new int[nbSecouristes];
+        int marque = 0;
+        for (int depart : liberes) {
+            marque++;
+            Deque<Integer> file = new ArrayDeque<>();
+            file.add(depart);
+            int libre = -1;
+            while (!file.isEmpty() && libre == -1) {
+                int poste = file.poll();
+                for (int j : reseau.candidats(poste)) {
+                    if (vu[j] != marque) {
+                        int gene = posteGenant(poste, postesDuSecouriste.get(j), horaires, repos);
+                        if (gene == PLUSIEURS) {
+                            continue;
+                        }
+                        vu[j] = marque;
+                        posteParent[j] = poste;
+                        if (gene == -1) {
+                            libre = j;
+                            break;
+                        }
+                        file.add(gene);
+                    }
+                }
+            }
+
+            // Chaque secouriste du chemin laisse le poste qui gênait et prend celui d'où il a été atteint
+            int j = libre;
+            while (j != -1) {
+                int poste = posteParent[j];
+                int precedent = ret[poste];
+                ret[poste] = j;
+                postesDuSecouriste.get(j).add(poste);
+                if (precedent != -1) {
+                    postesDuSecouriste.get(precedent).remove(Integer.valueOf(poste));
+                    this.nbDeplaces++;
+                }
+                j = precedent;
+            }
+        }
+        return ret;
+    }
+
+    /**
+     * Finds the slot of a rescuer whose hours are in the way of another slot.
+     *
+     * @param poste - the slot to take
+     * @param postesSecouriste - the slots held by the rescuer
+     * @param horaires - the start and end hours of each slot
+     * @param repos - the minimum rest between two slots, in hours
+     * @return the slot in the way, -1 if there is none, or PLUSIEURS if there are several
+     */
+    private static int posteGenant(int poste, List<Integer> postesSecouriste, List<int[]> horaires, int repos) {
+        int[] horaire = horaires.get(poste);
+        int ret = -1;
+        for (int autre : postesSecouriste) {
+            int[] horaireAutre = horaires.get(autre);
+            if (!IntervalIndex.compatibles(horaire[0], horaire[1], horaireAutre[0], horaireAutre[1], repos)) {
+                if (ret != -1) {
+                    return PLUSIEURS;
+                }
+                ret = autre;
+            }
+        }
+        return ret;
+    }
+
+    /**
+     * Get the number of slots freed by the last repair
+     * @return the number of freed slots
+     */
+    public int getNbLiberes() {
+        return this.nbLiberes;
+    }
+
+    /**
+     * Get the number of rescuers moved to another slot by the last repair
+     * @return the number of moved rescuers
+     */
+    public int getNbDeplaces() {
+        return this.nbDeplaces;
+    }
+
+    /**
+     * Eligibility graph between the slots and the rescuers. The candidates of a slot are only computed
+     * when the search reaches it, so a repair never builds the whole graph of the day.
+     */
+    private static final class Reseau {
+
+        private final List<Competence> postes;
+        private final List<Set<String>> competencesSecouristes;
+        private final SkillClosure fermeture;
+
+        /**
+         * Possession mask of each rescuer.
+         */
+        private final long[][] possessions;
+
+        /**
+         * Number of skills covered by each rescuer, used to try the least qualified first.
+         */
+        private final int[] couts;
+
+        /**
+         * Candidates of each slot, or null if not computed yet.
+         */
+        private final int[][] candidats;
+
+        Reseau(List<Competence> postes, List<Set<String>> competencesSecouristes, SkillClosure fermeture) {
+            this.postes = postes;
+            this.competencesSecouristes = competencesSecouristes;
+            this.fermeture = fermeture;
+            this.candidats = new int[postes.size()][];
+            this.couts = new int[competencesSecouristes.size()];
+            this.possessions = new long[competencesSecouristes.size()][];
+            for (int j = 0; j < this.couts.length; j++) {
+                this.couts[j] = fermeture.couverture(competencesSecouristes.get(j));
+                this.possessions[j] = fermeture.masque(competencesSecouristes.get(j));
+            }
+        }
+
+        boolean couvre(int poste, int secouriste) {
+            return this.fermeture.couvre(this.competencesSecouristes.get(secouriste), this.possessions[secouriste],
+                    this.postes.get(poste).getIntitule());
+        }
+
+        int[] candidats(int poste) {
+            if (this.candidats[poste] == null) {
+                List<Integer> eligibles = new ArrayList<>();
+                for (int j = 0; j < this.competencesSecouristes.size(); j++) {
+                    if (couvre(poste, j)) {
+                        eligibles.add(j);
+                    }
+                }
+                eligibles.sort(Comparator.comparingInt((Integer j) -> this.couts[j]).thenComparingInt(j -> j));
+                this.candidats[poste] = eligibles.stream().mapToInt(Integer::intValue).toArray();
+            }
+            return this.candidats[poste];
+        }
+    }
+}
@@ -0,0 +1,268 @@
+package model.graph.assignment;
+
+import model.data.persistence.Competence;
+import model.graph.utils.IntervalIndex;
+import model.graph.utils.SkillClosure;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.*;
+
+/**
+ * Offline replay of recorded days (see {@link AssignmentRecording}) through the assignment strategies.
+ * The DPS of a day are solved one after the other, like successive calls of launchAffectation:
+ * a rescuer assigned to a DPS is no longer a candidate for the DPS that overlap it, rest included.
+ * The report of a strategy gives its coverage, the over-qualification of the assigned rescuers,
+ * the percentiles of its computation time and the memory it allocates.
+ *
+ * @author L. Carré, G. Potay, C. Brocart, T.Brami-Coatual
+ * @version 1.0
+ */
+public final class AssignmentReplay {
+
+    private AssignmentReplay() {
+    }
+
+    /**
+     * Report of the replay of a strategy.
+     */
+    public static final class Rapport {
+
+        private final String strategie;
+        private final int nbPostes;
+        private final int nbCouverts;
+        private final int nbSurqualifies;
+        private final long gaspillage;
+        private final long[] durees;
+        private final long octets;
+
+        private Rapport(String strategie, int nbPostes, int nbCouverts, int nbSurqualifies, long gaspillage, long[] durees, long octets) {
+            this.strategie = strategie;
+            this.nbPostes = nbPostes;
+            this.nbCouverts = nbCouverts;
+            this.nbSurqualifies = nbSurqualifies;
+            this.gaspillage = gaspillage;
+            this.durees = durees;
+            this.octets = octets;
+        }
+
+        /**
+         * Get the name of the strategy
+         * @return the name of the strategy
+         */
+        public String getStrategie() {
+            return this.strategie;
+        }
+
+        /**
+         * Get the number of required slots of the recordings
+         * @return the number of slots
+         */
+        public int getNbPostes() {
+            return this.nbPostes;
+        }
+
+        /**
+         * Get the number of slots covered by the strategy
+         * @return the number of covered slots
+         */
+        public int getNbCouverts() {
+            return this.nbCouverts;
+        }
+
+        /**
+         * Get the number of slots held by a rescuer who does not own exactly the required skill
+         * @return the number of over-qualified slots
+         */
+        public int getNbSurqualifies() {
+            return this.nbSurqualifies;
+        }
+
+        /**
+         * Get the over-qualification waste: for each covered slot, the number of skills covered by
+         * the rescuer beyond those covered by the required skill (the cost minimised by {@link AssignmentMinCost})
+         * @return the total waste
+         */
+        public long getGaspillage() {
+            return this.gaspillage;
+        }
+
+        /**
+         * Get the number of measured resolutions
+         * @return the number of resolutions
+         */
+        public int getNbResolutions() {
+            return this.durees.length;
+        }
+
+        /**
+         * Get a percentile of the computation time of a DPS
+         * @param centile - the percentile, between 0 and 100
+         * @return the computation time in nanoseconds, or 0 if nothing was solved
+         */
+        public long getDuree(double centile) {
+            if (centile < 0 || centile > 100) {
+                throw new IllegalArgumentException("Centile invalide : " + centile);
+            }
+            if (this.durees.length == 0) {
+                return 0;
+            }
+            // Méthode du rang le plus proche
+            int rang = (int) Math.ceil(centile / 100 * this.durees.length);
+            return this.durees[Math.max(rang - 1, 0)];
+        }
+
+        /**
+         * Get the memory allocated per resolution
+         * @return the number of bytes, or -1 if the JVM does not measure the allocation
+         */
+        public long getOctetsParResolution() {
+            if (this.octets < 0) {
+                return -1;
+            }
+            return this.durees.length == 0 ? 0 : this.octets / this.durees.length;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%-12s %6d/%-6d %8d %10d %10.3f %10.3f %10.3f %10.3f %12d", this.strategie, this.nbCouverts,
+                    this.nbPostes, this.nbSurqualifies, this.gaspillage, getDuree(50) / 1e6, getDuree(90) / 1e6,
+                    getDuree(99) / 1e6, getDuree(100) / 1e6, getOctetsParResolution());
+        }
+    }
+
+    /**
+     * Header of the table printed by {@link Rapport#toString()}
+     * @return the header
+     */
+    public static String entete() {
+        return String.format("%-12s %13s %8s %10s %10s %10s %10s %10s %12s", "strategie", "couverture", "surqual.",
+                "gaspillage", "p50 (ms)", "p90 (ms)", "p99 (ms)", "max (ms)", "octets/res.");
+    }
+
+    /**
+     * Replays recordings through every registered strategy.
+     *
+     * @param enregistrements - the recorded days
+     * @param repetitions - the number of replays of each day, for the computation times
+     * @return the report of each strategy, in the order of {@link AssignmentStrategies#getNoms()}
+     */
+    public static List<Rapport> replay(List<AssignmentRecording> enregistrements, int repetitions) {
+        List<Rapport> ret = new ArrayList<>();
+        for (String nom : AssignmentStrategies.getNoms()) {
+            ret.add(replay(nom, enregistrements, repetitions));
+        }
+        return ret;
+    }
+
+    /**
+     * Replays recordings through a strategy. The coverage and the waste are those of the first replay,
+     * the computation times and the memory those of all the replays.
+     *
+     * @param strategie - the name of the strategy
+     * @param enregistrements - the recorded days
+     * @param repetitions - the number of replays of each day, for the computation times
+     * @return the report of the strategy
+     */
+    public static Rapport replay(String strategie, List<AssignmentRecording> enregistrements, int repetitions) {
+        if (strategie == null || enregistrements == null) {
+            throw new IllegalArgumentException("Un des arguments est null");
+        }
+        if (repetitions < 1) {
+            throw new IllegalArgumentException("Au moins une répétition est nécessaire");
+        }
+        // Vérifie le nom avant de mesurer quoi que ce soit
+        AssignmentStrategies.create(strategie);
+
+        int nbPostes = 0;
+        int[] qualite = new int[2];
+        long[] gaspillage = new long[1];
+        List<Long> durees = new ArrayList<>();
+
+        com.sun.management.ThreadMXBean threads = threads();
+        long octetsDebut = threads == null ? 0 : threads.getCurrentThreadAllocatedBytes();
+        for (int n = 0; n < repetitions; n++) {
+            for (AssignmentRecording enregistrement : enregistrements) {
+                rejouer(strategie, enregistrement, durees, n == 0 ? qualite : null, gaspillage);
+                if (n == 0) {
+                    for (AssignmentRecording.Evenement evenement : enregistrement.getEvenements()) {
+                        nbPostes += evenement.getBesoins().size();
+                    }
+                }
+            }
+        }
+        long octets = threads == null ? -1 : threads.getCurrentThreadAllocatedBytes() - octetsDebut;
+
+        long[] triees = new long[durees.size()];
+        for (int k = 0; k < triees.length; k++) {
+            triees[k] = durees.get(k);
+        }
+        Arrays.sort(triees);
+        return new Rapport(strategie, nbPostes, qualite[0], qualite[1], gaspillage[0], triees, octets);
+    }
+
+    /**
+     * Replays a day. The quality is only accumulated when qualite is not null:
+     * qualite[0] receives the covered slots, qualite[1] the over-qualified slots and gaspillage[0] the waste.
+     */
+    private static void rejouer(String strategie, AssignmentRecording enregistrement, List<Long> durees, int[] qualite, long[] gaspillage) {
+        List<Competence> catalogue = new ArrayList<>();
+        for (String intitule : enregistrement.getCatalogue()) {
+            catalogue.add(new Competence(intitule));
+        }
+        SkillClosure fermeture = SkillClosure.of(catalogue, enregistrement.getNecessites());
+        List<Set<String>> competencesSecouristes = enregistrement.getCompetencesSecouristes();
+        Map<Integer, IntervalIndex> plannings = new HashMap<>();
+
+        for (AssignmentRecording.Evenement evenement : enregistrement.getEvenements()) {
+            // Secouristes encore libres après les DPS déjà rejoués
+            List<Integer> libres = new ArrayList<>();
+            List<Set<String>> competences = new ArrayList<>();
+            for (int j : evenement.getCandidats()) {
+                IntervalIndex planning = plannings.get(j);
+                if (planning == null || planning.estLibre(evenement.getDebut(), evenement.getFin())) {
+                    libres.add(j);
+                    competences.add(competencesSecouristes.get(j));
+                }
+            }
+
+            long debut = System.nanoTime();
+            AssignmentResult resultat = AssignmentStrategies.solve(AssignmentStrategies.create(strategie), evenement.getBesoins(),
+                    competences, catalogue, enregistrement.getNecessites());
+            durees.add(System.nanoTime() - debut);
+
+            int[] affectation = resultat.getAffectation();
+            for (int i = 0; i < affectation.length; i++) {
+                if (affectation[i] < 0) {
+                    continue;
+                }
+                int j = libres.get(affectation[i]);
+                plannings.computeIfAbsent(j, k -> new IntervalIndex(enregistrement.getRepos()))
+                        .ajouter(evenement.getDebut(), evenement.getFin());
+                if (qualite != null) {
+                    String besoin = evenement.getBesoins().get(i).getIntitule();
+                    Set<String> possedees = competencesSecouristes.get(j);
+                    qualite[0]++;
+                    if (!possedees.contains(besoin)) {
+                        qualite[1]++;
+                    }
+                    gaspillage[0] += fermeture.couverture(possedees) - fermeture.couverture(Collections.singleton(besoin));
+                }
+            }
+        }
+    }
+
+    /**
+     * Bean that measures the memory allocated by the current thread, or null if the JVM does not provide it
+     */
+    private static com.sun.management.ThreadMXBean threads() {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (threads instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean ret = (com.sun.management.ThreadMXBean) threads;
+            if (ret.isThreadAllocatedMemorySupported() && ret.isThreadAllocatedMemoryEnabled()) {
+                return ret;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,129 @@
+package model.graph.assignment;
+
+/**
+ * Result of an assignment computed by an {@link AssignmentStrategy}:
+ * the assignment itself and what produced it.
+ *
+ * @author L. Carré, G. Potay, C. Brocart, T.Brami-Coatual
+ * @version 1.0
+ */
+public class AssignmentResult {
+
+    /**
+     * Name of the strategy that computed the assignment.
+     */
+    private final String strategie;
+
+    /**
+     * For each slot, the index of the assigned rescuer, or -1.
+     */
+    private final int[] affectation;
+
+    /**
+     * True if the assignment is proven optimal.
+     */
+    private final boolean optimale;
+
+    /**
+     * Computation time in milliseconds.
+     */
+    private final long dureeMillis;
+
+    /**
+     * Statistics of the assignment, or null if they were not collected.
+     */
+    private final AssignmentStats stats;
+
+    /**
+     * Constructor of AssignmentResult.
+     *
+     * @param strategie - the name of the strategy
+     * @param affectation - the index of the rescuer of each slot, or -1
+     * @param optimale - true if the assignment is proven optimal
+     * @param dureeMillis - the computation time in milliseconds
+     */
+    public AssignmentResult(String strategie, int[] affectation, boolean optimale, long dureeMillis) {
+        this(strategie, affectation, optimale, dureeMillis, null);
+    }
+
+    /**
+     * Constructor of AssignmentResult with the statistics of the assignment.
+     *
+     * @param strategie - the name of the strategy
+     * @param affectation - the index of the rescuer of each slot, or -1
+     * @param optimale - true if the assignment is proven optimal
+     * @param dureeMillis - the computation time in milliseconds
+     * @param stats - the statistics, or null if they were not collected
+     */
+    public AssignmentResult(String strategie, int[] affectation, boolean optimale, long dureeMillis, AssignmentStats stats) {
+        if (strategie == null || affectation == null) {
+            throw new IllegalArgumentException("Un des arguments est null");
+        }
+        this.strategie = strategie;
+        this.affectation = affectation.clone();
+        this.optimale = optimale;
+        this.dureeMillis = dureeMillis;
+        this.stats = stats;
+    }
+
+    /**
+     * Get the name of the strategy that computed the assignment
+     * @return the name of the strategy
+     */
+    public String getStrategie() {
+        return this.strategie;
+    }
+
+    /**
+     * Get the assignment
+     * @return for each slot, the index of the assigned rescuer, or -1 (a copy)
+     */
+    public int[] getAffectation() {
+        return this.affectation.clone();
+    }
+
+    /**
+     * Checks if the assignment is proven optimal
+     * @return true if no assignment covers more skills, false otherwise
+     */
+    public boolean estOptimale() {
+        return this.optimale;
+    }
+
+    /**
+     * Get the computation time
+     * @return the computation time in milliseconds
+     */
+    public long getDureeMillis() {
+        return this.dureeMillis;
+    }
+
+    /**
+     * Get the statistics of the assignment.
+     * The saving phase is added when the assignment is saved by AffectationManagement.commit.
+     * @return the statistics, or null if the metrics are disabled
+     */
+    public AssignmentStats getStats() {
+        return this.stats;
+    }
+
+    /**
+     * Get the number of covered skills
+     * @return the number of slots that have a rescuer
+     */
+    public int getNbAffectees() {
+        int ret = 0;
+        for (int indice : this.affectation) {
+            if (indice >= 0) {
+                ret++;
+            }
+        }
+        return ret;
+    }
+
+    @Override
+    public String toString() {
+        return this.strategie + " : " + getNbAffectees() + "/" + this.affectation.length + " postes couverts en "
+                + this.dureeMillis + " ms" + (this.optimale ? "" : " (optimalité non prouvée)");
+    }
+}
@@ -0,0 +1,199 @@
+package model.graph.assignment;
+
+import model.dao.*;
+import model.data.persistence.*;
+
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Class responsible for assigning rescuers to every open need of a period (typically a whole season).
+ * The open needs are partitioned by day: a DPS lasts a single day and the rest between two DPS
+ * of a rescuer is only checked within a day, so assignments never cross days.
+ * The days are therefore independent and are solved concurrently, each one with its own snapshot
+ * and a single flow network for all its DPS (see {@link AssignmentDay}).
+ *
+ * The pipeline has three stages: the days are loaded one after the other, solved in parallel
+ * on a thread pool while the next days are loaded, then saved in chronological order with one
+ * batched transaction per day. The loading stays sequential so that the season borrows a single
+ * connection of the bounded pool at a time and leaves the others to the rest of the application.
+ *
+ * @author L. Carré, G. Potay, C. Brocart, T.Brami-Coatual
+ * @version 1.0
+ */
+public class AssignmentSeason {
+
+    /**
+     * Number of threads used to solve the days.
+     */
+    private final int nbThreads;
+
+    /**
+     * Input of the assignment of one day: its snapshot, its DPS and their remaining needs.
+     */
+    public static class Jour {
+
+        private final AssignmentSnapshot snapshot;
+        private final List<DPS> dps;
+        private final Map<Long, ? extends List<Competence>> besoins;
+
+        /**
+         * Constructor of Jour
+         * @param snapshot - the snapshot of the day
+         * @param dps - the DPS of the day
+         * @param besoins - the remaining needs of each DPS, by DPS ID
+         */
+        public Jour(AssignmentSnapshot snapshot, List<DPS> dps, Map<Long, ? extends List<Competence>> besoins) {
+            if (snapshot == null || dps == null || besoins == null) {
+                throw new IllegalArgumentException("Un des arguments est null");
+            }
+            this.snapshot = snapshot;
+            this.dps = dps;
+            this.besoins = besoins;
+        }
+
+        /**
+         * Get the snapshot of the day
+         * @return the snapshot
+         */
+        public AssignmentSnapshot getSnapshot() {
+            return this.snapshot;
+        }
+
+        /**
+         * Get the DPS of the day
+         * @return the list of DPS
+         */
+        public List<DPS> getDps() {
+            return this.dps;
+        }
+
+        /**
+         * Get the remaining needs of the DPS of the day
+         * @return the needs by DPS ID
+         */
+        public Map<Long, ? extends List<Competence>> getBesoins() {
+            return this.besoins;
+        }
+    }
+
+    /**
+     * Constructor of AssignmentSeason, with one thread per processor.
+     */
+    public AssignmentSeason() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Constructor of AssignmentSeason.
+     *
+     * @param nbThreads - the number of threads used to solve the days
+     */
+    public AssignmentSeason(int nbThreads) {
+        if (nbThreads < 1) {
+            throw new IllegalArgumentException("Le nombre de threads doit être positif");
+        }
+        this.nbThreads = nbThreads;
+    }
+
+    /**
+     * Assigns rescuers to every DPS with remaining needs between two days, both included,
+     * and saves each day in a single transaction.
+     *
+     * @param debut - the first day of the period
+     * @param fin - the last day of the period
+     * @param listener - notified after each saved day, may be null
+     * @return the number of covered skills over the period
+     */
+    public int assignmentRescuersSeason(Journee debut, Journee fin, AssignmentProgressListener listener) {
+        if (debut == null || fin == null) {
+            throw new IllegalArgumentException("Un des arguments est null");
+        }
+
+        Map<Long, Journee> journees = new JourneeDAO().findWithBesoinBetween(debut, fin);
+        // Le catalogue et les dépendances sont communs à toutes les journées
+        List<String> catalogue = new CompetenceDAO().findAllIntitule();
+        List<Necessite> necessites = new NecessiteDAO().findAll();
+
+        ExecutorService executor = Executors.newFixedThreadPool(this.nbThreads);
+        try {
+            // Chargement séquentiel, résolution en parallèle dès qu'une journée est chargée
+            List<Future<List<Affectation>>> resultats = new ArrayList<>();
+            for (Map.Entry<Long, Journee> entry : journees.entrySet()) {
+                long idJournee = entry.getKey();
+                Jour jour = new Jour(
+                        AssignmentSnapshot.load(entry.getValue(), idJournee, catalogue, necessites),
+                        new DPSDAO().findByDay(idJournee),
+                        new BesoinDAO().findByDay(idJournee));
+                resultats.add(executor.submit(() -> new AssignmentDay().solve(jour.dps, jour.besoins, jour.snapshot)));
+            }
+
+            // Écriture dans l'ordre chronologique, une transaction par journée
+            int ret = 0;
+            int joursTraites = 0;
+            AffectationDAO affectationDAO = new AffectationDAO();
+            for (Journee journee : journees.values()) {
+                List<Affectation> affectations = resultats.get(joursTraites).get();
+                joursTraites++;
+
+                int nbAffectees = 0;
+                if (!affectations.isEmpty() && affectationDAO.insertAllAndDeleteBesoins(affectations)) {
+                    nbAffectees = affectations.size();
+                }
+                ret += nbAffectees;
+                if (listener != null) {
+                    listener.progression(journee, nbAffectees, joursTraites, journees.size());
+                }
+            }
+            return ret;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Affectation de la saison interrompue", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Erreur lors de l'affectation de la saison", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Solves several days concurrently, without accessing the database.
+     *
+     * @param jours - the days to solve
+     * @param listener - notified after each solved day, in the order of the list, may be null
+     * @return the assignments of each day, in the order of the list
+     */
+    public List<List<Affectation>> solve(List<Jour> jours, AssignmentProgressListener listener) {
+        if (jours == null) {
+            throw new IllegalArgumentException("L'argument est null");
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(this.nbThreads);
+        try {
+            List<Future<List<Affectation>>> resultats = new ArrayList<>();
+            for (Jour jour : jours) {
+                resultats.add(executor.submit(() -> new AssignmentDay().solve(jour.dps, jour.besoins, jour.snapshot)));
+            }
+
+            List<List<Affectation>> ret = new ArrayList<>();
+            for (int i = 0; i < jours.size(); i++) {
+                List<Affectation> affectations = resultats.get(i).get();
+                ret.add(affectations);
+                if (listener != null) {
+                    listener.progression(jours.get(i).snapshot.getJournee(), affectations.size(), i + 1, jours.size());
+                }
+            }
+            return ret;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Affectation de la saison interrompue", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Erreur lors de l'affectation de la saison", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,395 @@
+package model.graph.assignment;
+
+import model.dao.*;
+import model.data.persistence.Affectation;
+import model.data.persistence.Competence;
+import model.data.persistence.DPS;
+import model.data.persistence.Journee;
+import model.data.persistence.Necessite;
+import model.data.persistence.Secouriste;
+import model.graph.utils.IntervalIndex;
+import model.utils.Settings;
+
+import java.util.*;
+
+/**
+ * Immutable snapshot of everything an assignment algorithm needs for one day:
+ * the available rescuers, their skills, the hours where they are already assigned that day,
+ * the skill catalogue and the dependencies between skills.
+ * A rescuer already assigned to a DPS can still take another DPS of the day that does not overlap it
+ * (see {@link #getSecouristes(DPS)}).
+ * It is loaded with a fixed number of set-based queries, so the solvers never
+ * access the database inside their loops.
+ *
+ * @author L. Carré, G. Potay, C. Brocart, T.Brami-Coatual
+ * @version 1.0
+ */
+public class AssignmentSnapshot {
+
+    /**
+     * The day of the snapshot.
+     */
+    private final Journee journee;
+
+    /**
+     * The ID of the day in the database, or -1 if the day does not exist.
+     */
+    private final long idJournee;
+
+    /**
+     * Whole day, for the rescuers whose assigned hours are unknown.
+     */
+    private static final int[] JOURNEE_ENTIERE = {Integer.MIN_VALUE / 4, Integer.MAX_VALUE / 4};
+
+    /**
+     * Rescuers available on the day, in the order of the availabilities.
+     */
+    private final List<Secouriste> secouristesJour;
+
+    /**
+     * Rescuers available on the day and not already assigned that day.
+     */
+    private final List<Secouriste> secouristes;
+
+    /**
+     * Available rescuers, by ID, assigned or not.
+     */
+    private final Map<Long, Secouriste> secouristesParId;
+
+    /**
+     * Intitulés of the skills owned by each available rescuer, by ID.
+     */
+    private final Map<Long, Set<String>> possessions;
+
+    /**
+     * Hours where each rescuer is already assigned on the day, by ID. Only assigned rescuers have an entry.
+     */
+    private final Map<Long, IntervalIndex> plannings;
+
+    /**
+     * Minimum rest between two DPS of a rescuer, in hours.
+     */
+    private final int repos;
+
+    /**
+     * Intitulés of all the skills that exist.
+     */
+    private final List<String> catalogue;
+
+    /**
+     * Dependencies between skills.
+     */
+    private final List<Necessite> necessites;
+
+    /**
+     * Constructor of AssignmentSnapshot.
+     * The rescuers already assigned on the day are considered busy for the whole day.
+     *
+     * @param journee - the day
+     * @param idJournee - the ID of the day in the database
+     * @param secouristesJour - the rescuers available on the day
+     * @param possessions - the skills of each rescuer, by rescuer ID
+     * @param secouristesAffectes - the IDs of the rescuers already assigned on the day
+     * @param catalogue - the intitulés of all the skills
+     * @param necessites - the dependencies between skills
+     */
+    public AssignmentSnapshot(Journee journee, long idJournee, List<Secouriste> secouristesJour,
+                              Map<Long, ? extends Collection<Competence>> possessions, Set<Long> secouristesAffectes,
+                              List<String> catalogue, List<Necessite> necessites) {
+        this(journee, idJournee, secouristesJour, possessions, journeeEntiere(secouristesAffectes), 0, catalogue, necessites);
+    }
+
+    /**
+     * Constructor of AssignmentSnapshot with the hours of the DPS where the rescuers are already assigned.
+     *
+     * @param journee - the day
+     * @param idJournee - the ID of the day in the database
+     * @param secouristesJour - the rescuers available on the day
+     * @param possessions - the skills of each rescuer, by rescuer ID
+     * @param horaires - the start and end hours of the DPS of each assigned rescuer, by rescuer ID
+     * @param repos - the minimum rest between two DPS of a rescuer, in hours
+     * @param catalogue - the intitulés of all the skills
+     * @param necessites - the dependencies between skills
+     */
+    public AssignmentSnapshot(Journee journee, long idJournee, List<Secouriste> secouristesJour,
+                              Map<Long, ? extends Collection<Competence>> possessions, Map<Long, ? extends Collection<int[]>> horaires,
+                              int repos, List<String> catalogue, List<Necessite> necessites) {
+        if (journee == null || secouristesJour == null || possessions == null || horaires == null
+                || catalogue == null || necessites == null) {
+            throw new IllegalArgumentException("Un des arguments est null");
+        }
+        this.journee = journee;
+        this.idJournee = idJournee;
+        this.repos = repos;
+        this.catalogue = Collections.unmodifiableList(new ArrayList<>(catalogue));
+        this.necessites = Collections.unmodifiableList(new ArrayList<>(necessites));
+
+        this.plannings = new HashMap<>();
+        for (Map.Entry<Long, ? extends Collection<int[]>> entry : horaires.entrySet()) {
+            IntervalIndex planning = new IntervalIndex(repos);
+            for (int[] horaire : entry.getValue()) {
+                planning.ajouter(horaire[0], horaire[1]);
+            }
+            if (!planning.isEmpty()) {
+                this.plannings.put(entry.getKey(), planning);
+            }
+        }
+
+        List<Secouriste> jour = new ArrayList<>();
+        Map<Long, Secouriste> parId = new HashMap<>();
+        Map<Long, Set<String>> competences = new HashMap<>();
+        for (Secouriste secouriste : secouristesJour) {
+            long id = secouriste.getIdSecouriste();
+            if (!parId.containsKey(id)) {
+                jour.add(secouriste);
+                parId.put(id, secouriste);
+
+                Set<String> intitules = new HashSet<>();
+                Collection<Competence> possedees = possessions.get(id);
+                if (possedees != null) {
+                    for (Competence competence : possedees) {
+                        intitules.add(competence.getIntitule());
+                    }
+                }
+                competences.put(id, Collections.unmodifiableSet(intitules));
+            }
+        }
+        this.secouristesJour = Collections.unmodifiableList(jour);
+        this.secouristesParId = Collections.unmodifiableMap(parId);
+        this.possessions = Collections.unmodifiableMap(competences);
+        this.secouristes = libres();
+    }
+
+    /**
+     * Copy of a snapshot with other plannings, everything else is shared.
+     */
+    private AssignmentSnapshot(AssignmentSnapshot autre, Map<Long, IntervalIndex> plannings) {
+        this.journee = autre.journee;
+        this.idJournee = autre.idJournee;
+        this.repos = autre.repos;
+        this.catalogue = autre.catalogue;
+        this.necessites = autre.necessites;
+        this.secouristesJour = autre.secouristesJour;
+        this.secouristesParId = autre.secouristesParId;
+        this.possessions = autre.possessions;
+        this.plannings = plannings;
+        this.secouristes = libres();
+    }
+
+    private static Map<Long, List<int[]>> journeeEntiere(Set<Long> secouristesAffectes) {
+        if (secouristesAffectes == null) {
+            throw new IllegalArgumentException("Un des arguments est null");
+        }
+        Map<Long, List<int[]>> ret = new HashMap<>();
+        for (long id : secouristesAffectes) {
+            ret.put(id, Collections.singletonList(JOURNEE_ENTIERE));
+        }
+        return ret;
+    }
+
+    private List<Secouriste> libres() {
+        List<Secouriste> ret = new ArrayList<>();
+        for (Secouriste secouriste : this.secouristesJour) {
+            if (!this.plannings.containsKey(secouriste.getIdSecouriste())) {
+                ret.add(secouriste);
+            }
+        }
+        return Collections.unmodifiableList(ret);
+    }
+
+    /**
+     * Loads the snapshot of a day from the database with set-based queries:
+     * the day ID, the availabilities, the possessions of the available rescuers,
+     * the existing assignments of the day, the skill catalogue and the dependencies.
+     *
+     * @param journee - the day
+     * @return the snapshot of the day
+     */
+    public static AssignmentSnapshot load(Journee journee) {
+        if (journee == null) {
+            throw new IllegalArgumentException("L'argument est null");
+        }
+        return load(journee, new JourneeDAO().findIdByJour(journee.getJour(), journee.getMois(), journee.getAnnee()));
+    }
+
+    /**
+     * Loads the snapshot of a day whose ID is already known.
+     *
+     * @param journee - the day
+     * @param idJournee - the ID of the day in the database, or -1 if it does not exist
+     * @return the snapshot of the day
+     */
+    public static AssignmentSnapshot load(Journee journee, long idJournee) {
+        return load(journee, idJournee, new CompetenceDAO().findAllIntitule(), new NecessiteDAO().findAll());
+    }
+
+    /**
+     * Loads the snapshot of a day whose ID is already known, with a skill catalogue and dependencies
+     * already loaded (they are the same for every day).
+     *
+     * @param journee - the day
+     * @param idJournee - the ID of the day in the database, or -1 if it does not exist
+     * @param catalogue - the intitulés of all the skills
+     * @param necessites - the dependencies between skills
+     * @return the snapshot of the day
+     */
+    public static AssignmentSnapshot load(Journee journee, long idJournee, List<String> catalogue, List<Necessite> necessites) {
+        if (journee == null) {
+            throw new IllegalArgumentException("L'argument est null");
+        }
+        int repos = Settings.restGap();
+        if (idJournee == -1) {
+            // Journée inconnue : personne ne peut y être disponible
+            return new AssignmentSnapshot(journee, idJournee, new ArrayList<>(), new HashMap<Long, List<Competence>>(),
+                    new HashMap<Long, List<int[]>>(), repos, catalogue, necessites);
+        }
+
+        return new AssignmentSnapshot(
+                journee,
+                idJournee,
+                new SecouristeDAO().findByDay(idJournee),
+                new PossessionDAO().findByDay(idJournee),
+                new AffectationDAO().findHorairesByDay(idJournee),
+                repos,
+                catalogue,
+                necessites
+        );
+    }
+
+    /**
+     * Get the day of the snapshot
+     * @return the day
+     */
+    public Journee getJournee() {
+        return this.journee;
+    }
+
+    /**
+     * Get the ID of the day in the database
+     * @return the ID of the day, or -1 if it does not exist
+     */
+    public long getIdJournee() {
+        return this.idJournee;
+    }
+
+    /**
+     * Get the rescuers available and not already assigned on the day
+     * @return an unmodifiable list of rescuers
+     */
+    public List<Secouriste> getSecouristes() {
+        return this.secouristes;
+    }
+
+    /**
+     * Get the rescuers available on the day who are free during the hours of a DPS:
+     * the rescuers not assigned yet, and those whose DPS do not overlap it and leave the minimum rest.
+     * @param dps - the DPS
+     * @return an unmodifiable list of rescuers, in the order of {@link #getSecouristes()} for the rescuers not assigned yet
+     */
+    public List<Secouriste> getSecouristes(DPS dps) {
+        if (dps == null) {
+            throw new IllegalArgumentException("Le DPS est null");
+        }
+        if (this.plannings.isEmpty()) {
+            return this.secouristes;
+        }
+        List<Secouriste> ret = new ArrayList<>();
+        for (Secouriste secouriste : this.secouristesJour) {
+            if (estDisponible(secouriste.getIdSecouriste(), dps)) {
+                ret.add(secouriste);
+            }
+        }
+        return Collections.unmodifiableList(ret);
+    }
+
+    /**
+     * Checks if a rescuer available on the day is free during the hours of a DPS, in O(log k) for k DPS of the rescuer
+     * @param idSecouriste - the ID of the rescuer
+     * @param dps - the DPS
+     * @return true if the rescuer is available on the day and none of their DPS is too close to this one
+     */
+    public boolean estDisponible(long idSecouriste, DPS dps) {
+        if (!this.secouristesParId.containsKey(idSecouriste)) {
+            return false;
+        }
+        IntervalIndex planning = this.plannings.get(idSecouriste);
+        return planning == null || planning.estLibre(dps.getHoraireDepart(), dps.getHoraireFin());
+    }
+
+    /**
+     * Get a copy of the snapshot where the rescuers of some Affectations are also busy during the hours of their DPS.
+     * Only the plannings of these rescuers are copied.
+     * @param affectations - the Affectations computed but not saved yet
+     * @return the new snapshot
+     */
+    public AssignmentSnapshot avecAffectations(List<Affectation> affectations) {
+        Map<Long, IntervalIndex> ret = new HashMap<>(this.plannings);
+        Set<Long> copies = new HashSet<>();
+        for (Affectation affectation : affectations) {
+            long id = affectation.getSecouristeAffect().getIdSecouriste();
+            DPS dps = affectation.getDPSAffect();
+            IntervalIndex planning = ret.get(id);
+            if (planning == null) {
+                planning = new IntervalIndex(this.repos);
+                ret.put(id, planning);
+                copies.add(id);
+            } else if (copies.add(id)) {
+                planning = new IntervalIndex(planning);
+                ret.put(id, planning);
+            }
+            planning.ajouter(dps.getHoraireDepart(), dps.getHoraireFin());
+        }
+        return new AssignmentSnapshot(this, ret);
+    }
+
+    /**
+     * Get a rescuer available on the day by their ID, assigned or not
+     * @param idSecouriste - the ID of the rescuer
+     * @return the rescuer, or null if they are not available
+     */
+    public Secouriste getSecouriste(long idSecouriste) {
+        return this.secouristesParId.get(idSecouriste);
+    }
+
+    /**
+     * Get the skills of an available rescuer
+     * @param secouriste - the rescuer
+     * @return an unmodifiable set of intitulés, empty if the rescuer is unknown
+     */
+    public Set<String> getCompetences(Secouriste secouriste) {
+        return this.possessions.getOrDefault(secouriste.getIdSecouriste(), Collections.emptySet());
+    }
+
+    /**
+     * Checks if a rescuer is already assigned on the day
+     * @param idSecouriste - the ID of the rescuer
+     * @return true if the rescuer is already assigned, false otherwise
+     */
+    public boolean estDejaAffecte(long idSecouriste) {
+        return this.plannings.containsKey(idSecouriste);
+    }
+
+    /**
+     * Get the minimum rest between two DPS of a rescuer
+     * @return the rest in hours
+     */
+    public int getRepos() {
+        return this.repos;
+    }
+
+    /**
+     * Get the intitulés of all the skills
+     * @return an unmodifiable list of intitulés
+     */
+    public List<String> getCatalogue() {
+        return this.catalogue;
+    }
+
+    /**
+     * Get the dependencies between skills
+     * @return an unmodifiable list of necessites
+     */
+    public List<Necessite> getNecessites() {
+        return this.necessites;
+    }
+}
@@ -0,0 +1,47 @@
+package model.graph.assignment;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event of one assignment computed by a strategy, with the work of the search.
+ * The duration of the event is the solve phase. When no recording listens to this event,
+ * it costs nothing and no statistics are collected.
+ *
+ * @author L. Carré, G. Potay, C. Brocart, T.Brami-Coatual
+ * @version 1.0
+ */
+@Name("secouriste.AssignmentSolve")
+@Label("Assignment Solve")
+@Category({"Secouriste", "Assignment"})
+@Description("Computation of the assignment of the required skills of a DPS")
+@StackTrace(false)
+class AssignmentSolveEvent extends jdk.jfr.Event {
+
+    @Label("Strategy")
+    String strategie;
+
+    @Label("Slots")
+    int postes;
+
+    @Label("Rescuers")
+    int secouristes;
+
+    @Label("Covered Slots")
+    int couverts;
+
+    @Label("Optimal")
+    boolean optimale;
+
+    @Label("Nodes")
+    long noeuds;
+
+    @Label("Prunes")
+    long elagages;
+
+    @Label("Improvements")
+    int ameliorations;
+}
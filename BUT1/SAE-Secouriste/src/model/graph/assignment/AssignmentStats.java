@@ -0,0 +1,204 @@
+package model.graph.assignment;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Statistics of one assignment: the work of the search, the improvements of the best coverage over time,
+ * the duration of each phase and the number of database round trips.
+ * It is only created when {@link AssignmentMetrics#isEnabled()} or when a JFR recording listens to
+ * {@link AssignmentSolveEvent}, so the solvers do not count anything otherwise.
+ * The counters can be updated by the threads of a parallel search.
+ *
+ * @author L. Carré, G. Potay, C. Brocart, T.Brami-Coatual
+ * @version 1.0
+ */
+public class AssignmentStats {
+
+    /**
+     * Name of the strategy that computed the assignment.
+     */
+    private final String strategie;
+
+    /**
+     * Start of the solve phase (System.nanoTime), origin of the timeline.
+     */
+    private long debutResolution;
+
+    /**
+     * Number of nodes explored by the search.
+     */
+    private final LongAdder noeuds = new LongAdder();
+
+    /**
+     * Number of branches abandoned by the bound or the memo of dead states.
+     */
+    private final LongAdder elagages = new LongAdder();
+
+    /**
+     * Improvements of the best coverage: {nanoseconds since the start of the solve phase, coverage}.
+     */
+    private final List<long[]> ameliorations = new ArrayList<>();
+
+    /**
+     * Duration of each phase, in nanoseconds.
+     */
+    private long dureeChargement = 0;
+    private long dureeResolution = 0;
+    private long dureeEnregistrement = 0;
+
+    /**
+     * Number of database round trips.
+     */
+    private long allersRetours = 0;
+
+    /**
+     * Constructor of AssignmentStats
+     * @param strategie - the name of the strategy
+     */
+    public AssignmentStats(String strategie) {
+        if (strategie == null) {
+            throw new IllegalArgumentException("La stratégie est null");
+        }
+        this.strategie = strategie;
+        this.debutResolution = System.nanoTime();
+    }
+
+    /**
+     * Marks the start of the solve phase, origin of the timeline of the improvements.
+     */
+    void debutResolution() {
+        this.debutResolution = System.nanoTime();
+    }
+
+    /**
+     * Adds explored nodes and abandoned branches.
+     * @param noeuds - the number of explored nodes
+     * @param elagages - the number of abandoned branches
+     */
+    public void ajouterRecherche(long noeuds, long elagages) {
+        this.noeuds.add(noeuds);
+        this.elagages.add(elagages);
+    }
+
+    /**
+     * Records a new best coverage, ignored if it is not better than the last one
+     * (two tasks of a parallel search can find the same coverage).
+     * @param couverture - the number of covered slots
+     */
+    public synchronized void ajouterAmelioration(int couverture) {
+        if (this.ameliorations.isEmpty() || couverture > this.ameliorations.get(this.ameliorations.size() - 1)[1]) {
+            this.ameliorations.add(new long[]{System.nanoTime() - this.debutResolution, couverture});
+        }
+    }
+
+    /**
+     * Sets the duration of the loading of the snapshot.
+     * @param nanos - the duration in nanoseconds
+     */
+    public void setDureeChargement(long nanos) {
+        this.dureeChargement = nanos;
+    }
+
+    /**
+     * Sets the duration of the computation.
+     * @param nanos - the duration in nanoseconds
+     */
+    public void setDureeResolution(long nanos) {
+        this.dureeResolution = nanos;
+    }
+
+    /**
+     * Sets the duration of the saving of the Affectations.
+     * @param nanos - the duration in nanoseconds
+     */
+    public void setDureeEnregistrement(long nanos) {
+        this.dureeEnregistrement = nanos;
+    }
+
+    /**
+     * Adds database round trips.
+     * @param nb - the number of round trips
+     */
+    public void ajouterAllersRetours(long nb) {
+        this.allersRetours += nb;
+    }
+
+    /**
+     * Get the name of the strategy
+     * @return the name of the strategy
+     */
+    public String getStrategie() {
+        return this.strategie;
+    }
+
+    /**
+     * Get the number of nodes explored by the search
+     * @return 0 for the strategies that do not search a tree
+     */
+    public long getNoeuds() {
+        return this.noeuds.sum();
+    }
+
+    /**
+     * Get the number of branches abandoned by the search
+     * @return the number of prunes
+     */
+    public long getElagages() {
+        return this.elagages.sum();
+    }
+
+    /**
+     * Get the improvements of the best coverage, in the order they were found
+     * @return an unmodifiable list of {nanoseconds since the start of the solve phase, coverage}
+     */
+    public synchronized List<long[]> getAmeliorations() {
+        List<long[]> ret = new ArrayList<>();
+        for (long[] amelioration : this.ameliorations) {
+            ret.add(amelioration.clone());
+        }
+        return Collections.unmodifiableList(ret);
+    }
+
+    /**
+     * Get the duration of the loading of the snapshot
+     * @return the duration in nanoseconds, 0 if the snapshot was given
+     */
+    public long getDureeChargement() {
+        return this.dureeChargement;
+    }
+
+    /**
+     * Get the duration of the computation
+     * @return the duration in nanoseconds
+     */
+    public long getDureeResolution() {
+        return this.dureeResolution;
+    }
+
+    /**
+     * Get the duration of the saving
+     * @return the duration in nanoseconds, 0 if nothing was saved
+     */
+    public long getDureeEnregistrement() {
+        return this.dureeEnregistrement;
+    }
+
+    /**
+     * Get the number of database round trips
+     * @return the number of round trips of the loading and the saving
+     */
+    public long getAllersRetours() {
+        return this.allersRetours;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return this.strategie + " : " + getNoeuds() + " nœuds, " + getElagages() + " élagages, "
+                + this.ameliorations.size() + " améliorations, chargement " + this.dureeChargement / 1_000_000
+                + " ms, résolution " + this.dureeResolution / 1_000_000 + " ms, enregistrement "
+                + this.dureeEnregistrement / 1_000_000 + " ms, " + this.allersRetours + " allers-retours BDD";
+    }
+}
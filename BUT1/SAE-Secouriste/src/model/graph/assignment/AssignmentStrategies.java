@@ -0,0 +1,261 @@
+package model.graph.assignment;
+
+import model.data.persistence.Affectation;
+import model.data.persistence.Competence;
+import model.data.persistence.DPS;
+import model.data.persistence.Necessite;
+import model.data.persistence.Secouriste;
+import model.utils.Settings;
+
+import java.util.*;
+import java.util.function.Supplier;
+
+/**
+ * Registry of the assignment strategies, and cost model that chooses one from the size of the instance:
+ * the exact search for small needs, a flow for medium ones, and the time-bounded search
+ * (greedy solution improved until a deadline) for huge ones.
+ *
+ * @author L. Carré, G. Potay, C. Brocart, T.Brami-Coatual
+ * @version 1.0
+ */
+public final class AssignmentStrategies {
+
+    /**
+     * Maximum number of slots for the exact search.
+     */
+    static final int SEUIL_EXACT = 12;
+
+    /**
+     * Maximum number of rescuers for the exact search.
+     */
+    static final int SEUIL_EXACT_SECOURISTES = 1000;
+
+    /**
+     * Maximum estimated cost (slots² × rescuers) of the minimum cost flow, around a few hundred milliseconds.
+     */
+    static final long LIMITE_COUT_MIN = 20_000_000L;
+
+    /**
+     * Maximum estimated cost (slots × rescuers, the number of edges) of the maximum matching.
+     */
+    static final long LIMITE_FLOT = 4_000_000L;
+
+    /**
+     * Registered strategies, by name, in registration order.
+     */
+    private static final Map<String, Supplier<AssignmentStrategy>> strategies = new LinkedHashMap<>();
+
+    static {
+        register(AssignmentGreedy.NOM, AssignmentGreedy::new);
+        register(AssignmentExhaustive.Strategie.NOM_EXACT, () -> new AssignmentExhaustive.Strategie(0));
+        register(AssignmentExhaustive.Strategie.NOM_ANYTIME, () -> new AssignmentExhaustive.Strategie(Settings.exhaustiveBudget()));
+        register(AssignmentFlow.NOM, AssignmentFlow::new);
+        register(AssignmentMinCost.NOM, AssignmentMinCost::new);
+    }
+
+    private AssignmentStrategies() {
+    }
+
+    /**
+     * Registers a strategy, replacing the one with the same name if any.
+     *
+     * @param nom - the name of the strategy
+     * @param fabrique - creates a new instance of the strategy for each assignment
+     */
+    public static synchronized void register(String nom, Supplier<AssignmentStrategy> fabrique) {
+        if (nom == null || fabrique == null) {
+            throw new IllegalArgumentException("Un des arguments est null");
+        }
+        strategies.put(nom, fabrique);
+    }
+
+    /**
+     * Creates a new instance of a registered strategy.
+     *
+     * @param nom - the name of the strategy
+     * @return a new instance of the strategy
+     * @throws IllegalArgumentException if no strategy has this name
+     */
+    public static synchronized AssignmentStrategy create(String nom) {
+        Supplier<AssignmentStrategy> fabrique = strategies.get(nom);
+        if (fabrique == null) {
+            throw new IllegalArgumentException("Stratégie d'affectation inconnue : " + nom);
+        }
+        return fabrique.get();
+    }
+
+    /**
+     * Get the names of the registered strategies
+     * @return the names, in registration order
+     */
+    public static synchronized List<String> getNoms() {
+        return new ArrayList<>(strategies.keySet());
+    }
+
+    /**
+     * Chooses a strategy from the size of the instance.
+     *
+     * @param nbPostes - the number of required skills
+     * @param nbSecouristes - the number of available rescuers
+     * @param coutMinimal - true to keep the most qualified rescuers free when a flow is used
+     * @return the name of the chosen strategy
+     */
+    public static String choose(int nbPostes, int nbSecouristes, boolean coutMinimal) {
+        if (nbPostes < 0 || nbSecouristes < 0) {
+            throw new IllegalArgumentException("Taille d'instance négative");
+        }
+        if (nbPostes <= SEUIL_EXACT && nbSecouristes <= SEUIL_EXACT_SECOURISTES) {
+            return AssignmentExhaustive.Strategie.NOM_EXACT;
+        }
+
+        long aretes = (long) nbPostes * nbSecouristes;
+        if (aretes <= LIMITE_FLOT) {
+            if (coutMinimal && aretes * nbPostes <= LIMITE_COUT_MIN) {
+                return AssignmentMinCost.NOM;
+            }
+            return AssignmentFlow.NOM;
+        }
+        return AssignmentExhaustive.Strategie.NOM_ANYTIME;
+    }
+
+    /**
+     * Runs a strategy and records its name, its optimality and its computation time in the result.
+     *
+     * @param strategie - the strategy
+     * @param competences - the required skills, one slot per element
+     * @param competencesSecouristes - the skills owned by each rescuer
+     * @param catalogue - all the skills that exist
+     * @param necessites - the dependencies between skills
+     * @return the result of the strategy
+     */
+    public static AssignmentResult solve(AssignmentStrategy strategie, List<Competence> competences, List<Set<String>> competencesSecouristes,
+                                         List<Competence> catalogue, List<Necessite> necessites) {
+        return solve(strategie, competences, competencesSecouristes, catalogue, necessites, null);
+    }
+
+    /**
+     * Runs a strategy and records its name, its optimality, its computation time and its statistics in the result.
+     * The statistics are only collected if the metrics are enabled or a JFR recording listens to
+     * {@link AssignmentSolveEvent}; they are created here if none are given.
+     *
+     * @param strategie - the strategy
+     * @param competences - the required skills, one slot per element
+     * @param competencesSecouristes - the skills owned by each rescuer
+     * @param catalogue - all the skills that exist
+     * @param necessites - the dependencies between skills
+     * @param stats - the statistics of the assignment, may be null
+     * @return the result of the strategy
+     */
+    public static AssignmentResult solve(AssignmentStrategy strategie, List<Competence> competences, List<Set<String>> competencesSecouristes,
+                                         List<Competence> catalogue, List<Necessite> necessites, AssignmentStats stats) {
+        if (strategie == null || competences == null || competencesSecouristes == null || catalogue == null || necessites == null) {
+            throw new IllegalArgumentException("Un des arguments est null");
+        }
+        AssignmentSolveEvent event = new AssignmentSolveEvent();
+        if (stats == null && (AssignmentMetrics.isEnabled() || event.isEnabled())) {
+            stats = new AssignmentStats(strategie.getNom());
+        }
+        if (stats != null) {
+            stats.debutResolution();
+        }
+
+        event.begin();
+        long debut = System.nanoTime();
+        int[] affectation = strategie.solve(competences, competencesSecouristes, catalogue, necessites, stats);
+        long duree = System.nanoTime() - debut;
+        event.end();
+
+        AssignmentResult ret = new AssignmentResult(strategie.getNom(), affectation, strategie.estOptimale(), duree / 1_000_000, stats);
+        if (stats != null) {
+            stats.setDureeResolution(duree);
+        }
+        if (stats != null && event.shouldCommit()) {
+            event.strategie = strategie.getNom();
+            event.postes = competences.size();
+            event.secouristes = competencesSecouristes.size();
+            event.couverts = ret.getNbAffectees();
+            event.optimale = ret.estOptimale();
+            event.noeuds = stats.getNoeuds();
+            event.elagages = stats.getElagages();
+            event.ameliorations = stats.getAmeliorations().size();
+            event.commit();
+        }
+        return ret;
+    }
+
+    /**
+     * Runs a strategy on the rescuers of a snapshot, in the order of {@link AssignmentSnapshot#getSecouristes()}.
+     *
+     * @param strategie - the strategy
+     * @param competences - the required skills, one slot per element
+     * @param snapshot - the snapshot of the day
+     * @return the result of the strategy
+     */
+    public static AssignmentResult solve(AssignmentStrategy strategie, List<Competence> competences, AssignmentSnapshot snapshot) {
+        if (snapshot == null) {
+            throw new IllegalArgumentException("L'argument est null");
+        }
+        return solve(strategie, competences, snapshot.getSecouristes(), snapshot, null);
+    }
+
+    /**
+     * Runs a strategy on some rescuers of a snapshot.
+     */
+    private static AssignmentResult solve(AssignmentStrategy strategie, List<Competence> competences, List<Secouriste> secouristes,
+                                          AssignmentSnapshot snapshot, AssignmentStats stats) {
+        List<Set<String>> competencesSecouristes = new ArrayList<>();
+        for (Secouriste secouriste : secouristes) {
+            competencesSecouristes.add(snapshot.getCompetences(secouriste));
+        }
+        List<Competence> catalogue = new ArrayList<>();
+        for (String intitule : snapshot.getCatalogue()) {
+            catalogue.add(new Competence(intitule));
+        }
+        return solve(strategie, competences, competencesSecouristes, catalogue, snapshot.getNecessites(), stats);
+    }
+
+    /**
+     * Runs a strategy for a DPS without accessing the database, and returns the Affectations it would create.
+     * The rescuers already assigned to another DPS of the day can be used if they are free during its hours
+     * (see {@link AssignmentSnapshot#getSecouristes(DPS)}).
+     *
+     * @param strategie - the strategy
+     * @param dps - the DPS
+     * @param competences - the required skills of the DPS, one slot per element
+     * @param snapshot - the snapshot of the day of the DPS
+     * @return the proposal, to preview or to save
+     */
+    public static AssignmentProposal propose(AssignmentStrategy strategie, DPS dps, List<Competence> competences, AssignmentSnapshot snapshot) {
+        return propose(strategie, dps, competences, snapshot, null);
+    }
+
+    /**
+     * Runs a strategy for a DPS without accessing the database, and records the solve phase in the statistics.
+     *
+     * @param strategie - the strategy
+     * @param dps - the DPS
+     * @param competences - the required skills of the DPS, one slot per element
+     * @param snapshot - the snapshot of the day of the DPS
+     * @param stats - the statistics of the assignment, may be null
+     * @return the proposal, to preview or to save
+     */
+    public static AssignmentProposal propose(AssignmentStrategy strategie, DPS dps, List<Competence> competences, AssignmentSnapshot snapshot,
+                                             AssignmentStats stats) {
+        if (dps == null || snapshot == null) {
+            throw new IllegalArgumentException("Un des arguments est null");
+        }
+        List<Secouriste> secouristes = snapshot.getSecouristes(dps);
+        AssignmentResult resultat = solve(strategie, competences, secouristes, snapshot, stats);
+        List<Affectation> affectations = new ArrayList<>();
+        List<Competence> nonCouvertes = new ArrayList<>();
+        int[] affectation = resultat.getAffectation();
+        for (int i = 0; i < affectation.length; i++) {
+            if (affectation[i] >= 0) {
+                affectations.add(new Affectation(secouristes.get(affectation[i]), dps, competences.get(i)));
+            } else {
+                nonCouvertes.add(competences.get(i));
+            }
+        }
+        return new AssignmentProposal(dps, affectations, nonCouvertes, resultat);
+    }
+}
@@ -0,0 +1,60 @@
+package model.graph.assignment;
+
+import model.data.persistence.Competence;
+import model.data.persistence.Necessite;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Assignment algorithm that can be registered in {@link AssignmentStrategies}.
+ * A strategy only computes which rescuer holds each required skill: it never accesses the database.
+ * An instance may keep the state of its last computation, so a new instance is created for each assignment.
+ *
+ * @author L. Carré, G. Potay, C. Brocart, T.Brami-Coatual
+ * @version 1.0
+ */
+public interface AssignmentStrategy {
+
+    /**
+     * Get the name of the strategy, as registered in {@link AssignmentStrategies}
+     * @return the name of the strategy
+     */
+    String getNom();
+
+    /**
+     * Computes the assignment of the required skills.
+     *
+     * @param competences - the required skills, one slot per element
+     * @param competencesSecouristes - the skills owned by each rescuer
+     * @param catalogue - all the skills that exist
+     * @param necessites - the dependencies between skills
+     * @return for each slot, the index of the assigned rescuer, or -1
+     */
+    int[] solve(List<Competence> competences, List<Set<String>> competencesSecouristes, List<Competence> catalogue, List<Necessite> necessites);
+
+    /**
+     * Computes the assignment of the required skills, and counts the work of the search in the statistics.
+     * By default, the strategy has nothing to count.
+     *
+     * @param competences - the required skills, one slot per element
+     * @param competencesSecouristes - the skills owned by each rescuer
+     * @param catalogue - all the skills that exist
+     * @param necessites - the dependencies between skills
+     * @param stats - the statistics to update, or null to count nothing
+     * @return for each slot, the index of the assigned rescuer, or -1
+     */
+    default int[] solve(List<Competence> competences, List<Set<String>> competencesSecouristes, List<Competence> catalogue,
+                        List<Necessite> necessites, AssignmentStats stats) {
+        return solve(competences, competencesSecouristes, catalogue, necessites);
+    }
+
+    /**
+     * Checks if the last computed assignment covers as many skills as possible.
+     *
+     * @return true if the last assignment is proven optimal, false otherwise
+     */
+    default boolean estOptimale() {
+        return true;
+    }
+}
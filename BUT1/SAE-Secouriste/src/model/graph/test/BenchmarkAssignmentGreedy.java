@@ -0,0 +1,175 @@
+package model.graph.test;
+
+import model.data.persistence.*;
+import model.graph.assignment.AssignmentGreedy;
+import model.graph.assignment.AssignmentProposal;
+import model.graph.assignment.AssignmentSnapshot;
+import model.graph.assignment.AssignmentStrategies;
+
+import java.util.*;
+
+/**
+ * Benchmark de l'algorithme glouton sur des milliers de secouristes synthétiques.
+ * Compare la version à masques de bits avec l'ancienne table croisée d'objets Long,
+ * recopiée ici comme référence, et vérifie que les deux produisent les mêmes affectations.
+ *
+ * @author L. Carré, G. Potay, C. Brocart, T.Brami-Coatual
+ * @version 1.0
+ */
+public class BenchmarkAssignmentGreedy {
+
+    private static final String[] CATALOGUE = {"CE", "CO", "CP", "PSE1", "PSE2", "PBC", "SSA", "PBF", "VPSP"};
+
+    // Nombre d'exécutions mesurées, après autant d'exécutions de chauffe
+    private static final int NB_ITERATIONS = 5;
+
+    /**
+     * Crée un snapshot de secouristes synthétiques, chacun possédant de 1 à 4 compétences
+     */
+    private static AssignmentSnapshot snapshot(int nbSecouristes, Random random) {
+        List<Secouriste> secouristes = new ArrayList<>();
+        Map<Long, List<Competence>> possessions = new HashMap<>();
+        for (long id = 0; id < nbSecouristes; id++) {
+            // Photo vide : évite de charger l'image par défaut pour chaque secouriste
+            secouristes.add(new Secouriste(id, "Nom" + id, "Prenom" + id, "01/01/1990", "0123456789", "Adresse " + id, new byte[0]));
+            List<Competence> possedees = new ArrayList<>();
+            int nb = 1 + random.nextInt(4);
+            for (int k = 0; k < nb; k++) {
+                possedees.add(new Competence(CATALOGUE[random.nextInt(CATALOGUE.length)]));
+            }
+            possessions.put(id, possedees);
+        }
+        return new AssignmentSnapshot(new Journee(1, 6, 2030), 1L, secouristes, possessions,
+                new HashSet<>(), Arrays.asList(CATALOGUE), new ArrayList<>());
+    }
+
+    /**
+     * Ancienne version de l'algorithme glouton, basée sur une table ArrayList<ArrayList<Long>>
+     * recalculée à chaque étape. Elle ne sert que de référence pour le benchmark.
+     *
+     * @return les affectations sous la forme "id:compétence"
+     */
+    private static List<String> gloutonReference(List<Competence> besoin, AssignmentSnapshot snapshot) {
+        List<String> competences = snapshot.getCatalogue();
+        ArrayList<Competence> competencesBesoins = new ArrayList<>(besoin);
+        ArrayList<ArrayList<Long>> tab = new ArrayList<>();
+        for (Secouriste secouriste : snapshot.getSecouristes()) {
+            ArrayList<Long> ligne = new ArrayList<>();
+            ligne.add(secouriste.getIdSecouriste());
+            ArrayList<String> compSecouriste = new ArrayList<>(snapshot.getCompetences(secouriste));
+            for (String competence : competences) {
+                ligne.add(compSecouriste.contains(competence) ? 1L : 0L);
+            }
+            tab.add(ligne);
+        }
+
+        List<String> ret = new ArrayList<>();
+        while (!competencesBesoins.isEmpty() && !tab.isEmpty()) {
+            long[] compNombre = new long[competences.size()];
+            for (ArrayList<Long> ligne : tab) {
+                for (int i = 1; i < ligne.size(); i++) {
+                    compNombre[i - 1] += ligne.get(i);
+                }
+            }
+            ArrayList<String> besoinsString = new ArrayList<>();
+            for (Competence competence : competencesBesoins) {
+                besoinsString.add(competence.getIntitule());
+            }
+            int indiceComp = 0;
+            long valMin = Long.MAX_VALUE;
+            for (int i = 0; i < compNombre.length; i++) {
+                if (besoinsString.contains(competences.get(i)) && compNombre[i] < valMin) {
+                    valMin = compNombre[i];
+                    indiceComp = i;
+                }
+            }
+
+            ArrayList<Long> choisi = null;
+            long sommeMin = Long.MAX_VALUE;
+            for (ArrayList<Long> ligne : tab) {
+                if (ligne.get(indiceComp + 1) == 1) {
+                    long somme = 0;
+                    for (int x = 1; x < ligne.size(); x++) {
+                        somme += ligne.get(x);
+                    }
+                    if (somme < sommeMin) {
+                        sommeMin = somme;
+                        choisi = ligne;
+                    }
+                }
+            }
+
+            String intitule = competences.get(indiceComp);
+            for (int i = 0; i < competencesBesoins.size(); i++) {
+                if (competencesBesoins.get(i).getIntitule().equals(intitule)) {
+                    competencesBesoins.remove(i);
+                    break;
+                }
+            }
+            if (choisi != null) {
+                ret.add(choisi.get(0) + ":" + intitule);
+                tab.remove(choisi);
+            }
+        }
+        return ret;
+    }
+
+    /**
+     * Compare les deux versions sur un nombre de secouristes donné
+     */
+    void testCasBenchmark(int nbSecouristes, int nbPostes) {
+        System.out.println("=== Benchmark avec " + nbSecouristes + " secouristes, " + nbPostes + " postes ===");
+
+        Random random = new Random(nbSecouristes);
+        AssignmentSnapshot snapshot = snapshot(nbSecouristes, random);
+        List<Competence> besoin = new ArrayList<>();
+        for (int i = 0; i < nbPostes; i++) {
+            besoin.add(new Competence(CATALOGUE[random.nextInt(CATALOGUE.length)]));
+        }
+        DPS dps = new DPS(1L, "DPS Benchmark", 8, 18, new Site(1L, "Site", 45.9f, 6.4f), new Sport(1L, "Sport"), snapshot.getJournee());
+
+        List<String> reference = null;
+        List<String> bitset = null;
+        long tempsReference = 0;
+        long tempsBitset = 0;
+        for (int i = 0; i < 2 * NB_ITERATIONS; i++) {
+            long debut = System.nanoTime();
+            reference = gloutonReference(besoin, snapshot);
+            long milieu = System.nanoTime();
+            AssignmentProposal proposal = AssignmentStrategies.propose(new AssignmentGreedy(), dps, besoin, snapshot);
+            long fin = System.nanoTime();
+            bitset = new ArrayList<>();
+            for (Affectation affectation : proposal.getAffectations()) {
+                bitset.add(affectation.getSecouristeAffect().getIdSecouriste() + ":" + affectation.getCompetenceAffect().getIntitule());
+            }
+
+            // Les premières exécutions servent à chauffer la JVM
+            if (i >= NB_ITERATIONS) {
+                tempsReference += milieu - debut;
+                tempsBitset += fin - milieu;
+            }
+        }
+
+        System.out.println("  Table d'objets Long : " + tempsReference / NB_ITERATIONS / 1_000 + " µs");
+        System.out.println("  Masques de bits     : " + tempsBitset / NB_ITERATIONS / 1_000 + " µs");
+        System.out.println("  Gain                : x" + String.format("%.1f", (double) tempsReference / Math.max(1, tempsBitset)));
+        // La proposition liste les affectations dans l'ordre des postes, la référence dans l'ordre de sélection
+        if (new HashSet<>(reference).equals(new HashSet<>(bitset)) && reference.size() == bitset.size()) {
+            System.out.println("  ✓ Affectations identiques (" + bitset.size() + ")");
+        } else {
+            System.err.println("  ✗ Affectations différentes : " + reference + " au lieu de " + bitset);
+        }
+        System.out.println();
+    }
+
+    /**
+     * Point d'entrée du benchmark
+     */
+    public static void main(String[] args) {
+        BenchmarkAssignmentGreedy benchmark = new BenchmarkAssignmentGreedy();
+        benchmark.testCasBenchmark(100, 20);
+        benchmark.testCasBenchmark(1_000, 50);
+        benchmark.testCasBenchmark(10_000, 100);
+        benchmark.testCasBenchmark(10_000, 2_000);
+    }
+}
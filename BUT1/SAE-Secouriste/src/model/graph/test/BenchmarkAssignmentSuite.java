@@ -0,0 +1,273 @@
+package model.graph.test;
+
+import model.data.persistence.Competence;
+import model.data.persistence.Necessite;
+import model.graph.assignment.AssignmentExhaustive;
+import model.graph.assignment.AssignmentFlow;
+import model.graph.assignment.AssignmentMinCost;
+import model.graph.assignment.AssignmentStrategies;
+import model.graph.utils.MatrixUtils;
+import model.graph.utils.SkillClosure;
+
+import java.lang.management.ManagementFactory;
+import java.util.*;
+import java.util.function.Supplier;
+
+/**
+ * Suite de benchmarks des moteurs d'affectation, sur des instances réalistes générées par {@link InstanceGenerator}.
+ * Chaque stratégie du registre est mesurée de 10 à 50 000 secouristes, ainsi que la fermeture des compétences
+ * et les constructions de matrices. Pour chaque mesure, le tableau donne côte à côte le débit, le taux
+ * d'allocation du thread de mesure et la qualité de la solution : couverture, écart à la couverture maximale
+ * (calculée par le flot) et nombre de postes tenus par un secouriste surqualifié.
+ * Les stratégies sont sautées sur les tailles qui dépassent leur budget de calcul.
+ *
+ * Utilisation : java model.graph.test.BenchmarkAssignmentSuite [nombre maximal de secouristes]
+ *
+ * @author L. Carré, G. Potay, C. Brocart, T.Brami-Coatual
+ * @version 1.0
+ */
+public class BenchmarkAssignmentSuite {
+
+    // Graine des instances, pour des mesures reproductibles
+    private static final long GRAINE = 2030;
+
+    // Tailles mesurées : {nombre de secouristes, nombre de postes}
+    private static final int[][] TAILLES = {{10, 6}, {100, 12}, {1_000, 40}, {10_000, 200}, {50_000, 500}};
+
+    // Durée de chauffe et de mesure de chaque benchmark, et nombre minimal d'exécutions mesurées
+    private static final long CHAUFFE_MS = 300;
+    private static final long MESURE_MS = 1_000;
+    private static final int MIN_EXECUTIONS = 3;
+
+    // Budgets au-delà desquels une stratégie n'est pas mesurée
+    private static final int MAX_POSTES_EXACT = 12;
+    private static final int MAX_SECOURISTES_EXACT = 1_000;
+    private static final long MAX_COUT_MIN = 200_000_000L;
+
+    // Résultat de la dernière exécution, lu par personne : empêche le JIT de supprimer le calcul
+    private static volatile Object puits;
+
+    private static final com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    /**
+     * Mesure d'un benchmark : débit et allocation par exécution
+     */
+    private static final class Mesure {
+        private final double operationsParSeconde;
+        private final double octetsParOperation;
+        private final double megaOctetsParSeconde;
+
+        Mesure(long nbExecutions, long nanos, long octets) {
+            this.operationsParSeconde = nbExecutions * 1e9 / nanos;
+            this.octetsParOperation = (double) octets / nbExecutions;
+            this.megaOctetsParSeconde = octets * 1e9 / nanos / (1024 * 1024);
+        }
+    }
+
+    /**
+     * Exécute un benchmark pendant la chauffe, puis pendant la mesure.
+     * Seule l'allocation du thread courant est comptée (pas celle des tâches fork/join).
+     */
+    private static <T> Mesure mesurer(Supplier<T> operation) {
+        long finChauffe = System.nanoTime() + CHAUFFE_MS * 1_000_000;
+        for (int n = 0; n < MIN_EXECUTIONS || System.nanoTime() < finChauffe; n++) {
+            puits = operation.get();
+        }
+
+        long nbExecutions = 0;
+        long octetsDebut = threads.getCurrentThreadAllocatedBytes();
+        long debut = System.nanoTime();
+        long fin = debut + MESURE_MS * 1_000_000;
+        long maintenant = debut;
+        while (nbExecutions < MIN_EXECUTIONS || maintenant < fin) {
+            puits = operation.get();
+            nbExecutions++;
+            maintenant = System.nanoTime();
+        }
+        long octets = threads.getCurrentThreadAllocatedBytes() - octetsDebut;
+        return new Mesure(nbExecutions, maintenant - debut, octets);
+    }
+
+    private static void entete(String titre) {
+        System.out.println("=== " + titre + " ===");
+        System.out.println(String.format("  %-12s %10s %12s %12s %12s %10s %8s %12s",
+                "benchmark", "taille", "ops/s", "octets/op", "Mo/s alloués", "couverture", "écart", "surqualifiés"));
+    }
+
+    private static void ligne(String nom, String taille, Mesure mesure, String couverture, String ecart, String surqualifies) {
+        System.out.println(String.format("  %-12s %10s %12.1f %12.0f %12.1f %10s %8s %12s", nom, taille,
+                mesure.operationsParSeconde, mesure.octetsParOperation, mesure.megaOctetsParSeconde, couverture, ecart, surqualifies));
+    }
+
+    /**
+     * Vérifie qu'une stratégie tient dans son budget sur une taille donnée
+     */
+    private static boolean dansLeBudget(String nom, int nbSecouristes, int nbPostes) {
+        switch (nom) {
+            case AssignmentExhaustive.Strategie.NOM_EXACT:
+                return nbPostes <= MAX_POSTES_EXACT && nbSecouristes <= MAX_SECOURISTES_EXACT;
+            case AssignmentMinCost.NOM:
+                return (long) nbPostes * nbPostes * nbSecouristes <= MAX_COUT_MIN;
+            default:
+                return true;
+        }
+    }
+
+    /**
+     * Compte les postes tenus par un secouriste qui n'a pas exactement la compétence demandée
+     */
+    private static int surqualifies(InstanceGenerator.Instance instance, int[] affectation) {
+        int ret = 0;
+        for (int i = 0; i < affectation.length; i++) {
+            if (affectation[i] >= 0 && !instance.competencesSecouristes.get(affectation[i]).contains(instance.postes.get(i).getIntitule())) {
+                ret++;
+            }
+        }
+        return ret;
+    }
+
+    /**
+     * Vérifie qu'une affectation est valide : un poste par secouriste, tenu par un secouriste qui couvre la compétence
+     */
+    private static boolean valide(InstanceGenerator.Instance instance, int[] affectation) {
+        SkillClosure fermeture = SkillClosure.of(instance.catalogue, instance.necessites);
+        Set<Integer> utilises = new HashSet<>();
+        for (int i = 0; i < affectation.length; i++) {
+            if (affectation[i] >= 0) {
+                Set<String> possedees = instance.competencesSecouristes.get(affectation[i]);
+                if (!utilises.add(affectation[i])
+                        || !fermeture.couvre(possedees, fermeture.masque(possedees), instance.postes.get(i).getIntitule())) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Mesure chaque stratégie du registre sur chaque taille
+     */
+    void benchmarkStrategies(int maxSecouristes) {
+        entete("Stratégies d'affectation");
+        int erreurs = 0;
+        for (int[] taille : TAILLES) {
+            if (taille[0] > maxSecouristes) {
+                continue;
+            }
+            InstanceGenerator.Instance instance = new InstanceGenerator(GRAINE + taille[0]).generer(taille[0], taille[1]);
+            int optimum = AssignmentStrategies.solve(AssignmentStrategies.create(AssignmentFlow.NOM), instance.postes,
+                    instance.competencesSecouristes, instance.catalogue, instance.necessites).getNbAffectees();
+
+            for (String nom : AssignmentStrategies.getNoms()) {
+                if (!dansLeBudget(nom, taille[0], taille[1])) {
+                    continue;
+                }
+                int[] affectation = AssignmentStrategies.solve(AssignmentStrategies.create(nom), instance.postes,
+                        instance.competencesSecouristes, instance.catalogue, instance.necessites).getAffectation();
+                Mesure mesure = mesurer(() -> AssignmentStrategies.create(nom).solve(instance.postes,
+                        instance.competencesSecouristes, instance.catalogue, instance.necessites));
+
+                int couverts = 0;
+                for (int indice : affectation) {
+                    if (indice >= 0) {
+                        couverts++;
+                    }
+                }
+                if (!valide(instance, affectation) || couverts > optimum) {
+                    erreurs++;
+                }
+                ligne(nom, taille[0] + "x" + taille[1], mesure, couverts + "/" + taille[1], String.valueOf(optimum - couverts),
+                        String.valueOf(surqualifies(instance, affectation)));
+            }
+        }
+        afficher(erreurs, "Affectations valides et jamais au-delà de la couverture maximale");
+        System.out.println();
+    }
+
+    /**
+     * Mesure la fermeture des compétences, recalculée à chaque exécution, sur le catalogue réel et sur de grands catalogues
+     */
+    void benchmarkFermeture() {
+        entete("Fermeture des compétences");
+        for (int nbCompetences : new int[]{InstanceGenerator.CATALOGUE.length, 500, 5_000}) {
+            List<Competence> catalogue = new ArrayList<>();
+            List<Necessite> necessites = new ArrayList<>();
+            catalogue(nbCompetences, catalogue, necessites);
+
+            Mesure mesure = mesurer(() -> {
+                SkillClosure.invalidate();
+                return SkillClosure.of(catalogue, necessites);
+            });
+            ligne("closure", String.valueOf(nbCompetences), mesure, "-", "-", "-");
+        }
+        SkillClosure.invalidate();
+        System.out.println();
+    }
+
+    /**
+     * Mesure les constructions de matrices de MatrixUtils
+     */
+    void benchmarkMatrices() {
+        entete("Constructions de matrices");
+        for (int nbCompetences : new int[]{InstanceGenerator.CATALOGUE.length, 500, 2_000}) {
+            List<Competence> catalogue = new ArrayList<>();
+            List<Necessite> necessites = new ArrayList<>();
+            catalogue(nbCompetences, catalogue, necessites);
+            List<String> intitules = new ArrayList<>();
+            for (Competence competence : catalogue) {
+                intitules.add(competence.getIntitule());
+            }
+
+            ligne("superieures", String.valueOf(nbCompetences),
+                    mesurer(() -> new MatrixUtils().buildAllSuperiorDependencies(catalogue, necessites)), "-", "-", "-");
+            ligne("inferieures", String.valueOf(nbCompetences),
+                    mesurer(() -> new MatrixUtils().buildAllInferiorDependencies(catalogue, necessites)), "-", "-", "-");
+            ligne("adjacence", String.valueOf(nbCompetences), mesurer(() -> {
+                MatrixUtils matrixUtils = new MatrixUtils();
+                return matrixUtils.createAdjacencyMatrix(matrixUtils.createSkillDependencyMap(intitules, necessites));
+            }), "-", "-", "-");
+        }
+        System.out.println();
+    }
+
+    /**
+     * Catalogue réel, ou catalogue synthétique de filières de 5 compétences reliées entre elles
+     */
+    private static void catalogue(int nbCompetences, List<Competence> catalogue, List<Necessite> necessites) {
+        if (nbCompetences == InstanceGenerator.CATALOGUE.length) {
+            catalogue.addAll(InstanceGenerator.catalogue());
+            necessites.addAll(InstanceGenerator.necessites());
+            return;
+        }
+        Random random = new Random(GRAINE + nbCompetences);
+        for (int k = 0; k < nbCompetences; k++) {
+            catalogue.add(new Competence("C" + k));
+            if (k % 5 != 0) {
+                necessites.add(new Necessite(catalogue.get(k - 1), catalogue.get(k)));
+            } else if (k > 0) {
+                // Chaque nouvelle filière part d'une compétence d'une filière précédente
+                necessites.add(new Necessite(catalogue.get(random.nextInt(k)), catalogue.get(k)));
+            }
+        }
+    }
+
+    private void afficher(int erreurs, String description) {
+        if (erreurs == 0) {
+            System.out.println("✓ " + description);
+        } else {
+            System.err.println("✗ " + description + " : " + erreurs + " erreurs");
+        }
+    }
+
+    /**
+     * Point d'entrée de la suite de benchmarks
+     */
+    public static void main(String[] args) {
+        int maxSecouristes = args.length > 0 ? Integer.parseInt(args[0]) : Integer.MAX_VALUE;
+        BenchmarkAssignmentSuite benchmark = new BenchmarkAssignmentSuite();
+        benchmark.benchmarkStrategies(maxSecouristes);
+        benchmark.benchmarkFermeture();
+        benchmark.benchmarkMatrices();
+    }
+}
@@ -0,0 +1,178 @@
+package model.graph.test;
+
+import model.data.persistence.*;
+import model.graph.assignment.AssignmentSnapshot;
+
+import java.util.*;
+
+/**
+ * Générateur d'instances d'affectation réalistes et reproductibles, pour les benchmarks.
+ * Le catalogue et les nécessités sont ceux de FillDatabase.sql. Chaque secouriste a un niveau
+ * dans la filière PSE1 -> PSE2 -> CE -> CP -> CO (avec toutes les compétences inférieures),
+ * et éventuellement des qualifications complémentaires (SSA, VPSP, PBF, PBC).
+ * Les besoins demandent surtout du PSE1 et du PSE2, avec un encadrement plus rare.
+ * Une même graine produit toujours la même instance.
+ *
+ * @author L. Carré, G. Potay, C. Brocart, T.Brami-Coatual
+ * @version 1.0
+ */
+public class InstanceGenerator {
+
+    public static final String[] CATALOGUE = {"PSE1", "PSE2", "CE", "CP", "CO", "SSA", "VPSP", "PBC", "PBF"};
+
+    // Filière principale, de la moins qualifiée à la plus qualifiée
+    private static final String[] FILIERE = {"PSE1", "PSE2", "CE", "CP", "CO"};
+
+    // Répartition des secouristes selon leur niveau dans la filière (en %)
+    private static final int[] REPARTITION_NIVEAUX = {45, 30, 15, 7, 3};
+
+    // Probabilité (en %) de chaque qualification complémentaire
+    private static final int PROBA_SSA = 15;
+    private static final int PROBA_VPSP = 20;
+    private static final int PROBA_PBF = 12;
+    private static final int PROBA_PBC = 6;
+
+    // Poids de chaque compétence dans les besoins, dans l'ordre du catalogue
+    private static final int[] POIDS_BESOINS = {35, 30, 10, 4, 1, 8, 6, 2, 4};
+
+    private final Random random;
+
+    /**
+     * Instance générée : les postes, les compétences des secouristes, le catalogue et les nécessités.
+     */
+    public static final class Instance {
+        public final List<Competence> postes;
+        public final List<Set<String>> competencesSecouristes;
+        public final List<Competence> catalogue;
+        public final List<Necessite> necessites;
+
+        Instance(List<Competence> postes, List<Set<String>> competencesSecouristes, List<Competence> catalogue, List<Necessite> necessites) {
+            this.postes = postes;
+            this.competencesSecouristes = competencesSecouristes;
+            this.catalogue = catalogue;
+            this.necessites = necessites;
+        }
+
+        /**
+         * Crée le snapshot d'une journée où tous les secouristes de l'instance sont disponibles.
+         * L'ID de chaque secouriste est son indice.
+         */
+        public AssignmentSnapshot snapshot() {
+            List<Secouriste> secouristes = new ArrayList<>();
+            Map<Long, List<Competence>> possessions = new HashMap<>();
+            for (int j = 0; j < competencesSecouristes.size(); j++) {
+                // Photo vide : évite de charger l'image par défaut pour chaque secouriste
+                secouristes.add(new Secouriste(j, "Nom" + j, "Prenom" + j, "01/01/1990", "0123456789", "Adresse " + j, new byte[0]));
+                List<Competence> possedees = new ArrayList<>();
+                for (String intitule : competencesSecouristes.get(j)) {
+                    possedees.add(new Competence(intitule));
+                }
+                possessions.put((long) j, possedees);
+            }
+            return new AssignmentSnapshot(new Journee(1, 6, 2030), 1L, secouristes, possessions, new HashSet<>(),
+                    Arrays.asList(CATALOGUE), necessites);
+        }
+    }
+
+    /**
+     * Constructeur du générateur
+     *
+     * @param graine graine du générateur aléatoire
+     */
+    public InstanceGenerator(long graine) {
+        this.random = new Random(graine);
+    }
+
+    /**
+     * Nécessités de FillDatabase.sql
+     */
+    public static List<Necessite> necessites() {
+        List<Necessite> ret = new ArrayList<>();
+        for (int k = 0; k + 1 < FILIERE.length; k++) {
+            ret.add(new Necessite(new Competence(FILIERE[k]), new Competence(FILIERE[k + 1])));
+        }
+        ret.add(new Necessite(new Competence("SSA"), new Competence("PSE1")));
+        ret.add(new Necessite(new Competence("VPSP"), new Competence("PSE2")));
+        ret.add(new Necessite(new Competence("PBF"), new Competence("PBC")));
+        return ret;
+    }
+
+    /**
+     * Catalogue de FillDatabase.sql
+     */
+    public static List<Competence> catalogue() {
+        List<Competence> ret = new ArrayList<>();
+        for (String intitule : CATALOGUE) {
+            ret.add(new Competence(intitule));
+        }
+        return ret;
+    }
+
+    /**
+     * Génère les compétences d'un secouriste
+     */
+    public Set<String> secouriste() {
+        Set<String> ret = new HashSet<>();
+        int niveau = tirer(REPARTITION_NIVEAUX);
+        ret.addAll(Arrays.asList(FILIERE).subList(0, niveau + 1));
+        if (random.nextInt(100) < PROBA_SSA) {
+            ret.add("SSA");
+        }
+        // Le VPSP n'est ouvert qu'aux titulaires du PSE2
+        if (niveau >= 1 && random.nextInt(100) < PROBA_VPSP) {
+            ret.add("VPSP");
+        }
+        if (random.nextInt(100) < PROBA_PBC) {
+            ret.add("PBC");
+            ret.add("PBF");
+        } else if (random.nextInt(100) < PROBA_PBF) {
+            ret.add("PBF");
+        }
+        return ret;
+    }
+
+    /**
+     * Génère une compétence demandée
+     */
+    public Competence poste() {
+        return new Competence(CATALOGUE[tirer(POIDS_BESOINS)]);
+    }
+
+    /**
+     * Génère une instance
+     *
+     * @param nbSecouristes nombre de secouristes
+     * @param nbPostes nombre de compétences demandées
+     */
+    public Instance generer(int nbSecouristes, int nbPostes) {
+        if (nbSecouristes < 0 || nbPostes < 0) {
+            throw new IllegalArgumentException("Taille d'instance négative");
+        }
+        List<Set<String>> secouristes = new ArrayList<>();
+        for (int j = 0; j < nbSecouristes; j++) {
+            secouristes.add(secouriste());
+        }
+        List<Competence> postes = new ArrayList<>();
+        for (int i = 0; i < nbPostes; i++) {
+            postes.add(poste());
+        }
+        return new Instance(postes, secouristes, catalogue(), necessites());
+    }
+
+    /**
+     * Tire un indice selon des poids
+     */
+    private int tirer(int[] poids) {
+        int total = 0;
+        for (int p : poids) {
+            total += p;
+        }
+        int tirage = random.nextInt(total);
+        int ret = 0;
+        while (tirage >= poids[ret]) {
+            tirage -= poids[ret];
+            ret++;
+        }
+        return ret;
+    }
+}
@@ -0,0 +1,95 @@
+package model.graph.test;
+
+import model.data.persistence.Journee;
+import model.graph.assignment.AssignmentRecording;
+import model.graph.assignment.AssignmentReplay;
+import model.graph.assignment.AssignmentStrategies;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+
+/**
+ * Outil de comparaison des stratégies d'affectation sur des journées réelles.
+ * La commande capture enregistre une journée de la base, sans aucune donnée personnelle ;
+ * la commande replay rejoue hors ligne des journées enregistrées à travers les stratégies
+ * et affiche leur couverture, leur surqualification, leurs temps de calcul et leur allocation.
+ *
+ * Utilisation :
+ *   java model.graph.test.ReplayAssignments capture jour mois annee fichier
+ *   java model.graph.test.ReplayAssignments replay [-r repetitions] [-s strategie,strategie] fichier...
+ *
+ * @author L. Carré, G. Potay, C. Brocart, T.Brami-Coatual
+ * @version 1.0
+ */
+public class ReplayAssignments {
+
+    // Nombre de répétitions par défaut de chaque journée
+    private static final int REPETITIONS = 20;
+
+    private static void usage() {
+        System.err.println("Utilisation :");
+        System.err.println("  capture jour mois annee fichier");
+        System.err.println("  replay [-r repetitions] [-s strategie,strategie] fichier...");
+        System.err.println("Stratégies : " + AssignmentStrategies.getNoms());
+    }
+
+    /**
+     * Enregistre une journée de la base dans un fichier
+     */
+    private static void capture(String[] args) throws IOException {
+        Journee journee = new Journee(Integer.parseInt(args[1]), Integer.parseInt(args[2]), Integer.parseInt(args[3]));
+        AssignmentRecording enregistrement = AssignmentRecording.capture(journee);
+        enregistrement.write(Paths.get(args[4]));
+
+        int nbPostes = 0;
+        for (AssignmentRecording.Evenement evenement : enregistrement.getEvenements()) {
+            nbPostes += evenement.getBesoins().size();
+        }
+        System.out.println(journee + " : " + enregistrement.getEvenements().size() + " DPS, " + nbPostes + " postes, "
+                + enregistrement.getCompetencesSecouristes().size() + " secouristes -> " + args[4]);
+    }
+
+    /**
+     * Rejoue des journées enregistrées à travers les stratégies demandées
+     */
+    private static void replay(String[] args) throws IOException {
+        int repetitions = REPETITIONS;
+        List<String> strategies = AssignmentStrategies.getNoms();
+        List<AssignmentRecording> enregistrements = new ArrayList<>();
+        for (int k = 1; k < args.length; k++) {
+            if (args[k].equals("-r") && k + 1 < args.length) {
+                repetitions = Integer.parseInt(args[++k]);
+            } else if (args[k].equals("-s") && k + 1 < args.length) {
+                strategies = Arrays.asList(args[++k].split(","));
+            } else {
+                Path fichier = Paths.get(args[k]);
+                enregistrements.add(AssignmentRecording.read(fichier));
+            }
+        }
+        if (enregistrements.isEmpty()) {
+            usage();
+            return;
+        }
+
+        System.out.println(enregistrements.size() + " journée(s), " + repetitions + " répétition(s)");
+        System.out.println(AssignmentReplay.entete());
+        for (String strategie : strategies) {
+            System.out.println(AssignmentReplay.replay(strategie, enregistrements, repetitions));
+        }
+    }
+
+    /**
+     * Point d'entrée de l'outil
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length == 5 && args[0].equals("capture")) {
+            capture(args);
+        } else if (args.length >= 2 && args[0].equals("replay")) {
+            replay(args);
+        } else {
+            usage();
+        }
+    }
+}
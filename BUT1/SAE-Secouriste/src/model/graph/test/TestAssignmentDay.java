@@ -0,0 +1,210 @@
+package model.graph.test;
+
+import model.data.persistence.*;
+import model.graph.assignment.AssignmentDay;
+import model.graph.assignment.AssignmentMinCost;
+import model.graph.assignment.AssignmentSnapshot;
+
+import java.util.*;
+
+/**
+ * Classe de test pour l'affectation de tous les DPS d'une journée en un seul réseau.
+ * Vérifie que le résultat ne dépend plus de l'ordre de création des DPS.
+ *
+ * @author L. Carré, G. Potay, C. Brocart, T.Brami-Coatual
+ * @version 1.0
+ */
+public class TestAssignmentDay {
+
+    // Catalogue de test : PSE1 -> PSE2 -> CE, SSA -> PSE1, PBF -> PBC
+    private static final String[] CATALOGUE = {"PSE1", "PSE2", "CE", "SSA", "PBC", "PBF"};
+    private static final List<Necessite> necessites = new ArrayList<>();
+    private static final Journee journee = new Journee(14, 7, 2030);
+    private static final Site site = new Site(1L, "La Clusaz - Ski nordique/Biathlon", 45.9044f, 6.4231f);
+    private static final Sport sport = new Sport(1L, "Ski");
+
+    /**
+     * Initialise les données de test
+     */
+    private static void initialiserDonneesTest() {
+        necessites.add(new Necessite(new Competence("PSE1"), new Competence("PSE2")));
+        necessites.add(new Necessite(new Competence("PSE2"), new Competence("CE")));
+        necessites.add(new Necessite(new Competence("SSA"), new Competence("PSE1")));
+        necessites.add(new Necessite(new Competence("PBF"), new Competence("PBC")));
+    }
+
+    /**
+     * Crée un snapshot de la journée de test
+     *
+     * @param secouristes compétences de chaque secouriste, l'ID du secouriste étant son indice
+     */
+    private static AssignmentSnapshot snapshot(String[][] secouristes) {
+        List<Secouriste> liste = new ArrayList<>();
+        Map<Long, List<Competence>> possessions = new HashMap<>();
+        for (int j = 0; j < secouristes.length; j++) {
+            liste.add(new Secouriste(j, "Nom" + j, "Prenom" + j, "01/01/1990", "0123456789", "Adresse " + j, new byte[0]));
+            List<Competence> possedees = new ArrayList<>();
+            for (String intitule : secouristes[j]) {
+                possedees.add(new Competence(intitule));
+            }
+            possessions.put((long) j, possedees);
+        }
+        return new AssignmentSnapshot(journee, 1L, liste, possessions, new HashSet<>(), Arrays.asList(CATALOGUE), necessites);
+    }
+
+    private static ArrayList<Competence> competences(String... intitules) {
+        ArrayList<Competence> ret = new ArrayList<>();
+        for (String intitule : intitules) {
+            ret.add(new Competence(intitule));
+        }
+        return ret;
+    }
+
+    /**
+     * Affecte les DPS un par un dans l'ordre donné, comme launchAffectation, pour comparer
+     *
+     * @return le nombre de postes couverts
+     */
+    private static int unParUn(List<DPS> dpsJour, Map<Long, ArrayList<Competence>> besoins, String[][] secouristes) {
+        Set<Integer> utilises = new HashSet<>();
+        int ret = 0;
+        List<Competence> catalogue = competences(CATALOGUE);
+        for (DPS dps : dpsJour) {
+            List<Integer> libres = new ArrayList<>();
+            List<Set<String>> competencesSecouristes = new ArrayList<>();
+            for (int j = 0; j < secouristes.length; j++) {
+                if (!utilises.contains(j)) {
+                    libres.add(j);
+                    competencesSecouristes.add(new HashSet<>(Arrays.asList(secouristes[j])));
+                }
+            }
+            int[] affectation = new AssignmentMinCost().solve(besoins.get(dps.getId()), competencesSecouristes, catalogue, necessites);
+            for (int indice : affectation) {
+                if (indice >= 0) {
+                    utilises.add(libres.get(indice));
+                    ret++;
+                }
+            }
+        }
+        return ret;
+    }
+
+    /**
+     * Test de cas pour la méthode solve
+     *
+     * @param besoinsDps compétences demandées par chaque DPS, dans l'ordre de création
+     * @param secouristes compétences de chaque secouriste
+     * @param attendu nombre de postes couverts attendu sur la journée
+     * @param description description du cas de test
+     */
+    void testCasSolve(String[][] besoinsDps, String[][] secouristes, int attendu, String description) {
+        System.out.println("=== Test: " + description + " ===");
+
+        List<DPS> dpsJour = new ArrayList<>();
+        Map<Long, ArrayList<Competence>> besoins = new HashMap<>();
+        for (int d = 0; d < besoinsDps.length; d++) {
+            DPS dps = new DPS(d + 1, "DPS " + (d + 1), 8, 18, site, sport, journee);
+            dpsJour.add(dps);
+            besoins.put(dps.getId(), competences(besoinsDps[d]));
+        }
+
+        List<Affectation> affectations = new AssignmentDay().solve(dpsJour, besoins, snapshot(secouristes));
+        int sequentiel = unParUn(dpsJour, besoins, secouristes);
+
+        Set<Long> secouristesUtilises = new HashSet<>();
+        boolean valide = true;
+        for (Affectation affectation : affectations) {
+            valide &= secouristesUtilises.add(affectation.getSecouristeAffect().getIdSecouriste());
+        }
+
+        if (affectations.size() == attendu && valide) {
+            System.out.println("✓ Test réussi : " + affectations.size() + " postes couverts (DPS un par un : " + sequentiel + ")");
+        } else {
+            System.err.println("✗ Test échoué : " + affectations.size() + " postes couverts au lieu de " + attendu);
+        }
+        System.out.println();
+    }
+
+    /**
+     * Tests principaux de l'affectation d'une journée
+     */
+    void testSolve() {
+        System.out.println("********** Tests Solve **********");
+
+        // Un par un, le DPS 1 prend le secouriste PSE1/PBC, moins qualifié, et le DPS 2 n'a plus de PBC
+        testCasSolve(new String[][]{{"PSE1"}, {"PBC"}},
+                new String[][]{{"PSE1", "PBC"}, {"CE"}},
+                2,
+                "L'ordre des DPS ne décide plus de la couverture");
+
+        testCasSolve(new String[][]{{"PSE1", "PSE1"}, {"CE"}, {"PBF"}},
+                new String[][]{{"CE"}, {"PSE1"}, {"PSE2"}, {"PBF"}},
+                4,
+                "Trois DPS couverts entièrement");
+
+        testCasSolve(new String[][]{{"CE"}, {"CE"}},
+                new String[][]{{"CE"}},
+                1,
+                "Un secouriste au plus une fois par journée");
+
+        testCasSolve(new String[][]{{}, {}},
+                new String[][]{{"CE"}},
+                0,
+                "Aucun besoin restant");
+    }
+
+    /**
+     * Test de performance avec une journée chargée
+     */
+    void testPerformances() {
+        System.out.println("********** Tests de Performance **********");
+
+        int[][] tailles = {{10, 100}, {30, 300}, {60, 1000}};
+        Random random = new Random(7);
+
+        for (int[] taille : tailles) {
+            System.out.println("=== Test performance avec " + taille[0] + " DPS et " + taille[1] + " secouristes ===");
+
+            List<DPS> dpsJour = new ArrayList<>();
+            Map<Long, ArrayList<Competence>> besoins = new HashMap<>();
+            int nbPostes = 0;
+            for (int d = 0; d < taille[0]; d++) {
+                DPS dps = new DPS(d + 1, "DPS " + (d + 1), 8, 18, site, sport, journee);
+                dpsJour.add(dps);
+                ArrayList<Competence> besoin = new ArrayList<>();
+                for (int i = 0; i < 1 + random.nextInt(6); i++) {
+                    besoin.add(new Competence(CATALOGUE[random.nextInt(CATALOGUE.length)]));
+                }
+                besoins.put(dps.getId(), besoin);
+                nbPostes += besoin.size();
+            }
+            String[][] secouristes = new String[taille[1]][];
+            for (int j = 0; j < taille[1]; j++) {
+                secouristes[j] = new String[]{CATALOGUE[random.nextInt(CATALOGUE.length)]};
+            }
+
+            long startTime = System.nanoTime();
+            List<Affectation> affectations = new AssignmentDay().solve(dpsJour, besoins, snapshot(secouristes));
+            long executionTime = (System.nanoTime() - startTime) / 1_000_000;
+
+            System.out.println("  Compétences couvertes: " + affectations.size() + "/" + nbPostes);
+            System.out.println("  Temps d'exécution: " + executionTime + " ms");
+            if (executionTime < 1000) {
+                System.out.println("  ✓ Performance acceptable");
+            } else {
+                System.out.println("  ⚠ Performance dégradée");
+            }
+        }
+        System.out.println();
+    }
+
+    /**
+     * Point d'entrée pour exécuter tous les tests
+     */
+    public static void main(String[] args) {
+        initialiserDonneesTest();
+        TestAssignmentDay test = new TestAssignmentDay();
+        test.testSolve();
+        test.testPerformances();
+    }
+}
@@ -1,16 +1,43 @@
 package model.graph.test;
 
+import model.data.persistence.Competence;
 import model.data.persistence.DPS;
 import model.data.persistence.Journee;
+import model.data.persistence.Necessite;
+import model.data.persistence.Secouriste;
 import model.data.persistence.Site;
 import model.data.persistence.Sport;
 import model.graph.assignment.AssignmentExhaustive;
 import model.graph.assignment.AssignmentGreedy;
+import model.graph.assignment.AssignmentProposal;
+import model.graph.assignment.AssignmentSnapshot;
+import model.graph.assignment.AssignmentStrategies;
+import model.graph.utils.BipartiteMatching;
 
-public class TestAssignmentExhaustive {
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
 
+public class TestAssignmentExhaustive {
 
+    // Dépendances de test : PSE1 -> PSE2 -> CE, SSA -> PSE1, PBF -> PBC
+    private static final String[] CATALOGUE = {"PSE1", "PSE2", "CE", "SSA", "PBC", "PBF"};
+    private static final List<Necessite> necessites = new ArrayList<>(Arrays.asList(
+            new Necessite(new Competence("PSE1"), new Competence("PSE2")),
+            new Necessite(new Competence("PSE2"), new Competence("CE")),
+            new Necessite(new Competence("SSA"), new Competence("PSE1")),
+            new Necessite(new Competence("PBF"), new Competence("PBC"))
+    ));
 
+    // Chaîne des compétences supérieures, pour construire le graphe de référence
+    private static final Map<String, List<String>> superieures = new HashMap<>();
+    static {
+        superieures.put("PSE1", Arrays.asList("PSE2", "CE"));
+        superieures.put("PSE2", Arrays.asList("CE"));
+        superieures.put("CE", new ArrayList<>());
+        superieures.put("SSA", Arrays.asList("PSE1", "PSE2", "CE"));
+        superieures.put("PBC", new ArrayList<>());
+        superieures.put("PBF", Arrays.asList("PBC"));
+    }
 
     /**
      * Main method to run the exhaustive test for assignment.
@@ -22,17 +49,350 @@ public class TestAssignmentExhaustive {
         TestAssignmentExhaustive test = new TestAssignmentExhaustive();
 
         // Run the exhaustive test
+        test.testSolve();
+        test.testComparaisonCouplage();
+        test.testPerformancesSolve();
+        test.testComparaisonParallele();
+        test.testPerformancesParallele();
+        test.testAnytime();
+        test.testPerformancesAnytime();
         test.testPerformances();
     }
 
+    /**
+     * Test de cas pour la méthode solve
+     *
+     * @param besoins compétences demandées
+     * @param secouristes compétences de chaque secouriste
+     * @param attendu nombre de postes couverts attendu
+     * @param description description du cas de test
+     */
+    void testCasSolve(String[] besoins, String[][] secouristes, int attendu, String description) {
+        System.out.println("=== Test: " + description + " ===");
+
+        List<Competence> competences = competences(besoins);
+        List<Set<String>> competencesSecouristes = new ArrayList<>();
+        for (String[] possedees : secouristes) {
+            competencesSecouristes.add(new HashSet<>(Arrays.asList(possedees)));
+        }
+
+        int[] affectation = AssignmentExhaustive.solve(competences, competencesSecouristes, necessites);
+        int couvertes = couvertes(affectation);
+
+        if (couvertes == attendu && affectationValide(affectation, competences, competencesSecouristes)) {
+            System.out.println("✓ Test réussi : " + Arrays.toString(affectation));
+        } else {
+            System.err.println("✗ Test échoué : " + Arrays.toString(affectation) + ", " + couvertes + " postes couverts au lieu de " + attendu);
+        }
+        System.out.println();
+    }
+
+    /**
+     * Tests principaux de la recherche exacte
+     */
+    void testSolve() {
+        System.out.println("********** Tests Solve **********");
+
+        testCasSolve(new String[]{"PSE1", "CE"},
+                new String[][]{{"CE"}, {"PSE1"}},
+                2,
+                "Compétence supérieure utilisée pour un poste inférieur");
+
+        testCasSolve(new String[]{"PSE1", "PSE1", "PSE1"},
+                new String[][]{{"PSE1"}, {"PSE2"}, {"PBC"}},
+                2,
+                "Postes identiques, un seul non couvert");
+
+        // Le premier secouriste essayé pour SSA doit être laissé à CE
+        testCasSolve(new String[]{"SSA", "CE"},
+                new String[][]{{"CE"}, {"PBC"}, {"SSA", "PBC"}},
+                2,
+                "Retour arrière nécessaire");
+
+        testCasSolve(new String[]{"PBF", "PBF"},
+                new String[][]{{"PSE1"}, {"CE"}},
+                0,
+                "Aucun secouriste qualifié");
+
+        testCasSolve(new String[]{},
+                new String[][]{{"PSE1"}},
+                0,
+                "Aucun poste");
+    }
+
+    /**
+     * Compare le nombre de postes couverts avec un couplage maximum (Hopcroft-Karp)
+     * sur des instances aléatoires
+     */
+    void testComparaisonCouplage() {
+        System.out.println("********** Comparaison avec le couplage maximum **********");
+
+        Random random = new Random(11);
+        int nbErreurs = 0;
+        int nbInstances = 300;
+        for (int n = 0; n < nbInstances; n++) {
+            List<Competence> competences = besoinAleatoire(1 + random.nextInt(12), random);
+            List<Set<String>> competencesSecouristes = secouristesAleatoires(1 + random.nextInt(15), random);
+
+            int[] affectation = AssignmentExhaustive.solve(competences, competencesSecouristes, necessites);
+            int attendu = couplageMaximum(competences, competencesSecouristes);
+            if (couvertes(affectation) != attendu || !affectationValide(affectation, competences, competencesSecouristes)) {
+                nbErreurs++;
+            }
+        }
+
+        if (nbErreurs == 0) {
+            System.out.println("✓ Test réussi : " + nbInstances + " instances optimales");
+        } else {
+            System.err.println("✗ Test échoué : " + nbErreurs + " instances non optimales sur " + nbInstances);
+        }
+        System.out.println();
+    }
+
+    /**
+     * Test de performance de la recherche exacte sur des journées réalistes
+     */
+    void testPerformancesSolve() {
+        System.out.println("********** Tests de Performance Solve **********");
+
+        int[][] tailles = {{16, 10}, {50, 20}, {100, 30}, {200, 40}, {500, 60}, {30, 60}, {100, 150}};
+        Random random = new Random(5);
+
+        for (int[] taille : tailles) {
+            System.out.println("=== Test performance avec " + taille[0] + " secouristes, " + taille[1] + " postes ===");
+
+            List<Set<String>> competencesSecouristes = secouristesAleatoires(taille[0], random);
+            List<Competence> competences = besoinAleatoire(taille[1], random);
+
+            long startTime = System.nanoTime();
+            int[] affectation = AssignmentExhaustive.solve(competences, competencesSecouristes, necessites);
+            long executionTime = (System.nanoTime() - startTime) / 1_000_000;
+
+            System.out.println("  Compétences couvertes: " + couvertes(affectation) + "/" + competences.size()
+                    + " (optimum " + couplageMaximum(competences, competencesSecouristes) + ")");
+            System.out.println("  Temps d'exécution: " + executionTime + " ms");
+            if (executionTime < 1000) {
+                System.out.println("  ✓ Performance acceptable");
+            } else {
+                System.out.println("  ⚠ Performance dégradée");
+            }
+        }
+        System.out.println();
+    }
+
+    /**
+     * Vérifie que la recherche parallèle renvoie exactement l'affectation de la recherche séquentielle
+     */
+    void testComparaisonParallele() {
+        System.out.println("********** Comparaison séquentiel / parallèle **********");
+
+        Random random = new Random(17);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        int nbErreurs = 0;
+        int nbInstances = 300;
+        for (int n = 0; n < nbInstances; n++) {
+            List<Competence> competences = besoinAleatoire(1 + random.nextInt(20), random);
+            List<Set<String>> competencesSecouristes = secouristesAleatoires(1 + random.nextInt(25), random);
+
+            int[] sequentiel = AssignmentExhaustive.solve(competences, competencesSecouristes, necessites);
+            int[] parallele = AssignmentExhaustive.solveParallel(competences, competencesSecouristes, necessites, pool);
+            if (!Arrays.equals(sequentiel, parallele)) {
+                nbErreurs++;
+            }
+        }
+        pool.shutdown();
+
+        if (nbErreurs == 0) {
+            System.out.println("✓ Test réussi : " + nbInstances + " affectations identiques");
+        } else {
+            System.err.println("✗ Test échoué : " + nbErreurs + " affectations différentes sur " + nbInstances);
+        }
+        System.out.println();
+    }
+
+    /**
+     * Compare les temps des recherches séquentielle et parallèle sur de grands besoins
+     */
+    void testPerformancesParallele() {
+        System.out.println("********** Tests de Performance Parallèle **********");
+
+        int[][] tailles = {{100, 150}, {300, 400}, {1000, 1200}};
+        Random random = new Random(23);
+
+        for (int[] taille : tailles) {
+            System.out.println("=== Test performance avec " + taille[0] + " secouristes, " + taille[1] + " postes ===");
+
+            List<Set<String>> competencesSecouristes = secouristesAleatoires(taille[0], random);
+            List<Competence> competences = besoinAleatoire(taille[1], random);
+
+            long startTime = System.nanoTime();
+            int[] sequentiel = AssignmentExhaustive.solve(competences, competencesSecouristes, necessites);
+            long tempsSequentiel = (System.nanoTime() - startTime) / 1_000_000;
+
+            startTime = System.nanoTime();
+            int[] parallele = AssignmentExhaustive.solveParallel(competences, competencesSecouristes, necessites);
+            long tempsParallele = (System.nanoTime() - startTime) / 1_000_000;
+
+            System.out.println("  Compétences couvertes: " + couvertes(parallele) + "/" + competences.size());
+            System.out.println("  Temps séquentiel: " + tempsSequentiel + " ms, parallèle: " + tempsParallele + " ms");
+            if (Arrays.equals(sequentiel, parallele)) {
+                System.out.println("  ✓ Affectations identiques");
+            } else {
+                System.err.println("  ✗ Affectations différentes");
+            }
+        }
+        System.out.println();
+    }
+
+    /**
+     * Vérifie que la recherche à temps borné, avec un budget suffisant, trouve l'optimum et le prouve
+     */
+    void testAnytime() {
+        System.out.println("********** Tests Anytime **********");
+
+        Random random = new Random(29);
+        int nbErreurs = 0;
+        int nbInstances = 300;
+        for (int n = 0; n < nbInstances; n++) {
+            List<Competence> competences = besoinAleatoire(1 + random.nextInt(12), random);
+            List<Set<String>> competencesSecouristes = secouristesAleatoires(1 + random.nextInt(15), random);
+
+            AssignmentExhaustive.Solution solution = AssignmentExhaustive.solveAnytime(competences, competencesSecouristes, necessites, 10_000);
+            int attendu = couplageMaximum(competences, competencesSecouristes);
+            if (!solution.estOptimale() || couvertes(solution.getAffectation()) != attendu
+                    || !affectationValide(solution.getAffectation(), competences, competencesSecouristes)) {
+                nbErreurs++;
+            }
+        }
+
+        if (nbErreurs == 0) {
+            System.out.println("✓ Test réussi : " + nbInstances + " instances optimales et prouvées");
+        } else {
+            System.err.println("✗ Test échoué : " + nbErreurs + " instances incorrectes sur " + nbInstances);
+        }
+        System.out.println();
+    }
 
     /**
-     * Test de performance avec différentes tailles de données
+     * Vérifie que la recherche à temps borné respecte son budget sur de grands besoins
+     */
+    void testPerformancesAnytime() {
+        System.out.println("********** Tests de Performance Anytime **********");
+
+        // Secouristes, postes et graine : les premières instances sont difficiles pour la recherche exacte
+        int[][] tailles = {{60, 40, 0}, {60, 40, 1}, {300, 400, 2}, {1000, 1200, 3}, {2000, 1500, 4}};
+        long budget = 100;
+
+        for (int[] taille : tailles) {
+            Random random = new Random(taille[2]);
+            System.out.println("=== Test performance avec " + taille[0] + " secouristes, " + taille[1] + " postes, budget " + budget + " ms ===");
+
+            List<Set<String>> competencesSecouristes = secouristesAleatoires(taille[0], random);
+            List<Competence> competences = besoinAleatoire(taille[1], random);
+
+            long startTime = System.nanoTime();
+            AssignmentExhaustive.Solution solution = AssignmentExhaustive.solveAnytime(competences, competencesSecouristes, necessites, budget);
+            long executionTime = (System.nanoTime() - startTime) / 1_000_000;
+
+            System.out.println("  Compétences couvertes: " + couvertes(solution.getAffectation()) + "/" + competences.size()
+                    + " (optimum " + couplageMaximum(competences, competencesSecouristes) + ")"
+                    + (solution.estOptimale() ? ", optimalité prouvée" : ", optimalité non prouvée"));
+            System.out.println("  Temps d'exécution: " + executionTime + " ms");
+            if (!affectationValide(solution.getAffectation(), competences, competencesSecouristes)) {
+                System.err.println("  ✗ Affectation invalide");
+            } else if (executionTime < 2 * budget) {
+                System.out.println("  ✓ Budget respecté");
+            } else {
+                System.out.println("  ⚠ Budget dépassé");
+            }
+        }
+        System.out.println();
+    }
+
+    private static List<Competence> competences(String[] intitules) {
+        List<Competence> ret = new ArrayList<>();
+        for (String intitule : intitules) {
+            ret.add(new Competence(intitule));
+        }
+        return ret;
+    }
+
+    private static List<Competence> besoinAleatoire(int nbPostes, Random random) {
+        List<Competence> ret = new ArrayList<>();
+        for (int i = 0; i < nbPostes; i++) {
+            ret.add(new Competence(CATALOGUE[random.nextInt(CATALOGUE.length)]));
+        }
+        return ret;
+    }
+
+    private static List<Set<String>> secouristesAleatoires(int nbSecouristes, Random random) {
+        List<Set<String>> ret = new ArrayList<>();
+        for (int j = 0; j < nbSecouristes; j++) {
+            Set<String> possedees = new HashSet<>();
+            int nb = random.nextInt(3);
+            for (int k = 0; k < nb; k++) {
+                possedees.add(CATALOGUE[random.nextInt(CATALOGUE.length)]);
+            }
+            ret.add(possedees);
+        }
+        return ret;
+    }
+
+    private static boolean eligible(Set<String> possedees, Competence competence) {
+        if (possedees.contains(competence.getIntitule())) {
+            return true;
+        }
+        for (String sup : superieures.get(competence.getIntitule())) {
+            if (possedees.contains(sup)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int couplageMaximum(List<Competence> competences, List<Set<String>> competencesSecouristes) {
+        BipartiteMatching matching = new BipartiteMatching(competences.size(), competencesSecouristes.size());
+        for (int i = 0; i < competences.size(); i++) {
+            for (int j = 0; j < competencesSecouristes.size(); j++) {
+                if (eligible(competencesSecouristes.get(j), competences.get(i))) {
+                    matching.ajouterArete(i, j);
+                }
+            }
+        }
+        return matching.maximumMatching();
+    }
+
+    private static int couvertes(int[] affectation) {
+        int ret = 0;
+        for (int indice : affectation) {
+            if (indice >= 0) {
+                ret++;
+            }
+        }
+        return ret;
+    }
+
+    private static boolean affectationValide(int[] affectation, List<Competence> competences, List<Set<String>> competencesSecouristes) {
+        Set<Integer> utilises = new HashSet<>();
+        for (int i = 0; i < affectation.length; i++) {
+            if (affectation[i] >= 0) {
+                if (!utilises.add(affectation[i]) || !eligible(competencesSecouristes.get(affectation[i]), competences.get(i))) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+
+    /**
+     * Test de performance avec différentes tailles de données, par l'API de proposition
      */
     void testPerformances() {
         System.out.println("********** Tests de Performance **********");
 
         int[] tailles = {1, 2, 4, 8, 16};
+        Random random = new Random(7);
 
         for (int taille : tailles) {
             System.out.println("=== Test performance avec " + taille + " secouristes ===");
@@ -42,20 +402,29 @@ public class TestAssignmentExhaustive {
             Journee journeeTest = new Journee(1, 7, 2025);
             DPS dps = new DPS(1L, "DPS Test", 8, 18, siteTest, sportTest, journeeTest);
 
+            List<Secouriste> secouristes = new ArrayList<>();
+            Map<Long, List<Competence>> possessions = new HashMap<>();
+            List<Set<String>> competencesSecouristes = secouristesAleatoires(taille, random);
+            for (int j = 0; j < taille; j++) {
+                secouristes.add(new Secouriste(j, "Nom" + j, "Prenom" + j, "01/01/1990", "0123456789", "Adresse " + j, new byte[0]));
+                possessions.put((long) j, competences(competencesSecouristes.get(j).toArray(new String[0])));
+            }
+            AssignmentSnapshot snapshot = new AssignmentSnapshot(journeeTest, 1L, secouristes, possessions, new HashSet<>(),
+                    Arrays.asList(CATALOGUE), necessites);
+            List<Competence> besoin = besoinAleatoire(Math.min(taille, 8), random);
 
             long startTime = System.nanoTime();
+            AssignmentProposal proposal = AssignmentStrategies.propose(new AssignmentExhaustive.Strategie(0), dps, besoin, snapshot);
+            long executionTime = (System.nanoTime() - startTime) / 1_000_000;
 
-            try {
-                new AssignmentExhaustive(dps);
-                long endTime = System.nanoTime();
-                long executionTime = (endTime - startTime) / 1_000_000;
-
-                System.out.println("  Temps d'exécution: " + executionTime + " ms");
-                System.out.println("  Complexité observée: O(n²) approximativement");
-
-            } catch (Exception e) {
-                System.err.println("  Erreur lors du test: " + e.getMessage());
+            int[] affectation = proposal.getResultat().getAffectation();
+            if (affectationValide(affectation, besoin, competencesSecouristes)
+                    && proposal.getAffectations().size() + proposal.getNonCouvertes().size() == besoin.size()) {
+                System.out.println("  ✓ " + proposal.getAffectations().size() + "/" + besoin.size() + " postes couverts");
+            } else {
+                System.err.println("  ✗ Proposition invalide : " + Arrays.toString(affectation));
             }
+            System.out.println("  Temps d'exécution: " + executionTime + " ms");
         }
         System.out.println();
     }
@@ -0,0 +1,192 @@
+package model.graph.test;
+
+import model.graph.utils.BipartiteMatching;
+
+import java.util.Random;
+
+/**
+ * Classe de test pour le couplage maximum (Hopcroft-Karp) utilisé par l'affectation par flot.
+ * Les résultats sont comparés à une recherche exhaustive sur de petits graphes aléatoires.
+ *
+ * @author L. Carré, G. Potay, C. Brocart, T.Brami-Coatual
+ * @version 1.0
+ */
+public class TestAssignmentFlow {
+
+    /**
+     * Test de cas pour le couplage maximum
+     *
+     * @param aretes matrice compétences x secouristes (true si le secouriste peut tenir le poste)
+     * @param attendu taille attendue du couplage
+     * @param description description du cas de test
+     */
+    void testCasMaximumMatching(boolean[][] aretes, int attendu, String description) {
+        System.out.println("=== Test: " + description + " ===");
+
+        BipartiteMatching matching = construire(aretes);
+        int taille = matching.maximumMatching();
+
+        if (taille == attendu && couplageValide(matching, aretes)) {
+            System.out.println("✓ Test réussi : " + taille + " compétences couvertes");
+        } else {
+            System.err.println("✗ Test échoué : " + taille + " au lieu de " + attendu);
+        }
+        System.out.println();
+    }
+
+    /**
+     * Tests principaux du couplage maximum
+     */
+    void testMaximumMatching() {
+        System.out.println("********** Tests MaximumMatching **********");
+
+        testCasMaximumMatching(new boolean[0][0], 0, "Graphe vide");
+
+        testCasMaximumMatching(new boolean[][]{
+                {true, false},
+                {false, true}
+        }, 2, "Couplage parfait évident");
+
+        // Le glouton prendrait le secouriste 0 pour la compétence 0 et bloquerait la compétence 1
+        testCasMaximumMatching(new boolean[][]{
+                {true, true},
+                {true, false}
+        }, 2, "Chemin augmentant nécessaire");
+
+        testCasMaximumMatching(new boolean[][]{
+                {true, false, false},
+                {true, false, false},
+                {true, false, false}
+        }, 1, "Un seul secouriste qualifié");
+
+        testCasMaximumMatching(new boolean[][]{
+                {false, false},
+                {false, false}
+        }, 0, "Aucun secouriste qualifié");
+    }
+
+    /**
+     * Compare le couplage maximum à une recherche exhaustive sur des graphes aléatoires
+     */
+    void testComparaisonExhaustive() {
+        System.out.println("********** Comparaison avec la recherche exhaustive **********");
+
+        Random random = new Random(42);
+        int echecs = 0;
+        for (int essai = 0; essai < 500; essai++) {
+            int nbCompetences = 1 + random.nextInt(6);
+            int nbSecouristes = 1 + random.nextInt(7);
+            boolean[][] aretes = new boolean[nbCompetences][nbSecouristes];
+            for (int i = 0; i < nbCompetences; i++) {
+                for (int j = 0; j < nbSecouristes; j++) {
+                    aretes[i][j] = random.nextInt(3) == 0;
+                }
+            }
+
+            BipartiteMatching matching = construire(aretes);
+            int taille = matching.maximumMatching();
+            int attendu = exhaustif(aretes, 0, new boolean[nbSecouristes]);
+            if (taille != attendu || !couplageValide(matching, aretes)) {
+                echecs++;
+            }
+        }
+
+        if (echecs == 0) {
+            System.out.println("✓ Test réussi : 500 graphes identiques à la recherche exhaustive");
+        } else {
+            System.err.println("✗ Test échoué : " + echecs + " graphes différents");
+        }
+        System.out.println();
+    }
+
+    /**
+     * Test de performance avec différentes tailles de données
+     */
+    void testPerformances() {
+        System.out.println("********** Tests de Performance **********");
+
+        int[] tailles = {16, 100, 1000, 5000};
+        Random random = new Random(7);
+
+        for (int taille : tailles) {
+            System.out.println("=== Test performance avec " + taille + " secouristes ===");
+            int nbCompetences = Math.max(1, taille / 4);
+            boolean[][] aretes = new boolean[nbCompetences][taille];
+            for (int i = 0; i < nbCompetences; i++) {
+                for (int j = 0; j < taille; j++) {
+                    aretes[i][j] = random.nextInt(5) == 0;
+                }
+            }
+
+            long startTime = System.nanoTime();
+            int couvertes = construire(aretes).maximumMatching();
+            long executionTime = (System.nanoTime() - startTime) / 1_000_000;
+
+            System.out.println("  Compétences couvertes: " + couvertes + "/" + nbCompetences);
+            System.out.println("  Temps d'exécution: " + executionTime + " ms");
+        }
+        System.out.println();
+    }
+
+    /**
+     * Construit le graphe biparti à partir de la matrice d'adjacence
+     */
+    private static BipartiteMatching construire(boolean[][] aretes) {
+        int nbSecouristes = aretes.length == 0 ? 0 : aretes[0].length;
+        BipartiteMatching matching = new BipartiteMatching(aretes.length, nbSecouristes);
+        for (int i = 0; i < aretes.length; i++) {
+            for (int j = 0; j < nbSecouristes; j++) {
+                if (aretes[i][j]) {
+                    matching.ajouterArete(i, j);
+                }
+            }
+        }
+        return matching;
+    }
+
+    /**
+     * Vérifie que chaque secouriste est utilisé au plus une fois et sur une arête existante
+     */
+    private static boolean couplageValide(BipartiteMatching matching, boolean[][] aretes) {
+        int nbSecouristes = aretes.length == 0 ? 0 : aretes[0].length;
+        boolean[] utilise = new boolean[nbSecouristes];
+        for (int i = 0; i < aretes.length; i++) {
+            int j = matching.getMatchGauche(i);
+            if (j != BipartiteMatching.LIBRE) {
+                if (!aretes[i][j] || utilise[j] || matching.getMatchDroite(j) != i) {
+                    return false;
+                }
+                utilise[j] = true;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Recherche exhaustive du nombre maximal de compétences couvertes
+     */
+    private static int exhaustif(boolean[][] aretes, int index, boolean[] utilise) {
+        if (index == aretes.length) {
+            return 0;
+        }
+        int meilleur = exhaustif(aretes, index + 1, utilise);
+        for (int j = 0; j < utilise.length; j++) {
+            if (aretes[index][j] && !utilise[j]) {
+                utilise[j] = true;
+                meilleur = Math.max(meilleur, 1 + exhaustif(aretes, index + 1, utilise));
+                utilise[j] = false;
+            }
+        }
+        return meilleur;
+    }
+
+    /**
+     * Point d'entrée pour exécuter tous les tests
+     */
+    public static void main(String[] args) {
+        TestAssignmentFlow test = new TestAssignmentFlow();
+        test.testMaximumMatching();
+        test.testComparaisonExhaustive();
+        test.testPerformances();
+    }
+}
@@ -0,0 +1,155 @@
+package model.graph.test;
+
+import model.data.persistence.Competence;
+import model.data.persistence.Necessite;
+import model.graph.assignment.AssignmentMinCost;
+
+import java.util.*;
+
+/**
+ * Classe de test pour l'affectation à coût minimum.
+ * Vérifie que les secouristes les moins qualifiés sont utilisés en priorité
+ * sans perdre de compétences couvertes.
+ *
+ * @author L. Carré, G. Potay, C. Brocart, T.Brami-Coatual
+ * @version 1.0
+ */
+public class TestAssignmentMinCost {
+
+    // Catalogue de test : PSE1 -> PSE2 -> CE, SSA -> PSE1
+    private static final List<Competence> catalogue = new ArrayList<>();
+    private static final List<Necessite> necessites = new ArrayList<>();
+
+    /**
+     * Initialise les données de test
+     */
+    private static void initialiserDonneesTest() {
+        for (String intitule : new String[]{"PSE1", "PSE2", "CE", "SSA", "PBC", "PBF"}) {
+            catalogue.add(new Competence(intitule));
+        }
+        necessites.add(new Necessite(new Competence("PSE1"), new Competence("PSE2")));
+        necessites.add(new Necessite(new Competence("PSE2"), new Competence("CE")));
+        necessites.add(new Necessite(new Competence("SSA"), new Competence("PSE1")));
+        necessites.add(new Necessite(new Competence("PBF"), new Competence("PBC")));
+    }
+
+    /**
+     * Test de cas pour la méthode solve
+     *
+     * @param besoins compétences demandées
+     * @param secouristes compétences de chaque secouriste
+     * @param attendu secouriste attendu pour chaque poste (-1 si non couvert)
+     * @param description description du cas de test
+     */
+    void testCasSolve(String[] besoins, String[][] secouristes, int[] attendu, String description) {
+        System.out.println("=== Test: " + description + " ===");
+
+        List<Competence> competences = new ArrayList<>();
+        for (String besoin : besoins) {
+            competences.add(new Competence(besoin));
+        }
+        List<Set<String>> competencesSecouristes = new ArrayList<>();
+        for (String[] possedees : secouristes) {
+            competencesSecouristes.add(new HashSet<>(Arrays.asList(possedees)));
+        }
+
+        AssignmentMinCost assignment = new AssignmentMinCost();
+        int[] affectation = assignment.solve(competences, competencesSecouristes, catalogue, necessites);
+
+        if (Arrays.equals(affectation, attendu)) {
+            System.out.println("✓ Test réussi : " + Arrays.toString(affectation) + " (coût " + assignment.getCoutTotal() + ")");
+        } else {
+            System.err.println("✗ Test échoué : " + Arrays.toString(affectation) + " au lieu de " + Arrays.toString(attendu));
+        }
+        System.out.println();
+    }
+
+    /**
+     * Tests principaux de l'affectation à coût minimum
+     */
+    void testSolve() {
+        System.out.println("********** Tests Solve **********");
+
+        // Le chef d'équipe (CE) ne doit pas être pris pour un poste PSE1
+        testCasSolve(new String[]{"PSE1"},
+                new String[][]{{"PSE1", "PSE2", "CE"}, {"PSE1"}},
+                new int[]{1},
+                "Secouriste le moins qualifié choisi");
+
+        // Compétence supérieure acceptée quand personne n'a la compétence exacte
+        testCasSolve(new String[]{"PSE1", "PSE2"},
+                new String[][]{{"PSE1", "PSE2", "CE"}, {"PSE1"}},
+                new int[]{1, 0},
+                "Compétence supérieure utilisée si nécessaire");
+
+        // La couverture reste maximale même si elle coûte plus cher
+        testCasSolve(new String[]{"PSE1", "PSE1"},
+                new String[][]{{"PSE1", "PSE2", "CE"}, {"PSE1"}},
+                new int[]{1, 0},
+                "Couverture maximale avant le coût");
+
+        testCasSolve(new String[]{"PBF", "SSA"},
+                new String[][]{{"PSE1"}, {"PBC"}},
+                new int[]{1, 0},
+                "Compétences supérieures dans deux chaînes");
+
+        testCasSolve(new String[]{"CE"},
+                new String[][]{{"PSE1"}, {"PBC"}},
+                new int[]{-1},
+                "Aucun secouriste qualifié");
+    }
+
+    /**
+     * Test de performance avec des centaines de secouristes
+     */
+    void testPerformances() {
+        System.out.println("********** Tests de Performance **********");
+
+        int[] tailles = {100, 300, 500, 1000};
+        String[][] profils = {{"PSE1"}, {"PSE1", "PSE2"}, {"PSE1", "PSE2", "CE"}, {"PSE1", "SSA"}, {"PBC"}, {"PBC", "PBF"}};
+        String[] demandes = {"PSE1", "PSE2", "CE", "SSA", "PBC", "PBF"};
+        Random random = new Random(3);
+
+        for (int taille : tailles) {
+            System.out.println("=== Test performance avec " + taille + " secouristes ===");
+
+            List<Set<String>> competencesSecouristes = new ArrayList<>();
+            for (int i = 0; i < taille; i++) {
+                competencesSecouristes.add(new HashSet<>(Arrays.asList(profils[random.nextInt(profils.length)])));
+            }
+            List<Competence> competences = new ArrayList<>();
+            for (int i = 0; i < 40; i++) {
+                competences.add(new Competence(demandes[random.nextInt(demandes.length)]));
+            }
+
+            long startTime = System.nanoTime();
+            int[] affectation = new AssignmentMinCost().solve(competences, competencesSecouristes, catalogue, necessites);
+            long executionTime = (System.nanoTime() - startTime) / 1_000_000;
+
+            int couvertes = 0;
+            for (int indice : affectation) {
+                if (indice >= 0) {
+                    couvertes++;
+                }
+            }
+            System.out.println("  Compétences couvertes: " + couvertes + "/" + competences.size());
+            System.out.println("  Temps d'exécution: " + executionTime + " ms");
+            if (executionTime < 1000) {
+                System.out.println("  ✓ Performance acceptable");
+            } else {
+                System.out.println("  ⚠ Performance dégradée");
+            }
+        }
+        System.out.println();
+    }
+
+    /**
+     * Point d'entrée pour exécuter tous les tests
+     */
+    public static void main(String[] args) {
+        initialiserDonneesTest();
+        TestAssignmentMinCost test = new TestAssignmentMinCost();
+        test.testSolve();
+        test.testPerformances();
+    }
+}
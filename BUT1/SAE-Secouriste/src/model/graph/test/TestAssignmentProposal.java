@@ -0,0 +1,158 @@
+package model.graph.test;
+
+import model.data.persistence.*;
+import model.graph.assignment.AssignmentGreedy;
+import model.graph.assignment.AssignmentProposal;
+import model.graph.assignment.AssignmentSnapshot;
+import model.graph.assignment.AssignmentStrategies;
+
+import java.util.*;
+
+/**
+ * Classe de test des propositions d'affectation calculées en mémoire.
+ * Aucune base de données n'est nécessaire : une proposition ne fait que lire le snapshot.
+ *
+ * @author L. Carré, G. Potay, C. Brocart, T.Brami-Coatual
+ * @version 1.0
+ */
+public class TestAssignmentProposal {
+
+    // Catalogue de test : PSE1 -> PSE2 -> CE, SSA -> PSE1, PBF -> PBC
+    private static final String[] CATALOGUE = {"PSE1", "PSE2", "CE", "SSA", "PBC", "PBF"};
+    private static final List<Necessite> necessites = new ArrayList<>();
+    private static final Journee journee = new Journee(14, 7, 2030);
+    private static final DPS dps = new DPS(1L, "DPS 1", 8, 18,
+            new Site(1L, "La Clusaz - Ski nordique/Biathlon", 45.9044f, 6.4231f), new Sport(1L, "Ski"), journee);
+
+    /**
+     * Initialise les données de test
+     */
+    private static void initialiserDonneesTest() {
+        necessites.add(new Necessite(new Competence("PSE1"), new Competence("PSE2")));
+        necessites.add(new Necessite(new Competence("PSE2"), new Competence("CE")));
+        necessites.add(new Necessite(new Competence("SSA"), new Competence("PSE1")));
+        necessites.add(new Necessite(new Competence("PBF"), new Competence("PBC")));
+    }
+
+    /**
+     * Crée un snapshot de la journée de test
+     *
+     * @param secouristes compétences de chaque secouriste, l'ID du secouriste étant son indice
+     */
+    private static AssignmentSnapshot snapshot(String[][] secouristes) {
+        List<Secouriste> liste = new ArrayList<>();
+        Map<Long, List<Competence>> possessions = new HashMap<>();
+        for (int j = 0; j < secouristes.length; j++) {
+            liste.add(new Secouriste(j, "Nom" + j, "Prenom" + j, "01/01/1990", "0123456789", "Adresse " + j, new byte[0]));
+            List<Competence> possedees = new ArrayList<>();
+            for (String intitule : secouristes[j]) {
+                possedees.add(new Competence(intitule));
+            }
+            possessions.put((long) j, possedees);
+        }
+        return new AssignmentSnapshot(journee, 1L, liste, possessions, new HashSet<>(), Arrays.asList(CATALOGUE), necessites);
+    }
+
+    private static List<Competence> competences(String... intitules) {
+        List<Competence> ret = new ArrayList<>();
+        for (String intitule : intitules) {
+            ret.add(new Competence(intitule));
+        }
+        return ret;
+    }
+
+    /**
+     * Test de cas pour la méthode propose
+     *
+     * @param strategie nom de la stratégie
+     * @param besoin compétences demandées
+     * @param secouristes compétences de chaque secouriste
+     * @param nbAttendu nombre de postes couverts attendu
+     * @param nonCouvertesAttendues intitulés des compétences non couvertes attendues
+     * @param description description du cas de test
+     */
+    void testCasPropose(String strategie, String[] besoin, String[][] secouristes, int nbAttendu,
+                        List<String> nonCouvertesAttendues, String description) {
+        System.out.println("=== Test: " + description + " ===");
+
+        AssignmentProposal proposal = AssignmentStrategies.propose(AssignmentStrategies.create(strategie), dps,
+                competences(besoin), snapshot(secouristes));
+
+        List<String> nonCouvertes = new ArrayList<>();
+        for (Competence competence : proposal.getNonCouvertes()) {
+            nonCouvertes.add(competence.getIntitule());
+        }
+        Set<Long> utilises = new HashSet<>();
+        boolean valide = true;
+        for (Affectation affectation : proposal.getAffectations()) {
+            valide &= affectation.getDPSAffect() == dps && utilises.add(affectation.getSecouristeAffect().getIdSecouriste());
+        }
+
+        if (valide && proposal.getAffectations().size() == nbAttendu && nonCouvertes.equals(nonCouvertesAttendues)
+                && proposal.getResultat().getStrategie().equals(strategie)) {
+            System.out.println("✓ Test réussi : " + proposal);
+        } else {
+            System.err.println("✗ Test échoué : " + proposal);
+        }
+        System.out.println();
+    }
+
+    /**
+     * Tests principaux des propositions
+     */
+    void testPropose() {
+        System.out.println("********** Tests Propose **********");
+
+        String[][] secouristes = {{"PSE1"}, {"CE"}, {"PBC"}};
+        testCasPropose(AssignmentStrategies.choose(3, 3, false), new String[]{"PSE1", "PSE2", "PBC"},
+                new String[][]{{"PSE1"}, {"CE"}, {"PBF"}}, 2, List.of("PBC"), "Compétence sans secouriste qualifié");
+        testCasPropose("min-cost", new String[]{"CE", "CE", "PSE1"}, secouristes,
+                2, List.of("CE"), "Plus de postes que de secouristes qualifiés");
+        testCasPropose(AssignmentGreedy.NOM, new String[]{"PSE1", "PBC"}, secouristes,
+                2, List.of(), "Glouton sans base de données");
+        testCasPropose("flow", new String[]{}, secouristes,
+                0, List.of(), "Besoin vide");
+    }
+
+    /**
+     * Vérifie qu'une proposition ne peut pas être modifiée après coup
+     */
+    void testImmuable() {
+        System.out.println("********** Tests Immuabilité **********");
+
+        AssignmentProposal proposal = AssignmentStrategies.propose(AssignmentStrategies.create("flow"), dps,
+                competences("PSE1", "PBF"), snapshot(new String[][]{{"PSE1"}}));
+        boolean immuable = true;
+        try {
+            proposal.getAffectations().clear();
+            immuable = false;
+        } catch (UnsupportedOperationException e) {
+            // attendu
+        }
+        try {
+            proposal.getNonCouvertes().add(new Competence("CE"));
+            immuable = false;
+        } catch (UnsupportedOperationException e) {
+            // attendu
+        }
+        proposal.getResultat().getAffectation()[0] = -1;
+        immuable &= proposal.getResultat().getNbAffectees() == 1 && proposal.getAffectations().size() == 1;
+
+        if (immuable) {
+            System.out.println("✓ Proposition non modifiable");
+        } else {
+            System.err.println("✗ Proposition modifiable");
+        }
+        System.out.println();
+    }
+
+    /**
+     * Point d'entrée pour exécuter tous les tests
+     */
+    public static void main(String[] args) {
+        initialiserDonneesTest();
+        TestAssignmentProposal test = new TestAssignmentProposal();
+        test.testPropose();
+        test.testImmuable();
+    }
+}
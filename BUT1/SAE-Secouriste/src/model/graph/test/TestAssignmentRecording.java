@@ -0,0 +1,150 @@
+package model.graph.test;
+
+import model.data.persistence.Competence;
+import model.data.persistence.DPS;
+import model.graph.assignment.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * Classe de test de l'enregistrement anonymisé des journées et de leur rejeu hors ligne.
+ * Les journées sont générées par {@link InstanceGenerator} : aucune base de données n'est nécessaire.
+ *
+ * @author L. Carré, G. Potay, C. Brocart, T.Brami-Coatual
+ * @version 1.0
+ */
+public class TestAssignmentRecording {
+
+    /**
+     * Enregistre une journée générée : des DPS qui se chevauchent et leurs besoins
+     */
+    private static AssignmentRecording journee(long graine, int nbSecouristes, int nbDPS, int nbPostes, int decalage) {
+        InstanceGenerator generateur = new InstanceGenerator(graine);
+        AssignmentSnapshot snapshot = generateur.generer(nbSecouristes, 0).snapshot();
+        List<DPS> dpsJour = new ArrayList<>();
+        Map<Long, List<Competence>> besoins = new HashMap<>();
+        for (int k = 0; k < nbDPS; k++) {
+            // DPS de 4 heures, chacun décalé du précédent
+            dpsJour.add(new DPS(k, "DPS" + k, 8 + decalage * k, 12 + decalage * k, null, null, snapshot.getJournee()));
+            List<Competence> postes = new ArrayList<>();
+            for (int i = 0; i < nbPostes; i++) {
+                postes.add(generateur.poste());
+            }
+            besoins.put((long) k, postes);
+        }
+        return AssignmentRecording.of(snapshot, dpsJour, besoins);
+    }
+
+    /**
+     * Vérifie qu'une journée relue est identique à la journée écrite
+     */
+    void testFichier() {
+        System.out.println("********** Tests du fichier **********");
+
+        AssignmentRecording ecrit = journee(61, 80, 5, 8, 2);
+        try {
+            Path fichier = Files.createTempFile("journee", ".txt");
+            ecrit.write(fichier);
+            AssignmentRecording lu = AssignmentRecording.read(fichier);
+            String contenu = new String(Files.readAllBytes(fichier), "UTF-8");
+            Files.deleteIfExists(fichier);
+
+            boolean identique = lu.getJournee().equals(ecrit.getJournee())
+                    && lu.getRepos() == ecrit.getRepos()
+                    && lu.getCatalogue().equals(ecrit.getCatalogue())
+                    && lu.getNecessites().size() == ecrit.getNecessites().size()
+                    && lu.getCompetencesSecouristes().equals(ecrit.getCompetencesSecouristes())
+                    && lu.getEvenements().size() == ecrit.getEvenements().size();
+            for (int k = 0; identique && k < lu.getEvenements().size(); k++) {
+                AssignmentRecording.Evenement a = lu.getEvenements().get(k);
+                AssignmentRecording.Evenement b = ecrit.getEvenements().get(k);
+                identique = a.getDebut() == b.getDebut() && a.getFin() == b.getFin()
+                        && a.getBesoins().equals(b.getBesoins()) && Arrays.equals(a.getCandidats(), b.getCandidats());
+            }
+            afficher(identique ? 0 : 1, "Journée relue identique (" + lu.getEvenements().size() + " DPS, "
+                    + lu.getCompetencesSecouristes().size() + " secouristes)");
+            // Les secouristes du snapshot s'appellent NomX, PrenomX
+            afficher(contenu.contains("Nom") ? 1 : 0, "Aucun nom dans le fichier");
+        } catch (IOException e) {
+            System.err.println("✗ Écriture impossible : " + e.getMessage());
+        }
+
+        int erreurs = 0;
+        try {
+            Path fichier = Files.createTempFile("journee", ".txt");
+            Files.write(fichier, Arrays.asList("# secouriste-snapshot v1", "journee\t1\t6\t2030\t0", "dps\t8\tdix"));
+            try {
+                AssignmentRecording.read(fichier);
+                erreurs++;
+            } catch (IllegalArgumentException e) {
+                // Attendu
+            }
+            Files.write(fichier, Arrays.asList("autre chose"));
+            try {
+                AssignmentRecording.read(fichier);
+                erreurs++;
+            } catch (IllegalArgumentException e) {
+                // Attendu
+            }
+            Files.deleteIfExists(fichier);
+        } catch (IOException e) {
+            erreurs++;
+        }
+        afficher(erreurs, "Fichiers invalides rejetés");
+        System.out.println();
+    }
+
+    /**
+     * Rejoue une journée à travers toutes les stratégies et compare leur couverture
+     */
+    void testRejeu() {
+        System.out.println("********** Tests du rejeu **********");
+
+        List<AssignmentRecording> journees = Arrays.asList(journee(67, 40, 4, 6, 2), journee(71, 60, 3, 8, 2));
+        List<AssignmentReplay.Rapport> rapports = AssignmentReplay.replay(journees, 3);
+        System.out.println("  " + AssignmentReplay.entete());
+        for (AssignmentReplay.Rapport rapport : rapports) {
+            System.out.println("  " + rapport);
+        }
+
+        int erreurs = 0;
+        for (AssignmentReplay.Rapport rapport : rapports) {
+            boolean valide = rapport.getNbPostes() == 4 * 6 + 3 * 8
+                    && rapport.getNbCouverts() <= rapport.getNbPostes()
+                    && rapport.getNbSurqualifies() <= rapport.getNbCouverts()
+                    && rapport.getGaspillage() >= 0
+                    && rapport.getNbResolutions() == 3 * (4 + 3)
+                    && rapport.getDuree(50) <= rapport.getDuree(90) && rapport.getDuree(90) <= rapport.getDuree(100);
+            if (!valide) {
+                erreurs++;
+            }
+        }
+        afficher(erreurs, "Rapports cohérents pour " + rapports.size() + " stratégies");
+
+        // Trois DPS aux mêmes horaires : un secouriste affecté n'est plus candidat des DPS suivants
+        AssignmentRecording rare = journee(73, 3, 3, 3, 0);
+        afficher(AssignmentReplay.replay(AssignmentFlow.NOM, Collections.singletonList(rare), 1).getNbCouverts() <= 3 ? 0 : 1,
+                "Un secouriste n'est affecté qu'à un DPS parmi ceux qui se chevauchent");
+        System.out.println();
+    }
+
+    private void afficher(int erreurs, String description) {
+        if (erreurs == 0) {
+            System.out.println("✓ " + description);
+        } else {
+            System.err.println("✗ " + description + " : " + erreurs + " erreurs");
+        }
+    }
+
+    /**
+     * Point d'entrée pour exécuter tous les tests
+     */
+    public static void main(String[] args) {
+        TestAssignmentRecording test = new TestAssignmentRecording();
+        test.testFichier();
+        test.testRejeu();
+    }
+}
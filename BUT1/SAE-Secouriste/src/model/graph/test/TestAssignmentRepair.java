@@ -0,0 +1,370 @@
+package model.graph.test;
+
+import model.data.persistence.Competence;
+import model.data.persistence.Necessite;
+import model.graph.assignment.AssignmentMinCost;
+import model.graph.assignment.AssignmentRepair;
+import model.graph.utils.BipartiteMatching;
+
+import java.util.*;
+
+/**
+ * Classe de test pour la réparation incrémentale des affectations.
+ * Vérifie que seuls les postes invalides sont libérés et qu'ils sont recouverts par des chemins augmentants.
+ *
+ * @author L. Carré, G. Potay, C. Brocart, T.Brami-Coatual
+ * @version 1.0
+ */
+public class TestAssignmentRepair {
+
+    // Catalogue de test : PSE1 -> PSE2 -> CE, SSA -> PSE1, PBF -> PBC
+    private static final String[] CATALOGUE = {"PSE1", "PSE2", "CE", "SSA", "PBC", "PBF"};
+    private static final List<Necessite> necessites = new ArrayList<>(Arrays.asList(
+            new Necessite(new Competence("PSE1"), new Competence("PSE2")),
+            new Necessite(new Competence("PSE2"), new Competence("CE")),
+            new Necessite(new Competence("SSA"), new Competence("PSE1")),
+            new Necessite(new Competence("PBF"), new Competence("PBC"))
+    ));
+
+    // Chaîne des compétences supérieures, pour construire le graphe de référence
+    private static final Map<String, List<String>> superieures = new HashMap<>();
+    static {
+        superieures.put("PSE1", Arrays.asList("PSE2", "CE"));
+        superieures.put("PSE2", Arrays.asList("CE"));
+        superieures.put("CE", new ArrayList<>());
+        superieures.put("SSA", Arrays.asList("PSE1", "PSE2", "CE"));
+        superieures.put("PBC", new ArrayList<>());
+        superieures.put("PBF", Arrays.asList("PBC"));
+    }
+
+    private static List<Competence> competences(String... intitules) {
+        List<Competence> ret = new ArrayList<>();
+        for (String intitule : intitules) {
+            ret.add(new Competence(intitule));
+        }
+        return ret;
+    }
+
+    private static List<Set<String>> secouristes(String[][] secouristes) {
+        List<Set<String>> ret = new ArrayList<>();
+        for (String[] possedees : secouristes) {
+            ret.add(new HashSet<>(Arrays.asList(possedees)));
+        }
+        return ret;
+    }
+
+    private static boolean couvre(String cible, Set<String> possedees) {
+        if (possedees.contains(cible)) {
+            return true;
+        }
+        for (String superieure : superieures.get(cible)) {
+            if (possedees.contains(superieure)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Test de cas pour la méthode repair
+     *
+     * @param postes compétence de chaque poste
+     * @param affectation secouriste actuel de chaque poste, -1 s'il n'est plus disponible
+     * @param secouristes compétences de chaque secouriste après la modification
+     * @param attendu affectation attendue après réparation
+     * @param deplacesAttendus nombre de secouristes déplacés attendu
+     * @param description description du cas de test
+     */
+    void testCasRepair(String[] postes, int[] affectation, String[][] secouristes, int[] attendu, int deplacesAttendus, String description) {
+        System.out.println("=== Test: " + description + " ===");
+
+        AssignmentRepair repair = new AssignmentRepair();
+        int[] resultat = repair.repair(competences(postes), affectation, secouristes(secouristes), competences(CATALOGUE), necessites);
+
+        if (Arrays.equals(resultat, attendu) && repair.getNbDeplaces() == deplacesAttendus) {
+            System.out.println("✓ Test réussi : " + Arrays.toString(resultat) + ", " + repair.getNbLiberes()
+                    + " poste(s) libéré(s), " + repair.getNbDeplaces() + " secouriste(s) déplacé(s)");
+        } else {
+            System.err.println("✗ Test échoué : " + Arrays.toString(resultat) + " au lieu de " + Arrays.toString(attendu)
+                    + ", " + repair.getNbDeplaces() + " déplacement(s) au lieu de " + deplacesAttendus);
+        }
+        System.out.println();
+    }
+
+    /**
+     * Tests principaux de la réparation
+     */
+    void testRepair() {
+        System.out.println("********** Tests Repair **********");
+
+        testCasRepair(new String[]{"PSE1", "PBC"}, new int[]{0, 1},
+                new String[][]{{"PSE1"}, {"PBC"}},
+                new int[]{0, 1}, 0,
+                "Aucune modification : rien n'est libéré");
+
+        testCasRepair(new String[]{"PSE1", "PBC"}, new int[]{0, 1},
+                new String[][]{{}, {"PBC"}, {"CE"}, {"PSE2"}},
+                new int[]{3, 1}, 0,
+                "Compétence perdue : le secouriste libre le moins qualifié reprend le poste");
+
+        testCasRepair(new String[]{"PSE1", "CE"}, new int[]{0, 1},
+                new String[][]{{"CE"}, {}, {"PSE1"}},
+                new int[]{2, 0}, 1,
+                "Chemin augmentant : le secouriste CE change de poste pour libérer PSE1");
+
+        testCasRepair(new String[]{"PSE1", "CE", "PBC"}, new int[]{-1, 1, 2},
+                new String[][]{{"PSE1"}, {"CE"}, {"PBC"}},
+                new int[]{0, 1, 2}, 0,
+                "Disponibilité retirée : un secouriste non affecté prend le poste");
+
+        testCasRepair(new String[]{"CE", "PBC"}, new int[]{0, 1},
+                new String[][]{{"PSE1"}, {"PBC"}},
+                new int[]{-1, 1}, 0,
+                "Aucun remplaçant : le poste reste libre, les autres ne bougent pas");
+
+        testCasRepair(new String[]{"PSE1", "PSE1"}, new int[]{0, 0},
+                new String[][]{{"PSE1"}, {"SSA"}},
+                new int[]{0, -1}, 0,
+                "Un secouriste sur deux postes : le second est libéré");
+    }
+
+    /**
+     * Test de cas pour la méthode repair, avec les horaires des postes
+     *
+     * @param postes compétence de chaque poste
+     * @param horaires début et fin de chaque poste
+     * @param repos repos minimum entre deux postes d'un secouriste
+     * @param affectation secouriste actuel de chaque poste, -1 s'il n'est plus disponible
+     * @param secouristes compétences de chaque secouriste après la modification
+     * @param attendu affectation attendue après réparation
+     * @param deplacesAttendus nombre de secouristes déplacés attendu
+     * @param description description du cas de test
+     */
+    void testCasRepairHoraires(String[] postes, int[][] horaires, int repos, int[] affectation, String[][] secouristes,
+                               int[] attendu, int deplacesAttendus, String description) {
+        System.out.println("=== Test: " + description + " ===");
+
+        AssignmentRepair repair = new AssignmentRepair();
+        int[] resultat = repair.repair(competences(postes), Arrays.asList(horaires), repos, affectation, secouristes(secouristes),
+                competences(CATALOGUE), necessites);
+
+        if (Arrays.equals(resultat, attendu) && repair.getNbDeplaces() == deplacesAttendus) {
+            System.out.println("✓ Test réussi : " + Arrays.toString(resultat) + ", " + repair.getNbLiberes()
+                    + " poste(s) libéré(s), " + repair.getNbDeplaces() + " secouriste(s) déplacé(s)");
+        } else {
+            System.err.println("✗ Test échoué : " + Arrays.toString(resultat) + " au lieu de " + Arrays.toString(attendu)
+                    + ", " + repair.getNbDeplaces() + " déplacement(s) au lieu de " + deplacesAttendus);
+        }
+        System.out.println();
+    }
+
+    /**
+     * Tests de la réparation quand un secouriste tient plusieurs DPS de la journée
+     */
+    void testPlusieursDPS() {
+        System.out.println("********** Tests Repair sur plusieurs DPS **********");
+
+        int[][] matinApresMidiMatin = {{8, 12}, {14, 18}, {8, 12}};
+
+        testCasRepairHoraires(new String[]{"PSE1", "PSE1", "PSE1"}, matinApresMidiMatin, 0, new int[]{0, 0, 1},
+                new String[][]{{"PSE1"}, {}, {"PSE1"}},
+                new int[]{0, 0, 2}, 0,
+                "Le secouriste garde son DPS du matin et celui de l'après-midi");
+
+        testCasRepairHoraires(new String[]{"PSE1", "PSE1", "CE"}, matinApresMidiMatin, 0, new int[]{0, 0, 1},
+                new String[][]{{"CE"}, {}, {"PSE1"}},
+                new int[]{2, 0, 0}, 1,
+                "Chemin augmentant : le secouriste CE laisse son poste du matin et garde l'après-midi");
+
+        testCasRepairHoraires(new String[]{"PSE1", "PSE1"}, new int[][]{{8, 12}, {10, 14}}, 0, new int[]{0, 0},
+                new String[][]{{"PSE1"}, {"PSE1"}},
+                new int[]{0, 1}, 0,
+                "DPS qui se chevauchent : le second poste est repris par un autre secouriste");
+
+        testCasRepairHoraires(new String[]{"PSE1", "PSE1"}, new int[][]{{8, 12}, {13, 17}}, 2, new int[]{0, 0},
+                new String[][]{{"PSE1"}},
+                new int[]{0, -1}, 0,
+                "Repos insuffisant entre deux DPS : le second poste reste libre");
+    }
+
+    /**
+     * Compare la réparation au couplage maximum de Hopcroft-Karp sur des instances aléatoires :
+     * en partant d'une affectation complète, la réparation doit retrouver un couplage maximum
+     * sans jamais découvrir un poste resté valide.
+     */
+    void testComparaisonCouplage() {
+        System.out.println("********** Comparaison avec le couplage maximum **********");
+
+        Random random = new Random(42);
+        int nbInstances = 300;
+        int nbEchecs = 0;
+        for (int n = 0; n < nbInstances; n++) {
+            int nbSecouristes = 2 + random.nextInt(15);
+            List<Set<String>> avant = new ArrayList<>();
+            for (int j = 0; j < nbSecouristes; j++) {
+                Set<String> possedees = new HashSet<>();
+                for (int k = 0; k < 1 + random.nextInt(2); k++) {
+                    possedees.add(CATALOGUE[random.nextInt(CATALOGUE.length)]);
+                }
+                avant.add(possedees);
+            }
+
+            // Affectation initiale complète : les postes couverts par un couplage maximum
+            List<String> demandes = new ArrayList<>();
+            for (int i = 0; i < 1 + random.nextInt(12); i++) {
+                demandes.add(CATALOGUE[random.nextInt(CATALOGUE.length)]);
+            }
+            int[] couplage = couplage(demandes, avant);
+            List<Competence> postes = new ArrayList<>();
+            List<Integer> affectationListe = new ArrayList<>();
+            for (int i = 0; i < demandes.size(); i++) {
+                if (couplage[i] >= 0) {
+                    postes.add(new Competence(demandes.get(i)));
+                    affectationListe.add(couplage[i]);
+                }
+            }
+            int[] affectation = affectationListe.stream().mapToInt(Integer::intValue).toArray();
+
+            // Modification : des compétences perdues et des postes libérés
+            List<Set<String>> apres = new ArrayList<>();
+            for (Set<String> possedees : avant) {
+                Set<String> restantes = new HashSet<>(possedees);
+                if (random.nextInt(4) == 0 && !restantes.isEmpty()) {
+                    restantes.remove(restantes.iterator().next());
+                }
+                apres.add(restantes);
+            }
+            for (int i = 0; i < affectation.length; i++) {
+                if (random.nextInt(8) == 0) {
+                    affectation[i] = -1;
+                }
+            }
+
+            AssignmentRepair repair = new AssignmentRepair();
+            int[] resultat = repair.repair(postes, affectation, apres, competences(CATALOGUE), necessites);
+
+            List<String> intitules = new ArrayList<>();
+            for (Competence poste : postes) {
+                intitules.add(poste.getIntitule());
+            }
+            int nbCouverts = 0;
+            boolean valide = true;
+            Set<Integer> utilises = new HashSet<>();
+            for (int i = 0; i < resultat.length; i++) {
+                if (resultat[i] >= 0) {
+                    nbCouverts++;
+                    valide &= utilises.add(resultat[i]) && couvre(intitules.get(i), apres.get(resultat[i]));
+                }
+                boolean resteValide = affectation[i] >= 0 && couvre(intitules.get(i), apres.get(affectation[i]));
+                valide &= !resteValide || resultat[i] >= 0;
+            }
+            int maximum = 0;
+            for (int indice : couplage(intitules, apres)) {
+                if (indice >= 0) {
+                    maximum++;
+                }
+            }
+            if (!valide || nbCouverts != maximum) {
+                nbEchecs++;
+            }
+        }
+
+        if (nbEchecs == 0) {
+            System.out.println("✓ Test réussi : " + nbInstances + " instances réparées avec un couplage maximum");
+        } else {
+            System.err.println("✗ Test échoué : " + nbEchecs + "/" + nbInstances + " instances incorrectes");
+        }
+        System.out.println();
+    }
+
+    /**
+     * Couplage maximum de référence, calculé avec Hopcroft-Karp
+     */
+    private static int[] couplage(List<String> demandes, List<Set<String>> secouristes) {
+        BipartiteMatching matching = new BipartiteMatching(demandes.size(), secouristes.size());
+        for (int i = 0; i < demandes.size(); i++) {
+            for (int j = 0; j < secouristes.size(); j++) {
+                if (couvre(demandes.get(i), secouristes.get(j))) {
+                    matching.ajouterArete(i, j);
+                }
+            }
+        }
+        matching.maximumMatching();
+        int[] ret = new int[demandes.size()];
+        for (int i = 0; i < demandes.size(); i++) {
+            ret[i] = matching.getMatchGauche(i);
+        }
+        return ret;
+    }
+
+    /**
+     * Test de performance : une journée chargée où un secouriste perd sa compétence,
+     * comparée à un recalcul complet de la journée par flot de coût minimum
+     */
+    void testPerformances() {
+        System.out.println("********** Tests de Performance **********");
+
+        int[][] tailles = {{100, 300}, {300, 900}, {500, 1500}};
+        Random random = new Random(7);
+
+        for (int[] taille : tailles) {
+            System.out.println("=== Test performance avec " + taille[0] + " postes et " + taille[1] + " secouristes ===");
+
+            List<Set<String>> secouristes = new ArrayList<>();
+            for (int j = 0; j < taille[1]; j++) {
+                secouristes.add(new HashSet<>(Collections.singletonList(CATALOGUE[random.nextInt(CATALOGUE.length)])));
+            }
+            List<String> demandes = new ArrayList<>();
+            for (int i = 0; i < taille[0]; i++) {
+                demandes.add(CATALOGUE[random.nextInt(CATALOGUE.length)]);
+            }
+            int[] couplage = couplage(demandes, secouristes);
+            List<Competence> postes = new ArrayList<>();
+            List<Integer> affectationListe = new ArrayList<>();
+            for (int i = 0; i < demandes.size(); i++) {
+                if (couplage[i] >= 0) {
+                    postes.add(new Competence(demandes.get(i)));
+                    affectationListe.add(couplage[i]);
+                }
+            }
+            int[] affectation = affectationListe.stream().mapToInt(Integer::intValue).toArray();
+
+            // Le secouriste du premier poste perd sa compétence
+            secouristes.get(affectation[0]).clear();
+
+            long startTime = System.nanoTime();
+            int[] resultat = new AssignmentRepair().repair(postes, affectation, secouristes, competences(CATALOGUE), necessites);
+            long tempsReparation = (System.nanoTime() - startTime) / 1_000_000;
+
+            startTime = System.nanoTime();
+            new AssignmentMinCost().solve(postes, secouristes, competences(CATALOGUE), necessites);
+            long tempsRecalcul = (System.nanoTime() - startTime) / 1_000_000;
+
+            int nbCouverts = 0;
+            for (int indice : resultat) {
+                if (indice >= 0) {
+                    nbCouverts++;
+                }
+            }
+            System.out.println("  Postes couverts après réparation: " + nbCouverts + "/" + postes.size());
+            System.out.println("  Temps de réparation: " + tempsReparation + " ms (recalcul complet : " + tempsRecalcul + " ms)");
+            if (tempsReparation < 1000) {
+                System.out.println("  ✓ Performance acceptable");
+            } else {
+                System.out.println("  ⚠ Performance dégradée");
+            }
+        }
+        System.out.println();
+    }
+
+    /**
+     * Point d'entrée pour exécuter tous les tests
+     */
+    public static void main(String[] args) {
+        TestAssignmentRepair test = new TestAssignmentRepair();
+        test.testRepair();
+        test.testPlusieursDPS();
+        test.testComparaisonCouplage();
+        test.testPerformances();
+    }
+}
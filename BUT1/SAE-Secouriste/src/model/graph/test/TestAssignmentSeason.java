@@ -0,0 +1,150 @@
+package model.graph.test;
+
+import model.data.persistence.*;
+import model.graph.assignment.AssignmentDay;
+import model.graph.assignment.AssignmentSeason;
+import model.graph.assignment.AssignmentSnapshot;
+
+import java.util.*;
+
+/**
+ * Classe de test pour l'affectation d'une saison entière, journée par journée en parallèle.
+ *
+ * @author L. Carré, G. Potay, C. Brocart, T.Brami-Coatual
+ * @version 1.0
+ */
+public class TestAssignmentSeason {
+
+    private static final String[] CATALOGUE = {"PSE1", "PSE2", "CE", "SSA", "PBC", "PBF"};
+    private static final List<Necessite> necessites = new ArrayList<>();
+    private static final Site site = new Site(1L, "La Clusaz - Ski nordique/Biathlon", 45.9044f, 6.4231f);
+    private static final Sport sport = new Sport(1L, "Ski");
+
+    /**
+     * Initialise les données de test
+     */
+    private static void initialiserDonneesTest() {
+        necessites.add(new Necessite(new Competence("PSE1"), new Competence("PSE2")));
+        necessites.add(new Necessite(new Competence("PSE2"), new Competence("CE")));
+        necessites.add(new Necessite(new Competence("SSA"), new Competence("PSE1")));
+        necessites.add(new Necessite(new Competence("PBF"), new Competence("PBC")));
+    }
+
+    /**
+     * Crée une saison synthétique : chaque journée a ses DPS, ses besoins et ses secouristes disponibles
+     */
+    private static List<AssignmentSeason.Jour> saison(int nbJours, int nbDps, int nbSecouristes, Random random) {
+        List<AssignmentSeason.Jour> ret = new ArrayList<>();
+        long idDps = 1;
+        for (int j = 0; j < nbJours; j++) {
+            Journee journee = new Journee(1 + j % 28, 1 + (j / 28) % 12, 2030);
+
+            List<DPS> dpsJour = new ArrayList<>();
+            Map<Long, ArrayList<Competence>> besoins = new HashMap<>();
+            for (int d = 0; d < nbDps; d++) {
+                DPS dps = new DPS(idDps++, "DPS " + idDps, 8, 18, site, sport, journee);
+                dpsJour.add(dps);
+                ArrayList<Competence> besoin = new ArrayList<>();
+                for (int i = 0; i < 1 + random.nextInt(5); i++) {
+                    besoin.add(new Competence(CATALOGUE[random.nextInt(CATALOGUE.length)]));
+                }
+                besoins.put(dps.getId(), besoin);
+            }
+
+            List<Secouriste> secouristes = new ArrayList<>();
+            Map<Long, List<Competence>> possessions = new HashMap<>();
+            for (long s = 0; s < nbSecouristes; s++) {
+                secouristes.add(new Secouriste(s, "Nom" + s, "Prenom" + s, "01/01/1990", "0123456789", "Adresse " + s, new byte[0]));
+                possessions.put(s, Collections.singletonList(new Competence(CATALOGUE[random.nextInt(CATALOGUE.length)])));
+            }
+            AssignmentSnapshot snapshot = new AssignmentSnapshot(journee, j + 1, secouristes, possessions,
+                    new HashSet<>(), Arrays.asList(CATALOGUE), necessites);
+            ret.add(new AssignmentSeason.Jour(snapshot, dpsJour, besoins));
+        }
+        return ret;
+    }
+
+    /**
+     * Vérifie que la résolution en parallèle donne les mêmes affectations que journée par journée,
+     * et que la progression est signalée pour chaque journée dans l'ordre
+     */
+    void testSolve() {
+        System.out.println("********** Tests Solve **********");
+        System.out.println("=== Test: Saison de 20 journées sur 4 threads ===");
+
+        Random random = new Random(3);
+        List<AssignmentSeason.Jour> jours = new ArrayList<>();
+        for (int j = 0; j < 20; j++) {
+            jours.addAll(saison(1, 5, 20, random));
+        }
+
+        List<Integer> progression = new ArrayList<>();
+        List<List<Affectation>> resultats = new AssignmentSeason(4).solve(jours,
+                (journee, nbAffectees, joursTraites, nbJours) -> progression.add(joursTraites));
+
+        boolean identiques = true;
+        for (int j = 0; j < jours.size(); j++) {
+            List<Affectation> attendu = new AssignmentDay().solve(jours.get(j).getDps(), jours.get(j).getBesoins(), jours.get(j).getSnapshot());
+            identiques &= signature(attendu).equals(signature(resultats.get(j)));
+        }
+
+        List<Integer> progressionAttendue = new ArrayList<>();
+        for (int j = 1; j <= jours.size(); j++) {
+            progressionAttendue.add(j);
+        }
+
+        if (identiques && progression.equals(progressionAttendue)) {
+            System.out.println("✓ Test réussi : affectations identiques à la résolution journée par journée");
+        } else {
+            System.err.println("✗ Test échoué : affectations identiques " + identiques + ", progression " + progression);
+        }
+        System.out.println();
+    }
+
+    /**
+     * Test de performance sur une saison de 6 mois
+     */
+    void testPerformances() {
+        System.out.println("********** Tests de Performance **********");
+        System.out.println("=== Test performance avec 180 journées, 10 DPS et 100 secouristes par journée ===");
+
+        List<AssignmentSeason.Jour> jours = saison(180, 10, 100, new Random(9));
+
+        long startTime = System.nanoTime();
+        List<List<Affectation>> resultats = new AssignmentSeason().solve(jours, null);
+        long executionTime = (System.nanoTime() - startTime) / 1_000_000;
+
+        int nbAffectees = 0;
+        for (List<Affectation> affectations : resultats) {
+            nbAffectees += affectations.size();
+        }
+        System.out.println("  Compétences couvertes: " + nbAffectees);
+        System.out.println("  Temps d'exécution: " + executionTime + " ms sur " + Runtime.getRuntime().availableProcessors() + " processeur(s)");
+        if (executionTime < 10_000) {
+            System.out.println("  ✓ Performance acceptable");
+        } else {
+            System.out.println("  ⚠ Performance dégradée");
+        }
+        System.out.println();
+    }
+
+    private static String signature(List<Affectation> affectations) {
+        StringBuilder ret = new StringBuilder();
+        for (Affectation affectation : affectations) {
+            ret.append(affectation.getSecouristeAffect().getIdSecouriste()).append(':')
+                    .append(affectation.getDPSAffect().getId()).append(':')
+                    .append(affectation.getCompetenceAffect().getIntitule()).append(' ');
+        }
+        return ret.toString();
+    }
+
+    /**
+     * Point d'entrée pour exécuter tous les tests
+     */
+    public static void main(String[] args) {
+        initialiserDonneesTest();
+        TestAssignmentSeason test = new TestAssignmentSeason();
+        test.testSolve();
+        test.testPerformances();
+    }
+}
@@ -0,0 +1,252 @@
+package model.graph.test;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import model.data.persistence.Competence;
+import model.data.persistence.Necessite;
+import model.graph.assignment.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * Classe de test des statistiques des affectations : compteurs de la recherche exhaustive,
+ * chronologie des améliorations, registre des métriques et événements JFR.
+ * Aucune base de données n'est nécessaire.
+ *
+ * @author L. Carré, G. Potay, C. Brocart, T.Brami-Coatual
+ * @version 1.0
+ */
+public class TestAssignmentStats {
+
+    // Catalogue de test : PSE1 -> PSE2 -> CE, SSA -> PSE1, PBF -> PBC
+    private static final String[] CATALOGUE = {"PSE1", "PSE2", "CE", "SSA", "PBC", "PBF"};
+    private static final List<Necessite> necessites = new ArrayList<>();
+    private static final List<Competence> catalogue = new ArrayList<>();
+
+    /**
+     * Initialise les données de test
+     */
+    private static void initialiserDonneesTest() {
+        necessites.add(new Necessite(new Competence("PSE1"), new Competence("PSE2")));
+        necessites.add(new Necessite(new Competence("PSE2"), new Competence("CE")));
+        necessites.add(new Necessite(new Competence("SSA"), new Competence("PSE1")));
+        necessites.add(new Necessite(new Competence("PBF"), new Competence("PBC")));
+        for (String intitule : CATALOGUE) {
+            catalogue.add(new Competence(intitule));
+        }
+    }
+
+    private static List<Competence> postesAleatoires(Random random, int nb) {
+        List<Competence> ret = new ArrayList<>();
+        for (int i = 0; i < nb; i++) {
+            ret.add(new Competence(CATALOGUE[random.nextInt(CATALOGUE.length)]));
+        }
+        return ret;
+    }
+
+    private static List<Set<String>> secouristesAleatoires(Random random, int nb) {
+        List<Set<String>> ret = new ArrayList<>();
+        for (int j = 0; j < nb; j++) {
+            Set<String> competences = new HashSet<>();
+            competences.add(CATALOGUE[random.nextInt(CATALOGUE.length)]);
+            if (random.nextBoolean()) {
+                competences.add(CATALOGUE[random.nextInt(CATALOGUE.length)]);
+            }
+            ret.add(competences);
+        }
+        return ret;
+    }
+
+    /**
+     * Vérifie que la chronologie des améliorations croît et finit sur la couverture du résultat
+     */
+    private boolean chronologieValide(AssignmentStats stats, AssignmentResult resultat) {
+        List<long[]> ameliorations = stats.getAmeliorations();
+        if (ameliorations.isEmpty()) {
+            return resultat.getNbAffectees() == 0;
+        }
+        for (int k = 1; k < ameliorations.size(); k++) {
+            if (ameliorations.get(k)[1] <= ameliorations.get(k - 1)[1] || ameliorations.get(k)[0] < ameliorations.get(k - 1)[0]) {
+                return false;
+            }
+        }
+        return ameliorations.get(ameliorations.size() - 1)[1] == resultat.getNbAffectees();
+    }
+
+    /**
+     * Compare les résultats avec et sans statistiques, et vérifie les compteurs
+     */
+    void testCompteurs() {
+        System.out.println("********** Tests des compteurs **********");
+
+        Random random = new Random(41);
+        String[] strategies = {AssignmentExhaustive.Strategie.NOM_EXACT, AssignmentExhaustive.Strategie.NOM_ANYTIME};
+        int[][] tailles = {{6, 10}, {10, 30}, {14, 40}};
+        for (String nom : strategies) {
+            int erreursResultat = 0;
+            int erreursCompteurs = 0;
+            long noeuds = 0;
+            long elagages = 0;
+            for (int[] taille : tailles) {
+                for (int n = 0; n < 5; n++) {
+                    List<Competence> postes = postesAleatoires(random, taille[0]);
+                    List<Set<String>> secouristes = secouristesAleatoires(random, taille[1]);
+
+                    AssignmentResult sans = AssignmentStrategies.solve(AssignmentStrategies.create(nom), postes, secouristes, catalogue, necessites);
+                    AssignmentStats stats = new AssignmentStats(nom);
+                    AssignmentResult avec = AssignmentStrategies.solve(AssignmentStrategies.create(nom), postes, secouristes,
+                            catalogue, necessites, stats);
+
+                    if (avec.getNbAffectees() != sans.getNbAffectees() || avec.getStats() != stats) {
+                        erreursResultat++;
+                    }
+                    // La recherche à temps borné n'explore rien si la solution gloutonne atteint déjà la borne
+                    boolean sansRecherche = stats.getNoeuds() == 0 && stats.getAmeliorations().size() != 1;
+                    if (sansRecherche || stats.getDureeResolution() <= 0 || !chronologieValide(stats, avec)) {
+                        erreursCompteurs++;
+                    }
+                    noeuds += stats.getNoeuds();
+                    elagages += stats.getElagages();
+                }
+            }
+            afficher(erreursResultat, nom + " : même couverture avec et sans statistiques");
+            afficher(erreursCompteurs, nom + " : compteurs et chronologie (" + noeuds + " nœuds, " + elagages + " élagages)");
+        }
+
+        // Sans métriques ni enregistrement JFR, rien n'est collecté
+        AssignmentResult resultat = AssignmentStrategies.solve(AssignmentStrategies.create(AssignmentFlow.NOM),
+                postesAleatoires(random, 5), secouristesAleatoires(random, 5), catalogue, necessites);
+        afficher(AssignmentMetrics.isEnabled() || resultat.getStats() == null ? 0 : 1, "Aucune statistique quand les métriques sont désactivées");
+        System.out.println();
+    }
+
+    /**
+     * Vérifie l'agrégation des statistiques par stratégie dans le registre
+     */
+    void testRegistre() {
+        System.out.println("********** Tests du registre **********");
+
+        boolean active = AssignmentMetrics.isEnabled();
+        AssignmentMetrics.setEnabled(true);
+        AssignmentMetrics.reset();
+        try {
+            Random random = new Random(43);
+            long noeuds = 0;
+            for (int n = 0; n < 3; n++) {
+                AssignmentStats stats = new AssignmentStats(AssignmentExhaustive.Strategie.NOM_EXACT);
+                AssignmentStrategies.solve(AssignmentStrategies.create(AssignmentExhaustive.Strategie.NOM_EXACT),
+                        postesAleatoires(random, 8), secouristesAleatoires(random, 12), catalogue, necessites, stats);
+                stats.setDureeEnregistrement(1000);
+                stats.ajouterAllersRetours(2);
+                AssignmentMetrics.enregistrer(stats);
+                noeuds += stats.getNoeuds();
+            }
+            boolean valide = AssignmentMetrics.get("exhaustive.affectations") == 3
+                    && AssignmentMetrics.get("exhaustive.noeuds") == noeuds
+                    && AssignmentMetrics.get("exhaustive.allersRetours") == 6
+                    && AssignmentMetrics.get("exhaustive.enregistrement.nanos") == 3000
+                    && AssignmentMetrics.get("flow.affectations") == 0;
+            afficher(valide ? 0 : 1, "Compteurs agrégés par stratégie : " + AssignmentMetrics.getCompteurs().keySet());
+        } finally {
+            AssignmentMetrics.reset();
+            AssignmentMetrics.setEnabled(active);
+        }
+        System.out.println();
+    }
+
+    /**
+     * Enregistre une résolution avec JFR et relit l'événement
+     */
+    void testJFR() {
+        System.out.println("********** Tests JFR **********");
+
+        Random random = new Random(47);
+        List<Competence> postes = postesAleatoires(random, 10);
+        try (Recording recording = new Recording()) {
+            recording.enable("secouriste.AssignmentSolve");
+            recording.start();
+            AssignmentResult resultat = AssignmentStrategies.solve(AssignmentStrategies.create(AssignmentExhaustive.Strategie.NOM_EXACT),
+                    postes, secouristesAleatoires(random, 20), catalogue, necessites);
+            recording.stop();
+
+            Path fichier = Files.createTempFile("assignment", ".jfr");
+            recording.dump(fichier);
+            List<RecordedEvent> events = new ArrayList<>();
+            for (RecordedEvent event : RecordingFile.readAllEvents(fichier)) {
+                if (event.getEventType().getName().equals("secouriste.AssignmentSolve")) {
+                    events.add(event);
+                }
+            }
+            Files.deleteIfExists(fichier);
+
+            boolean valide = events.size() == 1
+                    && events.get(0).getString("strategie").equals(AssignmentExhaustive.Strategie.NOM_EXACT)
+                    && events.get(0).getInt("postes") == postes.size()
+                    && events.get(0).getInt("couverts") == resultat.getNbAffectees()
+                    && events.get(0).getLong("noeuds") == resultat.getStats().getNoeuds();
+            afficher(valide ? 0 : 1, "Événement JFR de la résolution (" + events.size() + " événement)");
+        } catch (IOException e) {
+            System.err.println("✗ Enregistrement JFR impossible : " + e.getMessage());
+        }
+        System.out.println();
+    }
+
+    /**
+     * Compare le temps de la recherche exacte avec et sans statistiques
+     */
+    void testPerformances() {
+        System.out.println("********** Tests de Performance **********");
+
+        Random random = new Random(53);
+        List<List<Competence>> postes = new ArrayList<>();
+        List<List<Set<String>>> secouristes = new ArrayList<>();
+        for (int n = 0; n < 300; n++) {
+            postes.add(postesAleatoires(random, 12));
+            secouristes.add(secouristesAleatoires(random, 40));
+        }
+
+        // Premier passage pour la compilation JIT, puis un passage mesuré de chaque variante
+        long[] durees = new long[2];
+        for (int passage = 0; passage < 2; passage++) {
+            for (int k = 0; k < 2; k++) {
+                long startTime = System.nanoTime();
+                for (int n = 0; n < postes.size(); n++) {
+                    AssignmentExhaustive.solve(postes.get(n), secouristes.get(n), necessites, k == 0 ? null : new AssignmentStats("exhaustive"));
+                }
+                durees[k] = System.nanoTime() - startTime;
+            }
+        }
+        System.out.println("  Sans statistiques: " + durees[0] / 1_000_000 + " ms");
+        System.out.println("  Avec statistiques: " + durees[1] / 1_000_000 + " ms");
+        if (durees[1] < 1.5 * durees[0] + 20_000_000) {
+            System.out.println("  ✓ Surcoût acceptable");
+        } else {
+            System.out.println("  ⚠ Surcoût important");
+        }
+        System.out.println();
+    }
+
+    private void afficher(int erreurs, String description) {
+        if (erreurs == 0) {
+            System.out.println("✓ " + description);
+        } else {
+            System.err.println("✗ " + description + " : " + erreurs + " erreurs");
+        }
+    }
+
+    /**
+     * Point d'entrée pour exécuter tous les tests
+     */
+    public static void main(String[] args) {
+        initialiserDonneesTest();
+        TestAssignmentStats test = new TestAssignmentStats();
+        test.testCompteurs();
+        test.testRegistre();
+        test.testJFR();
+        test.testPerformances();
+    }
+}
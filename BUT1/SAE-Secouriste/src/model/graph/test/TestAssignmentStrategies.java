@@ -0,0 +1,228 @@
+package model.graph.test;
+
+import model.data.persistence.Competence;
+import model.data.persistence.Necessite;
+import model.graph.assignment.AssignmentExhaustive;
+import model.graph.assignment.AssignmentFlow;
+import model.graph.assignment.AssignmentMinCost;
+import model.graph.assignment.AssignmentResult;
+import model.graph.assignment.AssignmentStrategies;
+import model.graph.assignment.AssignmentStrategy;
+
+import java.util.*;
+
+/**
+ * Classe de test du registre des stratégies d'affectation.
+ * Vérifie le choix de la stratégie selon la taille de l'instance
+ * et que chaque stratégie enregistrée produit une affectation valide.
+ *
+ * @author L. Carré, G. Potay, C. Brocart, T.Brami-Coatual
+ * @version 1.0
+ */
+public class TestAssignmentStrategies {
+
+    // Catalogue de test : PSE1 -> PSE2 -> CE, SSA -> PSE1
+    private static final List<Competence> catalogue = new ArrayList<>();
+    private static final List<Necessite> necessites = new ArrayList<>();
+
+    /**
+     * Initialise les données de test
+     */
+    private static void initialiserDonneesTest() {
+        for (String intitule : new String[]{"PSE1", "PSE2", "CE", "SSA", "PBC", "PBF"}) {
+            catalogue.add(new Competence(intitule));
+        }
+        necessites.add(new Necessite(new Competence("PSE1"), new Competence("PSE2")));
+        necessites.add(new Necessite(new Competence("PSE2"), new Competence("CE")));
+        necessites.add(new Necessite(new Competence("SSA"), new Competence("PSE1")));
+        necessites.add(new Necessite(new Competence("PBF"), new Competence("PBC")));
+    }
+
+    /**
+     * Test de cas pour la méthode choose
+     *
+     * @param nbPostes nombre de compétences demandées
+     * @param nbSecouristes nombre de secouristes disponibles
+     * @param coutMinimal true si le coût minimal est demandé
+     * @param attendu nom de la stratégie attendue
+     */
+    void testCasChoose(int nbPostes, int nbSecouristes, boolean coutMinimal, String attendu) {
+        String nom = AssignmentStrategies.choose(nbPostes, nbSecouristes, coutMinimal);
+        String description = nbPostes + " postes, " + nbSecouristes + " secouristes" + (coutMinimal ? ", coût minimal" : "");
+        if (nom.equals(attendu)) {
+            System.out.println("✓ " + description + " : " + nom);
+        } else {
+            System.err.println("✗ " + description + " : " + nom + " au lieu de " + attendu);
+        }
+    }
+
+    /**
+     * Tests du modèle de coût
+     */
+    void testChoose() {
+        System.out.println("********** Tests Choose **********");
+
+        testCasChoose(0, 0, false, AssignmentExhaustive.Strategie.NOM_EXACT);
+        testCasChoose(12, 1000, true, AssignmentExhaustive.Strategie.NOM_EXACT);
+        testCasChoose(13, 1000, false, AssignmentFlow.NOM);
+        testCasChoose(13, 1000, true, AssignmentMinCost.NOM);
+        testCasChoose(12, 1001, false, AssignmentFlow.NOM);
+        testCasChoose(200, 1000, true, AssignmentFlow.NOM);
+        testCasChoose(2000, 2000, false, AssignmentFlow.NOM);
+        testCasChoose(2001, 2000, false, AssignmentExhaustive.Strategie.NOM_ANYTIME);
+        testCasChoose(100, 100_000, true, AssignmentExhaustive.Strategie.NOM_ANYTIME);
+
+        try {
+            AssignmentStrategies.choose(-1, 10, false);
+            System.err.println("✗ Une taille négative doit être refusée");
+        } catch (IllegalArgumentException e) {
+            System.out.println("✓ Taille négative refusée");
+        }
+        System.out.println();
+    }
+
+    /**
+     * Vérifie qu'un secouriste possède une compétence ou une compétence supérieure
+     *
+     * @param possedees compétences du secouriste
+     * @param intitule compétence demandée
+     * @return true si le secouriste peut tenir le poste
+     */
+    private boolean couvre(Set<String> possedees, String intitule) {
+        if (possedees.contains(intitule)) {
+            return true;
+        }
+        for (Necessite necessite : necessites) {
+            if (necessite.getComp1().getIntitule().equals(intitule)
+                    && couvre(possedees, necessite.getComp2().getIntitule())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Vérifie qu'une affectation respecte les compétences et n'utilise pas deux fois le même secouriste
+     *
+     * @param competences compétences demandées
+     * @param competencesSecouristes compétences de chaque secouriste
+     * @param affectation affectation à vérifier
+     * @return true si l'affectation est valide
+     */
+    private boolean estValide(List<Competence> competences, List<Set<String>> competencesSecouristes, int[] affectation) {
+        if (affectation.length != competences.size()) {
+            return false;
+        }
+        Set<Integer> utilises = new HashSet<>();
+        for (int i = 0; i < affectation.length; i++) {
+            if (affectation[i] >= 0) {
+                if (!utilises.add(affectation[i])
+                        || !couvre(competencesSecouristes.get(affectation[i]), competences.get(i).getIntitule())) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Exécute chaque stratégie enregistrée sur les mêmes instances aléatoires
+     */
+    void testStrategies() {
+        System.out.println("********** Tests des stratégies enregistrées **********");
+
+        String[][] profils = {{"PSE1"}, {"PSE1", "PSE2"}, {"PSE1", "PSE2", "CE"}, {"PSE1", "SSA"}, {"PBC"}, {"PBC", "PBF"}};
+        String[] demandes = {"PSE1", "PSE2", "CE", "SSA", "PBC", "PBF"};
+        Random random = new Random(11);
+
+        for (String nom : AssignmentStrategies.getNoms()) {
+            int valides = 0;
+            int optimales = 0;
+            int nbInstances = 50;
+            for (int n = 0; n < nbInstances; n++) {
+                List<Set<String>> competencesSecouristes = new ArrayList<>();
+                int nbSecouristes = 1 + random.nextInt(15);
+                for (int i = 0; i < nbSecouristes; i++) {
+                    competencesSecouristes.add(new HashSet<>(Arrays.asList(profils[random.nextInt(profils.length)])));
+                }
+                List<Competence> competences = new ArrayList<>();
+                int nbPostes = 1 + random.nextInt(8);
+                for (int i = 0; i < nbPostes; i++) {
+                    competences.add(new Competence(demandes[random.nextInt(demandes.length)]));
+                }
+
+                AssignmentResult resultat = AssignmentStrategies.solve(AssignmentStrategies.create(nom),
+                        competences, competencesSecouristes, catalogue, necessites);
+                if (nom.equals(resultat.getStrategie()) && estValide(competences, competencesSecouristes, resultat.getAffectation())) {
+                    valides++;
+                }
+
+                // Le couplage maximum sert de référence pour le nombre de compétences couvertes
+                int[] reference = new AssignmentFlow().solve(competences, competencesSecouristes, catalogue, necessites);
+                AssignmentResult attendu = new AssignmentResult(AssignmentFlow.NOM, reference, true, 0);
+                if (!resultat.estOptimale() || resultat.getNbAffectees() == attendu.getNbAffectees()) {
+                    optimales++;
+                }
+            }
+            if (valides == nbInstances && optimales == nbInstances) {
+                System.out.println("✓ " + nom + " : " + nbInstances + " affectations valides");
+            } else {
+                System.err.println("✗ " + nom + " : " + valides + "/" + nbInstances + " valides, "
+                        + optimales + "/" + nbInstances + " optimales quand annoncé");
+            }
+        }
+        System.out.println();
+    }
+
+    /**
+     * Vérifie qu'une stratégie externe peut être enregistrée puis utilisée
+     */
+    void testRegister() {
+        System.out.println("********** Tests Register **********");
+
+        AssignmentStrategies.register("aucune", () -> new AssignmentStrategy() {
+            @Override
+            public String getNom() {
+                return "aucune";
+            }
+
+            @Override
+            public int[] solve(List<Competence> competences, List<Set<String>> competencesSecouristes,
+                               List<Competence> catalogue, List<Necessite> necessites) {
+                int[] ret = new int[competences.size()];
+                Arrays.fill(ret, -1);
+                return ret;
+            }
+        });
+
+        List<Competence> competences = List.of(new Competence("PSE1"));
+        List<Set<String>> competencesSecouristes = List.of(Set.of("PSE1"));
+        AssignmentResult resultat = AssignmentStrategies.solve(AssignmentStrategies.create("aucune"),
+                competences, competencesSecouristes, catalogue, necessites);
+        if (AssignmentStrategies.getNoms().contains("aucune") && resultat.getNbAffectees() == 0
+                && "aucune".equals(resultat.getStrategie())) {
+            System.out.println("✓ Stratégie externe enregistrée et exécutée : " + resultat);
+        } else {
+            System.err.println("✗ Stratégie externe : " + resultat);
+        }
+
+        try {
+            AssignmentStrategies.create("inconnue");
+            System.err.println("✗ Une stratégie inconnue doit être refusée");
+        } catch (IllegalArgumentException e) {
+            System.out.println("✓ Stratégie inconnue refusée");
+        }
+        System.out.println();
+    }
+
+    /**
+     * Point d'entrée pour exécuter tous les tests
+     */
+    public static void main(String[] args) {
+        initialiserDonneesTest();
+        TestAssignmentStrategies test = new TestAssignmentStrategies();
+        test.testChoose();
+        test.testStrategies();
+        test.testRegister();
+    }
+}
@@ -0,0 +1,272 @@
+package model.graph.test;
+
+import model.dao.ConnectionPool;
+
+import java.lang.reflect.Proxy;
+import java.sql.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+/**
+ * Classe de test du pool de connexions. Les connexions sont fournies par un pilote JDBC factice
+ * qui compte les ouvertures : aucune base de données n'est nécessaire.
+ *
+ * @author L. Carré, G. Potay, C. Brocart, T.Brami-Coatual
+ * @version 1.0
+ */
+public class TestConnectionPool {
+
+    private static final String URL = "jdbc:factice:pool";
+
+    // Connexions physiques ouvertes par le pilote factice, et celles qu'il déclare invalides
+    private static final AtomicInteger nbOuvertes = new AtomicInteger();
+    private static final Set<Integer> invalides = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Pilote factice : chaque connexion garde son numéro, son état d'auto-commit et ses rollbacks
+     */
+    private static final class PiloteFactice implements Driver {
+
+        @Override
+        public Connection connect(String url, Properties info) {
+            if (!acceptsURL(url)) {
+                return null;
+            }
+            int numero = nbOuvertes.incrementAndGet();
+            boolean[] etat = {true, false, false}; // autoCommit, rollback, fermée
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                    (proxy, method, args) -> {
+                        switch (method.getName()) {
+                            case "getAutoCommit":
+                                return etat[0];
+                            case "setAutoCommit":
+                                etat[0] = (Boolean) args[0];
+                                return null;
+                            case "rollback":
+                                etat[1] = true;
+                                return null;
+                            case "close":
+                                etat[2] = true;
+                                return null;
+                            case "isClosed":
+                                return etat[2];
+                            case "isValid":
+                                return !invalides.contains(numero);
+                            case "getCatalog":
+                                return "connexion" + numero + (etat[1] ? "-rollback" : "");
+                            case "hashCode":
+                                return numero;
+                            case "equals":
+                                return proxy == args[0];
+                            default:
+                                return null;
+                        }
+                    });
+        }
+
+        @Override
+        public boolean acceptsURL(String url) {
+            return url.startsWith("jdbc:factice:");
+        }
+
+        @Override
+        public DriverPropertyInfo[] getPropertyInfo(String url, Properties info) {
+            return new DriverPropertyInfo[0];
+        }
+
+        @Override
+        public int getMajorVersion() {
+            return 1;
+        }
+
+        @Override
+        public int getMinorVersion() {
+            return 0;
+        }
+
+        @Override
+        public boolean jdbcCompliant() {
+            return false;
+        }
+
+        @Override
+        public Logger getParentLogger() {
+            return Logger.getGlobal();
+        }
+    }
+
+    private static ConnectionPool pool(int tailleMax, long attenteMax, long idleTimeout, long dureeVieMax, long intervalleValidation) {
+        return new ConnectionPool(URL, "", "", tailleMax, 0, attenteMax, idleTimeout, dureeVieMax, intervalleValidation, 1);
+    }
+
+    /**
+     * Vérifie la réutilisation des connexions et la remise à zéro des transactions
+     */
+    void testReutilisation() throws SQLException {
+        System.out.println("********** Tests de réutilisation **********");
+
+        ConnectionPool pool = pool(2, 1000, 60_000, 60_000, 500);
+        int ouvertes = nbOuvertes.get();
+        for (int n = 0; n < 100; n++) {
+            try (Connection con = pool.emprunter()) {
+                con.getCatalog();
+            }
+        }
+        afficher(nbOuvertes.get() - ouvertes == 1 && pool.getNbEmprunts() == 100 && pool.getIdle() == 1 && pool.getActives() == 0 ? 0 : 1,
+                "100 emprunts successifs sur une seule connexion physique");
+
+        Connection con = pool.emprunter();
+        con.setAutoCommit(false);
+        con.close();
+        int erreurs = con.isClosed() ? 0 : 1;
+        try {
+            con.getCatalog();
+            erreurs++;
+        } catch (SQLException e) {
+            // Attendu : la connexion a été rendue
+        }
+        try (Connection suivante = pool.emprunter()) {
+            if (!suivante.getAutoCommit() || !suivante.getCatalog().endsWith("-rollback")) {
+                erreurs++;
+            }
+        }
+        afficher(erreurs, "Transaction annulée et auto-commit rétabli au retour");
+        pool.fermer();
+        System.out.println();
+    }
+
+    /**
+     * Vérifie la taille maximale, l'attente et son délai
+     */
+    void testBorne() throws Exception {
+        System.out.println("********** Tests de la borne **********");
+
+        ConnectionPool pool = pool(2, 200, 60_000, 60_000, 500);
+        Connection a = pool.emprunter();
+        Connection b = pool.emprunter();
+        int erreurs = pool.getActives() == 2 ? 0 : 1;
+        long debut = System.nanoTime();
+        try {
+            pool.emprunter();
+            erreurs++;
+        } catch (SQLTransientConnectionException e) {
+            if (System.nanoTime() - debut < TimeUnit.MILLISECONDS.toNanos(150)) {
+                erreurs++;
+            }
+        }
+        afficher(erreurs == 0 && pool.getNbEchecs() == 1 ? 0 : 1, "Emprunt refusé après le délai quand le pool est plein");
+
+        // Un thread attend la connexion rendue par un autre
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        Future<String> attente = executor.submit(() -> {
+            try (Connection con = pool.emprunter()) {
+                return con.getCatalog();
+            }
+        });
+        Thread.sleep(50);
+        a.close();
+        String catalogue = attente.get(1, TimeUnit.SECONDS);
+        executor.shutdown();
+        b.close();
+        afficher(catalogue != null && pool.getNbAttentes() == 1 && pool.getAttenteMax() > 0 && pool.getActives() == 0 ? 0 : 1,
+                "Connexion rendue transmise au thread en attente (" + pool + ")");
+
+        // Accès concurrents : jamais plus de connexions que la borne
+        ExecutorService threads = Executors.newFixedThreadPool(8);
+        List<Future<Integer>> resultats = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            resultats.add(threads.submit(() -> {
+                int max = 0;
+                for (int n = 0; n < 200; n++) {
+                    try (Connection con = pool.emprunter()) {
+                        con.getCatalog();
+                        max = Math.max(max, pool.getActives());
+                    }
+                }
+                return max;
+            }));
+        }
+        int max = 0;
+        for (Future<Integer> resultat : resultats) {
+            max = Math.max(max, resultat.get());
+        }
+        threads.shutdown();
+        afficher(max <= 2 && pool.getActives() == 0 && pool.getIdle() <= 2 ? 0 : 1, "Au plus 2 connexions pour 8 threads");
+        pool.fermer();
+        System.out.println();
+    }
+
+    /**
+     * Vérifie la validation à l'emprunt, la durée de vie maximale et l'éviction des connexions inactives
+     */
+    void testEviction() throws Exception {
+        System.out.println("********** Tests de l'éviction **********");
+
+        // Intervalle de validation nul : chaque emprunt valide la connexion
+        ConnectionPool pool = pool(2, 200, 60_000, 60_000, 0);
+        String premiere;
+        try (Connection con = pool.emprunter()) {
+            premiere = con.getCatalog();
+        }
+        invalides.add(nbOuvertes.get());
+        String seconde;
+        try (Connection con = pool.emprunter()) {
+            seconde = con.getCatalog();
+        }
+        afficher(!premiere.equals(seconde) && pool.getNbFermetures() == 1 ? 0 : 1, "Connexion invalide remplacée à l'emprunt");
+        pool.fermer();
+
+        pool = pool(2, 200, 60_000, 100, 500);
+        try (Connection con = pool.emprunter()) {
+            premiere = con.getCatalog();
+        }
+        Thread.sleep(150);
+        try (Connection con = pool.emprunter()) {
+            seconde = con.getCatalog();
+        }
+        afficher(!premiere.equals(seconde) ? 0 : 1, "Connexion trop ancienne remplacée");
+        pool.fermer();
+
+        pool = pool(2, 200, 200, 60_000, 500);
+        Connection a = pool.emprunter();
+        Connection b = pool.emprunter();
+        a.close();
+        b.close();
+        int idle = pool.getIdle();
+        // L'entretien passe au plus tard une seconde après la création du pool
+        Thread.sleep(1_300);
+        afficher(idle == 2 && pool.getIdle() == 0 && pool.getNbFermetures() == 2 ? 0 : 1, "Connexions inactives fermées par l'entretien");
+        pool.fermer();
+
+        int erreurs = 0;
+        try {
+            pool.emprunter();
+            erreurs++;
+        } catch (SQLException e) {
+            // Attendu : le pool est fermé
+        }
+        afficher(erreurs, "Emprunt refusé par un pool fermé");
+        System.out.println();
+    }
+
+    private void afficher(int erreurs, String description) {
+        if (erreurs == 0) {
+            System.out.println("✓ " + description);
+        } else {
+            System.err.println("✗ " + description + " : " + erreurs + " erreurs");
+        }
+    }
+
+    /**
+     * Point d'entrée pour exécuter tous les tests
+     */
+    public static void main(String[] args) throws Exception {
+        DriverManager.registerDriver(new PiloteFactice());
+        TestConnectionPool test = new TestConnectionPool();
+        test.testReutilisation();
+        test.testBorne();
+        test.testEviction();
+    }
+}
@@ -0,0 +1,115 @@
+package model.graph.test;
+
+import model.dao.IdentityMap;
+import model.data.persistence.Secouriste;
+import model.data.persistence.Site;
+
+/**
+ * Classe de test des portées de l'identity map : identité des entités, portées imbriquées,
+ * éviction et isolement entre threads. Aucune base de données n'est nécessaire.
+ *
+ * @author L. Carré, G. Potay, C. Brocart, T.Brami-Coatual
+ * @version 1.0
+ */
+public class TestIdentityMap {
+
+    private static Secouriste secouriste(long id) {
+        return new Secouriste(id, "Nom" + id, "Prenom" + id, "01/01/1990", "0123456789", "Adresse", new byte[0]);
+    }
+
+    /**
+     * Vérifie qu'une entité enregistrée est retrouvée identique dans la portée, et seulement dans la portée
+     */
+    void testIdentite() {
+        System.out.println("********** Tests d'identité **********");
+
+        Secouriste premier = secouriste(1);
+        int erreurs = IdentityMap.register(Secouriste.class, 1L, premier) == premier && IdentityMap.find(Secouriste.class, 1L) == null ? 0 : 1;
+        afficher(erreurs, "Sans portée, rien n'est gardé");
+
+        try (IdentityMap portee = IdentityMap.open()) {
+            Secouriste lu = IdentityMap.register(Secouriste.class, 1L, premier);
+            Secouriste relu = IdentityMap.register(Secouriste.class, 1L, secouriste(1));
+            erreurs = lu == premier && relu == premier && IdentityMap.find(Secouriste.class, 1L) == premier ? 0 : 1;
+            // Même ID, autre classe : deux entités distinctes
+            Site site = IdentityMap.register(Site.class, 1L, new Site(1, "Stade", 0, 0));
+            erreurs += IdentityMap.find(Site.class, 1L) == site && portee.size() == 2 && portee.getNbTrouves() == 2 ? 0 : 1;
+            afficher(erreurs, "Une seule instance par entité dans la portée");
+
+            IdentityMap.evict(Secouriste.class, 1L);
+            Secouriste modifie = secouriste(1);
+            afficher(IdentityMap.find(Secouriste.class, 1L) == null && IdentityMap.register(Secouriste.class, 1L, modifie) == modifie ? 0 : 1,
+                    "Entité relue après son éviction");
+        }
+        afficher(!IdentityMap.isOpen() && IdentityMap.find(Secouriste.class, 1L) == null ? 0 : 1, "Portée vidée à la fermeture");
+        System.out.println();
+    }
+
+    /**
+     * Vérifie le partage des entités entre portées imbriquées et l'isolement des threads
+     */
+    void testPortees() throws InterruptedException {
+        System.out.println("********** Tests des portées **********");
+
+        Secouriste premier = secouriste(2);
+        int erreurs = 0;
+        // Portées ouvertes sans try-with-resources : le test tente de fermer la portée externe avant l'interne
+        IdentityMap externe = IdentityMap.open();
+        try {
+            IdentityMap.register(Secouriste.class, 2L, premier);
+            IdentityMap interne = IdentityMap.open();
+            try {
+                if (IdentityMap.find(Secouriste.class, 2L) != premier) {
+                    erreurs++;
+                }
+                IdentityMap.register(Secouriste.class, 3L, secouriste(3));
+            } finally {
+                interne.close();
+            }
+            // La portée externe reste ouverte et voit les entités de la portée interne
+            if (!IdentityMap.isOpen() || IdentityMap.find(Secouriste.class, 3L) == null) {
+                erreurs++;
+            }
+
+            Secouriste[] autreThread = new Secouriste[1];
+            boolean[] ouverte = new boolean[1];
+            Thread thread = new Thread(() -> {
+                autreThread[0] = IdentityMap.find(Secouriste.class, 2L);
+                ouverte[0] = IdentityMap.isOpen();
+            });
+            thread.start();
+            thread.join();
+            afficher(autreThread[0] == null && !ouverte[0] ? 0 : 1, "Portée invisible depuis un autre thread");
+
+            interne = IdentityMap.open();
+            try {
+                externe.close();
+                erreurs++;
+            } catch (IllegalStateException e) {
+                // Attendu : la portée interne est encore ouverte
+            }
+            interne.close();
+        } finally {
+            externe.close();
+        }
+        afficher(erreurs == 0 && !IdentityMap.isOpen() ? 0 : 1, "Portées imbriquées partagées et fermées dans l'ordre");
+        System.out.println();
+    }
+
+    private void afficher(int erreurs, String description) {
+        if (erreurs == 0) {
+            System.out.println("✓ " + description);
+        } else {
+            System.err.println("✗ " + description + " : " + erreurs + " erreurs");
+        }
+    }
+
+    /**
+     * Point d'entrée pour exécuter tous les tests
+     */
+    public static void main(String[] args) throws InterruptedException {
+        TestIdentityMap test = new TestIdentityMap();
+        test.testIdentite();
+        test.testPortees();
+    }
+}
@@ -0,0 +1,230 @@
+package model.graph.test;
+
+import model.data.persistence.Competence;
+import model.data.persistence.Necessite;
+import model.graph.utils.IncrementalSkillOrder;
+import model.graph.utils.SkillClosure;
+import model.graph.utils.SkillGraph;
+
+import java.util.*;
+
+/**
+ * Classe de test de la détection de cycle au fil des ajouts de nécessités.
+ * Compare chaque décision avec un tri topologique complet, vérifie l'ordre maintenu
+ * et la fermeture mise à jour sans recalcul.
+ *
+ * @author L. Carré, G. Potay, C. Brocart, T.Brami-Coatual
+ * @version 1.0
+ */
+public class TestIncrementalSkillOrder {
+
+    /**
+     * Vérifie que chaque nécessité va d'une compétence vers une compétence placée après elle
+     *
+     * @param ordre ordre topologique
+     * @param necessites nécessités acceptées
+     * @return true si l'ordre respecte toutes les nécessités
+     */
+    private boolean ordreValide(List<String> ordre, List<Necessite> necessites) {
+        Map<String, Integer> rang = new HashMap<>();
+        for (int k = 0; k < ordre.size(); k++) {
+            rang.put(ordre.get(k), k);
+        }
+        for (Necessite necessite : necessites) {
+            if (rang.get(necessite.getComp1().getIntitule()) >= rang.get(necessite.getComp2().getIntitule())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Ajoute des nécessités aléatoires et compare chaque décision avec SkillGraph
+     */
+    void testAjouts() {
+        System.out.println("********** Tests des ajouts **********");
+
+        Random random = new Random(17);
+        int erreursDecision = 0;
+        int erreursOrdre = 0;
+        int nbAjouts = 0;
+        int nbRefus = 0;
+        for (int n = 0; n < 100; n++) {
+            int nbCompetences = 3 + random.nextInt(15);
+            List<String> competences = new ArrayList<>();
+            for (int i = 0; i < nbCompetences; i++) {
+                competences.add("C" + i);
+            }
+            List<Necessite> acceptees = new ArrayList<>();
+            Set<String> cles = new HashSet<>();
+            IncrementalSkillOrder ordre = new IncrementalSkillOrder(competences, acceptees);
+
+            for (int e = 0; e < 3 * nbCompetences; e++) {
+                Necessite necessite = new Necessite(new Competence(competences.get(random.nextInt(nbCompetences))),
+                        new Competence(competences.get(random.nextInt(nbCompetences))));
+                String cle = necessite.getComp1().getIntitule() + ">" + necessite.getComp2().getIntitule();
+                if (cles.contains(cle)) {
+                    // Une nécessité déjà présente est toujours acceptée sans rien changer
+                    if (!ordre.addNecessite(necessite)) {
+                        erreursDecision++;
+                    }
+                    continue;
+                }
+                List<Necessite> avecArete = new ArrayList<>(acceptees);
+                avecArete.add(necessite);
+                boolean attendu = new SkillGraph(competences, avecArete).isDAG();
+
+                if (ordre.addNecessite(necessite) != attendu) {
+                    erreursDecision++;
+                }
+                if (attendu) {
+                    acceptees.add(necessite);
+                    cles.add(cle);
+                    nbAjouts++;
+                } else {
+                    nbRefus++;
+                }
+                if (!ordreValide(ordre.getOrdre(), acceptees)) {
+                    erreursOrdre++;
+                }
+
+                // Une suppression garde l'ordre valide
+                if (!acceptees.isEmpty() && random.nextInt(5) == 0) {
+                    Necessite supprimee = acceptees.remove(random.nextInt(acceptees.size()));
+                    cles.remove(supprimee.getComp1().getIntitule() + ">" + supprimee.getComp2().getIntitule());
+                    ordre.removeNecessite(supprimee);
+                }
+            }
+        }
+        afficher(erreursDecision, "Décisions identiques au tri complet (" + nbAjouts + " acceptées, " + nbRefus + " refusées)");
+        afficher(erreursOrdre, "Ordre topologique maintenu");
+
+        // Une compétence ajoutée après la construction est placée à la fin de l'ordre
+        IncrementalSkillOrder ordre = new IncrementalSkillOrder(List.of("PSE1", "PSE2"), new ArrayList<>());
+        boolean accepte = ordre.addNecessite(new Necessite(new Competence("PSE2"), new Competence("CE")))
+                && !ordre.addNecessite(new Necessite(new Competence("CE"), new Competence("PSE2")))
+                && !ordre.addNecessite(new Necessite(new Competence("CE"), new Competence("CE")));
+        afficher(accepte ? 0 : 1, "Nouvelle compétence et boucle sur elle-même");
+
+        // Une insertion en échec retire la dépendance : l'inverse redevient acceptable
+        Necessite annulee = new Necessite(new Competence("PSE1"), new Competence("CE"));
+        boolean retiree = ordre.addNecessite(annulee) && ordre.containsNecessite(annulee);
+        ordre.removeNecessite(annulee);
+        retiree = retiree && !ordre.containsNecessite(annulee)
+                && ordre.addNecessite(new Necessite(new Competence("CE"), new Competence("PSE1")));
+        afficher(retiree ? 0 : 1, "Dépendance retirée après une insertion en échec");
+        System.out.println();
+    }
+
+    /**
+     * Compare la fermeture mise à jour à chaque ajout avec une fermeture recalculée
+     */
+    void testFermeture() {
+        System.out.println("********** Tests de la fermeture **********");
+
+        Random random = new Random(19);
+        List<Competence> catalogue = new ArrayList<>();
+        List<String> competences = new ArrayList<>();
+        for (int i = 0; i < 80; i++) {
+            catalogue.add(new Competence("C" + i));
+            competences.add("C" + i);
+        }
+        List<Necessite> necessites = new ArrayList<>();
+        IncrementalSkillOrder ordre = new IncrementalSkillOrder(competences, necessites);
+        SkillClosure.invalidate();
+        SkillClosure.of(catalogue, necessites);
+
+        int erreurs = 0;
+        int nbPatchs = 0;
+        for (int e = 0; e < 200; e++) {
+            Necessite necessite = new Necessite(catalogue.get(random.nextInt(80)), catalogue.get(random.nextInt(80)));
+            if (!ordre.addNecessite(necessite) || necessites.stream().anyMatch(n -> n.getComp1().equals(necessite.getComp1())
+                    && n.getComp2().equals(necessite.getComp2()))) {
+                continue;
+            }
+            necessites.add(necessite);
+            SkillClosure.patch(necessite);
+            nbPatchs++;
+
+            // La fermeture en cache doit être réutilisée et identique à une fermeture recalculée
+            SkillClosure patchee = SkillClosure.of(catalogue, necessites);
+            SkillClosure.invalidate();
+            SkillClosure recalculee = SkillClosure.of(catalogue, necessites);
+            for (Competence competence : catalogue) {
+                String intitule = competence.getIntitule();
+                if (!patchee.getSuperieures(intitule).equals(recalculee.getSuperieures(intitule))
+                        || patchee.couverture(Set.of(intitule)) != recalculee.couverture(Set.of(intitule))) {
+                    erreurs++;
+                }
+            }
+            if (patchee == recalculee) {
+                erreurs++;
+            }
+            SkillClosure.invalidate();
+            SkillClosure.of(catalogue, necessites);
+        }
+        afficher(erreurs, "Fermeture mise à jour identique à la fermeture recalculée (" + nbPatchs + " ajouts)");
+        System.out.println();
+    }
+
+    /**
+     * Mesure le temps d'ajout sur un grand catalogue
+     */
+    void testPerformances() {
+        System.out.println("********** Tests de Performance **********");
+
+        int[] tailles = {1000, 10_000, 100_000};
+        Random random = new Random(23);
+        for (int taille : tailles) {
+            System.out.println("=== Test performance avec " + taille + " compétences ===");
+            List<String> competences = new ArrayList<>();
+            for (int i = 0; i < taille; i++) {
+                competences.add("C" + i);
+            }
+            IncrementalSkillOrder ordre = new IncrementalSkillOrder(competences, new ArrayList<>());
+
+            int nbAjouts = 2 * taille;
+            int nbAcceptees = 0;
+            long reordonnees = 0;
+            long startTime = System.nanoTime();
+            for (int e = 0; e < nbAjouts; e++) {
+                // Les certifications régionales dépendent surtout de compétences proches dans le catalogue
+                int a = random.nextInt(taille);
+                int b = Math.min(taille - 1, Math.max(0, a + random.nextInt(21) - 10));
+                if (ordre.addNecessite(new Necessite(new Competence("C" + a), new Competence("C" + b)))) {
+                    nbAcceptees++;
+                    reordonnees += ordre.getNbReordonnees();
+                }
+            }
+            long executionTime = (System.nanoTime() - startTime) / 1_000_000;
+
+            System.out.println("  Nécessités acceptées: " + nbAcceptees + "/" + nbAjouts);
+            System.out.println("  Compétences réordonnées par ajout: " + String.format("%.2f", (double) reordonnees / nbAcceptees));
+            System.out.println("  Temps d'exécution: " + executionTime + " ms");
+            if (executionTime < 2000) {
+                System.out.println("  ✓ Performance acceptable");
+            } else {
+                System.out.println("  ⚠ Performance dégradée");
+            }
+        }
+        System.out.println();
+    }
+
+    private void afficher(int erreurs, String description) {
+        if (erreurs == 0) {
+            System.out.println("✓ " + description);
+        } else {
+            System.err.println("✗ " + description + " : " + erreurs + " erreurs");
+        }
+    }
+
+    /**
+     * Point d'entrée pour exécuter tous les tests
+     */
+    public static void main(String[] args) {
+        TestIncrementalSkillOrder test = new TestIncrementalSkillOrder();
+        test.testAjouts();
+        test.testFermeture();
+        test.testPerformances();
+    }
+}
@@ -0,0 +1,188 @@
+package model.graph.test;
+
+import model.data.persistence.*;
+import model.graph.assignment.AssignmentDay;
+import model.graph.assignment.AssignmentSnapshot;
+import model.graph.utils.IntervalIndex;
+
+import java.util.*;
+
+/**
+ * Classe de test des horaires des secouristes sur une journée.
+ * Compare les vérifications de l'index avec une recherche naïve, puis vérifie qu'un secouriste
+ * peut être affecté à plusieurs DPS de la journée qui ne se chevauchent pas.
+ *
+ * @author L. Carré, G. Potay, C. Brocart, T.Brami-Coatual
+ * @version 1.0
+ */
+public class TestIntervalIndex {
+
+    private static final String[] CATALOGUE = {"PSE1", "PSE2"};
+    private static final List<Necessite> necessites = new ArrayList<>();
+    private static final Journee journee = new Journee(14, 7, 2030);
+    private static final Site site = new Site(1L, "La Clusaz - Ski nordique/Biathlon", 45.9044f, 6.4231f);
+    private static final Sport sport = new Sport(1L, "Ski");
+
+    /**
+     * Initialise les données de test
+     */
+    private static void initialiserDonneesTest() {
+        necessites.add(new Necessite(new Competence("PSE1"), new Competence("PSE2")));
+    }
+
+    /**
+     * Vérifie chaque décision de l'index avec tous les intervalles ajoutés
+     */
+    void testEstLibre() {
+        System.out.println("********** Tests estLibre **********");
+
+        Random random = new Random(31);
+        int erreurs = 0;
+        int nbLibres = 0;
+        int nbVerifications = 0;
+        for (int n = 0; n < 500; n++) {
+            int repos = random.nextInt(3);
+            IntervalIndex index = new IntervalIndex(repos);
+            List<int[]> occupes = new ArrayList<>();
+            for (int e = 0; e < 12; e++) {
+                int debut = random.nextInt(24);
+                int fin = debut + 1 + random.nextInt(6);
+
+                boolean attendu = true;
+                for (int[] occupe : occupes) {
+                    attendu &= occupe[0] >= fin + repos || debut >= occupe[1] + repos;
+                }
+                nbVerifications++;
+                if (index.estLibre(debut, fin) != attendu) {
+                    erreurs++;
+                }
+                // Les intervalles qui se chevauchent sont aussi ajoutés, pour tester la fusion
+                if (attendu || random.nextInt(3) == 0) {
+                    index.ajouter(debut, fin);
+                    occupes.add(new int[]{debut, fin});
+                    nbLibres += attendu ? 1 : 0;
+                }
+            }
+        }
+        afficher(erreurs, "Décisions identiques à la recherche naïve (" + nbLibres + " libres sur " + nbVerifications + ")");
+
+        IntervalIndex index = new IntervalIndex(1);
+        index.ajouter(8, 12);
+        index.ajouter(20, 2);
+        boolean valide = !index.estLibre(12, 16) && index.estLibre(13, 16) && index.estLibre(4, 7) && !index.estLibre(6, 8)
+                && !index.estLibre(23, 1) && !index.estLibre(17, 20) && index.estLibre(15, 19);
+        afficher(valide ? 0 : 1, "Temps de repos et DPS de nuit");
+        System.out.println();
+    }
+
+    /**
+     * Vérifie les secouristes libres pour chaque DPS et la réutilisation sur la journée
+     */
+    void testJournee() {
+        System.out.println("********** Tests de la journée **********");
+
+        DPS matin = new DPS(1L, "DPS matin", 8, 12, site, sport, journee);
+        DPS apresMidi = new DPS(2L, "DPS après-midi", 14, 18, site, sport, journee);
+        DPS midi = new DPS(3L, "DPS midi", 11, 15, site, sport, journee);
+
+        List<Secouriste> liste = new ArrayList<>();
+        Map<Long, List<Competence>> possessions = new HashMap<>();
+        for (long j = 0; j < 2; j++) {
+            liste.add(new Secouriste(j, "Nom" + j, "Prenom" + j, "01/01/1990", "0123456789", "Adresse " + j, new byte[0]));
+            possessions.put(j, List.of(new Competence("PSE2")));
+        }
+
+        // Le secouriste 0 est déjà affecté le matin
+        Map<Long, List<int[]>> horaires = new HashMap<>();
+        horaires.put(0L, List.of(new int[]{8, 12}));
+        AssignmentSnapshot snapshot = new AssignmentSnapshot(journee, 1L, liste, possessions, horaires, 0,
+                Arrays.asList(CATALOGUE), necessites);
+        boolean valide = snapshot.getSecouristes().size() == 1 && snapshot.getSecouristes(apresMidi).size() == 2
+                && snapshot.getSecouristes(midi).size() == 1 && snapshot.estDejaAffecte(0L);
+        afficher(valide ? 0 : 1, "Secouristes libres pour chaque DPS");
+
+        AssignmentSnapshot avecRepos = new AssignmentSnapshot(journee, 1L, liste, possessions, horaires, 3,
+                Arrays.asList(CATALOGUE), necessites);
+        afficher(avecRepos.getSecouristes(apresMidi).size() == 1 ? 0 : 1, "Temps de repos respecté");
+
+        // Sans affectation existante : deux secouristes pour deux postes le matin et deux l'après-midi
+        Map<Long, List<Competence>> besoins = new HashMap<>();
+        besoins.put(1L, List.of(new Competence("PSE1"), new Competence("PSE1")));
+        besoins.put(2L, List.of(new Competence("PSE1"), new Competence("PSE2")));
+        AssignmentSnapshot libre = new AssignmentSnapshot(journee, 1L, liste, possessions, new HashMap<Long, List<int[]>>(), 0,
+                Arrays.asList(CATALOGUE), necessites);
+        List<Affectation> affectations = new AssignmentDay().solve(List.of(matin, apresMidi), besoins, libre);
+
+        Map<Long, List<DPS>> parSecouriste = new HashMap<>();
+        for (Affectation affectation : affectations) {
+            parSecouriste.computeIfAbsent(affectation.getSecouristeAffect().getIdSecouriste(), k -> new ArrayList<>())
+                    .add(affectation.getDPSAffect());
+        }
+        valide = affectations.size() == 4;
+        for (List<DPS> dps : parSecouriste.values()) {
+            valide &= dps.size() == 2 && dps.contains(matin) && dps.contains(apresMidi);
+        }
+        afficher(valide ? 0 : 1, "Secouristes réutilisés sur des DPS disjoints (" + affectations.size() + " postes couverts)");
+
+        // Les DPS qui se chevauchent ne partagent pas de secouriste
+        besoins.put(3L, List.of(new Competence("PSE1"), new Competence("PSE1")));
+        besoins.remove(2L);
+        affectations = new AssignmentDay().solve(List.of(matin, midi), besoins, libre);
+        afficher(affectations.size() == 2 ? 0 : 1, "DPS qui se chevauchent (" + affectations.size() + " postes couverts)");
+        System.out.println();
+    }
+
+    /**
+     * Mesure le temps des vérifications sur un grand nombre d'intervalles
+     */
+    void testPerformances() {
+        System.out.println("********** Tests de Performance **********");
+
+        Random random = new Random(37);
+        int[] tailles = {1000, 100_000};
+        for (int taille : tailles) {
+            System.out.println("=== Test performance avec " + taille + " intervalles ===");
+            IntervalIndex index = new IntervalIndex(1);
+            for (int k = 0; k < taille; k++) {
+                index.ajouter(10 * k, 10 * k + 5);
+            }
+            long startTime = System.nanoTime();
+            int nbLibres = 0;
+            for (int e = 0; e < 1_000_000; e++) {
+                int debut = random.nextInt(10 * taille);
+                if (index.estLibre(debut, debut + 3)) {
+                    nbLibres++;
+                }
+            }
+            long executionTime = (System.nanoTime() - startTime) / 1_000_000;
+
+            System.out.println("  Vérifications libres: " + nbLibres + "/1000000");
+            System.out.println("  Temps d'exécution: " + executionTime + " ms");
+            if (executionTime < 2000) {
+                System.out.println("  ✓ Performance acceptable");
+            } else {
+                System.out.println("  ⚠ Performance dégradée");
+            }
+        }
+        System.out.println();
+    }
+
+    private void afficher(int erreurs, String description) {
+        if (erreurs == 0) {
+            System.out.println("✓ " + description);
+        } else {
+            System.err.println("✗ " + description + " : " + erreurs + " erreurs");
+        }
+    }
+
+    /**
+     * Point d'entrée pour exécuter tous les tests
+     */
+    public static void main(String[] args) {
+        initialiserDonneesTest();
+        TestIntervalIndex test = new TestIntervalIndex();
+        test.testEstLibre();
+        test.testJournee();
+        test.testPerformances();
+    }
+}
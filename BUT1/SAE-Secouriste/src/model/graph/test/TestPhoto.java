@@ -0,0 +1,90 @@
+package model.graph.test;
+
+import javafx.scene.image.Image;
+import model.data.persistence.Photo;
+import model.data.persistence.Secouriste;
+
+import java.io.ByteArrayInputStream;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Classe de test des photos chargées à l'affichage. La base de données est simulée
+ * par une source qui compte ses lectures : aucune base de données n'est nécessaire.
+ *
+ * @author L. Carré, G. Potay, C. Brocart, T.Brami-Coatual
+ * @version 1.0
+ */
+public class TestPhoto {
+
+    /**
+     * Vérifie que la photo n'est lue qu'à l'affichage et n'est pas gardée par le secouriste
+     */
+    void testLecture() {
+        System.out.println("********** Tests de lecture **********");
+
+        byte[] stockee = {1, 2, 3, 4};
+        AtomicInteger lectures = new AtomicInteger();
+        Photo photo = Photo.lazy(lecture -> {
+            lectures.incrementAndGet();
+            lecture.lire(new ByteArrayInputStream(stockee));
+        });
+
+        Secouriste secouriste = new Secouriste(1, "Nom", "Prenom", "01/01/1990", "0123456789", "Adresse", null);
+        secouriste.setPhotoHandle(photo);
+        afficher(lectures.get() == 0 && secouriste.getPhotoHandle() == photo ? 0 : 1, "Photo non lue à la création du secouriste");
+
+        int erreurs = Arrays.equals(secouriste.getPhoto(), stockee) ? 0 : 1;
+        erreurs += Arrays.equals(secouriste.getPhoto(), stockee) && lectures.get() == 2 ? 0 : 1;
+        afficher(erreurs, "Octets relus à chaque demande, sans être gardés");
+
+        Image premiere = secouriste.getPhotoAsImage();
+        Image seconde = secouriste.getPhotoAsImage();
+        afficher(premiere != null && premiere == seconde && lectures.get() == 3 && photo.getNbLectures() == 3 ? 0 : 1,
+                "Image décodée une seule fois");
+        System.out.println();
+    }
+
+    /**
+     * Vérifie les photos absentes, en mémoire et en échec
+     */
+    void testSources() {
+        System.out.println("********** Tests des sources **********");
+
+        byte[] octets = {5, 6};
+        Photo enMemoire = Photo.of(octets);
+        afficher(Arrays.equals(enMemoire.getOctets(), octets) ? 0 : 1, "Photo en mémoire");
+
+        // Sans photo stockée, la photo par défaut est lue à la place
+        boolean[] ouverte = {false};
+        Photo absente = Photo.lazy(lecture -> ouverte[0] = true);
+        Photo parDefaut = Photo.parDefaut();
+        afficher(!ouverte[0] && Arrays.equals(absente.getOctets(), parDefaut.getOctets()) && ouverte[0] ? 0 : 1,
+                "Photo par défaut quand aucune photo n'est stockée");
+
+        Photo enPanne = Photo.lazy(lecture -> {
+            throw new SQLException("Base indisponible");
+        });
+        afficher(enPanne.getOctets() == null && enPanne.getImage() == null && enPanne.getNbLectures() == 2 ? 0 : 1,
+                "Lecture en échec sans exception");
+        System.out.println();
+    }
+
+    private void afficher(int erreurs, String description) {
+        if (erreurs == 0) {
+            System.out.println("✓ " + description);
+        } else {
+            System.err.println("✗ " + description + " : " + erreurs + " erreurs");
+        }
+    }
+
+    /**
+     * Point d'entrée pour exécuter tous les tests
+     */
+    public static void main(String[] args) {
+        TestPhoto test = new TestPhoto();
+        test.testLecture();
+        test.testSources();
+    }
+}
@@ -0,0 +1,140 @@
+package model.graph.test;
+
+import model.dao.ReferenceCache;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Classe de test du cache des tables de référence. Les tables sont simulées par des chargements
+ * qui comptent leurs lectures : aucune base de données n'est nécessaire.
+ *
+ * @author L. Carré, G. Potay, C. Brocart, T.Brami-Coatual
+ * @version 1.0
+ */
+public class TestReferenceCache {
+
+    /**
+     * Vérifie les succès, les échecs et l'invalidation
+     */
+    void testLecture() throws SQLException {
+        System.out.println("********** Tests de lecture **********");
+
+        AtomicInteger lectures = new AtomicInteger();
+        List<String> table = new ArrayList<>(List.of("PSE1", "PSE2"));
+        ReferenceCache<String> cache = new ReferenceCache<>("TestLecture", () -> {
+            lectures.incrementAndGet();
+            return table;
+        }, () -> 60_000);
+
+        List<String> premiere = cache.get();
+        for (int n = 0; n < 99; n++) {
+            cache.get();
+        }
+        afficher(lectures.get() == 1 && cache.getNbEchecs() == 1 && cache.getNbSucces() == 99 ? 0 : 1,
+                "100 appels pour une seule lecture de la table (" + cache + ")");
+
+        int erreurs = 0;
+        try {
+            premiere.add("CE");
+            erreurs++;
+        } catch (UnsupportedOperationException e) {
+            // Attendu : le contenu partagé n'est pas modifiable
+        }
+        table.add("CE");
+        afficher(erreurs == 0 && cache.get().size() == 2 ? 0 : 1, "Contenu copié et non modifiable");
+
+        cache.invalidate();
+        afficher(cache.get().size() == 3 && lectures.get() == 2 && cache.getNbInvalidations() == 1 ? 0 : 1,
+                "Table relue après invalidation");
+
+        ReferenceCache.invalidateAll();
+        cache.get();
+        afficher(lectures.get() == 3 && ReferenceCache.getCaches().get("TestLecture") == cache ? 0 : 1,
+                "Tous les caches invalidés");
+        System.out.println();
+    }
+
+    /**
+     * Vérifie l'expiration, les lectures en échec et les invalidations pendant une lecture
+     */
+    void testExpiration() throws Exception {
+        System.out.println("********** Tests d'expiration **********");
+
+        AtomicInteger lectures = new AtomicInteger();
+        ReferenceCache<Integer> cache = new ReferenceCache<>("TestExpiration", () -> List.of(lectures.incrementAndGet()), () -> 50);
+        cache.get();
+        cache.get();
+        Thread.sleep(100);
+        afficher(cache.get().get(0) == 2 && lectures.get() == 2 ? 0 : 1, "Table relue après la durée de vie");
+
+        boolean[] panne = {true};
+        AtomicInteger essais = new AtomicInteger();
+        ReferenceCache<String> enPanne = new ReferenceCache<>("TestPanne", () -> {
+            essais.incrementAndGet();
+            if (panne[0]) {
+                throw new SQLException("Base indisponible");
+            }
+            return List.of("PSE1");
+        }, () -> 60_000);
+        int erreurs = 0;
+        try {
+            enPanne.get();
+            erreurs++;
+        } catch (SQLException e) {
+            // Attendu : l'erreur est transmise
+        }
+        panne[0] = false;
+        afficher(erreurs == 0 && enPanne.get().size() == 1 && essais.get() == 2 ? 0 : 1, "Lecture en échec non gardée");
+
+        // Une invalidation pendant la lecture : le résultat lu est rendu mais pas gardé
+        CountDownLatch enLecture = new CountDownLatch(1);
+        CountDownLatch invalide = new CountDownLatch(1);
+        AtomicInteger lecturesConcurrentes = new AtomicInteger();
+        ReferenceCache<Integer> concurrent = new ReferenceCache<>("TestConcurrent", () -> {
+            if (lecturesConcurrentes.incrementAndGet() == 1) {
+                enLecture.countDown();
+                try {
+                    invalide.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return List.of(lecturesConcurrentes.get());
+        }, () -> 60_000);
+        Thread lecteur = new Thread(() -> {
+            try {
+                concurrent.get();
+            } catch (SQLException e) {
+                e.printStackTrace();
+            }
+        });
+        lecteur.start();
+        enLecture.await();
+        concurrent.invalidate();
+        invalide.countDown();
+        lecteur.join();
+        afficher(concurrent.get().get(0) == 2 && lecturesConcurrentes.get() == 2 ? 0 : 1, "Lecture commencée avant une invalidation non gardée");
+        System.out.println();
+    }
+
+    private void afficher(int erreurs, String description) {
+        if (erreurs == 0) {
+            System.out.println("✓ " + description);
+        } else {
+            System.err.println("✗ " + description + " : " + erreurs + " erreurs");
+        }
+    }
+
+    /**
+     * Point d'entrée pour exécuter tous les tests
+     */
+    public static void main(String[] args) throws Exception {
+        TestReferenceCache test = new TestReferenceCache();
+        test.testLecture();
+        test.testExpiration();
+    }
+}
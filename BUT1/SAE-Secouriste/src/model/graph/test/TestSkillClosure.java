@@ -0,0 +1,141 @@
+package model.graph.test;
+
+import model.data.persistence.Competence;
+import model.data.persistence.Necessite;
+import model.graph.utils.MatrixUtils;
+import model.graph.utils.SkillClosure;
+
+import java.util.*;
+
+/**
+ * Classe de test de la fermeture transitive des compétences.
+ * Vérifie que les masques donnent les mêmes supérieures que MatrixUtils
+ * et que la fermeture n'est reconstruite que si les nécessités changent.
+ *
+ * @author L. Carré, G. Potay, C. Brocart, T.Brami-Coatual
+ * @version 1.0
+ */
+public class TestSkillClosure {
+
+    /**
+     * Génère un graphe de dépendances sans cycle : une compétence ne peut dépendre que d'une compétence d'indice supérieur
+     *
+     * @param nbCompetences nombre de compétences
+     * @param nbNecessites nombre de nécessités
+     * @param random générateur aléatoire
+     * @param catalogue liste remplie avec les compétences
+     * @return les nécessités générées
+     */
+    private List<Necessite> genererGraphe(int nbCompetences, int nbNecessites, Random random, List<Competence> catalogue) {
+        for (int i = 0; i < nbCompetences; i++) {
+            catalogue.add(new Competence("C" + i));
+        }
+        Set<String> cles = new HashSet<>();
+        List<Necessite> ret = new ArrayList<>();
+        while (ret.size() < nbNecessites) {
+            int a = random.nextInt(nbCompetences - 1);
+            int b = a + 1 + random.nextInt(nbCompetences - a - 1);
+            if (cles.add(a + ">" + b)) {
+                ret.add(new Necessite(catalogue.get(a), catalogue.get(b)));
+            }
+        }
+        return ret;
+    }
+
+    /**
+     * Compare la fermeture avec les supérieures calculées par MatrixUtils
+     */
+    void testFermeture() {
+        System.out.println("********** Tests Fermeture **********");
+
+        Random random = new Random(5);
+        int[][] tailles = {{6, 5}, {40, 80}, {150, 400}};
+        for (int[] taille : tailles) {
+            List<Competence> catalogue = new ArrayList<>();
+            List<Necessite> necessites = genererGraphe(taille[0], taille[1], random, catalogue);
+            SkillClosure fermeture = SkillClosure.of(catalogue, necessites);
+            Map<Competence, List<Competence>> superieures = new MatrixUtils().buildAllSuperiorDependencies(catalogue, necessites);
+
+            int erreurs = 0;
+            for (Competence competence : catalogue) {
+                Set<String> attendu = new HashSet<>();
+                for (Competence sup : superieures.get(competence)) {
+                    attendu.add(sup.getIntitule());
+                }
+                if (!attendu.equals(fermeture.getSuperieures(competence.getIntitule()))) {
+                    erreurs++;
+                }
+
+                // Un secouriste qui ne possède qu'une compétence couvre exactement elle et ses inférieures
+                long[] possession = fermeture.masque(Set.of(competence.getIntitule()));
+                for (Competence cible : catalogue) {
+                    boolean couvre = cible.getIntitule().equals(competence.getIntitule())
+                            || superieures.get(cible).contains(competence);
+                    if (couvre != fermeture.couvre(possession, fermeture.indexOf(cible.getIntitule()))) {
+                        erreurs++;
+                    }
+                }
+            }
+            if (erreurs == 0) {
+                System.out.println("✓ " + taille[0] + " compétences, " + taille[1] + " nécessités : fermeture identique");
+            } else {
+                System.err.println("✗ " + taille[0] + " compétences, " + taille[1] + " nécessités : " + erreurs + " erreurs");
+            }
+        }
+
+        // Une compétence hors du graphe doit être possédée exactement
+        SkillClosure fermeture = SkillClosure.of(new ArrayList<>(), new ArrayList<>());
+        Set<String> possedees = Set.of("PSE1");
+        if (fermeture.couvre(possedees, fermeture.masque(possedees), "PSE1")
+                && !fermeture.couvre(possedees, fermeture.masque(possedees), "PSE2")
+                && fermeture.couverture(possedees) == 1) {
+            System.out.println("✓ Compétence hors du graphe");
+        } else {
+            System.err.println("✗ Compétence hors du graphe");
+        }
+        System.out.println();
+    }
+
+    /**
+     * Vérifie que la fermeture est réutilisée tant que les nécessités ne changent pas
+     */
+    void testCache() {
+        System.out.println("********** Tests Cache **********");
+
+        List<Competence> catalogue = new ArrayList<>();
+        List<Necessite> necessites = genererGraphe(20, 30, new Random(8), catalogue);
+        SkillClosure premiere = SkillClosure.of(catalogue, necessites);
+
+        if (SkillClosure.of(new ArrayList<>(catalogue), new ArrayList<>(necessites)) == premiere) {
+            System.out.println("✓ Fermeture réutilisée pour les mêmes nécessités");
+        } else {
+            System.err.println("✗ Fermeture reconstruite pour les mêmes nécessités");
+        }
+
+        List<Necessite> modifiees = new ArrayList<>(necessites);
+        modifiees.remove(0);
+        if (SkillClosure.of(catalogue, modifiees) != premiere) {
+            System.out.println("✓ Fermeture reconstruite quand les nécessités changent");
+        } else {
+            System.err.println("✗ Fermeture périmée réutilisée");
+        }
+
+        SkillClosure courante = SkillClosure.of(catalogue, modifiees);
+        SkillClosure.invalidate();
+        if (SkillClosure.of(catalogue, modifiees) != courante) {
+            System.out.println("✓ Fermeture reconstruite après invalidation");
+        } else {
+            System.err.println("✗ Fermeture réutilisée après invalidation");
+        }
+        System.out.println();
+    }
+
+    /**
+     * Point d'entrée pour exécuter tous les tests
+     */
+    public static void main(String[] args) {
+        TestSkillClosure test = new TestSkillClosure();
+        test.testFermeture();
+        test.testCache();
+    }
+}
@@ -0,0 +1,255 @@
+package model.graph.test;
+
+import model.data.persistence.Competence;
+import model.data.persistence.Necessite;
+import model.graph.utils.GraphUtils;
+import model.graph.utils.SkillGraph;
+
+import java.util.*;
+
+/**
+ * Classe de test du graphe creux des compétences.
+ * Compare le tri topologique, les composantes fortement connexes, l'accessibilité
+ * et les plus longues chaînes de prérequis avec des calculs directs sur de petits graphes,
+ * puis vérifie le comportement sur des graphes de grande taille.
+ *
+ * @author L. Carré, G. Potay, C. Brocart, T.Brami-Coatual
+ * @version 1.0
+ */
+public class TestSkillGraph {
+
+    /**
+     * Génère un graphe aléatoire
+     *
+     * @param nbSommets nombre de sommets
+     * @param nbAretes nombre d'arêtes
+     * @param acyclique true pour n'avoir que des arêtes vers un sommet d'indice supérieur
+     * @param random générateur aléatoire
+     * @return les arêtes
+     */
+    private int[][] genererAretes(int nbSommets, int nbAretes, boolean acyclique, Random random) {
+        int[][] ret = new int[nbAretes][];
+        for (int e = 0; e < nbAretes; e++) {
+            int a = random.nextInt(nbSommets);
+            int b = random.nextInt(nbSommets);
+            if (acyclique && a == b) {
+                b = (a + 1) % nbSommets;
+            }
+            ret[e] = acyclique ? new int[]{Math.min(a, b), Math.max(a, b)} : new int[]{a, b};
+        }
+        return ret;
+    }
+
+    /**
+     * Calcule la matrice d'accessibilité par Floyd-Warshall
+     *
+     * @param nbSommets nombre de sommets
+     * @param aretes arêtes du graphe
+     * @return acces[i][j] vaut true si j est accessible depuis i
+     */
+    private boolean[][] fermetureDirecte(int nbSommets, int[][] aretes) {
+        boolean[][] acces = new boolean[nbSommets][nbSommets];
+        for (int i = 0; i < nbSommets; i++) {
+            acces[i][i] = true;
+        }
+        for (int[] arete : aretes) {
+            acces[arete[0]][arete[1]] = true;
+        }
+        for (int k = 0; k < nbSommets; k++) {
+            for (int i = 0; i < nbSommets; i++) {
+                if (acces[i][k]) {
+                    for (int j = 0; j < nbSommets; j++) {
+                        acces[i][j] |= acces[k][j];
+                    }
+                }
+            }
+        }
+        return acces;
+    }
+
+    /**
+     * Compare chaque algorithme avec un calcul direct sur des graphes aléatoires
+     */
+    void testAlgorithmes() {
+        System.out.println("********** Tests des algorithmes **********");
+
+        Random random = new Random(13);
+        int erreursTri = 0;
+        int erreursComposantes = 0;
+        int erreursAcces = 0;
+        int erreursChaines = 0;
+        int nbInstances = 300;
+        for (int n = 0; n < nbInstances; n++) {
+            int nbSommets = 2 + random.nextInt(12);
+            boolean acyclique = random.nextBoolean();
+            int[][] aretes = genererAretes(nbSommets, random.nextInt(2 * nbSommets), acyclique, random);
+            SkillGraph graphe = new SkillGraph(nbSommets, aretes);
+            boolean[][] acces = fermetureDirecte(nbSommets, aretes);
+
+            // Un graphe a un cycle si deux sommets distincts s'atteignent mutuellement ou si un sommet a une boucle
+            boolean cycle = false;
+            for (int[] arete : aretes) {
+                cycle |= acces[arete[1]][arete[0]];
+            }
+            int[] ordre = graphe.topologicalSort();
+            if ((ordre == null) != cycle) {
+                erreursTri++;
+            } else if (ordre != null) {
+                int[] rang = new int[nbSommets];
+                for (int k = 0; k < ordre.length; k++) {
+                    rang[ordre[k]] = k;
+                }
+                for (int[] arete : aretes) {
+                    if (rang[arete[0]] >= rang[arete[1]]) {
+                        erreursTri++;
+                    }
+                }
+            }
+
+            int[] composante = graphe.stronglyConnectedComponents();
+            for (int i = 0; i < nbSommets; i++) {
+                boolean[] accessibles = graphe.reachableFrom(i);
+                for (int j = 0; j < nbSommets; j++) {
+                    if ((composante[i] == composante[j]) != (acces[i][j] && acces[j][i])) {
+                        erreursComposantes++;
+                    }
+                    if (accessibles[j] != acces[i][j]) {
+                        erreursAcces++;
+                    }
+                }
+            }
+            for (int[] arete : aretes) {
+                if (composante[arete[0]] < composante[arete[1]]) {
+                    erreursComposantes++;
+                }
+            }
+
+            if (!cycle) {
+                // Plus longue chaîne par relaxation répétée des arêtes
+                int[] attendu = new int[nbSommets];
+                for (int k = 0; k < nbSommets; k++) {
+                    for (int[] arete : aretes) {
+                        attendu[arete[1]] = Math.max(attendu[arete[1]], attendu[arete[0]] + 1);
+                    }
+                }
+                int[] chaines = graphe.longestPrerequisiteChains();
+                for (int v = 0; v < nbSommets; v++) {
+                    List<String> chaine = graphe.longestPrerequisiteChain(String.valueOf(v));
+                    if (chaines[v] != attendu[v] || chaine.size() != attendu[v] + 1
+                            || !chaine.get(chaine.size() - 1).equals(String.valueOf(v))) {
+                        erreursChaines++;
+                    }
+                }
+            }
+        }
+
+        afficher(erreursTri, "Tri topologique (" + nbInstances + " graphes)");
+        afficher(erreursComposantes, "Composantes fortement connexes");
+        afficher(erreursAcces, "Accessibilité");
+        afficher(erreursChaines, "Plus longues chaînes de prérequis");
+        System.out.println();
+    }
+
+    private void afficher(int erreurs, String description) {
+        if (erreurs == 0) {
+            System.out.println("✓ " + description);
+        } else {
+            System.err.println("✗ " + description + " : " + erreurs + " erreurs");
+        }
+    }
+
+    /**
+     * Vérifie le graphe construit à partir des nécessités et les cas limites de GraphUtils
+     */
+    void testCompetences() {
+        System.out.println("********** Tests sur les compétences **********");
+
+        List<String> competences = Arrays.asList("PSE1", "PSE2", "CE", "SSA", "PBC", "PBF");
+        List<Necessite> necessites = new ArrayList<>();
+        necessites.add(new Necessite(new Competence("PSE1"), new Competence("PSE2")));
+        necessites.add(new Necessite(new Competence("PSE2"), new Competence("CE")));
+        necessites.add(new Necessite(new Competence("SSA"), new Competence("PSE1")));
+        necessites.add(new Necessite(new Competence("PBF"), new Competence("PBC")));
+        SkillGraph graphe = new SkillGraph(competences, necessites);
+
+        afficher(graphe.isDAG() && graphe.findCycles().isEmpty() ? 0 : 1, "Le catalogue est un DAG");
+        afficher(graphe.isReachable("SSA", "CE") && !graphe.isReachable("CE", "SSA") ? 0 : 1, "SSA mène à CE");
+        afficher(graphe.longestPrerequisiteChain("CE").equals(Arrays.asList("SSA", "PSE1", "PSE2", "CE")) ? 0 : 1,
+                "Chaîne SSA -> PSE1 -> PSE2 -> CE");
+
+        necessites.add(new Necessite(new Competence("CE"), new Competence("SSA")));
+        SkillGraph cyclique = new SkillGraph(competences, necessites);
+        List<List<String>> cycles = cyclique.findCycles();
+        afficher(!cyclique.isDAG() && cycles.size() == 1
+                && new HashSet<>(cycles.get(0)).equals(Set.of("PSE1", "PSE2", "CE", "SSA")) ? 0 : 1, "Cycle CE -> SSA détecté");
+        try {
+            cyclique.longestPrerequisiteChains();
+            afficher(1, "Chaîne refusée sur un graphe cyclique");
+        } catch (IllegalStateException e) {
+            afficher(0, "Chaîne refusée sur un graphe cyclique");
+        }
+
+        // Un graphe sans arête a une matrice symétrique mais reste un DAG
+        GraphUtils graphUtils = new GraphUtils();
+        afficher(graphUtils.isDAG(new int[3][3]) ? 0 : 1, "Matrice vide acceptée comme DAG");
+        afficher(!graphUtils.isDAG(new int[][]{{0, 1}, {1, 0}}) ? 0 : 1, "Arêtes dans les deux sens refusées");
+        System.out.println();
+    }
+
+    /**
+     * Vérifie que les grands graphes ne débordent pas la pile et restent linéaires
+     */
+    void testPerformances() {
+        System.out.println("********** Tests de Performance **********");
+
+        int[] tailles = {10_000, 100_000, 1_000_000};
+        Random random = new Random(21);
+        for (int taille : tailles) {
+            System.out.println("=== Test performance avec " + taille + " compétences ===");
+
+            // Une longue chaîne, qui ferait déborder une DFS récursive, plus des arêtes aléatoires vers l'avant
+            int[][] aretes = new int[3 * taille][];
+            for (int v = 0; v < taille - 1; v++) {
+                aretes[v] = new int[]{v, v + 1};
+            }
+            int[][] aleatoires = genererAretes(taille, aretes.length - (taille - 1), true, random);
+            System.arraycopy(aleatoires, 0, aretes, taille - 1, aleatoires.length);
+
+            long startTime = System.nanoTime();
+            SkillGraph graphe = new SkillGraph(taille, aretes);
+            boolean dag = graphe.isDAG();
+            int[] composante = graphe.stronglyConnectedComponents();
+            int[] chaines = graphe.longestPrerequisiteChains();
+            long executionTime = (System.nanoTime() - startTime) / 1_000_000;
+
+            afficher(dag && composante[0] != composante[taille - 1] && chaines[taille - 1] == taille - 1 ? 0 : 1,
+                    "Chaîne de " + taille + " compétences");
+            System.out.println("  Temps d'exécution: " + executionTime + " ms");
+            if (executionTime < 2000) {
+                System.out.println("  ✓ Performance acceptable");
+            } else {
+                System.out.println("  ⚠ Performance dégradée");
+            }
+        }
+
+        // Ancienne détection sur matrice : la pile explicite supporte aussi une longue chaîne
+        int n = 5000;
+        int[][] matrice = new int[n][n];
+        for (int v = 0; v < n - 1; v++) {
+            matrice[v][v + 1] = 1;
+        }
+        afficher(!GraphUtils.cycleDetected(matrice, 0, new boolean[n], new boolean[n]) ? 0 : 1,
+                "cycleDetected sur une chaîne de " + n + " sommets");
+        System.out.println();
+    }
+
+    /**
+     * Point d'entrée pour exécuter tous les tests
+     */
+    public static void main(String[] args) {
+        TestSkillGraph test = new TestSkillGraph();
+        test.testAlgorithmes();
+        test.testCompetences();
+        test.testPerformances();
+    }
+}
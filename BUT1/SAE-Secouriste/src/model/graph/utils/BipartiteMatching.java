@@ -0,0 +1,176 @@
+package model.graph.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * BipartiteMatching - This class computes a maximum matching in a bipartite graph
+ * with the Hopcroft-Karp algorithm, in O(E * sqrt(V)).
+ * The left vertices are the required skills, the right vertices the rescuers.
+ * @author L. Carré, G. Potay, C. Brocart, T.Brami-Coatual
+ * @version 1.0
+ */
+public class BipartiteMatching {
+
+    /**
+     * Value used for a vertex that is not matched.
+     */
+    public static final int LIBRE = -1;
+
+    /**
+     * Value used in the BFS layers for a vertex that cannot be reached.
+     */
+    private static final int INFINI = Integer.MAX_VALUE;
+
+    /**
+     * Adjacency lists of the left vertices.
+     */
+    private final List<List<Integer>> adjacence;
+
+    /**
+     * Number of right vertices.
+     */
+    private final int nbDroite;
+
+    /**
+     * Right vertex matched with each left vertex, or LIBRE.
+     */
+    private final int[] matchGauche;
+
+    /**
+     * Left vertex matched with each right vertex, or LIBRE.
+     */
+    private final int[] matchDroite;
+
+    /**
+     * BFS layer of each left vertex.
+     */
+    private final int[] distance;
+
+    /**
+     * Constructor of BipartiteMatching
+     * @param nbGauche - number of left vertices
+     * @param nbDroite - number of right vertices
+     */
+    public BipartiteMatching(int nbGauche, int nbDroite) {
+        if (nbGauche < 0 || nbDroite < 0) {
+            throw new IllegalArgumentException("Taille de graphe négative");
+        }
+        this.nbDroite = nbDroite;
+        this.adjacence = new ArrayList<>(nbGauche);
+        for (int i = 0; i < nbGauche; i++) {
+            this.adjacence.add(new ArrayList<>());
+        }
+        this.matchGauche = new int[nbGauche];
+        this.matchDroite = new int[nbDroite];
+        this.distance = new int[nbGauche];
+        Arrays.fill(this.matchGauche, LIBRE);
+        Arrays.fill(this.matchDroite, LIBRE);
+    }
+
+    /**
+     * Adds an edge between a left vertex and a right vertex.
+     * The edges are explored in insertion order, which makes the result deterministic.
+     * @param gauche - the left vertex
+     * @param droite - the right vertex
+     */
+    public void ajouterArete(int gauche, int droite) {
+        if (gauche < 0 || gauche >= this.adjacence.size() || droite < 0 || droite >= this.nbDroite) {
+            throw new IllegalArgumentException("Sommet inexistant");
+        }
+        this.adjacence.get(gauche).add(droite);
+    }
+
+    /**
+     * Computes the maximum matching.
+     * @return the number of matched left vertices
+     */
+    public int maximumMatching() {
+        int taille = 0;
+        for (int m : this.matchGauche) {
+            if (m != LIBRE) {
+                taille++;
+            }
+        }
+        // Chaque phase trouve un ensemble maximal de chemins augmentants de longueur minimale
+        while (bfs()) {
+            for (int g = 0; g < this.adjacence.size(); g++) {
+                if (this.matchGauche[g] == LIBRE && dfs(g)) {
+                    taille++;
+                }
+            }
+        }
+        return taille;
+    }
+
+    /**
+     * Builds the BFS layers from the free left vertices.
+     * @return true if an augmenting path exists, false otherwise
+     */
+    private boolean bfs() {
+        int[] file = new int[this.adjacence.size()];
+        int debut = 0;
+        int fin = 0;
+        for (int g = 0; g < this.adjacence.size(); g++) {
+            if (this.matchGauche[g] == LIBRE) {
+                this.distance[g] = 0;
+                file[fin++] = g;
+            } else {
+                this.distance[g] = INFINI;
+            }
+        }
+
+        boolean trouve = false;
+        while (debut < fin) {
+            int g = file[debut++];
+            for (int d : this.adjacence.get(g)) {
+                int suivant = this.matchDroite[d];
+                if (suivant == LIBRE) {
+                    trouve = true;
+                } else if (this.distance[suivant] == INFINI) {
+                    this.distance[suivant] = this.distance[g] + 1;
+                    file[fin++] = suivant;
+                }
+            }
+        }
+        return trouve;
+    }
+
+    /**
+     * Looks for an augmenting path from a left vertex following the BFS layers.
+     * @param g - the left vertex
+     * @return true if the path was found and the matching augmented, false otherwise
+     */
+    private boolean dfs(int g) {
+        for (int d : this.adjacence.get(g)) {
+            int suivant = this.matchDroite[d];
+            if (suivant == LIBRE || (this.distance[suivant] == this.distance[g] + 1 && dfs(suivant))) {
+                this.matchGauche[g] = d;
+                this.matchDroite[d] = g;
+                return true;
+            }
+        }
+        // Le sommet ne mène à aucun chemin augmentant pendant cette phase
+        this.distance[g] = INFINI;
+        return false;
+    }
+
+    /**
+     * Get the right vertex matched with a left vertex
+     * @param gauche - the left vertex
+     * @return the matched right vertex, or LIBRE
+     */
+    public int getMatchGauche(int gauche) {
+        return this.matchGauche[gauche];
+    }
+
+    /**
+     * Get the left vertex matched with a right vertex
+     * @param droite - the right vertex
+     * @return the matched left vertex, or LIBRE
+     */
+    public int getMatchDroite(int droite) {
+        return this.matchDroite[droite];
+    }
+}
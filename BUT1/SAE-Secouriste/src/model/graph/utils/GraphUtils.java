@@ -36,23 +36,34 @@ public class GraphUtils {
      * @return true if a cycle is detected, false otherwise
      */
     public static boolean cycleDetected(int[][] adjMatrix, int v, boolean[] visited, boolean[] inProcess) {
+        // Pile explicite à la place de la récursion : suivant[k] est le prochain sommet à tester depuis pile[k]
+        int[] pile = new int[adjMatrix.length];
+        int[] suivant = new int[adjMatrix.length];
+        int taille = 0;
         visited[v] = true; // Marque le sommet comme visité
         inProcess[v] = true;  // Marque le sommet comme en cours d'exploration
+        pile[taille++] = v;
 
-        // Parcourt tous les sommets pour voir s'il existe une arête de v vers un autre sommet
-        for (int i = 0; i < adjMatrix.length; i++) {
-            if (adjMatrix[v][i] == 1) {
-                // Appel récursif sur un sommet non encore visité
+        while (taille > 0) {
+            int courant = pile[taille - 1];
+            int i = suivant[taille - 1]++;
+            if (i == adjMatrix.length) {
+                // Tous les voisins ont été explorés
+                inProcess[courant] = false;
+                taille--;
+            } else if (adjMatrix[courant][i] == 1) {
                 if (!visited[i]) {
-                    if (cycleDetected(adjMatrix, i, visited, inProcess)) return true;
+                    visited[i] = true;
+                    inProcess[i] = true;
+                    pile[taille] = i;
+                    suivant[taille] = 0;
+                    taille++;
                 } else if (inProcess[i]) {
                     // Si le sommet est déjà en cours d'exploration, alors il y a un cycle
                     return true; // Cycle trouvé
                 }
             }
         }
-
-        inProcess[v] = false;
         return false;
     }
 
@@ -85,28 +96,17 @@ public class GraphUtils {
 
 
     /**
-     * It checks if the graph is a DAG (Directed acyclic graph)
+     * It checks if the graph is a DAG (Directed acyclic graph).
+     * The matrix is converted once into a {@link SkillGraph}, whose topological sort is linear in the number of edges.
      * @param adjMatrix - the adjacency matrix given
      * @return true if the graph is a DAG, false otherwise
      */
     public boolean isDAG(int[][] adjMatrix){
-        // Vérifie que la matrice est valide et que le graphe est orienté
-        if (!isOriented(adjMatrix) || !adjMatrixValid(adjMatrix)) {
+        // Une matrice symétrique n'est pas rejetée d'office : un graphe sans arête est un DAG,
+        // et les arêtes dans les deux sens forment un cycle que le tri topologique détecte
+        if (!adjMatrixValid(adjMatrix)) {
             return false;
         }
-
-        // Initialise les tableaux de suivi pour la DFS
-        boolean[] visited = new boolean[adjMatrix.length];
-        boolean[] inProcess = new boolean[adjMatrix.length];
-
-        // Lance une DFS sur chaque sommet non encore visité
-        for (int i = 0; i < adjMatrix.length; i++) {
-            if (!visited[i]) {
-                if (cycleDetected(adjMatrix, i, visited, inProcess)) {
-                    return false; // Un cycle est détecté, donc ce n'est pas un DAG
-                }
-            }
-        }
-        return true; // Aucun cycle détecté, le graphe est un DAG
+        return SkillGraph.fromAdjacencyMatrix(adjMatrix).isDAG();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,250 @@
+package model.graph.utils;
+
+import model.data.persistence.Necessite;
+
+import java.util.*;
+
+// /////////////// // IncrementalSkillOrder - Online cycle detection /////////////// //
+
+/**
+ * IncrementalSkillOrder - Topological order of the skill dependencies, maintained while dependencies are added
+ * with the Pearce–Kelly algorithm. A new dependency that goes forward in the order is accepted immediately;
+ * otherwise only the competences placed between its two ends are visited and reordered,
+ * and the dependency is rejected if it closes a cycle.
+ * @author L. Carré, G. Potay, C. Brocart, T.Brami-Coatual
+ * @version 1.0
+ */
+public class IncrementalSkillOrder {
+
+    /**
+     * Index of each competence, by intitulé.
+     */
+    private final Map<String, Integer> indices = new HashMap<>();
+
+    /**
+     * Intitulé of each competence, by index.
+     */
+    private final List<String> intitules = new ArrayList<>();
+
+    /**
+     * Superior competences of each competence.
+     */
+    private final List<List<Integer>> successeurs = new ArrayList<>();
+
+    /**
+     * Inferior competences of each competence.
+     */
+    private final List<List<Integer>> predecesseurs = new ArrayList<>();
+
+    /**
+     * Dependencies of the graph, as "comp1>comp2" keys.
+     */
+    private final Set<String> aretes = new HashSet<>();
+
+    /**
+     * Position of each competence in the topological order.
+     */
+    private int[] rang = new int[16];
+
+    /**
+     * Mark of the competences visited by the current search, compared with the generation.
+     */
+    private int[] marque = new int[16];
+
+    /**
+     * Number of the current search, so the marks never have to be cleared.
+     */
+    private int generation = 0;
+
+    /**
+     * Number of competences reordered by the last accepted dependency.
+     */
+    private int nbReordonnees = 0;
+
+    /**
+     * Builds the order of an existing graph of dependencies.
+     *
+     * @param competences the intitulés of the competences
+     * @param necessites the existing dependencies
+     * @throws IllegalStateException if the existing dependencies already contain a cycle
+     */
+    public IncrementalSkillOrder(List<String> competences, List<Necessite> necessites) {
+        SkillGraph graphe = new SkillGraph(competences, necessites);
+        int[] ordre = graphe.topologicalSort();
+        if (ordre == null) {
+            throw new IllegalStateException("Le graphe des compétences contient déjà un cycle");
+        }
+        for (int v : ordre) {
+            indexer(graphe.getIntitule(v));
+        }
+        for (Necessite necessite : necessites) {
+            if (this.aretes.add(cle(necessite))) {
+                int de = this.indices.get(necessite.getComp1().getIntitule());
+                int vers = this.indices.get(necessite.getComp2().getIntitule());
+                this.successeurs.get(de).add(vers);
+                this.predecesseurs.get(vers).add(de);
+            }
+        }
+    }
+
+    /**
+     * Adds a competence at the end of the order if it is unknown.
+     */
+    private int indexer(String intitule) {
+        Integer ret = this.indices.get(intitule);
+        if (ret == null) {
+            ret = this.intitules.size();
+            if (ret == this.rang.length) {
+                this.rang = Arrays.copyOf(this.rang, 2 * ret);
+                this.marque = Arrays.copyOf(this.marque, 2 * ret);
+            }
+            this.indices.put(intitule, ret);
+            this.intitules.add(intitule);
+            this.successeurs.add(new ArrayList<>());
+            this.predecesseurs.add(new ArrayList<>());
+            this.rang[ret] = ret;
+        }
+        return ret;
+    }
+
+    private static String cle(Necessite necessite) {
+        return necessite.getComp1().getIntitule() + ">" + necessite.getComp2().getIntitule();
+    }
+
+    /**
+     * Adds a dependency if it does not create a cycle, and updates the order.
+     *
+     * @param necessite the dependency from comp1 to its superior comp2
+     * @return true if the dependency is accepted (or already exists), false if it would create a cycle
+     */
+    public boolean addNecessite(Necessite necessite) {
+        if (necessite == null) {
+            throw new IllegalArgumentException("La nécessité est null");
+        }
+        if (this.aretes.contains(cle(necessite))) {
+            return true;
+        }
+        int de = indexer(necessite.getComp1().getIntitule());
+        int vers = indexer(necessite.getComp2().getIntitule());
+        if (de == vers) {
+            return false;
+        }
+        this.nbReordonnees = 0;
+
+        int borneInf = this.rang[vers];
+        int borneSup = this.rang[de];
+        if (borneInf < borneSup) {
+            // Zone affectée : seules les compétences classées entre les deux extrémités peuvent changer de place
+            this.generation++;
+            List<Integer> avant = new ArrayList<>();
+            if (!parcourir(vers, borneSup, de, true, avant)) {
+                return false; // La supérieure mène déjà à l'inférieure : cycle
+            }
+            List<Integer> arriere = new ArrayList<>();
+            parcourir(de, borneInf, -1, false, arriere);
+            reordonner(arriere, avant);
+        }
+
+        this.aretes.add(cle(necessite));
+        this.successeurs.get(de).add(vers);
+        this.predecesseurs.get(vers).add(de);
+        return true;
+    }
+
+    /**
+     * Visits the competences of the affected region with an explicit stack.
+     *
+     * @param depart the starting competence
+     * @param borne the last position visited forward, or the first position visited backward
+     * @param interdit the competence that closes a cycle if it is reached, or -1
+     * @param avant true to follow the superiors, false to follow the inferiors
+     * @param visites filled with the visited competences
+     * @return false if the forbidden competence is reached
+     */
+    private boolean parcourir(int depart, int borne, int interdit, boolean avant, List<Integer> visites) {
+        Deque<Integer> pile = new ArrayDeque<>();
+        this.marque[depart] = this.generation;
+        pile.push(depart);
+        while (!pile.isEmpty()) {
+            int v = pile.pop();
+            visites.add(v);
+            for (int w : avant ? this.successeurs.get(v) : this.predecesseurs.get(v)) {
+                if (w == interdit) {
+                    return false;
+                }
+                boolean dansZone = avant ? this.rang[w] < borne : this.rang[w] > borne;
+                if (dansZone && this.marque[w] != this.generation) {
+                    this.marque[w] = this.generation;
+                    pile.push(w);
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Gives the positions of both visited sets to the inferior side first, then the superior side,
+     * each side keeping its relative order.
+     */
+    private void reordonner(List<Integer> arriere, List<Integer> avant) {
+        Comparator<Integer> parRang = Comparator.comparingInt(v -> this.rang[v]);
+        arriere.sort(parRang);
+        avant.sort(parRang);
+
+        List<Integer> sommets = new ArrayList<>(arriere);
+        sommets.addAll(avant);
+        int[] positions = new int[sommets.size()];
+        for (int k = 0; k < positions.length; k++) {
+            positions[k] = this.rang[sommets.get(k)];
+        }
+        Arrays.sort(positions);
+        for (int k = 0; k < positions.length; k++) {
+            this.rang[sommets.get(k)] = positions[k];
+        }
+        this.nbReordonnees = positions.length;
+    }
+
+    /**
+     * Checks if a dependency is already in the order.
+     *
+     * @param necessite the dependency to check
+     * @return true if the dependency has been added before
+     */
+    public boolean containsNecessite(Necessite necessite) {
+        return necessite != null && this.aretes.contains(cle(necessite));
+    }
+
+    /**
+     * Removes a dependency. The order stays valid, so nothing else changes.
+     *
+     * @param necessite the dependency to remove
+     */
+    public void removeNecessite(Necessite necessite) {
+        if (necessite != null && this.aretes.remove(cle(necessite))) {
+            int de = this.indices.get(necessite.getComp1().getIntitule());
+            int vers = this.indices.get(necessite.getComp2().getIntitule());
+            this.successeurs.get(de).remove(Integer.valueOf(vers));
+            this.predecesseurs.get(vers).remove(Integer.valueOf(de));
+        }
+    }
+
+    /**
+     * Get the topological order
+     * @return the intitulés of the competences, each one before its superiors
+     */
+    public List<String> getOrdre() {
+        String[] ret = new String[this.intitules.size()];
+        for (int v = 0; v < ret.length; v++) {
+            ret[this.rang[v]] = this.intitules.get(v);
+        }
+        return Arrays.asList(ret);
+    }
+
+    /**
+     * Get the number of competences reordered by the last accepted dependency
+     * @return 0 if the dependency already followed the order
+     */
+    public int getNbReordonnees() {
+        return this.nbReordonnees;
+    }
+}
@@ -0,0 +1,179 @@
+package model.graph.utils;
+
+import java.util.Arrays;
+
+/**
+ * IndexedHeap - Binary min-heap of the integers 0 to n - 1, each one with an integer key.
+ * The position of every element is stored, so its key can be changed or the element removed in O(log n).
+ * Elements with the same key are ordered by index: the smallest index comes first.
+ * @author L. Carré, G. Potay, C. Brocart, T.Brami-Coatual
+ * @version 1.0
+ */
+public class IndexedHeap {
+
+    /**
+     * Elements of the heap, the minimum first.
+     */
+    private final int[] tas;
+
+    /**
+     * Position of each element in the heap, or -1 if it is not in the heap.
+     */
+    private final int[] position;
+
+    /**
+     * Key of each element.
+     */
+    private final int[] cle;
+
+    /**
+     * Number of elements in the heap.
+     */
+    private int taille = 0;
+
+    /**
+     * Constructor of IndexedHeap
+     * @param capacite - the number of possible elements, from 0 to capacite - 1
+     */
+    public IndexedHeap(int capacite) {
+        if (capacite < 0) {
+            throw new IllegalArgumentException("Capacité négative");
+        }
+        this.tas = new int[capacite];
+        this.position = new int[capacite];
+        this.cle = new int[capacite];
+        Arrays.fill(this.position, -1);
+    }
+
+    /**
+     * Adds an element to the heap.
+     * @param element - the element, not already in the heap
+     * @param valeur - its key
+     */
+    public void insert(int element, int valeur) {
+        if (contains(element)) {
+            throw new IllegalStateException("L'élément est déjà dans le tas : " + element);
+        }
+        this.cle[element] = valeur;
+        this.tas[this.taille] = element;
+        this.position[element] = this.taille;
+        monter(this.taille++);
+    }
+
+    /**
+     * Changes the key of an element of the heap.
+     * @param element - the element
+     * @param valeur - its new key
+     */
+    public void update(int element, int valeur) {
+        if (!contains(element)) {
+            throw new IllegalStateException("L'élément n'est pas dans le tas : " + element);
+        }
+        int ancienne = this.cle[element];
+        this.cle[element] = valeur;
+        if (valeur < ancienne) {
+            monter(this.position[element]);
+        } else {
+            descendre(this.position[element]);
+        }
+    }
+
+    /**
+     * Removes an element from the heap.
+     * @param element - the element
+     */
+    public void remove(int element) {
+        if (!contains(element)) {
+            return;
+        }
+        int i = this.position[element];
+        echanger(i, --this.taille);
+        this.position[element] = -1;
+        if (i < this.taille) {
+            monter(i);
+            descendre(i);
+        }
+    }
+
+    /**
+     * Get the element with the smallest key
+     * @return the element, or -1 if the heap is empty
+     */
+    public int peek() {
+        return this.taille > 0 ? this.tas[0] : -1;
+    }
+
+    /**
+     * Get the key of an element
+     * @param element - the element
+     * @return its last key
+     */
+    public int getCle(int element) {
+        return this.cle[element];
+    }
+
+    /**
+     * Checks if an element is in the heap
+     * @param element - the element
+     * @return true if the element is in the heap
+     */
+    public boolean contains(int element) {
+        return this.position[element] >= 0;
+    }
+
+    /**
+     * Checks if the heap is empty
+     * @return true if the heap has no element
+     */
+    public boolean isEmpty() {
+        return this.taille == 0;
+    }
+
+    /**
+     * Get the number of elements
+     * @return the number of elements in the heap
+     */
+    public int size() {
+        return this.taille;
+    }
+
+    private boolean avant(int a, int b) {
+        return this.cle[a] < this.cle[b] || (this.cle[a] == this.cle[b] && a < b);
+    }
+
+    private void monter(int i) {
+        while (i > 0) {
+            int parent = (i - 1) / 2;
+            if (!avant(this.tas[i], this.tas[parent])) {
+                return;
+            }
+            echanger(i, parent);
+            i = parent;
+        }
+    }
+
+    private void descendre(int i) {
+        while (true) {
+            int min = i;
+            for (int fils = 2 * i + 1; fils <= 2 * i + 2 && fils < this.taille; fils++) {
+                if (avant(this.tas[fils], this.tas[min])) {
+                    min = fils;
+                }
+            }
+            if (min == i) {
+                return;
+            }
+            echanger(i, min);
+            i = min;
+        }
+    }
+
+    private void echanger(int i, int j) {
+        int a = this.tas[i];
+        int b = this.tas[j];
+        this.tas[i] = b;
+        this.tas[j] = a;
+        this.position[b] = i;
+        this.position[a] = j;
+    }
+}
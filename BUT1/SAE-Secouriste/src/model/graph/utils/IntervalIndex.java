@@ -0,0 +1,119 @@
+package model.graph.utils;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * IntervalIndex - Busy hours of one rescuer on one day, as disjoint intervals sorted by start.
+ * An interval [debut, fin[ is free if it does not overlap a busy interval, nor come closer to it
+ * than the minimum rest gap. Because the stored intervals are disjoint, their ends are sorted
+ * like their starts, so a conflict check only looks at one neighbour: O(log k) for k intervals.
+ * @author L. Carré, G. Potay, C. Brocart, T.Brami-Coatual
+ * @version 1.0
+ */
+public class IntervalIndex {
+
+    /**
+     * Busy intervals, end by start, disjoint.
+     */
+    private final TreeMap<Integer, Integer> intervalles = new TreeMap<>();
+
+    /**
+     * Minimum number of hours between two intervals.
+     */
+    private final int repos;
+
+    /**
+     * Constructor of IntervalIndex
+     * @param repos - the minimum rest gap between two intervals, in hours
+     */
+    public IntervalIndex(int repos) {
+        if (repos < 0) {
+            throw new IllegalArgumentException("Temps de repos négatif");
+        }
+        this.repos = repos;
+    }
+
+    /**
+     * Copy constructor
+     * @param autre - the index to copy
+     */
+    public IntervalIndex(IntervalIndex autre) {
+        this.repos = autre.repos;
+        this.intervalles.putAll(autre.intervalles);
+    }
+
+    /**
+     * Checks if an interval can be added without overlapping a busy interval or breaking the rest gap.
+     * An interval whose end is not after its start ends the next day.
+     * @param debut - the start hour
+     * @param fin - the end hour, excluded
+     * @return true if the interval is free
+     */
+    public boolean estLibre(int debut, int fin) {
+        fin = normaliser(debut, fin);
+        // Le dernier intervalle qui commence avant la fin (repos compris) est celui qui finit le plus tard
+        Map.Entry<Integer, Integer> precedent = this.intervalles.lowerEntry(fin + this.repos);
+        return precedent == null || precedent.getValue() + this.repos <= debut;
+    }
+
+    /**
+     * Adds a busy interval. The intervals it overlaps are merged with it, so the index stays disjoint.
+     * @param debut - the start hour
+     * @param fin - the end hour, excluded
+     */
+    public void ajouter(int debut, int fin) {
+        fin = normaliser(debut, fin);
+        Map.Entry<Integer, Integer> chevauche = this.intervalles.lowerEntry(fin);
+        while (chevauche != null && chevauche.getValue() > debut) {
+            debut = Math.min(debut, chevauche.getKey());
+            fin = Math.max(fin, chevauche.getValue());
+            this.intervalles.remove(chevauche.getKey());
+            chevauche = this.intervalles.lowerEntry(fin);
+        }
+        this.intervalles.put(debut, fin);
+    }
+
+    /**
+     * Checks if two intervals can both be busy: they do not overlap and leave the rest gap between them.
+     * @param debut1 - the start hour of the first interval
+     * @param fin1 - the end hour of the first interval, excluded
+     * @param debut2 - the start hour of the second interval
+     * @param fin2 - the end hour of the second interval, excluded
+     * @param repos - the minimum rest gap, in hours
+     * @return true if the intervals are compatible
+     */
+    public static boolean compatibles(int debut1, int fin1, int debut2, int fin2, int repos) {
+        fin1 = normaliser(debut1, fin1);
+        fin2 = normaliser(debut2, fin2);
+        return fin1 + repos <= debut2 || fin2 + repos <= debut1;
+    }
+
+    private static int normaliser(int debut, int fin) {
+        return fin > debut ? fin : fin + 24;
+    }
+
+    /**
+     * Checks if no interval is busy
+     * @return true if the index is empty
+     */
+    public boolean isEmpty() {
+        return this.intervalles.isEmpty();
+    }
+
+    /**
+     * Get the number of disjoint busy intervals
+     * @return the number of intervals
+     */
+    public int size() {
+        return this.intervalles.size();
+    }
+
+    /**
+     * Get the minimum rest gap
+     * @return the gap in hours
+     */
+    public int getRepos() {
+        return this.repos;
+    }
+}
@@ -30,14 +30,19 @@ public class MatrixUtils {
     public Map<Competence, List<Competence>> buildAllSuperiorDependencies(List<Competence> competences, List<Necessite> necessites) {
         // Create a map to hold the superiors for each competence
         Map<Competence, List<Competence>> result = new HashMap<>();
+        // Index the necessites once, so each level of the search only reads the direct superiors
+        Map<String, List<Competence>> directs = new HashMap<>();
+        for (Necessite n : necessites) {
+            directs.computeIfAbsent(n.getComp1().getIntitule(), k -> new ArrayList<>()).add(n.getComp2());
+        }
         // For each competence, find all its superiors
         for (Competence c : competences) {
 
             // Use a set to track visited competences to avoid cycles (the set list cant take
-            Set<Competence> visited = new HashSet<>();
+            Set<String> visited = new HashSet<>();
             // Start the recursive search for superiors for the current competence
             // get all superiors of the competence c
-            List<Competence> superiors = getAllSuperiors(c, necessites, visited);
+            List<Competence> superiors = getAllSuperiors(c, directs, visited);
             result.put(c, superiors);
         }
         return result;
@@ -47,30 +52,69 @@ public class MatrixUtils {
      * Recursively retrieves all superiors of a competence.
      *
      * @param c         The competence for which to find superiors
-     * @param necessites List of dependencies (necessites)
-     * @param visited   Set to track already visited competences to avoid cycles
+     * @param directs   Direct superiors of each competence, by intitulé
+     * @param visited   Set to track the intitulés already visited to avoid cycles
      * @return List of all superiors of the given competence
      */
-    private List<Competence> getAllSuperiors(Competence c, List<Necessite> necessites, Set<Competence> visited) {
+    private List<Competence> getAllSuperiors(Competence c, Map<String, List<Competence>> directs, Set<String> visited) {
         // Initialize a list to hold the superiors of the competence
         List<Competence> superiors = new ArrayList<>();
 
-        // Iterate through all necessites to find superiors of the competence
+        // Iterate through the direct superiors of the competence
+        for (Competence sup : directs.getOrDefault(c.getIntitule(), Collections.emptyList())) {
+            if (visited.add(sup.getIntitule())) { // L'avantage du set, c'est qu'il ne peut pas contenir de doublons, donc si sup n'est pas déjà dans visited, il est ajouté est return true sinon false
+                // And so if the superior competence is not already visited, we add it to the list of superiors
+                superiors.add(sup); // Add the superior competence to the list
+                // And we start again with the superior competence to find its superiors
+                // by recursively calling the method.
+                superiors.addAll(getAllSuperiors(sup, directs, visited));
+            }
+        }
+        return superiors;
+    }
+
+
+    // /////////////// // Inferior dependencies /////////////// //
+
+    /**
+     * Build all inferior dependencies for each competence, i.e. the competences
+     * that a holder of this competence is also able to cover.
+     *
+     * @param competences List of competences
+     * @param necessites  List of necessites defining dependencies
+     * @return Map where each competence is associated with a list of its inferior competences
+     */
+    public Map<Competence, List<Competence>> buildAllInferiorDependencies(List<Competence> competences, List<Necessite> necessites) {
+        Map<Competence, List<Competence>> result = new HashMap<>();
+        Map<String, List<Competence>> directs = new HashMap<>();
         for (Necessite n : necessites) {
+            directs.computeIfAbsent(n.getComp2().getIntitule(), k -> new ArrayList<>()).add(n.getComp1());
+        }
+        for (Competence c : competences) {
+            Set<String> visited = new HashSet<>();
+            result.put(c, getAllInferiors(c, directs, visited));
+        }
+        return result;
+    }
 
-            // If the first competence in the necessite matches the given competence
-            if (n.getComp1().equals(c)) {
-                Competence sup = n.getComp2();
-                if (visited.add(sup)) { // L'avantage du set, c'est qu'il ne peut pas contenir de doublons, donc si sup n'est pas déjà dans visited, il est ajouté est return true sinon false
-                    // And so if the superior competence is not already visited, we add it to the list of superiors
-                    superiors.add(sup); // Add the superior competence to the list
-                    // And we start again with the superior competence to find its superiors
-                    // by recursively calling the method.
-                    superiors.addAll(getAllSuperiors(sup, necessites, visited));
-                }
+    /**
+     * Recursively retrieves all inferiors of a competence.
+     *
+     * @param c         The competence for which to find inferiors
+     * @param directs   Direct inferiors of each competence, by intitulé
+     * @param visited   Set to track the intitulés already visited to avoid cycles
+     * @return List of all inferiors of the given competence
+     */
+    private List<Competence> getAllInferiors(Competence c, Map<String, List<Competence>> directs, Set<String> visited) {
+        List<Competence> inferiors = new ArrayList<>();
+        // Same walk as getAllSuperiors, but the edge is followed from comp2 to comp1
+        for (Competence inf : directs.getOrDefault(c.getIntitule(), Collections.emptyList())) {
+            if (visited.add(inf.getIntitule())) {
+                inferiors.add(inf);
+                inferiors.addAll(getAllInferiors(inf, directs, visited));
             }
         }
-        return superiors;
+        return inferiors;
     }
 
 
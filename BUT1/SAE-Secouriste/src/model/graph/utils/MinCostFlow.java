@@ -0,0 +1,275 @@
+package model.graph.utils;
+
+import java.util.Arrays;
+
+/**
+ * MinCostFlow - This class computes a minimum cost maximum flow with successive
+ * shortest paths (Dijkstra with Johnson potentials).
+ * The edge costs must be non negative.
+ * @author L. Carré, G. Potay, C. Brocart, T.Brami-Coatual
+ * @version 1.0
+ */
+public class MinCostFlow {
+
+    /**
+     * Value used for an unreachable vertex.
+     */
+    private static final long INFINI = Long.MAX_VALUE / 4;
+
+    /**
+     * Number of vertices.
+     */
+    private final int nbSommets;
+
+    /**
+     * Edge destinations. The reverse of edge e is edge e ^ 1.
+     */
+    private int[] destination = new int[16];
+
+    /**
+     * Residual capacity of each edge.
+     */
+    private int[] capacite = new int[16];
+
+    /**
+     * Cost of each edge.
+     */
+    private long[] cout = new long[16];
+
+    /**
+     * Next outgoing edge of the same vertex, or -1.
+     */
+    private int[] suivante = new int[16];
+
+    /**
+     * Number of edges, reverse edges included.
+     */
+    private int nbAretes = 0;
+
+    /**
+     * First outgoing edge of each vertex, or -1. The edges are visited in the order they were added.
+     */
+    private final int[] premiere;
+
+    /**
+     * Last outgoing edge of each vertex, or -1.
+     */
+    private final int[] derniere;
+
+    /**
+     * Total cost of the last computed flow.
+     */
+    private long coutTotal = 0;
+
+    /**
+     * Constructor of MinCostFlow
+     * @param nbSommets - number of vertices
+     */
+    public MinCostFlow(int nbSommets) {
+        this.nbSommets = nbSommets;
+        this.premiere = new int[nbSommets];
+        this.derniere = new int[nbSommets];
+        Arrays.fill(this.premiere, -1);
+        Arrays.fill(this.derniere, -1);
+    }
+
+    /**
+     * Adds a directed edge and its residual reverse edge.
+     * @param de - the origin vertex
+     * @param vers - the destination vertex
+     * @param capaciteArete - the capacity of the edge
+     * @param coutArete - the cost of one unit of flow on the edge (non negative)
+     * @return the index of the edge, to read its flow later
+     */
+    public int ajouterArete(int de, int vers, int capaciteArete, long coutArete) {
+        if (coutArete < 0) {
+            throw new IllegalArgumentException("Coût négatif");
+        }
+        if (this.nbAretes + 2 > this.destination.length) {
+            int taille = this.destination.length * 2;
+            this.destination = Arrays.copyOf(this.destination, taille);
+            this.capacite = Arrays.copyOf(this.capacite, taille);
+            this.cout = Arrays.copyOf(this.cout, taille);
+            this.suivante = Arrays.copyOf(this.suivante, taille);
+        }
+        int indice = this.nbAretes;
+        chainer(de, indice, vers, capaciteArete, coutArete);
+        chainer(vers, indice + 1, de, 0, -coutArete);
+        return indice;
+    }
+
+    /**
+     * Stores an edge at the end of the outgoing edges of a vertex.
+     */
+    private void chainer(int de, int e, int vers, int capaciteArete, long coutArete) {
+        this.destination[e] = vers;
+        this.capacite[e] = capaciteArete;
+        this.cout[e] = coutArete;
+        this.suivante[e] = -1;
+        if (this.derniere[de] == -1) {
+            this.premiere[de] = e;
+        } else {
+            this.suivante[this.derniere[de]] = e;
+        }
+        this.derniere[de] = e;
+        this.nbAretes++;
+    }
+
+    /**
+     * Computes a maximum flow of minimum cost between two vertices.
+     * @param source - the source vertex
+     * @param puits - the sink vertex
+     * @return the value of the flow
+     */
+    public int minCostMaxFlow(int source, int puits) {
+        long[] potentiel = new long[this.nbSommets];
+        long[] distance = new long[this.nbSommets];
+        int[] areteParent = new int[this.nbSommets];
+        FileSommets file = new FileSommets(distance);
+        int flot = 0;
+        this.coutTotal = 0;
+
+        while (true) {
+            // Plus court chemin dans le graphe résiduel avec les coûts réduits (tous positifs)
+            Arrays.fill(distance, INFINI);
+            Arrays.fill(areteParent, -1);
+            distance[source] = 0;
+            file.placer(source);
+
+            while (!file.estVide()) {
+                int u = file.extraire();
+                for (int e = this.premiere[u]; e != -1; e = this.suivante[e]) {
+                    if (this.capacite[e] > 0) {
+                        int v = this.destination[e];
+                        long nouvelle = distance[u] + this.cout[e] + potentiel[u] - potentiel[v];
+                        if (nouvelle < distance[v]) {
+                            distance[v] = nouvelle;
+                            areteParent[v] = e;
+                            file.placer(v);
+                        }
+                    }
+                }
+            }
+
+            if (distance[puits] == INFINI) {
+                break;
+            }
+            for (int i = 0; i < this.nbSommets; i++) {
+                if (distance[i] < INFINI) {
+                    potentiel[i] += distance[i];
+                }
+            }
+
+            // Capacité du goulot d'étranglement sur le chemin trouvé
+            int augmentation = Integer.MAX_VALUE;
+            for (int v = puits; v != source; v = this.destination[areteParent[v] ^ 1]) {
+                augmentation = Math.min(augmentation, this.capacite[areteParent[v]]);
+            }
+            for (int v = puits; v != source; v = this.destination[areteParent[v] ^ 1]) {
+                int e = areteParent[v];
+                this.capacite[e] -= augmentation;
+                this.capacite[e ^ 1] += augmentation;
+                this.coutTotal += (long) augmentation * this.cout[e];
+            }
+            flot += augmentation;
+        }
+        return flot;
+    }
+
+    /**
+     * Get the flow going through an edge
+     * @param arete - the index returned by ajouterArete
+     * @return the flow on this edge
+     */
+    public int getFlot(int arete) {
+        return this.capacite[arete ^ 1];
+    }
+
+    /**
+     * Get the total cost of the last computed flow
+     * @return the total cost
+     */
+    public long getCoutTotal() {
+        return this.coutTotal;
+    }
+
+    /**
+     * Binary heap of the vertices to visit, ordered by distance then by index.
+     * A vertex whose distance decreases is moved up in place, so a search allocates nothing.
+     */
+    private static final class FileSommets {
+
+        private final long[] distance;
+        private final int[] tas;
+        private final int[] position;
+        private int taille = 0;
+
+        FileSommets(long[] distance) {
+            this.distance = distance;
+            this.tas = new int[distance.length];
+            this.position = new int[distance.length];
+            Arrays.fill(this.position, -1);
+        }
+
+        boolean estVide() {
+            return this.taille == 0;
+        }
+
+        /**
+         * Inserts a vertex, or moves it up if its distance has decreased.
+         */
+        void placer(int sommet) {
+            if (this.position[sommet] == -1) {
+                this.tas[this.taille] = sommet;
+                this.position[sommet] = this.taille++;
+            }
+            monter(this.position[sommet]);
+        }
+
+        int extraire() {
+            int ret = this.tas[0];
+            this.position[ret] = -1;
+            if (--this.taille > 0) {
+                this.tas[0] = this.tas[this.taille];
+                this.position[this.tas[0]] = 0;
+                descendre(0);
+            }
+            return ret;
+        }
+
+        private boolean avant(int a, int b) {
+            return this.distance[a] != this.distance[b] ? this.distance[a] < this.distance[b] : a < b;
+        }
+
+        private void monter(int i) {
+            while (i > 0 && avant(this.tas[i], this.tas[(i - 1) / 2])) {
+                echanger(i, (i - 1) / 2);
+                i = (i - 1) / 2;
+            }
+        }
+
+        private void descendre(int i) {
+            while (true) {
+                int min = i;
+                for (int f = 2 * i + 1; f <= 2 * i + 2 && f < this.taille; f++) {
+                    if (avant(this.tas[f], this.tas[min])) {
+                        min = f;
+                    }
+                }
+                if (min == i) {
+                    return;
+                }
+                echanger(i, min);
+                i = min;
+            }
+        }
+
+        private void echanger(int i, int j) {
+            int a = this.tas[i];
+            this.tas[i] = this.tas[j];
+            this.tas[j] = a;
+            this.position[this.tas[i]] = i;
+            this.position[this.tas[j]] = j;
+        }
+    }
+}
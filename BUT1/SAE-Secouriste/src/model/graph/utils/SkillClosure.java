@@ -0,0 +1,360 @@
+package model.graph.utils;
+
+import model.data.persistence.Competence;
+import model.data.persistence.Necessite;
+
+import java.util.*;
+
+// /////////////// // SkillClosure - Transitive closure of the skill dependencies /////////////// //
+
+/**
+ * SkillClosure - Reachability closure of the skill dependency graph, stored as one bitmask per competence.
+ * Checking whether a rescuer covers a skill is a single AND between the possession mask of the rescuer
+ * and the "satisfied by" mask of the skill.
+ * The last closure built is cached: {@link #patch(Necessite)} updates it when a dependency is added,
+ * and {@link #invalidate()} drops it when a dependency is removed.
+ * @author L. Carré, G. Potay, C. Brocart, T.Brami-Coatual
+ * @version 1.0
+ */
+public final class SkillClosure {
+
+    /**
+     * Last closure built, shared by all the solvers.
+     */
+    private static volatile SkillClosure cache;
+
+    /**
+     * Index of each competence, by intitulé.
+     */
+    private final Map<String, Integer> indices;
+
+    /**
+     * Intitulés of the competences, by index.
+     */
+    private final List<String> intitules;
+
+    /**
+     * Necessites the closure was built from, as "comp1>comp2" keys.
+     */
+    private final Set<String> cleNecessites = new HashSet<>();
+
+    /**
+     * For each competence, the competences that satisfy it: itself and all its superiors.
+     */
+    private final long[][] satisfaitPar;
+
+    /**
+     * For each competence, the competences it covers: itself and all its inferiors.
+     */
+    private final long[][] couvertes;
+
+    /**
+     * Number of 64 bits words of a mask.
+     */
+    private final int nbMots;
+
+    /**
+     * Builds the closure of the dependencies.
+     *
+     * @param catalogue List of competences, may be null
+     * @param necessites List of necessites defining dependencies
+     */
+    private SkillClosure(List<Competence> catalogue, List<Necessite> necessites) {
+        this.indices = new HashMap<>();
+        this.intitules = new ArrayList<>();
+        if (catalogue != null) {
+            for (Competence competence : catalogue) {
+                indexer(competence.getIntitule());
+            }
+        }
+        for (Necessite necessite : necessites) {
+            indexer(necessite.getComp1().getIntitule());
+            indexer(necessite.getComp2().getIntitule());
+            this.cleNecessites.add(cle(necessite));
+        }
+
+        int n = this.intitules.size();
+        this.nbMots = Math.max(1, (n + Long.SIZE - 1) / Long.SIZE);
+
+        // Liste d'adjacence vers les compétences supérieures, construite une seule fois
+        List<List<Integer>> superieures = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            superieures.add(new ArrayList<>());
+        }
+        for (Necessite necessite : necessites) {
+            superieures.get(this.indices.get(necessite.getComp1().getIntitule()))
+                    .add(this.indices.get(necessite.getComp2().getIntitule()));
+        }
+
+        // Parcours en largeur depuis chaque compétence ; le masque sert aussi d'ensemble des visitées
+        this.satisfaitPar = new long[n][nbMots];
+        this.couvertes = new long[n][nbMots];
+        int[] file = new int[n];
+        for (int s = 0; s < n; s++) {
+            long[] masque = this.satisfaitPar[s];
+            masque[s / Long.SIZE] |= 1L << (s % Long.SIZE);
+            int debut = 0;
+            int fin = 0;
+            file[fin++] = s;
+            while (debut < fin) {
+                for (int sup : superieures.get(file[debut++])) {
+                    if ((masque[sup / Long.SIZE] & (1L << (sup % Long.SIZE))) == 0) {
+                        masque[sup / Long.SIZE] |= 1L << (sup % Long.SIZE);
+                        file[fin++] = sup;
+                    }
+                }
+            }
+            // Chaque compétence qui satisfait s couvre aussi s
+            for (int k = 0; k < fin; k++) {
+                this.couvertes[file[k]][s / Long.SIZE] |= 1L << (s % Long.SIZE);
+            }
+        }
+    }
+
+    /**
+     * Copies a closure and adds a dependency to it. Only the masks that change are copied.
+     *
+     * @param source the closure to copy
+     * @param necessite the new dependency, between two competences known by the source
+     */
+    private SkillClosure(SkillClosure source, Necessite necessite) {
+        // Les compétences ne changent pas : les index sont partagés avec la source
+        this.indices = source.indices;
+        this.intitules = source.intitules;
+        this.cleNecessites.addAll(source.cleNecessites);
+        this.cleNecessites.add(cle(necessite));
+        this.nbMots = source.nbMots;
+        this.satisfaitPar = source.satisfaitPar.clone();
+        this.couvertes = source.couvertes.clone();
+
+        int inferieure = this.indices.get(necessite.getComp1().getIntitule());
+        int superieure = this.indices.get(necessite.getComp2().getIntitule());
+        long[] ajoutSatisfait = source.satisfaitPar[superieure];
+        long[] ajoutCouvertes = source.couvertes[inferieure];
+
+        // Tout ce qui mène à l'inférieure est maintenant satisfait par la supérieure et ses supérieures
+        for (int s : bits(source.couvertes[inferieure])) {
+            this.satisfaitPar[s] = union(this.satisfaitPar[s], ajoutSatisfait);
+        }
+        // Et la supérieure et ses supérieures couvrent l'inférieure et ses inférieures
+        for (int t : bits(source.satisfaitPar[superieure])) {
+            this.couvertes[t] = union(this.couvertes[t], ajoutCouvertes);
+        }
+    }
+
+    private static int[] bits(long[] masque) {
+        int[] ret = new int[Arrays.stream(masque).mapToInt(Long::bitCount).sum()];
+        int n = 0;
+        for (int w = 0; w < masque.length; w++) {
+            long mot = masque[w];
+            while (mot != 0) {
+                ret[n++] = w * Long.SIZE + Long.numberOfTrailingZeros(mot);
+                mot &= mot - 1;
+            }
+        }
+        return ret;
+    }
+
+    private static long[] union(long[] a, long[] b) {
+        long[] ret = a.clone();
+        for (int w = 0; w < ret.length; w++) {
+            ret[w] |= b[w];
+        }
+        return ret;
+    }
+
+    /**
+     * Get the closure of the dependencies, built once and reused while the dependencies do not change.
+     *
+     * @param catalogue List of competences, may be null
+     * @param necessites List of necessites defining dependencies
+     * @return the closure of the dependencies
+     */
+    public static SkillClosure of(List<Competence> catalogue, List<Necessite> necessites) {
+        if (necessites == null) {
+            throw new IllegalArgumentException("La liste des nécessités est null");
+        }
+        SkillClosure ret = cache;
+        if (ret == null || !ret.correspond(catalogue, necessites)) {
+            ret = new SkillClosure(catalogue, necessites);
+            cache = ret;
+        }
+        return ret;
+    }
+
+    /**
+     * Drops the cached closure. Must be called each time a dependency is removed.
+     */
+    public static void invalidate() {
+        cache = null;
+    }
+
+    /**
+     * Adds a dependency to the cached closure, without recomputing it.
+     * The closure is dropped instead if the dependency is on a competence it does not know.
+     *
+     * @param necessite the dependency that has been added
+     */
+    public static synchronized void patch(Necessite necessite) {
+        SkillClosure courante = cache;
+        if (courante == null || courante.cleNecessites.contains(cle(necessite))) {
+            return;
+        }
+        if (courante.indexOf(necessite.getComp1().getIntitule()) < 0 || courante.indexOf(necessite.getComp2().getIntitule()) < 0) {
+            cache = null;
+        } else {
+            cache = new SkillClosure(courante, necessite);
+        }
+    }
+
+    /**
+     * Checks that the closure was built from the same dependencies, and knows all the competences of the catalogue.
+     *
+     * @param catalogue List of competences, may be null
+     * @param necessites List of necessites defining dependencies
+     * @return true if the closure can be reused
+     */
+    private boolean correspond(List<Competence> catalogue, List<Necessite> necessites) {
+        if (necessites.size() != this.cleNecessites.size()) {
+            return false;
+        }
+        for (Necessite necessite : necessites) {
+            if (!this.cleNecessites.contains(cle(necessite))) {
+                return false;
+            }
+        }
+        if (catalogue != null) {
+            for (Competence competence : catalogue) {
+                if (!this.indices.containsKey(competence.getIntitule())) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private void indexer(String intitule) {
+        if (!this.indices.containsKey(intitule)) {
+            this.indices.put(intitule, this.intitules.size());
+            this.intitules.add(intitule);
+        }
+    }
+
+    private static String cle(Necessite necessite) {
+        return necessite.getComp1().getIntitule() + ">" + necessite.getComp2().getIntitule();
+    }
+
+    /**
+     * Get the index of a competence
+     * @param intitule the intitulé of the competence
+     * @return the index of the competence, or -1 if it is not in the dependency graph
+     */
+    public int indexOf(String intitule) {
+        Integer ret = this.indices.get(intitule);
+        return ret != null ? ret : -1;
+    }
+
+    /**
+     * Get the number of competences of the closure
+     * @return the number of competences
+     */
+    public int getNbCompetences() {
+        return this.intitules.size();
+    }
+
+    /**
+     * Builds the possession mask of a rescuer. Competences outside the dependency graph are ignored.
+     *
+     * @param possedees the intitulés of the competences owned by the rescuer
+     * @return the possession mask
+     */
+    public long[] masque(Set<String> possedees) {
+        long[] ret = new long[this.nbMots];
+        for (String intitule : possedees) {
+            Integer indice = this.indices.get(intitule);
+            if (indice != null) {
+                ret[indice / Long.SIZE] |= 1L << (indice % Long.SIZE);
+            }
+        }
+        return ret;
+    }
+
+    /**
+     * Checks if a rescuer covers a competence, i.e. owns it or one of its superiors.
+     *
+     * @param possession the possession mask of the rescuer
+     * @param competence the index of the competence
+     * @return true if the rescuer covers the competence
+     */
+    public boolean couvre(long[] possession, int competence) {
+        long[] masque = this.satisfaitPar[competence];
+        for (int w = 0; w < this.nbMots; w++) {
+            if ((possession[w] & masque[w]) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks if a rescuer covers a competence. A competence outside the dependency graph must be owned exactly.
+     *
+     * @param possedees the intitulés of the competences owned by the rescuer
+     * @param possession the possession mask of the rescuer
+     * @param intitule the intitulé of the competence
+     * @return true if the rescuer covers the competence
+     */
+    public boolean couvre(Set<String> possedees, long[] possession, String intitule) {
+        Integer indice = this.indices.get(intitule);
+        return indice != null ? couvre(possession, indice) : possedees.contains(intitule);
+    }
+
+    /**
+     * Counts the competences a rescuer is able to cover: the ones they own and all their inferiors.
+     *
+     * @param possedees the intitulés of the competences owned by the rescuer
+     * @return the number of competences covered
+     */
+    public int couverture(Set<String> possedees) {
+        long[] union = new long[this.nbMots];
+        int ret = 0;
+        for (String intitule : possedees) {
+            Integer indice = this.indices.get(intitule);
+            if (indice == null) {
+                ret++;
+            } else {
+                for (int w = 0; w < this.nbMots; w++) {
+                    union[w] |= this.couvertes[indice][w];
+                }
+            }
+        }
+        for (long mot : union) {
+            ret += Long.bitCount(mot);
+        }
+        return ret;
+    }
+
+    /**
+     * Get the intitulés of the superiors of a competence
+     * @param intitule the intitulé of the competence
+     * @return the intitulés of all its superiors, without itself
+     */
+    public Set<String> getSuperieures(String intitule) {
+        Set<String> ret = new HashSet<>();
+        Integer indice = this.indices.get(intitule);
+        if (indice != null) {
+            long[] masque = this.satisfaitPar[indice];
+            for (int w = 0; w < this.nbMots; w++) {
+                long mot = masque[w];
+                while (mot != 0) {
+                    int s = w * Long.SIZE + Long.numberOfTrailingZeros(mot);
+                    if (s != indice) {
+                        ret.add(this.intitules.get(s));
+                    }
+                    mot &= mot - 1;
+                }
+            }
+        }
+        return ret;
+    }
+}
@@ -0,0 +1,410 @@
+package model.graph.utils;
+
+import model.data.persistence.Necessite;
+
+import java.util.*;
+
+// /////////////// // SkillGraph - Sparse graph of the skill dependencies /////////////// //
+
+/**
+ * SkillGraph - Sparse directed graph of the skill dependencies, stored as compressed adjacency arrays (CSR):
+ * the successors of the vertex v are cibles[debuts[v]] to cibles[debuts[v + 1] - 1].
+ * An edge goes from a skill to a superior skill, i.e. from comp1 to comp2 of a Necessite.
+ * Every algorithm is iterative and linear in the number of edges, so large catalogues cannot overflow the stack.
+ * @author L. Carré, G. Potay, C. Brocart, T.Brami-Coatual
+ * @version 1.0
+ */
+public class SkillGraph {
+
+    /**
+     * Intitulé of each vertex.
+     */
+    private final List<String> intitules = new ArrayList<>();
+
+    /**
+     * Index of each vertex, by intitulé.
+     */
+    private final Map<String, Integer> indices = new HashMap<>();
+
+    /**
+     * Position of the first successor of each vertex in cibles, plus the number of edges at the end.
+     */
+    private final int[] debuts;
+
+    /**
+     * Successors of all the vertices, grouped by vertex.
+     */
+    private final int[] cibles;
+
+    /**
+     * Builds the graph of the skill dependencies.
+     *
+     * @param competences the intitulés of the competences
+     * @param necessites the dependencies between competences; the ones on an unknown competence add it to the graph
+     */
+    public SkillGraph(List<String> competences, List<Necessite> necessites) {
+        if (competences == null || necessites == null) {
+            throw new IllegalArgumentException("Un des arguments est null");
+        }
+        for (String intitule : competences) {
+            indexer(intitule);
+        }
+        int[][] aretes = new int[necessites.size()][];
+        for (int e = 0; e < aretes.length; e++) {
+            Necessite necessite = necessites.get(e);
+            aretes[e] = new int[]{indexer(necessite.getComp1().getIntitule()), indexer(necessite.getComp2().getIntitule())};
+        }
+        this.debuts = new int[this.intitules.size() + 1];
+        this.cibles = new int[aretes.length];
+        remplir(aretes);
+    }
+
+    /**
+     * Builds a graph from its edges, the vertices being named by their index.
+     *
+     * @param nbSommets the number of vertices
+     * @param aretes the edges, as {from, to} pairs
+     */
+    public SkillGraph(int nbSommets, int[][] aretes) {
+        if (nbSommets < 0 || aretes == null) {
+            throw new IllegalArgumentException("Graphe invalide");
+        }
+        for (int v = 0; v < nbSommets; v++) {
+            indexer(String.valueOf(v));
+        }
+        for (int[] arete : aretes) {
+            if (arete[0] < 0 || arete[0] >= nbSommets || arete[1] < 0 || arete[1] >= nbSommets) {
+                throw new IllegalArgumentException("Arête hors du graphe : " + arete[0] + " -> " + arete[1]);
+            }
+        }
+        this.debuts = new int[nbSommets + 1];
+        this.cibles = new int[aretes.length];
+        remplir(aretes);
+    }
+
+    /**
+     * Builds a graph from an adjacency matrix.
+     *
+     * @param matrix the adjacency matrix, where matrix[i][j] != 0 is an edge from i to j
+     * @return the graph
+     */
+    public static SkillGraph fromAdjacencyMatrix(int[][] matrix) {
+        if (matrix == null) {
+            throw new IllegalArgumentException("La matrice est null");
+        }
+        List<int[]> aretes = new ArrayList<>();
+        for (int i = 0; i < matrix.length; i++) {
+            for (int j = 0; j < matrix[i].length; j++) {
+                if (matrix[i][j] != 0) {
+                    aretes.add(new int[]{i, j});
+                }
+            }
+        }
+        return new SkillGraph(matrix.length, aretes.toArray(new int[0][]));
+    }
+
+    private int indexer(String intitule) {
+        Integer ret = this.indices.get(intitule);
+        if (ret == null) {
+            ret = this.intitules.size();
+            this.indices.put(intitule, ret);
+            this.intitules.add(intitule);
+        }
+        return ret;
+    }
+
+    /**
+     * Fills the CSR arrays with a counting sort of the edges by origin.
+     */
+    private void remplir(int[][] aretes) {
+        for (int[] arete : aretes) {
+            this.debuts[arete[0] + 1]++;
+        }
+        for (int v = 0; v < this.debuts.length - 1; v++) {
+            this.debuts[v + 1] += this.debuts[v];
+        }
+        int[] position = Arrays.copyOf(this.debuts, this.debuts.length - 1);
+        for (int[] arete : aretes) {
+            this.cibles[position[arete[0]]++] = arete[1];
+        }
+    }
+
+    /**
+     * Get the number of vertices
+     * @return the number of competences of the graph
+     */
+    public int getNbSommets() {
+        return this.intitules.size();
+    }
+
+    /**
+     * Get the number of edges
+     * @return the number of dependencies of the graph
+     */
+    public int getNbAretes() {
+        return this.cibles.length;
+    }
+
+    /**
+     * Get the index of a competence
+     * @param intitule the intitulé of the competence
+     * @return the index of the vertex, or -1 if the competence is not in the graph
+     */
+    public int indexOf(String intitule) {
+        Integer ret = this.indices.get(intitule);
+        return ret != null ? ret : -1;
+    }
+
+    /**
+     * Get the intitulé of a vertex
+     * @param sommet the index of the vertex
+     * @return the intitulé of the competence
+     */
+    public String getIntitule(int sommet) {
+        return this.intitules.get(sommet);
+    }
+
+    // /////////////// // Topological sort /////////////// //
+
+    /**
+     * Sorts the vertices with Kahn's algorithm: each skill comes before its superior skills.
+     *
+     * @return the vertices in topological order, or null if the graph has a cycle
+     */
+    public int[] topologicalSort() {
+        int n = getNbSommets();
+        int[] degres = new int[n];
+        for (int cible : this.cibles) {
+            degres[cible]++;
+        }
+
+        // Le tableau résultat sert aussi de file : les sommets sans prédécesseur restant y sont ajoutés
+        int[] ret = new int[n];
+        int fin = 0;
+        for (int v = 0; v < n; v++) {
+            if (degres[v] == 0) {
+                ret[fin++] = v;
+            }
+        }
+        for (int debut = 0; debut < fin; debut++) {
+            int v = ret[debut];
+            for (int e = this.debuts[v]; e < this.debuts[v + 1]; e++) {
+                if (--degres[this.cibles[e]] == 0) {
+                    ret[fin++] = this.cibles[e];
+                }
+            }
+        }
+        // Les sommets d'un cycle n'atteignent jamais un degré nul
+        return fin == n ? ret : null;
+    }
+
+    /**
+     * It checks if the graph is a DAG (Directed acyclic graph)
+     * @return true if the graph has no cycle, false otherwise
+     */
+    public boolean isDAG() {
+        return topologicalSort() != null;
+    }
+
+    // /////////////// // Strongly connected components /////////////// //
+
+    /**
+     * Computes the strongly connected components with an iterative version of Tarjan's algorithm.
+     * The components are numbered in reverse topological order: an edge never goes to a component of greater number.
+     *
+     * @return the number of the component of each vertex
+     */
+    public int[] stronglyConnectedComponents() {
+        int n = getNbSommets();
+        int[] ordre = new int[n];
+        int[] bas = new int[n];
+        int[] composante = new int[n];
+        int[] suivant = new int[n];
+        boolean[] surPile = new boolean[n];
+        int[] pile = new int[n];
+        int[] appels = new int[n];
+        Arrays.fill(ordre, -1);
+        int compteur = 0;
+        int nbComposantes = 0;
+        int sommetPile = 0;
+
+        for (int s = 0; s < n; s++) {
+            if (ordre[s] != -1) {
+                continue;
+            }
+            // La pile d'appels remplace la récursion : suivant[v] est la prochaine arête de v à explorer
+            int nbAppels = 0;
+            ordre[s] = bas[s] = compteur++;
+            pile[sommetPile++] = s;
+            surPile[s] = true;
+            suivant[s] = this.debuts[s];
+            appels[nbAppels++] = s;
+
+            while (nbAppels > 0) {
+                int v = appels[nbAppels - 1];
+                if (suivant[v] < this.debuts[v + 1]) {
+                    int w = this.cibles[suivant[v]++];
+                    if (ordre[w] == -1) {
+                        ordre[w] = bas[w] = compteur++;
+                        pile[sommetPile++] = w;
+                        surPile[w] = true;
+                        suivant[w] = this.debuts[w];
+                        appels[nbAppels++] = w;
+                    } else if (surPile[w]) {
+                        bas[v] = Math.min(bas[v], ordre[w]);
+                    }
+                } else {
+                    nbAppels--;
+                    // v est la racine de sa composante : on dépile toute la composante
+                    if (bas[v] == ordre[v]) {
+                        int w;
+                        do {
+                            w = pile[--sommetPile];
+                            surPile[w] = false;
+                            composante[w] = nbComposantes;
+                        } while (w != v);
+                        nbComposantes++;
+                    }
+                    if (nbAppels > 0) {
+                        int parent = appels[nbAppels - 1];
+                        bas[parent] = Math.min(bas[parent], bas[v]);
+                    }
+                }
+            }
+        }
+        return composante;
+    }
+
+    /**
+     * Finds the cycles of the graph, i.e. the strongly connected components with more than one competence
+     * and the competences that depend on themselves.
+     *
+     * @return the intitulés of the competences of each cycle
+     */
+    public List<List<String>> findCycles() {
+        int[] composante = stronglyConnectedComponents();
+        Map<Integer, List<String>> groupes = new TreeMap<>();
+        for (int v = 0; v < composante.length; v++) {
+            groupes.computeIfAbsent(composante[v], k -> new ArrayList<>()).add(this.intitules.get(v));
+        }
+        List<List<String>> ret = new ArrayList<>();
+        for (List<String> groupe : groupes.values()) {
+            if (groupe.size() > 1 || aBoucle(this.indices.get(groupe.get(0)))) {
+                ret.add(groupe);
+            }
+        }
+        return ret;
+    }
+
+    private boolean aBoucle(int v) {
+        for (int e = this.debuts[v]; e < this.debuts[v + 1]; e++) {
+            if (this.cibles[e] == v) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // /////////////// // Reachability /////////////// //
+
+    /**
+     * Finds the vertices reachable from a vertex, i.e. the superior skills of a skill and itself.
+     *
+     * @param depart the index of the starting vertex
+     * @return for each vertex, true if it is reachable from the starting vertex
+     */
+    public boolean[] reachableFrom(int depart) {
+        boolean[] ret = new boolean[getNbSommets()];
+        int[] file = new int[getNbSommets()];
+        int fin = 0;
+        ret[depart] = true;
+        file[fin++] = depart;
+        for (int debut = 0; debut < fin; debut++) {
+            int v = file[debut];
+            for (int e = this.debuts[v]; e < this.debuts[v + 1]; e++) {
+                if (!ret[this.cibles[e]]) {
+                    ret[this.cibles[e]] = true;
+                    file[fin++] = this.cibles[e];
+                }
+            }
+        }
+        return ret;
+    }
+
+    /**
+     * It checks if a path exists between two competences
+     * @param depart the intitulé of the first competence
+     * @param arrivee the intitulé of the second competence
+     * @return true if the second competence can be reached from the first one, false otherwise
+     */
+    public boolean isReachable(String depart, String arrivee) {
+        int from = indexOf(depart);
+        int to = indexOf(arrivee);
+        return from >= 0 && to >= 0 && reachableFrom(from)[to];
+    }
+
+    // /////////////// // Longest prerequisite chain /////////////// //
+
+    /**
+     * Computes, for each competence, the length of its longest prerequisite chain:
+     * the maximum number of dependencies on a path that ends at this competence.
+     *
+     * @return the length of the longest chain that ends at each vertex
+     * @throws IllegalStateException if the graph has a cycle
+     */
+    public int[] longestPrerequisiteChains() {
+        return cheminsLesPlusLongs(null);
+    }
+
+    /**
+     * Finds the longest prerequisite chain of a competence.
+     *
+     * @param intitule the intitulé of the competence
+     * @return the intitulés of the chain, from the first prerequisite to the competence itself
+     * @throws IllegalArgumentException if the competence is not in the graph
+     * @throws IllegalStateException if the graph has a cycle
+     */
+    public List<String> longestPrerequisiteChain(String intitule) {
+        int v = indexOf(intitule);
+        if (v < 0) {
+            throw new IllegalArgumentException("Compétence inconnue : " + intitule);
+        }
+        int[] precedent = new int[getNbSommets()];
+        cheminsLesPlusLongs(precedent);
+
+        LinkedList<String> ret = new LinkedList<>();
+        for (int w = v; w != -1; w = precedent[w]) {
+            ret.addFirst(this.intitules.get(w));
+        }
+        return ret;
+    }
+
+    /**
+     * Longest paths in topological order: the chain of a vertex is one more than the longest chain of its predecessors.
+     *
+     * @param precedent filled with the predecessor of each vertex on its longest chain, or -1; may be null
+     * @return the length of the longest chain that ends at each vertex
+     */
+    private int[] cheminsLesPlusLongs(int[] precedent) {
+        int[] ordre = topologicalSort();
+        if (ordre == null) {
+            throw new IllegalStateException("Le graphe des compétences contient un cycle");
+        }
+        int[] ret = new int[getNbSommets()];
+        if (precedent != null) {
+            Arrays.fill(precedent, -1);
+        }
+        for (int v : ordre) {
+            for (int e = this.debuts[v]; e < this.debuts[v + 1]; e++) {
+                int w = this.cibles[e];
+                if (ret[v] + 1 > ret[w]) {
+                    ret[w] = ret[v] + 1;
+                    if (precedent != null) {
+                        precedent[w] = v;
+                    }
+                }
+            }
+        }
+        return ret;
+    }
+}
@@ -7,7 +7,17 @@ import java.util.Properties;
 /**
  * FetchDatabaseCredentials - This class is responsible for loading database credentials
  * from a properties file named "database.properties".
- * It provides methods to retrieve the database URL, username, and password.
+ * It provides methods to retrieve the database URL, username, and password,
+ * and the sizing of the connection pool (optional keys, with defaults):
+ * <pre>
+ * db.pool.maxSize=10                 maximum number of connections
+ * db.pool.minIdle=1                  idle connections kept by the eviction
+ * db.pool.connectionTimeout=30000    maximum wait for a connection, in ms
+ * db.pool.idleTimeout=600000         idle time after which a connection is closed, in ms
+ * db.pool.maxLifetime=1800000        age after which a connection is closed, in ms
+ * db.pool.validationInterval=500     no validation on borrow if used within this time, in ms
+ * db.pool.validationTimeout=2        timeout of the validation, in seconds
+ * </pre>
  *
  * @author L. Carré, G. Potay, C. Brocart, T.Brami-Coatual
  * @version 1.0
@@ -54,4 +64,60 @@ public class FetchDatabaseCredentials {
     public static String getPassword() {
         return properties.getProperty("db.password");
     }
+
+    /**
+     * Gets the maximum number of connections of the pool.
+     * @return the maximum number of connections
+     */
+    public static int getPoolMaxSize() {
+        return Integer.parseInt(properties.getProperty("db.pool.maxSize", "10").trim());
+    }
+
+    /**
+     * Gets the number of idle connections kept by the pool.
+     * @return the minimum number of idle connections
+     */
+    public static int getPoolMinIdle() {
+        return Integer.parseInt(properties.getProperty("db.pool.minIdle", "1").trim());
+    }
+
+    /**
+     * Gets the maximum wait for a connection when the pool is full.
+     * @return the timeout in milliseconds
+     */
+    public static long getPoolConnectionTimeout() {
+        return Long.parseLong(properties.getProperty("db.pool.connectionTimeout", "30000").trim());
+    }
+
+    /**
+     * Gets the idle time after which a connection of the pool is closed.
+     * @return the idle timeout in milliseconds
+     */
+    public static long getPoolIdleTimeout() {
+        return Long.parseLong(properties.getProperty("db.pool.idleTimeout", "600000").trim());
+    }
+
+    /**
+     * Gets the age after which a connection of the pool is closed.
+     * @return the maximum lifetime in milliseconds
+     */
+    public static long getPoolMaxLifetime() {
+        return Long.parseLong(properties.getProperty("db.pool.maxLifetime", "1800000").trim());
+    }
+
+    /**
+     * Gets the time since the last use under which a connection is lent without validation.
+     * @return the validation interval in milliseconds
+     */
+    public static long getPoolValidationInterval() {
+        return Long.parseLong(properties.getProperty("db.pool.validationInterval", "500").trim());
+    }
+
+    /**
+     * Gets the timeout of the validation of a connection.
+     * @return the validation timeout in seconds
+     */
+    public static int getPoolValidationTimeout() {
+        return Integer.parseInt(properties.getProperty("db.pool.validationTimeout", "2").trim());
+    }
 }
@@ -30,6 +30,61 @@ public class Settings {
      */
     private static final boolean DEFAULT_USE_GREEDY = false;
 
+    /**
+     * Key for the "useMinCost" setting in the preferences.
+     * This setting determines whether the optimal assignment also minimises the over-qualification of the rescuers.
+     */
+    private static final String USE_MIN_COST_KEY = "useMinCost";
+
+    /**
+     * Default value for the "useMinCost" setting.
+     */
+    private static final boolean DEFAULT_USE_MIN_COST = true;
+
+    /**
+     * Key for the "exhaustiveBudget" setting in the preferences.
+     * This setting is the time budget of the exhaustive search, in milliseconds.
+     */
+    private static final String EXHAUSTIVE_BUDGET_KEY = "exhaustiveBudget";
+
+    /**
+     * Default value for the "exhaustiveBudget" setting.
+     */
+    private static final long DEFAULT_EXHAUSTIVE_BUDGET = 500;
+
+    /**
+     * Key for the "restGap" setting in the preferences.
+     * This setting is the minimum number of hours between two DPS of the same rescuer on the same day.
+     */
+    private static final String REST_GAP_KEY = "restGap";
+
+    /**
+     * Default value for the "restGap" setting.
+     */
+    private static final int DEFAULT_REST_GAP = 0;
+
+    /**
+     * Key for the "metricsEnabled" setting in the preferences.
+     * This setting determines whether the statistics of each assignment are collected.
+     */
+    private static final String METRICS_ENABLED_KEY = "metricsEnabled";
+
+    /**
+     * Default value for the "metricsEnabled" setting.
+     */
+    private static final boolean DEFAULT_METRICS_ENABLED = false;
+
+    /**
+     * Key for the "referenceCacheTtl" setting in the preferences.
+     * This setting is the time after which the cached reference data (sites, sports, skills, dependencies) is reloaded, in milliseconds.
+     */
+    private static final String REFERENCE_CACHE_TTL_KEY = "referenceCacheTtl";
+
+    /**
+     * Default value for the "referenceCacheTtl" setting.
+     */
+    private static final long DEFAULT_REFERENCE_CACHE_TTL = 300_000;
+
     /**
      * Retrieves the current value of the "useGreedy" setting.
      *
@@ -48,6 +103,96 @@ public class Settings {
         prefs.putBoolean(USE_GREEDY_KEY, useGreedy);
     }
 
+    /**
+     * Retrieves the current value of the "useMinCost" setting.
+     *
+     * @return true if the optimal assignment keeps the most qualified rescuers free, false otherwise.
+     */
+    public static boolean useMinCost() {
+        return prefs.getBoolean(USE_MIN_COST_KEY, DEFAULT_USE_MIN_COST);
+    }
+
+    /**
+     * Sets the value of the "useMinCost" setting.
+     *
+     * @param useMinCost true to minimise the over-qualification, false to only maximise the coverage.
+     */
+    public static void setUseMinCost(boolean useMinCost) {
+        prefs.putBoolean(USE_MIN_COST_KEY, useMinCost);
+    }
+
+    /**
+     * Retrieves the current value of the "exhaustiveBudget" setting.
+     *
+     * @return the time budget of the exhaustive search in milliseconds, 0 for no limit.
+     */
+    public static long exhaustiveBudget() {
+        return prefs.getLong(EXHAUSTIVE_BUDGET_KEY, DEFAULT_EXHAUSTIVE_BUDGET);
+    }
+
+    /**
+     * Sets the value of the "exhaustiveBudget" setting.
+     *
+     * @param budgetMillis the time budget of the exhaustive search in milliseconds, 0 for no limit.
+     */
+    public static void setExhaustiveBudget(long budgetMillis) {
+        prefs.putLong(EXHAUSTIVE_BUDGET_KEY, Math.max(0, budgetMillis));
+    }
+
+    /**
+     * Retrieves the current value of the "restGap" setting.
+     *
+     * @return the minimum rest between two DPS of a rescuer on the same day, in hours.
+     */
+    public static int restGap() {
+        return prefs.getInt(REST_GAP_KEY, DEFAULT_REST_GAP);
+    }
+
+    /**
+     * Sets the value of the "restGap" setting.
+     *
+     * @param hours the minimum rest between two DPS of a rescuer on the same day, in hours.
+     */
+    public static void setRestGap(int hours) {
+        prefs.putInt(REST_GAP_KEY, Math.max(0, hours));
+    }
+
+    /**
+     * Retrieves the current value of the "metricsEnabled" setting.
+     *
+     * @return true if the statistics of each assignment are collected, false otherwise.
+     */
+    public static boolean metricsEnabled() {
+        return prefs.getBoolean(METRICS_ENABLED_KEY, DEFAULT_METRICS_ENABLED);
+    }
+
+    /**
+     * Sets the value of the "metricsEnabled" setting.
+     *
+     * @param enabled true to collect the statistics of each assignment, false otherwise.
+     */
+    public static void setMetricsEnabled(boolean enabled) {
+        prefs.putBoolean(METRICS_ENABLED_KEY, enabled);
+    }
+
+    /**
+     * Retrieves the current value of the "referenceCacheTtl" setting.
+     *
+     * @return the time after which the cached reference data is reloaded, in milliseconds.
+     */
+    public static long referenceCacheTtl() {
+        return prefs.getLong(REFERENCE_CACHE_TTL_KEY, DEFAULT_REFERENCE_CACHE_TTL);
+    }
+
+    /**
+     * Sets the value of the "referenceCacheTtl" setting.
+     *
+     * @param ttlMillis the time after which the cached reference data is reloaded, in milliseconds.
+     */
+    public static void setReferenceCacheTtl(long ttlMillis) {
+        prefs.putLong(REFERENCE_CACHE_TTL_KEY, Math.max(0, ttlMillis));
+    }
+
     /*
     public static void main(String[] args) {
         // Example usage